@@ -0,0 +1,5 @@
+#!/bin/sh
+# Cho phép replica (docker compose --profile replica) kết nối replication tới primary.
+# Chỉ chạy khi volume được tạo mới; với volume cũ thêm dòng này vào pg_hba.conf rồi SELECT pg_reload_conf().
+set -e
+echo "host replication all all scram-sha-256" >> "$PGDATA/pg_hba.conf"
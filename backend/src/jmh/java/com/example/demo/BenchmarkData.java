@@ -0,0 +1,100 @@
+package com.example.demo;
+
+import com.example.demo.entity.Author;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Loan;
+import com.example.demo.entity.Publisher;
+import com.example.demo.entity.User;
+import com.example.demo.enums.LoanStatus;
+import com.example.demo.enums.UserRole;
+import com.example.demo.enums.UserStatus;
+import com.example.demo.mapper.AuthorMapper;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.mapper.CategoryMapper;
+import com.example.demo.mapper.PublisherMapper;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * In-memory entities shaped like the seed data (a publisher, three authors, two categories per book),
+ * shared by the benchmarks that do not need a database.
+ */
+public final class BenchmarkData {
+
+	private BenchmarkData() {
+	}
+
+	/**
+	 * BookMapper wired the way Spring wires it; the child mappers only need it for their detail DTOs.
+	 */
+	public static BookMapper bookMapper() {
+		return new BookMapper(new AuthorMapper(null), new PublisherMapper(null), new CategoryMapper(null));
+	}
+
+	public static Book book(long id) {
+		List<Author> authors = new ArrayList<>();
+		for (long a = 0; a < 3; a++) {
+			authors.add(Author.builder()
+					.id(id * 10 + a)
+					.fullName("Tác giả " + (id * 10 + a))
+					.bio("Tiểu sử ngắn của tác giả")
+					.createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+					.build());
+		}
+		List<Category> categories = new ArrayList<>();
+		for (long c = 0; c < 2; c++) {
+			categories.add(Category.builder()
+					.id(id * 10 + c)
+					.name("Thể loại " + c)
+					.description("Mô tả thể loại")
+					.build());
+		}
+		return Book.builder()
+				.id(id)
+				.title("Sách số " + id + ": Lập trình Java")
+				.isbn("978-604-" + id)
+				.publicationYear(2020)
+				.description("Mô tả sách dài vừa phải, giống dữ liệu seed")
+				.coverImageUrl("https://example.com/covers/" + id + ".jpg")
+				.publisher(Publisher.builder()
+						.id(id % 100)
+						.name("NXB " + (id % 100))
+						.website("https://nxb.example.com")
+						.address("Hà Nội")
+						.createdAt(LocalDateTime.of(2024, 1, 1, 0, 0))
+						.build())
+				.authors(authors)
+				.categories(categories)
+				.build();
+	}
+
+	public static List<Book> books(int count) {
+		List<Book> books = new ArrayList<>(count);
+		for (long id = 1; id <= count; id++) {
+			books.add(book(id));
+		}
+		return books;
+	}
+
+	public static Loan loan(long id) {
+		User user = User.builder()
+				.id(id)
+				.email("user" + id + "@example.com")
+				.fullName("Người dùng " + id)
+				.role(UserRole.MEMBER)
+				.status(UserStatus.ACTIVE)
+				.build();
+		LocalDateTime borrowed = LocalDateTime.of(2025, 3, 1, 9, 30);
+		return Loan.builder()
+				.id(id)
+				.user(user)
+				.book(book(id))
+				.borrowDate(borrowed)
+				.dueDate(borrowed.plusDays(14))
+				.status(LoanStatus.BORROWED)
+				.build();
+	}
+}
@@ -0,0 +1,46 @@
+package com.example.demo.controller;
+
+import com.example.demo.BenchmarkData;
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.mapper.BookMapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Response body of GET /api/books: one default-size page of BookDTO written with Jackson.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class PageJsonBenchmark {
+
+	private static final int PAGE_SIZE = 20;
+
+	private JsonMapper jsonMapper;
+	private Page<BookDTO> page;
+
+	@Setup
+	public void setUp() {
+		jsonMapper = JsonMapper.builder().build();
+		BookMapper bookMapper = BenchmarkData.bookMapper();
+		List<BookDTO> books = BenchmarkData.books(PAGE_SIZE).stream().map(bookMapper::toDTO).toList();
+		page = new PageImpl<>(books, PageRequest.of(0, PAGE_SIZE), 10_000);
+	}
+
+	@Benchmark
+	public byte[] writePage() {
+		return jsonMapper.writeValueAsBytes(page);
+	}
+}
@@ -0,0 +1,52 @@
+package com.example.demo.mapper;
+
+import com.example.demo.BenchmarkData;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Loan;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Entity to DTO mapping done for every row of a book or loan list: book with publisher, three authors and
+ * two categories, loan with its user and book.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class MapperBenchmark {
+
+	private BookMapper bookMapper;
+	private LoanMapper loanMapper;
+	private Book book;
+	private Loan loan;
+
+	@Setup
+	public void setUp() {
+		bookMapper = BenchmarkData.bookMapper();
+		loanMapper = new LoanMapper(new UserMapper(), bookMapper);
+		book = BenchmarkData.book(1L);
+		loan = BenchmarkData.loan(1L);
+	}
+
+	@Benchmark
+	public Object bookToDTO() {
+		return bookMapper.toDTO(book);
+	}
+
+	@Benchmark
+	public Object bookToDetailDTO() {
+		return bookMapper.toDetailDTO(book);
+	}
+
+	@Benchmark
+	public Object loanToDTO() {
+		return loanMapper.toDTO(loan);
+	}
+}
@@ -0,0 +1,98 @@
+package com.example.demo.repository;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Loan;
+import com.example.demo.entity.User;
+import com.example.demo.enums.LoanStatus;
+import jakarta.persistence.EntityManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loan inserts per second through LoanRepository.saveAll, with JDBC batching off (batchSize=0: one round trip per
+ * insert, as before the move from IDENTITY keys) and on (batchSize=50 with pooled-lo sequence ids).
+ * Boots the application against the local database (docker-compose); every invocation is rolled back.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@OperationsPerInvocation(LoanInsertBenchmark.ROWS)
+public class LoanInsertBenchmark {
+
+	static final int ROWS = 500;
+
+	@Param({ "0", "50" })
+	public int batchSize;
+
+	private ConfigurableApplicationContext context;
+	private LoanRepository loanRepository;
+	private EntityManager entityManager;
+	private TransactionTemplate transaction;
+	private Long userId;
+	private Long bookId;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DemoApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.jpa.show-sql=false",
+						"spring.devtools.restart.enabled=false",
+						"spring.jpa.properties.hibernate.jdbc.batch_size=" + batchSize)
+				.run();
+		loanRepository = context.getBean(LoanRepository.class);
+		entityManager = context.getBean(EntityManager.class);
+		transaction = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+		userId = context.getBean(UserRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+		bookId = context.getBean(BookRepository.class).findAll(PageRequest.of(0, 1)).getContent().get(0).getId();
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int insertLoans() {
+		return transaction.execute(status -> {
+			status.setRollbackOnly();
+			User user = entityManager.getReference(User.class, userId);
+			Book book = entityManager.getReference(Book.class, bookId);
+			LocalDateTime now = LocalDateTime.now();
+			List<Loan> loans = new ArrayList<>(ROWS);
+			for (int i = 0; i < ROWS; i++) {
+				loans.add(Loan.builder()
+						.user(user)
+						.book(book)
+						.dueDate(now.plusDays(14))
+						.returnDate(now)
+						.status(LoanStatus.RETURNED)
+						.build());
+			}
+			loanRepository.saveAll(loans);
+			loanRepository.flush();
+			return loans.size();
+		});
+	}
+}
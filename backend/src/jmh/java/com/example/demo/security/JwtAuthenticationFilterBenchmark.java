@@ -0,0 +1,87 @@
+package com.example.demo.security;
+
+import com.example.demo.enums.UserRole;
+import com.example.demo.enums.UserStatus;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-request cost of JWT authentication: legacy four-parse path vs. parseAndVerify (cold and cached).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtAuthenticationFilterBenchmark {
+
+	private static final String SECRET = "dev-secret-key-at-least-256-bits-for-hs256-please-change-in-production";
+	private static final long EXPIRATION_MS = 86_400_000L;
+
+	private SecretKey secretKey;
+	private String token;
+	private JwtAuthenticationFilter cachedFilter;
+	private JwtAuthenticationFilter uncachedFilter;
+
+	@Setup
+	public void setUp() {
+		secretKey = Keys.hmacShaKeyFor(SECRET.getBytes(StandardCharsets.UTF_8));
+		JwtTokenProvider cachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10_000, 300_000);
+		JwtTokenProvider uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0, 300_000);
+		token = cachedProvider.generateToken(42L, "user42@example.com", UserRole.MEMBER);
+		// Snapshot already cached, as for any user who made a request within the last TTL
+		UserSnapshots userSnapshots = new UserSnapshots(userId -> Optional.of(new UserSnapshots.UserSnapshot(
+				userId, "user42@example.com", "User 42", UserStatus.ACTIVE, UserRole.MEMBER)), 10_000, 60_000);
+		HandlerExceptionResolver noErrors = (request, response, handler, ex) -> null;
+		cachedFilter = new JwtAuthenticationFilter(cachedProvider, userSnapshots, noErrors);
+		uncachedFilter = new JwtAuthenticationFilter(uncachedProvider, userSnapshots, noErrors);
+	}
+
+	@Benchmark
+	public Object legacyFourParses() {
+		// Mirrors the previous filter: validateToken + three getters, each building a parser and verifying
+		Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+		Claims userIdClaims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+		Claims emailClaims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+		Claims roleClaims = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+		return new UserPrincipal(
+				((Number) userIdClaims.get("userId")).longValue(),
+				emailClaims.get("email", String.class),
+				UserRole.valueOf(roleClaims.get("role", String.class)));
+	}
+
+	@Benchmark
+	public Object filterSingleParse() throws Exception {
+		return runFilter(uncachedFilter);
+	}
+
+	@Benchmark
+	public Object filterCachedToken() throws Exception {
+		return runFilter(cachedFilter);
+	}
+
+	private Object runFilter(JwtAuthenticationFilter filter) throws Exception {
+		MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/loans");
+		request.addHeader("Authorization", "Bearer " + token);
+		filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+		Object principal = SecurityContextHolder.getContext().getAuthentication().getPrincipal();
+		SecurityContextHolder.clearContext();
+		return principal;
+	}
+}
@@ -0,0 +1,50 @@
+package com.example.demo.security;
+
+import com.example.demo.enums.UserRole;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Token issue (login) and verification (every authenticated request) without the servlet filter around them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class JwtTokenProviderBenchmark {
+
+	private static final String SECRET = "dev-secret-key-at-least-256-bits-for-hs256-please-change-in-production";
+	private static final long EXPIRATION_MS = 86_400_000L;
+
+	private JwtTokenProvider cachedProvider;
+	private JwtTokenProvider uncachedProvider;
+	private String token;
+
+	@Setup
+	public void setUp() {
+		cachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 10_000, 300_000);
+		uncachedProvider = new JwtTokenProvider(SECRET, EXPIRATION_MS, 0, 300_000);
+		token = cachedProvider.generateToken(42L, "user42@example.com", UserRole.MEMBER);
+	}
+
+	@Benchmark
+	public String generateToken() {
+		return uncachedProvider.generateToken(42L, "user42@example.com", UserRole.MEMBER);
+	}
+
+	@Benchmark
+	public Object parseAndVerify() {
+		return uncachedProvider.parseAndVerify(token);
+	}
+
+	@Benchmark
+	public Object parseAndVerifyCached() {
+		return cachedProvider.parseAndVerify(token);
+	}
+}
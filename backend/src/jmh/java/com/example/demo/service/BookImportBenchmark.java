@@ -0,0 +1,103 @@
+package com.example.demo.service;
+
+import com.example.demo.DemoApplication;
+import com.example.demo.dto.book.BookImportResultDTO;
+import com.example.demo.entity.Category;
+import com.example.demo.importer.BookImportFormat;
+import com.example.demo.repository.AuthorRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.PublisherRepository;
+import com.example.demo.service.book.BookImportService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Books imported per minute by BookImportService from one CSV of ROWS rows (existing publisher, author and two
+ * categories, so the measured path is the chunked unnest insert). Target: 50,000 books/minute.
+ * Boots the application against the local database (docker-compose); the imported books are deleted after
+ * every invocation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MINUTES)
+@OperationsPerInvocation(BookImportBenchmark.ROWS)
+public class BookImportBenchmark {
+
+	static final int ROWS = 50_000;
+
+	private static final String ISBN_PREFIX = "BENCH-IMPORT-";
+
+	private ConfigurableApplicationContext context;
+	private BookImportService bookImportService;
+	private JdbcTemplate jdbcTemplate;
+	private byte[] csv;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		context = new SpringApplicationBuilder(DemoApplication.class)
+				.web(WebApplicationType.NONE)
+				.properties(
+						"spring.jpa.show-sql=false",
+						"spring.devtools.restart.enabled=false")
+				.run();
+		bookImportService = context.getBean(BookImportService.class);
+		jdbcTemplate = context.getBean(JdbcTemplate.class);
+
+		PageRequest first = PageRequest.of(0, 2);
+		String publisher = context.getBean(PublisherRepository.class).findAll(first).getContent().get(0).getName();
+		String author = context.getBean(AuthorRepository.class).findAll(first).getContent().get(0).getFullName();
+		List<Category> categories = context.getBean(CategoryRepository.class).findAll(first).getContent();
+		String categoryNames = categories.get(0).getName() + "|" + categories.get(categories.size() - 1).getName();
+
+		StringBuilder builder = new StringBuilder("title,isbn,publicationYear,publisher,authors,categories,description\n");
+		for (int i = 0; i < ROWS; i++) {
+			builder.append("Sách nhập số ").append(i).append(',')
+					.append(ISBN_PREFIX).append(i).append(',')
+					.append(2000 + i % 25).append(',')
+					.append('"').append(publisher).append("\",")
+					.append('"').append(author).append("\",")
+					.append('"').append(categoryNames).append("\",")
+					.append("Mô tả sách dài vừa phải, giống dữ liệu seed\n");
+		}
+		csv = builder.toString().getBytes(StandardCharsets.UTF_8);
+		deleteImportedBooks();
+	}
+
+	@TearDown(Level.Invocation)
+	public void deleteImportedBooks() {
+		jdbcTemplate.update("DELETE FROM books WHERE isbn LIKE ?", ISBN_PREFIX + "%");
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		context.close();
+	}
+
+	@Benchmark
+	public int importBooks() {
+		BookImportResultDTO result = bookImportService.importBooks(new ByteArrayInputStream(csv), BookImportFormat.CSV);
+		if (result.getImportedCount() != ROWS) {
+			throw new IllegalStateException("Imported " + result.getImportedCount() + " of " + ROWS + " rows: "
+					+ result.getErrors());
+		}
+		return result.getImportedCount();
+	}
+}
@@ -0,0 +1,106 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.loan.LoanDayCountDTO;
+import com.example.demo.repository.LoanRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ReportServiceImpl.getLoanReport without the database: the per-day rows are prebuilt, so what is measured is
+ * the fan-out through ParallelReadQueries and the grouping of the rows into the report.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class LoanReportBenchmark {
+
+	private static final LocalDate START = LocalDate.of(2024, 1, 1);
+
+	@Param({"30", "365"})
+	private int days;
+
+	private ExecutorService executor;
+	private ReportServiceImpl reportService;
+
+	@Setup(Level.Trial)
+	public void setUp() {
+		List<LoanDayCountDTO> borrowDays = new ArrayList<>(days);
+		List<LoanDayCountDTO> returnDays = new ArrayList<>(days);
+		for (int i = 0; i < days; i++) {
+			borrowDays.add(new LoanDayCountDTO(START.plusDays(i), 40L + i % 7, 40L + i % 7, 30L + i % 5));
+			returnDays.add(new LoanDayCountDTO(START.plusDays(i), 30L + i % 5));
+		}
+		LoanRepository loanRepository = (LoanRepository) Proxy.newProxyInstance(
+				LoanRepository.class.getClassLoader(),
+				new Class<?>[] { LoanRepository.class },
+				(proxy, method, args) -> switch (method.getName()) {
+					case "countLoansByBorrowDay" -> borrowDays;
+					case "countReturnsByReturnDay" -> returnDays;
+					default -> throw new UnsupportedOperationException(method.getName());
+				});
+
+		executor = Executors.newFixedThreadPool(2);
+		ParallelReadQueries parallelReadQueries = new ParallelReadQueries(
+				executor, new NoOpTransactionManager(), new NoOpJdbcTemplate(), Duration.ofSeconds(5));
+		reportService = new ReportServiceImpl(
+				null, loanRepository, null, null, null, null, null, parallelReadQueries);
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() {
+		executor.shutdownNow();
+	}
+
+	@Benchmark
+	public Object getLoanReport() {
+		return reportService.getLoanReport(START, START.plusDays(days - 1));
+	}
+
+	/**
+	 * Swallows the SET LOCAL statement_timeout that each query runs first.
+	 */
+	private static final class NoOpJdbcTemplate extends JdbcTemplate {
+
+		@Override
+		public void execute(String sql) {
+		}
+	}
+
+	private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+		@Override
+		public TransactionStatus getTransaction(TransactionDefinition definition) {
+			return new SimpleTransactionStatus();
+		}
+
+		@Override
+		public void commit(TransactionStatus status) {
+		}
+
+		@Override
+		public void rollback(TransactionStatus status) {
+		}
+	}
+}
@@ -0,0 +1,19 @@
+package com.example.demo.loadtest;
+
+import java.net.http.HttpRequest;
+import java.util.function.Consumer;
+
+/**
+ * One request of a client and what to do with its answer.
+ *
+ * @param endpoint       - Name the latency is recorded under
+ * @param request        - Request to send
+ * @param rejectedStatus - Status that is an expected refusal rather than an error (400: book already borrowed,
+ *                       503: login shed by the saturated password-hashing pool), or {@link #NONE}
+ * @param onSuccess      - Receives the body of a 2xx answer, or null to discard bodies
+ */
+record Call(String endpoint, HttpRequest request, int rejectedStatus, Consumer<String> onSuccess) {
+
+	/** Every non-2xx answer is an error. */
+	static final int NONE = 0;
+}
@@ -0,0 +1,78 @@
+package com.example.demo.loadtest;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Latency samples of one client. Not thread-safe: each client owns a recorder and they are merged at the end,
+ * so the hot loop never contends on shared state.
+ */
+final class LatencyRecorder {
+
+	private long[] samples = new long[1024];
+	private int size;
+	private long rejected;
+	private long errors;
+
+	void record(long nanos) {
+		if (size == samples.length) {
+			samples = Arrays.copyOf(samples, size * 2);
+		}
+		samples[size++] = nanos;
+	}
+
+	/**
+	 * An expected refusal (e.g. book already borrowed): the latency counts, the request is not an error.
+	 */
+	void rejected(long nanos) {
+		record(nanos);
+		rejected++;
+	}
+
+	void error() {
+		errors++;
+	}
+
+	/**
+	 * Merge the recorders of all clients into sorted latencies.
+	 */
+	static Summary merge(List<LatencyRecorder> recorders) {
+		int total = recorders.stream().mapToInt(r -> r.size).sum();
+		long[] all = new long[total];
+		int offset = 0;
+		long rejected = 0;
+		long errors = 0;
+		for (LatencyRecorder r : recorders) {
+			System.arraycopy(r.samples, 0, all, offset, r.size);
+			offset += r.size;
+			rejected += r.rejected;
+			errors += r.errors;
+		}
+		Arrays.sort(all);
+		return new Summary(all, rejected, errors);
+	}
+
+	/**
+	 * Answered request latencies (sorted, nanoseconds, rejections included), the number of rejections among them
+	 * and the number of failed requests.
+	 */
+	record Summary(long[] sortedNanos, long rejected, long errors) {
+
+		long count() {
+			return sortedNanos.length;
+		}
+
+		/**
+		 * Nearest-rank percentile in milliseconds.
+		 *
+		 * @param percentile - 0 < percentile <= 100
+		 */
+		double percentileMillis(double percentile) {
+			if (sortedNanos.length == 0) {
+				return 0;
+			}
+			int rank = (int) Math.ceil(percentile / 100.0 * sortedNanos.length);
+			return sortedNanos[Math.max(rank, 1) - 1] / 1_000_000.0;
+		}
+	}
+}
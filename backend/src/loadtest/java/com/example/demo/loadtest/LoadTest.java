@@ -0,0 +1,188 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.IntFunction;
+
+/**
+ * Closed-loop load test: {@code clients} virtual threads each send one request at a time, as fast as the server
+ * answers, for warmup + duration. What they send depends on loadtest.scenario:
+ * <ul>
+ * <li>paths: anonymous GETs of loadtest.paths, e.g. to compare the platform-thread and the virtual-thread server
+ * (VIRTUAL_THREADS=true);</li>
+ * <li>mixed: seeded users logged in through /api/auth/login send search, book detail, borrow/return and report
+ * requests weighted by loadtest.mix (see {@link MixedTraffic}).</li>
+ * </ul>
+ * Reports throughput and latency percentiles of the measured period per endpoint and in total, and appends them to
+ * the results CSV so runs can be compared line by line.
+ */
+public final class LoadTest {
+
+	static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(30);
+	static final String TOTAL = "total";
+
+	private static final String CSV_HEADER = "label,endpoint,clients,duration_s,requests,rejected,errors,"
+			+ "throughput_rps,p50_ms,p90_ms,p99_ms,max_ms";
+
+	private final LoadTestConfig config;
+	private final HttpClient httpClient;
+
+	public LoadTest(LoadTestConfig config) {
+		this.config = config;
+		this.httpClient = HttpClient.newBuilder()
+				.version(HttpClient.Version.HTTP_1_1)
+				.connectTimeout(Duration.ofSeconds(10))
+				.build();
+	}
+
+	public static void main(String[] args) throws Exception {
+		LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+		Map<String, LatencyRecorder.Summary> summaries = new LoadTest(config).run();
+		List<String> lines = new ArrayList<>();
+		summaries.forEach((endpoint, summary) -> lines.add(csvLine(config, endpoint, summary)));
+		System.out.println(CSV_HEADER);
+		lines.forEach(System.out::println);
+		append(config, lines);
+	}
+
+	/**
+	 * @return the measured period per endpoint (in name order), then the {@value #TOTAL} of all endpoints
+	 */
+	public Map<String, LatencyRecorder.Summary> run() throws InterruptedException {
+		IntFunction<Traffic> traffic = traffic();
+		List<Map<String, LatencyRecorder>> recorders = new ArrayList<>(config.clients());
+		CountDownLatch start = new CountDownLatch(1);
+		// Closing the executor waits for every client to reach the end of the run
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 0; i < config.clients(); i++) {
+				Map<String, LatencyRecorder> clientRecorders = new HashMap<>();
+				recorders.add(clientRecorders);
+				Traffic clientTraffic = traffic.apply(i);
+				executor.submit(() -> client(clientTraffic, clientRecorders, start));
+			}
+			start.countDown();
+		}
+		return summarize(recorders);
+	}
+
+	private IntFunction<Traffic> traffic() throws InterruptedException {
+		if (LoadTestConfig.SCENARIO_PATHS.equals(config.scenario())) {
+			return client -> new PathTraffic(config, client);
+		}
+		if (!LoadTestConfig.SCENARIO_MIXED.equals(config.scenario())) {
+			throw new IllegalArgumentException("Unknown loadtest.scenario: " + config.scenario());
+		}
+		List<SeedUsers.Session> sessions = SeedUsers.login(config, httpClient);
+		List<SeedUsers.Session> admins = sessions.stream().filter(SeedUsers.Session::admin).toList();
+		if (admins.isEmpty()) {
+			if (config.mix().keySet().stream().allMatch(Operation::adminOnly)) {
+				throw new IllegalStateException("loadtest.mix only has report requests but no ADMIN could log in");
+			}
+			System.err.println("No ADMIN among the logged-in users: report requests are left out of the mix");
+		}
+		System.err.printf(Locale.ROOT, "Logged in %d seeded users (%d ADMIN)%n", sessions.size(), admins.size());
+		return client -> new MixedTraffic(
+				config, config.seed() + client, sessions.get(client % sessions.size()), admins);
+	}
+
+	private Void client(Traffic traffic, Map<String, LatencyRecorder> recorders, CountDownLatch start)
+			throws InterruptedException {
+		start.await();
+		long measureFrom = System.nanoTime() + config.warmup().toNanos();
+		long end = measureFrom + config.duration().toNanos();
+		long sent;
+		while ((sent = System.nanoTime()) < end) {
+			Call call = traffic.next();
+			int status = send(call);
+			if (sent < measureFrom) {
+				continue;
+			}
+			long latency = System.nanoTime() - sent;
+			LatencyRecorder recorder = recorders.computeIfAbsent(call.endpoint(), endpoint -> new LatencyRecorder());
+			if (status / 100 == 2) {
+				recorder.record(latency);
+			} else if (status == call.rejectedStatus()) {
+				recorder.rejected(latency);
+			} else {
+				recorder.error();
+			}
+		}
+		for (Call call : traffic.cleanup()) {
+			send(call);
+		}
+		return null;
+	}
+
+	/**
+	 * @return the HTTP status, or -1 if the request failed
+	 */
+	private int send(Call call) throws InterruptedException {
+		try {
+			if (call.onSuccess() == null) {
+				return httpClient.send(call.request(), HttpResponse.BodyHandlers.discarding()).statusCode();
+			}
+			HttpResponse<String> response = httpClient.send(call.request(), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() / 100 == 2) {
+				call.onSuccess().accept(response.body());
+			}
+			return response.statusCode();
+		} catch (IOException e) {
+			return -1;
+		}
+	}
+
+	private static Map<String, LatencyRecorder.Summary> summarize(List<Map<String, LatencyRecorder>> recorders) {
+		Map<String, List<LatencyRecorder>> byEndpoint = new TreeMap<>();
+		List<LatencyRecorder> all = new ArrayList<>();
+		for (Map<String, LatencyRecorder> clientRecorders : recorders) {
+			clientRecorders.forEach((endpoint, recorder) ->
+					byEndpoint.computeIfAbsent(endpoint, e -> new ArrayList<>()).add(recorder));
+			all.addAll(clientRecorders.values());
+		}
+		Map<String, LatencyRecorder.Summary> summaries = new LinkedHashMap<>();
+		byEndpoint.forEach((endpoint, endpointRecorders) ->
+				summaries.put(endpoint, LatencyRecorder.merge(endpointRecorders)));
+		summaries.put(TOTAL, LatencyRecorder.merge(all));
+		return summaries;
+	}
+
+	private static String csvLine(LoadTestConfig config, String endpoint, LatencyRecorder.Summary summary) {
+		double seconds = config.duration().toMillis() / 1000.0;
+		return String.format(Locale.ROOT, "%s,%s,%d,%.0f,%d,%d,%d,%.1f,%.2f,%.2f,%.2f,%.2f",
+				config.label(), csvField(endpoint), config.clients(), seconds,
+				summary.count(), summary.rejected(), summary.errors(),
+				summary.count() / seconds,
+				summary.percentileMillis(50), summary.percentileMillis(90), summary.percentileMillis(99),
+				summary.percentileMillis(100));
+	}
+
+	private static String csvField(String value) {
+		return value.contains(",") || value.contains("\"") ? "\"" + value.replace("\"", "\"\"") + "\"" : value;
+	}
+
+	private static void append(LoadTestConfig config, List<String> lines) throws IOException {
+		if (config.resultsFile().getParent() != null) {
+			Files.createDirectories(config.resultsFile().getParent());
+		}
+		if (Files.notExists(config.resultsFile())) {
+			Files.writeString(config.resultsFile(), CSV_HEADER + System.lineSeparator());
+		}
+		StringBuilder text = new StringBuilder();
+		lines.forEach(line -> text.append(line).append(System.lineSeparator()));
+		Files.writeString(config.resultsFile(), text, StandardOpenOption.APPEND);
+	}
+}
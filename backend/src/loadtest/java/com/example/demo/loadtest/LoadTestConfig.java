@@ -0,0 +1,97 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Load-test settings, read from system properties (gradle loadTest passes every -Ploadtest.* property through).
+ *
+ * @param baseUrl     - loadtest.baseUrl, server under test
+ * @param clients     - loadtest.clients, concurrent clients, each sending one request at a time
+ * @param warmup      - loadtest.warmupSeconds, traffic sent but not measured (JIT, pools, caches)
+ * @param duration    - loadtest.durationSeconds, measured period
+ * @param scenario    - loadtest.scenario, "paths" (anonymous GETs of {@code paths}) or "mixed" (logged-in seeded
+ *                    users, weighted by {@code mix})
+ * @param paths       - loadtest.paths, comma-separated GET paths; each client cycles through them ("paths" only)
+ * @param users       - loadtest.users, seeded users user1..userN@example.com to log in ("mixed" only); inactive
+ *                    ones are skipped
+ * @param password    - loadtest.password, password of the seeded users (see docker/init/seed_data.sql)
+ * @param books       - loadtest.books, book ids 1..books are picked for detail and borrow requests
+ * @param mix         - loadtest.mix, comma-separated operation:weight pairs (see {@link Operation})
+ * @param seed        - loadtest.seed, random seed; client i uses seed + i, so a run can be repeated exactly
+ * @param label       - loadtest.label, name of the run in the results file (e.g. "platform" / "virtual")
+ * @param resultsFile - loadtest.results, CSV file the summary lines are appended to
+ */
+public record LoadTestConfig(
+		URI baseUrl,
+		int clients,
+		Duration warmup,
+		Duration duration,
+		String scenario,
+		List<String> paths,
+		int users,
+		String password,
+		int books,
+		Map<Operation, Integer> mix,
+		long seed,
+		String label,
+		Path resultsFile) {
+
+	static final String SCENARIO_PATHS = "paths";
+	static final String SCENARIO_MIXED = "mixed";
+
+	static final String DEFAULT_PATHS = String.join(",",
+			"/api/books?page=0&size=20",
+			"/api/books/cursor?size=20",
+			"/api/books/1",
+			"/api/search/full-text?q=java");
+
+	static final String DEFAULT_MIX = "search:35,book-detail:35,borrow:10,return:10,loan-report:5,dashboard:5";
+
+	public static LoadTestConfig fromSystemProperties() {
+		return new LoadTestConfig(
+				URI.create(System.getProperty("loadtest.baseUrl", "http://localhost:8080")),
+				Integer.getInteger("loadtest.clients", 1000),
+				Duration.ofSeconds(Long.getLong("loadtest.warmupSeconds", 10L)),
+				Duration.ofSeconds(Long.getLong("loadtest.durationSeconds", 60L)),
+				System.getProperty("loadtest.scenario", SCENARIO_PATHS),
+				split(System.getProperty("loadtest.paths", DEFAULT_PATHS)),
+				Integer.getInteger("loadtest.users", 200),
+				System.getProperty("loadtest.password", "password123"),
+				Integer.getInteger("loadtest.books", 10_000),
+				parseMix(System.getProperty("loadtest.mix", DEFAULT_MIX)),
+				Long.getLong("loadtest.seed", 42L),
+				System.getProperty("loadtest.label", "run"),
+				Path.of(System.getProperty("loadtest.results", "build/loadtest/results.csv")));
+	}
+
+	static Map<Operation, Integer> parseMix(String mix) {
+		Map<Operation, Integer> weights = new LinkedHashMap<>();
+		for (String entry : split(mix)) {
+			int colon = entry.indexOf(':');
+			if (colon < 0) {
+				throw new IllegalArgumentException("loadtest.mix entry must be operation:weight, got " + entry);
+			}
+			int weight = Integer.parseInt(entry.substring(colon + 1).trim());
+			if (weight > 0) {
+				weights.put(Operation.of(entry.substring(0, colon).trim()), weight);
+			}
+		}
+		if (weights.isEmpty()) {
+			throw new IllegalArgumentException("loadtest.mix has no operation with a positive weight");
+		}
+		return weights;
+	}
+
+	private static List<String> split(String value) {
+		return Arrays.stream(value.split(","))
+				.map(String::trim)
+				.filter(part -> !part.isEmpty())
+				.toList();
+	}
+}
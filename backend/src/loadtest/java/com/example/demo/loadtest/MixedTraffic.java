@@ -0,0 +1,150 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.net.http.HttpRequest;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * "mixed" scenario: one logged-in seeded user per client, picking each request by the loadtest.mix weights.
+ * Report requests need an ADMIN and are sent with the client's own token if it has one, otherwise with one of the
+ * admin sessions in turn. Loans borrowed by the client are returned by its RETURN requests and, at the end,
+ * by {@link #cleanup()}.
+ */
+final class MixedTraffic implements Traffic {
+
+	private static final List<String> SEARCH_WORDS = List.of("great", "interesting", "content", "description");
+	private static final int LOAN_DAYS = 14;
+	private static final int REPORT_DAYS = 30;
+
+	private final LoadTestConfig config;
+	private final URI baseUrl;
+	private final int books;
+	private final Random random;
+	private final SeedUsers.Session session;
+	private final List<SeedUsers.Session> admins;
+	private final Operation[] operations;
+	private final int[] cumulativeWeights;
+	private final Deque<Long> openLoans = new ArrayDeque<>();
+	private int nextAdmin;
+
+	MixedTraffic(LoadTestConfig config, long seed, SeedUsers.Session session, List<SeedUsers.Session> admins) {
+		this.config = config;
+		this.baseUrl = config.baseUrl();
+		this.books = config.books();
+		this.random = new Random(seed);
+		this.session = session;
+		this.admins = session.admin() ? List.of(session) : admins;
+		Map<Operation, Integer> mix = config.mix();
+		List<Operation> allowed = new ArrayList<>();
+		for (Operation operation : mix.keySet()) {
+			if (!operation.adminOnly() || !this.admins.isEmpty()) {
+				allowed.add(operation);
+			}
+		}
+		this.operations = allowed.toArray(new Operation[0]);
+		this.cumulativeWeights = new int[operations.length];
+		int total = 0;
+		for (int i = 0; i < operations.length; i++) {
+			total += mix.get(operations[i]);
+			cumulativeWeights[i] = total;
+		}
+		this.nextAdmin = (int) Math.floorMod(seed, Math.max(1, this.admins.size()));
+	}
+
+	@Override
+	public Call next() {
+		Operation operation = pick();
+		if (operation == Operation.RETURN && openLoans.isEmpty()) {
+			operation = Operation.BORROW;
+		}
+		return switch (operation) {
+			case SEARCH -> search();
+			case BOOK_DETAIL -> get(Operation.BOOK_DETAIL, "/api/books/" + randomBookId(), session);
+			case BORROW -> borrow();
+			case RETURN -> returnLoan(openLoans.poll());
+			case LOAN_REPORT -> get(Operation.LOAN_REPORT, "/api/reports/loans?startDate="
+					+ LocalDate.now().minusDays(REPORT_DAYS) + "&endDate=" + LocalDate.now(), nextAdmin());
+			case DASHBOARD -> get(Operation.DASHBOARD, "/api/reports/dashboard", nextAdmin());
+			case LOGIN -> new Call(Operation.LOGIN.key(), SeedUsers.loginRequest(config, session.email()), 503, null);
+		};
+	}
+
+	@Override
+	public List<Call> cleanup() {
+		List<Call> calls = new ArrayList<>(openLoans.size());
+		while (!openLoans.isEmpty()) {
+			calls.add(returnLoan(openLoans.poll()));
+		}
+		return calls;
+	}
+
+	private Operation pick() {
+		int roll = random.nextInt(cumulativeWeights[cumulativeWeights.length - 1]);
+		for (int i = 0; i < cumulativeWeights.length; i++) {
+			if (roll < cumulativeWeights[i]) {
+				return operations[i];
+			}
+		}
+		throw new IllegalStateException("Weight " + roll + " outside the mix");
+	}
+
+	private Call search() {
+		// Half exact seeded titles, half words that occur in every seeded description
+		String q = random.nextBoolean()
+				? "Book Title " + randomBookId()
+				: SEARCH_WORDS.get(random.nextInt(SEARCH_WORDS.size()));
+		return get(Operation.SEARCH, "/api/search/full-text?size=20&q=" + URLEncoder.encode(q, StandardCharsets.UTF_8),
+				session);
+	}
+
+	private Call borrow() {
+		LocalDateTime dueDate = LocalDateTime.now().plusDays(LOAN_DAYS).truncatedTo(ChronoUnit.SECONDS);
+		String body = "{\"userId\":" + session.userId() + ",\"bookId\":" + randomBookId()
+				+ ",\"dueDate\":\"" + dueDate + "\"}";
+		HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/loans"))
+				.timeout(LoadTest.REQUEST_TIMEOUT)
+				.header("Authorization", session.authorization())
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+		return new Call(Operation.BORROW.key(), request, 400, response -> openLoans.add(SeedUsers.id(response)));
+	}
+
+	private Call returnLoan(long loanId) {
+		HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve("/api/loans/" + loanId + "/return"))
+				.timeout(LoadTest.REQUEST_TIMEOUT)
+				.header("Authorization", session.authorization())
+				.PUT(HttpRequest.BodyPublishers.noBody())
+				.build();
+		return new Call(Operation.RETURN.key(), request, 400, null);
+	}
+
+	private Call get(Operation operation, String path, SeedUsers.Session as) {
+		HttpRequest request = HttpRequest.newBuilder(baseUrl.resolve(path))
+				.timeout(LoadTest.REQUEST_TIMEOUT)
+				.header("Authorization", as.authorization())
+				.GET()
+				.build();
+		return new Call(operation.key(), request, Call.NONE, null);
+	}
+
+	private SeedUsers.Session nextAdmin() {
+		SeedUsers.Session admin = admins.get(nextAdmin);
+		nextAdmin = (nextAdmin + 1) % admins.size();
+		return admin;
+	}
+
+	private long randomBookId() {
+		return 1 + random.nextInt(books);
+	}
+}
@@ -0,0 +1,45 @@
+package com.example.demo.loadtest;
+
+/**
+ * Requests of the "mixed" scenario. The key is used in loadtest.mix and as the endpoint column of the results.
+ */
+public enum Operation {
+
+	/** GET /api/search/full-text with a seeded title or a common word */
+	SEARCH("search"),
+	/** GET /api/books/{id} */
+	BOOK_DETAIL("book-detail"),
+	/** POST /api/loans for the logged-in user; a book already out is a rejection, not an error */
+	BORROW("borrow"),
+	/** PUT /api/loans/{id}/return of a loan this client borrowed; borrows instead while it has none */
+	RETURN("return"),
+	/** GET /api/reports/loans over the last 30 days (sent with an ADMIN token) */
+	LOAN_REPORT("loan-report"),
+	/** GET /api/reports/dashboard (sent with an ADMIN token) */
+	DASHBOARD("dashboard"),
+	/** POST /api/auth/login again as the client's user; a 503 from the saturated BCrypt pool is a rejection */
+	LOGIN("login");
+
+	private final String key;
+
+	Operation(String key) {
+		this.key = key;
+	}
+
+	public String key() {
+		return key;
+	}
+
+	boolean adminOnly() {
+		return this == LOAN_REPORT || this == DASHBOARD;
+	}
+
+	static Operation of(String key) {
+		for (Operation operation : values()) {
+			if (operation.key.equals(key)) {
+				return operation;
+			}
+		}
+		throw new IllegalArgumentException("Unknown load-test operation: " + key);
+	}
+}
@@ -0,0 +1,29 @@
+package com.example.demo.loadtest;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.util.List;
+
+/**
+ * "paths" scenario: anonymous GETs of the configured paths, in turn.
+ */
+final class PathTraffic implements Traffic {
+
+	private final List<URI> uris;
+	private final List<String> paths;
+	private int next;
+
+	PathTraffic(LoadTestConfig config, int firstPath) {
+		this.paths = config.paths();
+		this.uris = paths.stream().map(config.baseUrl()::resolve).toList();
+		this.next = firstPath % uris.size();
+	}
+
+	@Override
+	public Call next() {
+		HttpRequest request = HttpRequest.newBuilder(uris.get(next)).timeout(LoadTest.REQUEST_TIMEOUT).GET().build();
+		Call call = new Call(paths.get(next), request, Call.NONE, null);
+		next = (next + 1) % uris.size();
+		return call;
+	}
+}
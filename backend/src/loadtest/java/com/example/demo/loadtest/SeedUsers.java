@@ -0,0 +1,118 @@
+package com.example.demo.loadtest;
+
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Logs in the users created by docker/init/seed_data.sql (user1..userN@example.com) before the run.
+ * Logins are BCrypt-bound on the server, so only a few run at a time and none of them is measured.
+ */
+final class SeedUsers {
+
+	private static final int CONCURRENT_LOGINS = 16;
+	private static final Pattern ACCESS_TOKEN = Pattern.compile("\"accessToken\"\\s*:\\s*\"([^\"]+)\"");
+	private static final Pattern ID = Pattern.compile("\"id\"\\s*:\\s*(\\d+)");
+	private static final Pattern ROLE = Pattern.compile("\"role\"\\s*:\\s*\"([A-Z]+)\"");
+
+	private SeedUsers() {
+	}
+
+	/**
+	 * A logged-in seeded user.
+	 */
+	record Session(long userId, String email, String token, boolean admin) {
+
+		String authorization() {
+			return "Bearer " + token;
+		}
+	}
+
+	/**
+	 * Log in user1..user{config.users()}. Seeded users that are not ACTIVE are refused by the server and skipped.
+	 *
+	 * @return sessions ordered by user id
+	 */
+	static List<Session> login(LoadTestConfig config, HttpClient httpClient) throws InterruptedException {
+		Semaphore permits = new Semaphore(CONCURRENT_LOGINS);
+		List<Future<Session>> logins = new ArrayList<>(config.users());
+		try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+			for (int i = 1; i <= config.users(); i++) {
+				String email = "user" + i + "@example.com";
+				logins.add(executor.submit(() -> {
+					permits.acquire();
+					try {
+						return login(config, httpClient, email);
+					} finally {
+						permits.release();
+					}
+				}));
+			}
+		}
+		List<Session> sessions = new ArrayList<>();
+		for (Future<Session> login : logins) {
+			Session session = login.resultNow();
+			if (session != null) {
+				sessions.add(session);
+			}
+		}
+		if (sessions.isEmpty()) {
+			throw new IllegalStateException("None of the first " + config.users() + " seeded users could log in at "
+					+ config.baseUrl() + " (is seed_data.sql loaded and loadtest.password right?)");
+		}
+		sessions.sort(Comparator.comparingLong(Session::userId));
+		return sessions;
+	}
+
+	/**
+	 * POST /api/auth/login of a seeded user with loadtest.password.
+	 */
+	static HttpRequest loginRequest(LoadTestConfig config, String email) {
+		String body = "{\"email\":\"" + email + "\",\"password\":\"" + config.password() + "\"}";
+		return HttpRequest.newBuilder(config.baseUrl().resolve("/api/auth/login"))
+				.timeout(LoadTest.REQUEST_TIMEOUT)
+				.header("Content-Type", "application/json")
+				.POST(HttpRequest.BodyPublishers.ofString(body))
+				.build();
+	}
+
+	private static Session login(LoadTestConfig config, HttpClient httpClient, String email)
+			throws InterruptedException {
+		try {
+			HttpResponse<String> response = httpClient.send(loginRequest(config, email), HttpResponse.BodyHandlers.ofString());
+			if (response.statusCode() != 200) {
+				return null;
+			}
+			Matcher token = ACCESS_TOKEN.matcher(response.body());
+			Matcher id = ID.matcher(response.body());
+			Matcher role = ROLE.matcher(response.body());
+			if (!token.find() || !id.find() || !role.find()) {
+				return null;
+			}
+			return new Session(Long.parseLong(id.group(1)), email, token.group(1), "ADMIN".equals(role.group(1)));
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Id of the resource in a JSON answer ({@code "id"} is the first field of the DTOs).
+	 */
+	static long id(String body) {
+		Matcher id = ID.matcher(body);
+		if (!id.find()) {
+			throw new IllegalStateException("No id in response: " + body);
+		}
+		return Long.parseLong(id.group(1));
+	}
+}
@@ -0,0 +1,18 @@
+package com.example.demo.loadtest;
+
+import java.util.List;
+
+/**
+ * Request source of one client. Only used by the client's own thread.
+ */
+interface Traffic {
+
+	Call next();
+
+	/**
+	 * Requests sent after the run and not measured, to leave the data as it was (e.g. return open loans).
+	 */
+	default List<Call> cleanup() {
+		return List.of();
+	}
+}
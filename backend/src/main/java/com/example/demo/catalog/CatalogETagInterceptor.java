@@ -0,0 +1,63 @@
+package com.example.demo.catalog;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.util.regex.Pattern;
+
+/**
+ * Conditional GETs on the public catalog endpoints, answered from {@link CatalogVersion} before the controller
+ * runs its queries: GET/HEAD carry the catalog ETag and get 304 when If-None-Match still matches it.
+ * A single record (GET /api/books/{id}, ...) is tagged by the controller with its own version plus the catalog
+ * version; If-Match on PUT/DELETE is checked against the record part only (see EntityVersions).
+ */
+@Component
+public class CatalogETagInterceptor implements HandlerInterceptor {
+
+	/** Mapped by WebConfig */
+	public static final String[] PATHS = {
+			"/api/books", "/api/books/**",
+			"/api/categories", "/api/categories/**",
+			"/api/authors", "/api/authors/**",
+			"/api/publishers", "/api/publishers/**",
+			"/api/search/**"
+	};
+
+	private static final Pattern RECORD_PATH = Pattern.compile("/api/(books|categories|authors|publishers)/\\d+");
+
+	private static final String LOANS_OF_USER_PARAM = "userId";
+
+	private final CatalogVersion catalogVersion;
+
+	public CatalogETagInterceptor(CatalogVersion catalogVersion) {
+		this.catalogVersion = catalogVersion;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+		boolean read = HttpMethod.GET.matches(request.getMethod()) || HttpMethod.HEAD.matches(request.getMethod());
+		if (!read || RECORD_PATH.matcher(request.getRequestURI().substring(request.getContextPath().length())).matches()) {
+			return true;
+		}
+		if (request.getParameter(LOANS_OF_USER_PARAM) != null) {
+			// Advanced search by borrower depends on loans, which do not move the catalog version
+			return true;
+		}
+		String eTag = catalogVersion.cacheableETag();
+		if (eTag == null) {
+			return true;
+		}
+		if (new ServletWebRequest(request, response).checkNotModified(eTag)) {
+			return false;
+		}
+		response.setHeader(HttpHeaders.ETAG, eTag);
+		// Let browsers keep the body but revalidate every time (overrides Spring Security's no-store)
+		response.setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+		return true;
+	}
+}
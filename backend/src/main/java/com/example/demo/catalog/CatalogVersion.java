@@ -0,0 +1,74 @@
+package com.example.demo.catalog;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Version of the public catalog (books, authors, categories, publishers, review summaries), used as the ETag of
+ * the catalog GETs (see CatalogETagInterceptor). The catalog services call {@link #changed()} on every write.
+ *
+ * The version is the single catalog_version row, so every instance hands out the same tag and a write made through
+ * one instance is seen by the others on their next request. It is bumped just before the write commits, in the same
+ * transaction: readers see the new version and the new data at the same time, and the row lock is only held for
+ * the commit itself.
+ */
+@Component
+public class CatalogVersion {
+
+	private static final String BUMP =
+			"UPDATE catalog_version SET version = version + 1, changed_at = clock_timestamp() WHERE id = 1";
+
+	/** settled: the last change is older than the replica lag guard, by the database clock every instance shares */
+	private static final String READ =
+			"SELECT version, changed_at <= clock_timestamp() - make_interval(secs => ?) AS settled " +
+			"FROM catalog_version WHERE id = 1";
+
+	private final JdbcTemplate jdbcTemplate;
+	private final double settleSeconds;
+
+	/**
+	 * @param replicaUrl - datasource.replica.url; with a replica, reads may lag the commit by up to
+	 *                   datasource.replica.lag-guard-ms, and no cacheable tag is handed out in that window
+	 * @param lagGuardMs - datasource.replica.lag-guard-ms
+	 */
+	public CatalogVersion(
+			JdbcTemplate jdbcTemplate,
+			@Value("${datasource.replica.url:}") String replicaUrl,
+			@Value("${datasource.replica.lag-guard-ms:2000}") long lagGuardMs) {
+		this.jdbcTemplate = jdbcTemplate;
+		this.settleSeconds = replicaUrl.isBlank() ? 0.0 : lagGuardMs / 1000.0;
+	}
+
+	/**
+	 * Record a catalog change when the surrounding transaction commits (immediately outside a transaction).
+	 */
+	public void changed() {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void beforeCommit(boolean readOnly) {
+					bump();
+				}
+			});
+		} else {
+			bump();
+		}
+	}
+
+	/**
+	 * Strong ETag for a response that may be cached and revalidated, or null right after a change while a
+	 * replica may still return the previous data. One primary-key read per call.
+	 */
+	public String cacheableETag() {
+		return jdbcTemplate.queryForObject(READ,
+				(rs, rowNum) -> rs.getBoolean("settled") ? "\"catalog-" + rs.getLong("version") + "\"" : null,
+				settleSeconds);
+	}
+
+	private void bump() {
+		jdbcTemplate.update(BUMP);
+	}
+}
@@ -0,0 +1,75 @@
+package com.example.demo.catalog;
+
+import com.example.demo.exception.PreconditionFailedException;
+import org.springframework.http.ResponseEntity;
+
+/**
+ * Optimistic concurrency for catalog writes. If-Match on a single book, author, category or publisher is compared
+ * with its @Version column only, so a PUT/DELETE fails when that record changed, not when anything else in the
+ * catalog did. The check runs in the write's transaction, and Hibernate's "WHERE version = ?" catches a change
+ * that commits between the check and the UPDATE.
+ *
+ * The detail response also carries rows that never bump that version (review summary, author and category names,
+ * an author's books), so its ETag is "&lt;record version&gt;.&lt;catalog version&gt;": If-None-Match only matches
+ * while nothing in the catalog changed, and If-Match only looks at the part before the dot.
+ */
+public final class EntityVersions {
+
+	private EntityVersions() {
+	}
+
+	/**
+	 * Set the ETag of a detail response.
+	 *
+	 * @param version     - @Version of the record
+	 * @param catalogETag - CatalogVersion#cacheableETag(), read before the detail is loaded so that a change
+	 *                    committing in between gives a newer body under an older tag, never the reverse; null leaves
+	 *                    the response untagged (a replica may still lag a change), the body still carries the version
+	 */
+	public static ResponseEntity.BodyBuilder withETag(
+			ResponseEntity.BodyBuilder response, Long version, String catalogETag) {
+		if (catalogETag == null) {
+			return response;
+		}
+		return response.eTag(eTag(version, catalogETag));
+	}
+
+	/**
+	 * Strong ETag of a record version within a catalog version.
+	 */
+	static String eTag(Long version, String catalogETag) {
+		return "\"" + version + "." + catalogETag.substring(1, catalogETag.length() - 1) + "\"";
+	}
+
+	/**
+	 * @param ifMatch - If-Match header, may be null: the detail ETag, or just the record version in quotes
+	 * @return the version the client expects, or null when there is no precondition (no header, or "*")
+	 */
+	public static Long expectedVersion(String ifMatch) {
+		if (ifMatch == null || ifMatch.isBlank() || ifMatch.trim().equals("*")) {
+			return null;
+		}
+		String tag = ifMatch.trim();
+		// Weak tags never match for If-Match (strong comparison), and only one version can be current
+		if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"") || tag.contains(",")) {
+			throw new PreconditionFailedException("If-Match must be the ETag of the current version");
+		}
+		String value = tag.substring(1, tag.length() - 1);
+		int dot = value.indexOf('.');
+		try {
+			return Long.valueOf(dot < 0 ? value : value.substring(0, dot));
+		} catch (NumberFormatException e) {
+			throw new PreconditionFailedException("If-Match must be the ETag of the current version");
+		}
+	}
+
+	/**
+	 * @throws PreconditionFailedException if the client expects another version than the current one
+	 */
+	public static void check(String resource, Long id, Long expectedVersion, Long currentVersion) {
+		if (expectedVersion != null && !expectedVersion.equals(currentVersion)) {
+			throw new PreconditionFailedException(
+					resource + " with id " + id + " was modified since version " + expectedVersion);
+		}
+	}
+}
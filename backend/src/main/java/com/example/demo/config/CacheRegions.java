@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+import java.util.List;
+
+/**
+ * Hibernate second-level cache regions. Each region is a Caffeine cache whose size and TTL are set in
+ * src/main/resources/application.conf; a region missing there fails startup.
+ */
+public final class CacheRegions {
+
+	public static final String CATEGORIES = "categories";
+	public static final String PUBLISHERS = "publishers";
+	public static final String AUTHORS = "authors";
+
+	/** Query cache for CategoryRepository.findByName and PublisherRepository.findByName */
+	public static final String REFERENCE_QUERIES = "reference-queries";
+
+	public static final List<String> ENTITY_REGIONS = List.of(CATEGORIES, PUBLISHERS, AUTHORS);
+
+	private CacheRegions() {
+	}
+}
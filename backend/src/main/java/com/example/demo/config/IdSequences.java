@@ -0,0 +1,22 @@
+package com.example.demo.config;
+
+/**
+ * Primary key sequences (V7__pooled_id_sequences.sql). Each nextval hands out a block of ALLOCATION_SIZE ids that
+ * Hibernate assigns in memory with the pooled-lo optimizer, so inserts need no round trip for their id and can be
+ * batched. ALLOCATION_SIZE must equal the sequences' INCREMENT BY.
+ */
+public final class IdSequences {
+
+	public static final int ALLOCATION_SIZE = 50;
+
+	public static final String PUBLISHERS = "publishers_id_seq";
+	public static final String AUTHORS = "authors_id_seq";
+	public static final String CATEGORIES = "categories_id_seq";
+	public static final String BOOKS = "books_id_seq";
+	public static final String USERS = "users_id_seq";
+	public static final String LOANS = "loans_id_seq";
+	public static final String REVIEWS = "reviews_id_seq";
+
+	private IdSequences() {
+	}
+}
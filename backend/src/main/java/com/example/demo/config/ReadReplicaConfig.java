@@ -0,0 +1,69 @@
+package com.example.demo.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.autoconfigure.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Read replica, enabled by setting datasource.replica.url (env DATASOURCE_REPLICA_URL).
+ * The primary pool keeps its spring.datasource.* settings; the replica pool is configured under
+ * datasource.replica.hikari.*. @Transactional(readOnly = true) services then read from the replica,
+ * except for users inside the read-your-writes window (ReadYourWritesGuard).
+ * Without the property Spring Boot's single DataSource is used unchanged.
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "datasource.replica", name = "url")
+public class ReadReplicaConfig {
+
+	@Bean
+	@ConfigurationProperties("spring.datasource.hikari")
+	public HikariDataSource primaryDataSource(DataSourceProperties properties) {
+		HikariDataSource dataSource = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+		dataSource.setPoolName("primary");
+		return dataSource;
+	}
+
+	@Bean
+	@ConfigurationProperties("datasource.replica.hikari")
+	public HikariDataSource replicaDataSource(
+			DataSourceProperties properties,
+			@Value("${datasource.replica.url}") String url,
+			@Value("${datasource.replica.username:${spring.datasource.username}}") String username,
+			@Value("${datasource.replica.password:${spring.datasource.password}}") String password) {
+		HikariDataSource dataSource = DataSourceBuilder.create()
+				.type(HikariDataSource.class)
+				.driverClassName(properties.determineDriverClassName())
+				.url(url)
+				.username(username)
+				.password(password)
+				.build();
+		dataSource.setPoolName("replica");
+		dataSource.setReadOnly(true);
+		return dataSource;
+	}
+
+	@Bean
+	public ReadYourWritesGuard readYourWritesGuard(@Value("${datasource.replica.lag-guard-ms:2000}") long lagGuardMs) {
+		return new ReadYourWritesGuard(Duration.ofMillis(lagGuardMs));
+	}
+
+	@Bean
+	@Primary
+	public DataSource dataSource(
+			HikariDataSource primaryDataSource,
+			HikariDataSource replicaDataSource,
+			ReadYourWritesGuard readYourWritesGuard) {
+		return new LazyConnectionDataSourceProxy(
+				new ReplicaRoutingDataSource(primaryDataSource, replicaDataSource, readYourWritesGuard));
+	}
+}
@@ -0,0 +1,57 @@
+package com.example.demo.config;
+
+import com.example.demo.security.UserPrincipal;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionExecution;
+import org.springframework.transaction.TransactionExecutionListener;
+
+import java.time.Duration;
+
+/**
+ * Replica-lag guard. After a user's read-write transaction commits (borrow, return, review, ...), that user's
+ * read-only transactions go to the primary for datasource.replica.lag-guard-ms, so they see their own change
+ * even if the replica has not replayed it yet. Other users keep reading from the replica.
+ * Spring Boot registers this listener on the transaction manager.
+ */
+public class ReadYourWritesGuard implements TransactionExecutionListener {
+
+	private static final long MAX_TRACKED_USERS = 100_000;
+
+	private final Cache<Long, Boolean> recentWriters;
+
+	public ReadYourWritesGuard(Duration lagGuard) {
+		this.recentWriters = Caffeine.newBuilder()
+				.expireAfterWrite(lagGuard)
+				.maximumSize(MAX_TRACKED_USERS)
+				.build();
+	}
+
+	@Override
+	public void afterCommit(TransactionExecution transaction, Throwable commitFailure) {
+		if (commitFailure == null && transaction.isNewTransaction() && !transaction.isReadOnly()) {
+			Long userId = currentUserId();
+			if (userId != null) {
+				recentWriters.put(userId, Boolean.TRUE);
+			}
+		}
+	}
+
+	/**
+	 * Whether the current user committed a write within the guard window.
+	 */
+	public boolean requiresPrimary() {
+		Long userId = currentUserId();
+		return userId != null && recentWriters.getIfPresent(userId) != null;
+	}
+
+	private static Long currentUserId() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		if (authentication != null && authentication.getPrincipal() instanceof UserPrincipal principal) {
+			return principal.getId();
+		}
+		return null;
+	}
+}
@@ -0,0 +1,36 @@
+package com.example.demo.config;
+
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.util.Map;
+
+/**
+ * Sends read-only transactions to the replica and everything else (writes, Flyway, work outside a transaction)
+ * to the primary. Must sit behind a LazyConnectionDataSourceProxy: the transaction's read-only flag is only set
+ * after the transaction manager asked for a connection, so the real one has to be fetched on first use.
+ */
+public class ReplicaRoutingDataSource extends AbstractRoutingDataSource {
+
+	enum Target {
+		PRIMARY, REPLICA
+	}
+
+	private final ReadYourWritesGuard readYourWritesGuard;
+
+	public ReplicaRoutingDataSource(DataSource primary, DataSource replica, ReadYourWritesGuard readYourWritesGuard) {
+		this.readYourWritesGuard = readYourWritesGuard;
+		setTargetDataSources(Map.of(Target.PRIMARY, primary, Target.REPLICA, replica));
+		setDefaultTargetDataSource(primary);
+		initialize();
+	}
+
+	@Override
+	protected Object determineCurrentLookupKey() {
+		if (TransactionSynchronizationManager.isCurrentTransactionReadOnly() && !readYourWritesGuard.requiresPrimary()) {
+			return Target.REPLICA;
+		}
+		return Target.PRIMARY;
+	}
+}
@@ -1,6 +1,8 @@
 package com.example.demo.config;
 
 import com.example.demo.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.core.env.Environment;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.HttpMethod;
@@ -10,6 +12,9 @@ import org.springframework.security.config.annotation.web.configuration.EnableWe
 import org.springframework.security.config.http.SessionCreationPolicy;
 import org.springframework.security.web.SecurityFilterChain;
 import org.springframework.security.web.authentication.UsernamePasswordAuthenticationFilter;
+import org.springframework.security.web.servlet.util.matcher.PathPatternRequestMatcher;
+import org.springframework.security.web.util.matcher.AndRequestMatcher;
+import org.springframework.security.web.util.matcher.RequestMatcher;
 import org.springframework.web.cors.CorsConfiguration;
 import org.springframework.web.cors.CorsConfigurationSource;
 import org.springframework.web.cors.UrlBasedCorsConfigurationSource;
@@ -22,9 +27,11 @@ import java.util.List;
 public class SecurityConfig {
 
 	private final JwtAuthenticationFilter jwtAuthenticationFilter;
+	private final Environment environment;
 
-	public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter) {
+	public SecurityConfig(JwtAuthenticationFilter jwtAuthenticationFilter, Environment environment) {
 		this.jwtAuthenticationFilter = jwtAuthenticationFilter;
+		this.environment = environment;
 	}
 
 	@Bean
@@ -35,6 +42,8 @@ public class SecurityConfig {
 						session.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
 				.cors(cors -> cors.configurationSource(corsConfigurationSource()))
 				.authorizeHttpRequests(auth -> auth
+						// NDJSON streams finish on an async dispatch; the request was authorized before the stream began
+						.dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
 						.requestMatchers(HttpMethod.POST, "/api/auth/login").permitAll()
 						.requestMatchers(HttpMethod.POST, "/api/users/register").permitAll()
 						.requestMatchers(HttpMethod.GET, "/api/books", "/api/books/**").permitAll()
@@ -44,18 +53,36 @@ public class SecurityConfig {
 						.requestMatchers(HttpMethod.GET, "/api/search/**").permitAll()
 						.requestMatchers(HttpMethod.GET, "/api/reviews/books/**").permitAll()
 						.requestMatchers("/v3/api-docs/**", "/swagger-ui/**", "/swagger-ui.html").permitAll()
+						.requestMatchers(HttpMethod.GET, "/actuator/health").permitAll()
+						.requestMatchers(prometheusScrape()).permitAll()
+						.requestMatchers("/actuator/**").hasRole("ADMIN")
 						.anyRequest().authenticated())
 				.addFilterBefore(jwtAuthenticationFilter, UsernamePasswordAuthenticationFilter.class);
 		return http.build();
 	}
 
+	/**
+	 * Prometheus scrapes without a token, so the endpoint is only open on the separate management port
+	 * (management.server.port). If actuator shares the application port, the scrape needs an ADMIN token.
+	 */
+	private RequestMatcher prometheusScrape() {
+		RequestMatcher onManagementPort = request -> {
+			// Set once the management server has started on its own port, absent otherwise
+			Integer managementPort = environment.getProperty("local.management.port", Integer.class);
+			return managementPort != null && request.getLocalPort() == managementPort;
+		};
+		return new AndRequestMatcher(
+				PathPatternRequestMatcher.withDefaults().matcher(HttpMethod.GET, "/actuator/prometheus"),
+				onManagementPort);
+	}
+
 	@Bean
 	public CorsConfigurationSource corsConfigurationSource() {
 		CorsConfiguration config = new CorsConfiguration();
 		config.setAllowedOrigins(List.of("http://localhost:5173", "http://127.0.0.1:5173"));
 		config.setAllowedMethods(List.of("GET", "POST", "PUT", "DELETE", "PATCH", "OPTIONS"));
-		config.setAllowedHeaders(List.of("Authorization", "Content-Type"));
-		config.setExposedHeaders(List.of("Authorization"));
+		config.setAllowedHeaders(List.of("Authorization", "Content-Type", "If-Match", "If-None-Match"));
+		config.setExposedHeaders(List.of("Authorization", "ETag"));
 		UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
 		source.registerCorsConfiguration("/**", config);
 		return source;
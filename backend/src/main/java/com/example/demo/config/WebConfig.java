@@ -0,0 +1,21 @@
+package com.example.demo.config;
+
+import com.example.demo.catalog.CatalogETagInterceptor;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+
+	private final CatalogETagInterceptor catalogETagInterceptor;
+
+	public WebConfig(CatalogETagInterceptor catalogETagInterceptor) {
+		this.catalogETagInterceptor = catalogETagInterceptor;
+	}
+
+	@Override
+	public void addInterceptors(InterceptorRegistry registry) {
+		registry.addInterceptor(catalogETagInterceptor).addPathPatterns(CatalogETagInterceptor.PATHS);
+	}
+}
@@ -3,8 +3,10 @@ package com.example.demo.controller;
 import com.example.demo.dto.auth.LoginRequestDTO;
 import com.example.demo.dto.auth.LoginResponseDTO;
 import com.example.demo.entity.User;
+import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.security.JwtTokenProvider;
 import com.example.demo.security.UserPrincipal;
+import com.example.demo.security.UserSnapshots;
 import com.example.demo.service.user.UserService;
 import jakarta.validation.Valid;
 import org.springframework.http.ResponseEntity;
@@ -21,10 +23,12 @@ public class AuthController {
 
 	private final UserService userService;
 	private final JwtTokenProvider jwtTokenProvider;
+	private final UserSnapshots userSnapshots;
 
-	public AuthController(UserService userService, JwtTokenProvider jwtTokenProvider) {
+	public AuthController(UserService userService, JwtTokenProvider jwtTokenProvider, UserSnapshots userSnapshots) {
 		this.userService = userService;
 		this.jwtTokenProvider = jwtTokenProvider;
+		this.userSnapshots = userSnapshots;
 	}
 
 	/**
@@ -45,16 +49,18 @@ public class AuthController {
 
 	/**
 	 * Return current user from token. Used by frontend to restore user after reload.
+	 * Served from the snapshot JwtAuthenticationFilter has just loaded, without another database read.
 	 */
 	@GetMapping("/me")
 	public ResponseEntity<LoginResponseDTO.AuthUserDTO> me(Authentication authentication) {
 		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-		var userDto = userService.getUserById(principal.getId());
+		UserSnapshots.UserSnapshot user = userSnapshots.get(principal.getId())
+				.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + principal.getId()));
 		LoginResponseDTO.AuthUserDTO me = new LoginResponseDTO.AuthUserDTO(
-				userDto.getId(),
-				userDto.getEmail(),
-				userDto.getFullName(),
-				userDto.getRole()
+				user.id(),
+				user.email(),
+				user.fullName(),
+				user.role()
 		);
 		return ResponseEntity.ok(me);
 	}
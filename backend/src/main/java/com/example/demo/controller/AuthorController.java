@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.author.AuthorDTO;
 import com.example.demo.dto.author.AuthorDetailDTO;
 import com.example.demo.dto.author.AuthorRequestDTO;
@@ -9,6 +11,7 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,9 +22,11 @@ import org.springframework.web.bind.annotation.*;
 public class AuthorController {
 
 	private final AuthorService authorService;
+	private final CatalogVersion catalogVersion;
 
-	public AuthorController(AuthorService authorService) {
+	public AuthorController(AuthorService authorService, CatalogVersion catalogVersion) {
 		this.authorService = authorService;
+		this.catalogVersion = catalogVersion;
 	}
 
 	/**
@@ -51,8 +56,9 @@ public class AuthorController {
 	 */
 	@GetMapping("/{id}")
 	public ResponseEntity<AuthorDetailDTO> getAuthorById(@PathVariable Long id) {
+		String catalogETag = catalogVersion.cacheableETag();
 		AuthorDetailDTO author = authorService.getAuthorById(id);
-		return ResponseEntity.ok(author);
+		return EntityVersions.withETag(ResponseEntity.ok(), author.getVersion(), catalogETag).body(author);
 	}
 
 	/**
@@ -62,9 +68,10 @@ public class AuthorController {
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<AuthorDTO> updateAuthor(
 		@PathVariable Long id,
-		@Valid @RequestBody AuthorUpdateDTO updateDTO
+		@Valid @RequestBody AuthorUpdateDTO updateDTO,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		AuthorDTO updatedAuthor = authorService.updateAuthor(id, updateDTO);
+		AuthorDTO updatedAuthor = authorService.updateAuthor(id, updateDTO, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.ok(updatedAuthor);
 	}
 
@@ -73,8 +80,11 @@ public class AuthorController {
 	 */
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<Void> deleteAuthor(@PathVariable Long id) {
-		authorService.deleteAuthor(id);
+	public ResponseEntity<Void> deleteAuthor(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		authorService.deleteAuthor(id, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.noContent().build();
 	}
 }
@@ -1,27 +1,41 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.book.BookDTO;
 import com.example.demo.dto.book.BookDetailDTO;
+import com.example.demo.dto.book.BookImportResultDTO;
 import com.example.demo.dto.book.BookRequestDTO;
 import com.example.demo.dto.book.BookUpdateDTO;
+import com.example.demo.importer.BookImportFormat;
+import com.example.demo.service.book.BookImportService;
 import com.example.demo.service.book.BookService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+
 @RestController
 @RequestMapping("/api/books")
 public class BookController {
 
 	private final BookService bookService;
+	private final BookImportService bookImportService;
+	private final CatalogVersion catalogVersion;
 
-	public BookController(BookService bookService) {
+	public BookController(BookService bookService, BookImportService bookImportService, CatalogVersion catalogVersion) {
 		this.bookService = bookService;
+		this.bookImportService = bookImportService;
+		this.catalogVersion = catalogVersion;
 	}
 
 	/**
@@ -45,13 +59,26 @@ public class BookController {
 		return ResponseEntity.ok(books);
 	}
 
+	/**
+	 * UC-BOOK-002: Lấy danh sách sách theo cursor (keyset, không tổng số)
+	 */
+	@GetMapping("/cursor")
+	public ResponseEntity<CursorSliceDTO<BookDTO>> getBooksAfter(
+		@RequestParam(required = false) String after,
+		@RequestParam(defaultValue = "20") int size
+	) {
+		CursorSliceDTO<BookDTO> books = bookService.getBooksAfter(after, size);
+		return ResponseEntity.ok(books);
+	}
+
 	/**
 	 * UC-BOOK-003: Lấy chi tiết sách theo ID
 	 */
 	@GetMapping("/{id}")
 	public ResponseEntity<BookDetailDTO> getBookById(@PathVariable Long id) {
+		String catalogETag = catalogVersion.cacheableETag();
 		BookDetailDTO book = bookService.getBookById(id);
-		return ResponseEntity.ok(book);
+		return EntityVersions.withETag(ResponseEntity.ok(), book.getVersion(), catalogETag).body(book);
 	}
 
 	/**
@@ -61,9 +88,10 @@ public class BookController {
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<BookDTO> updateBook(
 		@PathVariable Long id,
-		@Valid @RequestBody BookUpdateDTO updateDTO
+		@Valid @RequestBody BookUpdateDTO updateDTO,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		BookDTO updatedBook = bookService.updateBook(id, updateDTO);
+		BookDTO updatedBook = bookService.updateBook(id, updateDTO, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.ok(updatedBook);
 	}
 
@@ -72,8 +100,22 @@ public class BookController {
 	 */
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<Void> deleteBook(@PathVariable Long id) {
-		bookService.deleteBook(id);
+	public ResponseEntity<Void> deleteBook(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		bookService.deleteBook(id, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.noContent().build();
 	}
+
+	/**
+	 * UC-BOOK-006: Nhập hàng loạt sách từ file CSV (text/csv) hoặc NDJSON (application/x-ndjson)
+	 */
+	@PostMapping(value = "/import", consumes = { "text/csv", "application/x-ndjson" })
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<BookImportResultDTO> importBooks(HttpServletRequest request) throws IOException {
+		BookImportFormat format = BookImportFormat.fromContentType(request.getContentType());
+		BookImportResultDTO result = bookImportService.importBooks(request.getInputStream(), format);
+		return ResponseEntity.ok(result);
+	}
 }
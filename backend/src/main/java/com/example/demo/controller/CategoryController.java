@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.category.CategoryDTO;
 import com.example.demo.dto.category.CategoryDetailDTO;
 import com.example.demo.dto.category.CategoryRequestDTO;
@@ -9,6 +11,7 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,9 +22,11 @@ import org.springframework.web.bind.annotation.*;
 public class CategoryController {
 
 	private final CategoryService categoryService;
+	private final CatalogVersion catalogVersion;
 
-	public CategoryController(CategoryService categoryService) {
+	public CategoryController(CategoryService categoryService, CatalogVersion catalogVersion) {
 		this.categoryService = categoryService;
+		this.catalogVersion = catalogVersion;
 	}
 
 	/**
@@ -50,8 +55,9 @@ public class CategoryController {
 	 */
 	@GetMapping("/{id}")
 	public ResponseEntity<CategoryDetailDTO> getCategoryById(@PathVariable Long id) {
+		String catalogETag = catalogVersion.cacheableETag();
 		CategoryDetailDTO category = categoryService.getCategoryById(id);
-		return ResponseEntity.ok(category);
+		return EntityVersions.withETag(ResponseEntity.ok(), category.getVersion(), catalogETag).body(category);
 	}
 
 	/**
@@ -61,9 +67,10 @@ public class CategoryController {
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<CategoryDTO> updateCategory(
 		@PathVariable Long id,
-		@Valid @RequestBody CategoryUpdateDTO updateDTO
+		@Valid @RequestBody CategoryUpdateDTO updateDTO,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		CategoryDTO updatedCategory = categoryService.updateCategory(id, updateDTO);
+		CategoryDTO updatedCategory = categoryService.updateCategory(id, updateDTO, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.ok(updatedCategory);
 	}
 
@@ -72,8 +79,11 @@ public class CategoryController {
 	 */
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<Void> deleteCategory(@PathVariable Long id) {
-		categoryService.deleteCategory(id);
+	public ResponseEntity<Void> deleteCategory(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		categoryService.deleteCategory(id, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.noContent().build();
 	}
 }
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.loan.LoanDTO;
 import com.example.demo.dto.loan.LoanDetailDTO;
 import com.example.demo.dto.loan.LoanRenewalRequestDTO;
@@ -14,11 +15,13 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.time.LocalDateTime;
 import java.util.List;
@@ -28,9 +31,11 @@ import java.util.List;
 public class LoanController {
 
 	private final LoanService loanService;
+	private final NdjsonResponses ndjsonResponses;
 
-	public LoanController(LoanService loanService) {
+	public LoanController(LoanService loanService, NdjsonResponses ndjsonResponses) {
 		this.loanService = loanService;
+		this.ndjsonResponses = ndjsonResponses;
 	}
 
 	/**
@@ -97,16 +102,42 @@ public class LoanController {
 		return ResponseEntity.ok(loans);
 	}
 
+	/**
+	 * UC-LOAN-004: Lấy danh sách mượn trả theo cursor (keyset, không tổng số) (ADMIN only)
+	 */
+	@GetMapping("/cursor")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<CursorSliceDTO<LoanDTO>> getLoansAfter(
+			@RequestParam(required = false) LoanStatus status,
+			@RequestParam(required = false) Long userId,
+			@RequestParam(required = false) Long bookId,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "20") int size) {
+		CursorSliceDTO<LoanDTO> loans = loanService.getLoansAfter(status, userId, bookId, after, size);
+		return ResponseEntity.ok(loans);
+	}
+
 	/**
 	 * UC-LOAN-008: Lấy sách quá hạn (ADMIN only)
 	 */
 	@GetMapping("/overdue")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<List<LoanDTO>> getOverdueLoans(@RequestParam(required = false) Long userId) {
-		List<LoanDTO> loans = loanService.getOverdueLoans(userId);
+	public ResponseEntity<List<LoanDTO>> getOverdueLoans(
+			@RequestParam(required = false) Long userId,
+			@RequestParam(defaultValue = "100") int limit) {
+		List<LoanDTO> loans = loanService.getOverdueLoans(userId, limit);
 		return ResponseEntity.ok(loans);
 	}
 
+	/**
+	 * UC-LOAN-008: Stream toàn bộ sách quá hạn dạng NDJSON (ADMIN only)
+	 */
+	@GetMapping(value = "/overdue/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<StreamingResponseBody> streamOverdueLoans(@RequestParam(required = false) Long userId) {
+		return ndjsonResponses.stream(sink -> loanService.streamOverdueLoans(userId, sink));
+	}
+
 	/**
 	 * UC-LOAN-010: Thống kê mượn trả (ADMIN only)
 	 */
@@ -141,15 +172,24 @@ public class LoanController {
 	@GetMapping("/users/{userId}/history")
 	public ResponseEntity<List<LoanDTO>> getLoanHistoryByUserId(
 			@PathVariable Long userId,
+			@RequestParam(defaultValue = "100") int limit,
 			Authentication authentication) {
-		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-		if (!principal.getId().equals(userId) && principal.getRole() != UserRole.ADMIN) {
-			throw new AccessDeniedException("Cannot view another user's loan history");
-		}
-		List<LoanDTO> loans = loanService.getLoanHistoryByUserId(userId);
+		checkCanViewHistory(userId, authentication);
+		List<LoanDTO> loans = loanService.getLoanHistoryByUserId(userId, limit);
 		return ResponseEntity.ok(loans);
 	}
 
+	/**
+	 * UC-LOAN-006: Stream toàn bộ lịch sử mượn của user dạng NDJSON (chỉ chính mình hoặc ADMIN)
+	 */
+	@GetMapping(value = "/users/{userId}/history/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamLoanHistoryByUserId(
+			@PathVariable Long userId,
+			Authentication authentication) {
+		checkCanViewHistory(userId, authentication);
+		return ndjsonResponses.stream(sink -> loanService.streamLoanHistoryByUserId(userId, sink));
+	}
+
 	/**
 	 * UC-LOAN-007: Lấy sách đang mượn của user (chỉ chính mình hoặc ADMIN)
 	 */
@@ -164,4 +204,11 @@ public class LoanController {
 		List<LoanDTO> loans = loanService.getActiveLoansByUserId(userId);
 		return ResponseEntity.ok(loans);
 	}
+
+	private static void checkCanViewHistory(Long userId, Authentication authentication) {
+		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+		if (!principal.getId().equals(userId) && principal.getRole() != UserRole.ADMIN) {
+			throw new AccessDeniedException("Cannot view another user's loan history");
+		}
+	}
 }
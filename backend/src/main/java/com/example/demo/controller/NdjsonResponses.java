@@ -0,0 +1,46 @@
+package com.example.demo.controller;
+
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.function.Consumer;
+
+/**
+ * Builds the NDJSON variants of list endpoints: one JSON object per line, written as rows arrive.
+ * The producer runs on an MVC async thread once the controller has returned, so authorization checks must
+ * happen in the controller; it holds a read-only transaction (and a pooled connection) until the last row.
+ */
+@Component
+class NdjsonResponses {
+
+	private static final byte NEWLINE = '\n';
+
+	private final JsonMapper jsonMapper;
+
+	NdjsonResponses(JsonMapper jsonMapper) {
+		this.jsonMapper = jsonMapper;
+	}
+
+	/**
+	 * @param producer - Feeds every item to the given sink, e.g. {@code sink -> loanService.streamX(id, sink)}
+	 */
+	ResponseEntity<StreamingResponseBody> stream(Consumer<Consumer<Object>> producer) {
+		StreamingResponseBody body = out -> producer.accept(item -> {
+			try {
+				out.write(jsonMapper.writeValueAsBytes(item));
+				out.write(NEWLINE);
+			} catch (IOException e) {
+				// Usually the client went away; failing the producer closes the cursor and its transaction
+				throw new UncheckedIOException(e);
+			}
+		});
+		return ResponseEntity.ok()
+				.contentType(MediaType.APPLICATION_NDJSON)
+				.body(body);
+	}
+}
@@ -1,5 +1,7 @@
 package com.example.demo.controller;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.publisher.PublisherDTO;
 import com.example.demo.dto.publisher.PublisherDetailDTO;
 import com.example.demo.dto.publisher.PublisherRequestDTO;
@@ -9,6 +11,7 @@ import jakarta.validation.Valid;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
@@ -19,9 +22,11 @@ import org.springframework.web.bind.annotation.*;
 public class PublisherController {
 
 	private final PublisherService publisherService;
+	private final CatalogVersion catalogVersion;
 
-	public PublisherController(PublisherService publisherService) {
+	public PublisherController(PublisherService publisherService, CatalogVersion catalogVersion) {
 		this.publisherService = publisherService;
+		this.catalogVersion = catalogVersion;
 	}
 
 	/**
@@ -50,8 +55,9 @@ public class PublisherController {
 	 */
 	@GetMapping("/{id}")
 	public ResponseEntity<PublisherDetailDTO> getPublisherById(@PathVariable Long id) {
+		String catalogETag = catalogVersion.cacheableETag();
 		PublisherDetailDTO publisher = publisherService.getPublisherById(id);
-		return ResponseEntity.ok(publisher);
+		return EntityVersions.withETag(ResponseEntity.ok(), publisher.getVersion(), catalogETag).body(publisher);
 	}
 
 	/**
@@ -61,9 +67,10 @@ public class PublisherController {
 	@PreAuthorize("hasRole('ADMIN')")
 	public ResponseEntity<PublisherDTO> updatePublisher(
 		@PathVariable Long id,
-		@Valid @RequestBody PublisherUpdateDTO updateDTO
+		@Valid @RequestBody PublisherUpdateDTO updateDTO,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
 	) {
-		PublisherDTO updatedPublisher = publisherService.updatePublisher(id, updateDTO);
+		PublisherDTO updatedPublisher = publisherService.updatePublisher(id, updateDTO, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.ok(updatedPublisher);
 	}
 
@@ -72,8 +79,11 @@ public class PublisherController {
 	 */
 	@DeleteMapping("/{id}")
 	@PreAuthorize("hasRole('ADMIN')")
-	public ResponseEntity<Void> deletePublisher(@PathVariable Long id) {
-		publisherService.deletePublisher(id);
+	public ResponseEntity<Void> deletePublisher(
+		@PathVariable Long id,
+		@RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch
+	) {
+		publisherService.deletePublisher(id, EntityVersions.expectedVersion(ifMatch));
 		return ResponseEntity.noContent().build();
 	}
 }
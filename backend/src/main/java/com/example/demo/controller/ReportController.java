@@ -1,6 +1,7 @@
 package com.example.demo.controller;
 
 import com.example.demo.dto.loan.LoanReportDTO;
+import com.example.demo.dto.report.CacheRegionStatsDTO;
 import com.example.demo.dto.report.DashboardStatisticsDTO;
 import com.example.demo.dto.review.ReviewReportDTO;
 import com.example.demo.service.ReportService;
@@ -10,6 +11,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
 
 import java.time.LocalDate;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/reports")
@@ -52,4 +54,13 @@ public class ReportController {
 		ReviewReportDTO report = reportService.getReviewReport(bookId);
 		return ResponseEntity.ok(report);
 	}
+
+	/**
+	 * UC-REPORT-004: Thống kê second-level cache (Admin)
+	 */
+	@GetMapping("/cache")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<List<CacheRegionStatsDTO>> getCacheStatistics() {
+		return ResponseEntity.ok(reportService.getCacheStatistics());
+	}
 }
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.review.AverageRatingDTO;
 import com.example.demo.dto.review.ReviewDTO;
 import com.example.demo.dto.review.ReviewRequestDTO;
@@ -12,10 +13,12 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.AccessDeniedException;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
@@ -24,9 +27,11 @@ import java.util.List;
 public class ReviewController {
 
 	private final ReviewService reviewService;
+	private final NdjsonResponses ndjsonResponses;
 
-	public ReviewController(ReviewService reviewService) {
+	public ReviewController(ReviewService reviewService, NdjsonResponses ndjsonResponses) {
 		this.reviewService = reviewService;
+		this.ndjsonResponses = ndjsonResponses;
 	}
 
 	/**
@@ -80,21 +85,42 @@ public class ReviewController {
 		return ResponseEntity.ok(reviews);
 	}
 
+	/**
+	 * UC-REVIEW-004: Lấy danh sách đánh giá của sách theo cursor (keyset, không tổng số)
+	 */
+	@GetMapping("/books/{bookId}/cursor")
+	public ResponseEntity<CursorSliceDTO<ReviewDTO>> getReviewsByBookIdAfter(
+			@PathVariable Long bookId,
+			@RequestParam(required = false) String after,
+			@RequestParam(defaultValue = "20") int size) {
+		CursorSliceDTO<ReviewDTO> reviews = reviewService.getReviewsByBookIdAfter(bookId, after, size);
+		return ResponseEntity.ok(reviews);
+	}
+
 	/**
 	 * UC-REVIEW-005: Lấy đánh giá của user (chỉ chính mình hoặc ADMIN)
 	 */
 	@GetMapping("/users/{userId}")
 	public ResponseEntity<List<ReviewDTO>> getReviewsByUserId(
 			@PathVariable Long userId,
+			@RequestParam(defaultValue = "100") int limit,
 			Authentication authentication) {
-		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
-		if (!principal.getId().equals(userId) && principal.getRole() != UserRole.ADMIN) {
-			throw new AccessDeniedException("Cannot view another user's reviews");
-		}
-		List<ReviewDTO> reviews = reviewService.getReviewsByUserId(userId);
+		checkCanViewReviews(userId, authentication);
+		List<ReviewDTO> reviews = reviewService.getReviewsByUserId(userId, limit);
 		return ResponseEntity.ok(reviews);
 	}
 
+	/**
+	 * UC-REVIEW-005: Stream toàn bộ đánh giá của user dạng NDJSON (chỉ chính mình hoặc ADMIN)
+	 */
+	@GetMapping(value = "/users/{userId}/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamReviewsByUserId(
+			@PathVariable Long userId,
+			Authentication authentication) {
+		checkCanViewReviews(userId, authentication);
+		return ndjsonResponses.stream(sink -> reviewService.streamReviewsByUserId(userId, sink));
+	}
+
 	/**
 	 * UC-REVIEW-006: Lấy điểm đánh giá trung bình của sách
 	 */
@@ -103,4 +129,11 @@ public class ReviewController {
 		AverageRatingDTO rating = reviewService.getAverageRatingByBookId(bookId);
 		return ResponseEntity.ok(rating);
 	}
+
+	private static void checkCanViewReviews(Long userId, Authentication authentication) {
+		UserPrincipal principal = (UserPrincipal) authentication.getPrincipal();
+		if (!principal.getId().equals(userId) && principal.getRole() != UserRole.ADMIN) {
+			throw new AccessDeniedException("Cannot view another user's reviews");
+		}
+	}
 }
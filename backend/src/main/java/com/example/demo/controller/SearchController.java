@@ -6,19 +6,25 @@ import com.example.demo.service.SearchService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.web.PageableDefault;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/search")
 public class SearchController {
 
 	private final SearchService searchService;
+	private final NdjsonResponses ndjsonResponses;
 
-	public SearchController(SearchService searchService) {
+	public SearchController(SearchService searchService, NdjsonResponses ndjsonResponses) {
 		this.searchService = searchService;
+		this.ndjsonResponses = ndjsonResponses;
 	}
 
 	/**
@@ -29,11 +35,24 @@ public class SearchController {
 			@RequestParam(required = false) String categoryName,
 			@RequestParam(required = false) String authorName,
 			@RequestParam(required = false) Long userId,
-			@RequestParam(required = false) String title) {
-		List<BookDTO> books = searchService.advancedSearch(categoryName, authorName, userId, title);
+			@RequestParam(required = false) String title,
+			@RequestParam(defaultValue = "100") int limit) {
+		List<BookDTO> books = searchService.advancedSearch(categoryName, authorName, userId, title, limit);
 		return ResponseEntity.ok(books);
 	}
 
+	/**
+	 * UC-SEARCH-001: Stream toàn bộ kết quả tìm kiếm nâng cao dạng NDJSON
+	 */
+	@GetMapping(value = "/advanced/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+	public ResponseEntity<StreamingResponseBody> streamAdvancedSearch(
+			@RequestParam(required = false) String categoryName,
+			@RequestParam(required = false) String authorName,
+			@RequestParam(required = false) Long userId,
+			@RequestParam(required = false) String title) {
+		return ndjsonResponses.stream(sink -> searchService.streamAdvancedSearch(categoryName, authorName, userId, title, sink));
+	}
+
 	/**
 	 * UC-SEARCH-002: Tìm kiếm sách theo nhiều tiêu chí
 	 */
@@ -44,4 +63,36 @@ public class SearchController {
 		Page<BookDTO> books = searchService.searchBooks(criteria, pageable);
 		return ResponseEntity.ok(books);
 	}
+
+	/**
+	 * UC-SEARCH-003: Tìm kiếm toàn văn, xếp hạng theo độ liên quan
+	 */
+	@GetMapping("/full-text")
+	public ResponseEntity<Page<BookDTO>> fullTextSearch(
+			@RequestParam String q,
+			@PageableDefault(size = 20) Pageable pageable) {
+		Page<BookDTO> books = searchService.fullTextSearch(q, pageable);
+		return ResponseEntity.ok(books);
+	}
+
+	/**
+	 * UC-SEARCH-004: Tìm kiếm trên index trong bộ nhớ
+	 */
+	@GetMapping("/indexed")
+	public ResponseEntity<Page<BookDTO>> indexedSearch(
+			@RequestParam String q,
+			@PageableDefault(size = 20) Pageable pageable) {
+		Page<BookDTO> books = searchService.indexedSearch(q, pageable);
+		return ResponseEntity.ok(books);
+	}
+
+	/**
+	 * UC-SEARCH-005: Xây dựng lại index trong bộ nhớ (Admin)
+	 */
+	@PostMapping("/index/rebuild")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<Map<String, Integer>> rebuildIndex() {
+		int indexedBooks = searchService.rebuildIndex();
+		return ResponseEntity.ok(Map.of("indexedBooks", indexedBooks));
+	}
 }
@@ -1,5 +1,6 @@
 package com.example.demo.controller;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.user.ChangePasswordDTO;
 import com.example.demo.dto.user.UpdateUserRoleDTO;
 import com.example.demo.dto.user.UpdateUserStatusDTO;
@@ -54,6 +55,21 @@ public class UserController {
 		return ResponseEntity.ok(users);
 	}
 
+	/**
+	 * UC-USER-002: Lấy danh sách người dùng theo cursor (keyset, không tổng số)
+	 */
+	@GetMapping("/cursor")
+	@PreAuthorize("hasRole('ADMIN')")
+	public ResponseEntity<CursorSliceDTO<UserDTO>> getUsersAfter(
+		@RequestParam(required = false) UserStatus status,
+		@RequestParam(required = false) UserRole role,
+		@RequestParam(required = false) String after,
+		@RequestParam(defaultValue = "20") int size
+	) {
+		CursorSliceDTO<UserDTO> users = userService.getUsersAfter(status, role, after, size);
+		return ResponseEntity.ok(users);
+	}
+
 	/**
 	 * UC-USER-003: Lấy thông tin người dùng
 	 */
@@ -17,6 +17,8 @@ import java.util.List;
 public class AuthorDetailDTO {
 
 	private Long id;
+	/** Also the ETag of GET /{id}, for If-Match on PUT/DELETE */
+	private Long version;
 	private String fullName;
 	private String bio;
 	private LocalDateTime createdAt;
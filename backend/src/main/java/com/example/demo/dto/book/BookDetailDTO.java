@@ -19,6 +19,8 @@ import java.util.List;
 public class BookDetailDTO {
 
 	private Long id;
+	/** Also the ETag of GET /{id}, for If-Match on PUT/DELETE */
+	private Long version;
 	private String title;
 	private String isbn;
 	private Integer publicationYear;
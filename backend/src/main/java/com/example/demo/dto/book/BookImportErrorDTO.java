@@ -0,0 +1,18 @@
+package com.example.demo.dto.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportErrorDTO {
+
+	/** Line of the uploaded file where the row starts (CSV header is line 1) */
+	private Integer line;
+	private String isbn;
+	private String message;
+}
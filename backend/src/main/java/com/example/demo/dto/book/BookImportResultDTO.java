@@ -0,0 +1,22 @@
+package com.example.demo.dto.book;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportResultDTO {
+
+	private Integer totalRows;
+	private Integer importedCount;
+	private Integer failedCount;
+	private Integer createdAuthors;
+	/** First failed rows only; failedCount has the full number */
+	private List<BookImportErrorDTO> errors;
+}
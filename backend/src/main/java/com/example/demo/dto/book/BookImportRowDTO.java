@@ -0,0 +1,49 @@
+package com.example.demo.dto.book;
+
+import jakarta.validation.constraints.Min;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * One book of a bulk import. Publisher, authors and categories are given by name instead of ID.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookImportRowDTO {
+
+	@NotBlank(message = "Title is required")
+	@Size(max = 255, message = "Title must be at most 255 characters")
+	private String title;
+
+	@NotBlank(message = "ISBN is required")
+	@Size(max = 20, message = "ISBN must be at most 20 characters")
+	private String isbn;
+
+	@NotNull(message = "Publication year is required")
+	@Min(value = 1001, message = "Publication year must be greater than 1000")
+	private Integer publicationYear;
+
+	private String description;
+
+	@Size(max = 500, message = "Cover image URL must be at most 500 characters")
+	private String coverImageUrl;
+
+	@Size(max = 500, message = "File path must be at most 500 characters")
+	private String filePath;
+
+	@NotBlank(message = "Publisher is required")
+	private String publisher;
+
+	private List<String> authors = new ArrayList<>();
+	private List<String> categories = new ArrayList<>();
+}
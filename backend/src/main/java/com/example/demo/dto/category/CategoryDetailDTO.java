@@ -16,6 +16,8 @@ import java.util.List;
 public class CategoryDetailDTO {
 
 	private Long id;
+	/** Also the ETag of GET /{id}, for If-Match on PUT/DELETE */
+	private Long version;
 	private String name;
 	private String description;
 	private List<BookDTO> books = new ArrayList<>();
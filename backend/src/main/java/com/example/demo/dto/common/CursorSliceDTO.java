@@ -0,0 +1,44 @@
+package com.example.demo.dto.common;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * One page of a keyset-paginated list. Unlike Page there is no total count: pass nextCursor
+ * as "after" to get the following page; it is null on the last page.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CursorSliceDTO<T> {
+
+	private List<T> content;
+	private int size;
+	private boolean hasNext;
+	private String nextCursor;
+
+	/**
+	 * Build a slice from rows fetched with limit size + 1; the extra row only signals that more exist.
+	 *
+	 * @param rows     - Up to size + 1 rows in list order
+	 * @param size     - Requested page size
+	 * @param cursorOf - Cursor pointing at a given row
+	 * @return CursorSliceDTO
+	 */
+	public static <T> CursorSliceDTO<T> of(List<T> rows, int size, Function<T, KeysetCursor> cursorOf) {
+		boolean hasNext = rows.size() > size;
+		List<T> content = hasNext ? rows.subList(0, size) : rows;
+		String nextCursor = hasNext ? cursorOf.apply(content.get(content.size() - 1)).encode() : null;
+		return new CursorSliceDTO<>(List.copyOf(content), size, hasNext, nextCursor);
+	}
+
+	public <R> CursorSliceDTO<R> map(Function<T, R> mapper) {
+		return new CursorSliceDTO<>(content.stream().map(mapper).toList(), size, hasNext, nextCursor);
+	}
+}
@@ -0,0 +1,71 @@
+package com.example.demo.dto.common;
+
+import com.example.demo.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Position in a keyset-paginated list: the (sortKey, id) of the last row returned.
+ * Clients only ever see the opaque, URL-safe encoded form.
+ */
+public record KeysetCursor(String sortKey, long id) {
+
+	public static final int DEFAULT_SIZE = 20;
+	public static final int MAX_SIZE = 100;
+
+	/** Start of a newest-first list: every real row sorts before it. */
+	public static final LocalDateTime LATEST = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
+	private static final char SEPARATOR = '|';
+
+	public static KeysetCursor of(LocalDateTime sortKey, Long id) {
+		return new KeysetCursor(sortKey.toString(), id);
+	}
+
+	public static KeysetCursor of(String sortKey, Long id) {
+		return new KeysetCursor(sortKey, id);
+	}
+
+	/**
+	 * Decode a cursor received from a client.
+	 *
+	 * @param encoded - Value of the "after" parameter
+	 * @return KeysetCursor
+	 * @throws BusinessException if the cursor was not produced by {@link #encode()}
+	 */
+	public static KeysetCursor decode(String encoded) {
+		try {
+			String raw = new String(Base64.getUrlDecoder().decode(encoded), StandardCharsets.UTF_8);
+			int split = raw.lastIndexOf(SEPARATOR);
+			if (split < 0) {
+				throw new BusinessException("Invalid cursor");
+			}
+			return new KeysetCursor(raw.substring(0, split), Long.parseLong(raw.substring(split + 1)));
+		} catch (IllegalArgumentException e) {
+			throw new BusinessException("Invalid cursor");
+		}
+	}
+
+	/**
+	 * Clamp a requested page size to [1, MAX_SIZE].
+	 */
+	public static int clampSize(int size) {
+		return Math.max(1, Math.min(size, MAX_SIZE));
+	}
+
+	public String encode() {
+		return Base64.getUrlEncoder().withoutPadding()
+				.encodeToString((sortKey + SEPARATOR + id).getBytes(StandardCharsets.UTF_8));
+	}
+
+	public LocalDateTime sortKeyAsDateTime() {
+		try {
+			return LocalDateTime.parse(sortKey);
+		} catch (DateTimeParseException e) {
+			throw new BusinessException("Invalid cursor");
+		}
+	}
+}
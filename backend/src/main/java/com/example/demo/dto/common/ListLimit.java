@@ -0,0 +1,23 @@
+package com.example.demo.dto.common;
+
+import org.springframework.data.domain.Limit;
+
+/**
+ * Cap for endpoints that return a plain list instead of a page.
+ * Clients that need every row use the NDJSON stream variant of the endpoint.
+ */
+public final class ListLimit {
+
+	public static final int DEFAULT = 100;
+	public static final int MAX = 1000;
+
+	private ListLimit() {
+	}
+
+	/**
+	 * Clamp a requested list size to [1, MAX].
+	 */
+	public static Limit clamp(int limit) {
+		return Limit.of(Math.max(1, Math.min(limit, MAX)));
+	}
+}
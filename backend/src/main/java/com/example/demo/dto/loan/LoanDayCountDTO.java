@@ -0,0 +1,29 @@
+package com.example.demo.dto.loan;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDate;
+
+/**
+ * One day of a loan report histogram, aggregated in the database.
+ */
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class LoanDayCountDTO {
+
+	private LocalDate day;
+	private Long count;
+	/** Loans of that day still BORROWED (borrow histogram only) */
+	private Long borrowedCount;
+	/** Loans of that day already RETURNED (borrow histogram only) */
+	private Long returnedCount;
+
+	public LoanDayCountDTO(LocalDate day, Long count) {
+		this(day, count, 0L, 0L);
+	}
+}
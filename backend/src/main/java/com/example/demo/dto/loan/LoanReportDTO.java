@@ -20,4 +20,6 @@ public class LoanReportDTO {
 	private Map<LocalDate, Long> returnsByDate;
 	private Long totalBorrows;
 	private Long totalReturns;
+	/** True if a query timed out: its fields (borrows and totals, or returns) are null. */
+	private boolean degraded;
 }
@@ -17,6 +17,8 @@ import java.util.List;
 public class PublisherDetailDTO {
 
 	private Long id;
+	/** Also the ETag of GET /{id}, for If-Match on PUT/DELETE */
+	private Long version;
 	private String name;
 	private String website;
 	private String address;
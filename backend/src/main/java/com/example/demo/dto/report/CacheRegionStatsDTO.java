@@ -0,0 +1,19 @@
+package com.example.demo.dto.report;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class CacheRegionStatsDTO {
+
+	private String region;
+	private Long hitCount;
+	private Long missCount;
+	private Long putCount;
+	private Double hitRatio;
+}
@@ -1,11 +1,15 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.CacheRegions;
+import com.example.demo.config.IdSequences;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.jpa.domain.support.AuditingEntityListener;
 
@@ -14,6 +18,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.AUTHORS)
 @Table(name = "authors")
 @Getter
 @Setter
@@ -24,9 +30,14 @@ import java.util.List;
 public class Author {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.AUTHORS)
+	@SequenceGenerator(name = IdSequences.AUTHORS, sequenceName = IdSequences.AUTHORS, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
+	/** ETag for If-Match on PUT/DELETE (see EntityVersions) */
+	@Version
+	private Long version;
+
 	@Column(name = "full_name", nullable = false)
 	private String fullName;
 
@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.IdSequences;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -20,9 +21,14 @@ import java.util.List;
 public class Book {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.BOOKS)
+	@SequenceGenerator(name = IdSequences.BOOKS, sequenceName = IdSequences.BOOKS, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
+	/** ETag for If-Match on PUT/DELETE (see EntityVersions) */
+	@Version
+	private Long version;
+
 	@Column(nullable = false)
 	private String title;
 
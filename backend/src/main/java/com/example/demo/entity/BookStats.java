@@ -0,0 +1,72 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.annotations.Immutable;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Per-book review aggregates. Read-only here: rows are only written by
+ * {@link com.example.demo.repository.BookStatsRepository#addRating}. A book without reviews may have no row.
+ */
+@Entity
+@Immutable
+@Table(name = "book_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class BookStats {
+
+	@Id
+	@Column(name = "book_id")
+	private Long bookId;
+
+	@OneToOne(fetch = FetchType.LAZY)
+	@JoinColumn(name = "book_id", insertable = false, updatable = false)
+	private Book book;
+
+	@Column(name = "review_count", nullable = false)
+	private Integer reviewCount;
+
+	@Column(name = "rating_sum", nullable = false)
+	private Integer ratingSum;
+
+	@Column(name = "rating_1", nullable = false)
+	private Integer rating1;
+
+	@Column(name = "rating_2", nullable = false)
+	private Integer rating2;
+
+	@Column(name = "rating_3", nullable = false)
+	private Integer rating3;
+
+	@Column(name = "rating_4", nullable = false)
+	private Integer rating4;
+
+	@Column(name = "rating_5", nullable = false)
+	private Integer rating5;
+
+	/** Generated column, null when there are no reviews */
+	@Column(name = "average_rating", insertable = false, updatable = false)
+	private Double averageRating;
+
+	/**
+	 * Number of reviews per star (1..5), stars without reviews omitted.
+	 */
+	public Map<Integer, Long> ratingDistribution() {
+		int[] counts = { rating1, rating2, rating3, rating4, rating5 };
+		Map<Integer, Long> distribution = new TreeMap<>();
+		for (int star = 1; star <= counts.length; star++) {
+			if (counts[star - 1] > 0) {
+				distribution.put(star, (long) counts[star - 1]);
+			}
+		}
+		return distribution;
+	}
+}
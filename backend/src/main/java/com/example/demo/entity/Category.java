@@ -1,16 +1,22 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.CacheRegions;
+import com.example.demo.config.IdSequences;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = CacheRegions.CATEGORIES)
 @Table(name = "categories")
 @Getter
 @Setter
@@ -20,9 +26,14 @@ import java.util.List;
 public class Category {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.CATEGORIES)
+	@SequenceGenerator(name = IdSequences.CATEGORIES, sequenceName = IdSequences.CATEGORIES, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
+	/** ETag for If-Match on PUT/DELETE (see EntityVersions) */
+	@Version
+	private Long version;
+
 	@Column(nullable = false, unique = true, length = 100)
 	private String name;
 
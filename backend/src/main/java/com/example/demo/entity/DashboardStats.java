@@ -0,0 +1,44 @@
+package com.example.demo.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.LocalDateTime;
+
+/**
+ * One stripe of the summary behind the dashboard; the dashboard figures are the sums over all stripes.
+ * Counters are only changed through {@link com.example.demo.repository.DashboardStatsRepository} update
+ * statements, never by saving this entity.
+ */
+@Entity
+@Table(name = "dashboard_stats")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class DashboardStats {
+
+	/** Number of stripes (rows 1..STRIPES, see V12). */
+	public static final int STRIPES = 16;
+
+	@Id
+	private Short id;
+
+	@Column(name = "total_books", nullable = false)
+	private Long totalBooks;
+
+	@Column(name = "total_users", nullable = false)
+	private Long totalUsers;
+
+	@Column(name = "active_loans", nullable = false)
+	private Long activeLoans;
+
+	@Column(name = "overdue_loans", nullable = false)
+	private Long overdueLoans;
+
+	@Column(name = "reconciled_at", nullable = false)
+	private LocalDateTime reconciledAt;
+}
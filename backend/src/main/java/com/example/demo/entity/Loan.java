@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.IdSequences;
 import com.example.demo.enums.LoanStatus;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
@@ -20,7 +21,8 @@ import java.time.LocalDateTime;
 public class Loan {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.LOANS)
+	@SequenceGenerator(name = IdSequences.LOANS, sequenceName = IdSequences.LOANS, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
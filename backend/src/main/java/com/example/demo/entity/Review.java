@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.IdSequences;
 import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
@@ -24,7 +25,8 @@ import java.time.LocalDateTime;
 public class Review {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.REVIEWS)
+	@SequenceGenerator(name = IdSequences.REVIEWS, sequenceName = IdSequences.REVIEWS, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
 	@ManyToOne(fetch = FetchType.LAZY)
@@ -1,5 +1,6 @@
 package com.example.demo.entity;
 
+import com.example.demo.config.IdSequences;
 import com.example.demo.enums.UserRole;
 import com.example.demo.enums.UserStatus;
 import jakarta.persistence.*;
@@ -26,7 +27,8 @@ import java.util.List;
 public class User {
 
 	@Id
-	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	@GeneratedValue(strategy = GenerationType.SEQUENCE, generator = IdSequences.USERS)
+	@SequenceGenerator(name = IdSequences.USERS, sequenceName = IdSequences.USERS, allocationSize = IdSequences.ALLOCATION_SIZE)
 	private Long id;
 
 	@Column(nullable = false, unique = true)
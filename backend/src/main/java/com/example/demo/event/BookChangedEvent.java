@@ -0,0 +1,12 @@
+package com.example.demo.event;
+
+import com.example.demo.dto.book.BookDTO;
+
+/**
+ * Published by BookService after a book is created or updated.
+ *
+ * @param book    - Book as returned to the client
+ * @param created - true for a new book, false for an update
+ */
+public record BookChangedEvent(BookDTO book, boolean created) {
+}
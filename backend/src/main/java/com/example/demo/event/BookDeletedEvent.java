@@ -0,0 +1,9 @@
+package com.example.demo.event;
+
+/**
+ * Published by BookService after a book is deleted. Its loans, all RETURNED, are deleted with it (cascade).
+ *
+ * @param bookId - ID sách
+ */
+public record BookDeletedEvent(Long bookId) {
+}
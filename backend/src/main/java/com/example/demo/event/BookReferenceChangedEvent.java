@@ -0,0 +1,17 @@
+package com.example.demo.event;
+
+/**
+ * Published by AuthorService, CategoryService and PublisherService after an author, category or publisher is
+ * updated, so copies of it held with its books (the in-memory catalog index) can be refreshed.
+ *
+ * @param type - Which kind of reference changed
+ * @param id   - ID của tác giả / danh mục / NXB
+ */
+public record BookReferenceChangedEvent(Type type, Long id) {
+
+	public enum Type {
+		AUTHOR,
+		CATEGORY,
+		PUBLISHER
+	}
+}
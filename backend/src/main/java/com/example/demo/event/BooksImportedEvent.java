@@ -0,0 +1,9 @@
+package com.example.demo.event;
+
+/**
+ * Published by BookImportService once per imported chunk, inside the chunk's transaction.
+ *
+ * @param count - Number of books inserted by the chunk
+ */
+public record BooksImportedEvent(int count) {
+}
@@ -0,0 +1,17 @@
+package com.example.demo.event;
+
+import com.example.demo.enums.LoanStatus;
+
+/**
+ * Published by LoanService whenever a loan is created or changes status.
+ *
+ * @param bookId - ID sách của loan
+ * @param from   - Previous status, null for a new loan
+ * @param to     - New status
+ */
+public record LoanStatusChangedEvent(Long bookId, LoanStatus from, LoanStatus to) {
+
+	public boolean isNewLoan() {
+		return from == null;
+	}
+}
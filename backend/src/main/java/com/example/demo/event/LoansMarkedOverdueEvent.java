@@ -0,0 +1,9 @@
+package com.example.demo.event;
+
+/**
+ * Published by LoanOverdueSweeper once per swept chunk, inside the chunk's transaction.
+ *
+ * @param count - Number of loans flipped from BORROWED to OVERDUE by the chunk
+ */
+public record LoansMarkedOverdueEvent(int count) {
+}
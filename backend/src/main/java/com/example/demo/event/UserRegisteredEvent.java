@@ -0,0 +1,9 @@
+package com.example.demo.event;
+
+/**
+ * Published by UserService after a new user is registered.
+ *
+ * @param userId - ID người dùng
+ */
+public record UserRegisteredEvent(Long userId) {
+}
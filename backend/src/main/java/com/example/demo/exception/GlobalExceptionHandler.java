@@ -1,8 +1,12 @@
 package com.example.demo.exception;
 
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
 import org.springframework.security.access.AccessDeniedException;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.validation.FieldError;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
@@ -35,6 +39,30 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(error, HttpStatus.CONFLICT);
 	}
 
+	@ExceptionHandler(PreconditionFailedException.class)
+	public ResponseEntity<ErrorResponse> handlePreconditionFailedException(PreconditionFailedException ex) {
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.PRECONDITION_FAILED.value(),
+			ex.getMessage(),
+			LocalDateTime.now()
+		);
+		return new ResponseEntity<>(error, HttpStatus.PRECONDITION_FAILED);
+	}
+
+	/**
+	 * Another request changed the record between this one reading it and writing it (@Version):
+	 * the client should reload and retry rather than overwrite that change.
+	 */
+	@ExceptionHandler(OptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorResponse> handleOptimisticLockingFailure(OptimisticLockingFailureException ex) {
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.CONFLICT.value(),
+			"The resource was modified by another request, please reload and retry",
+			LocalDateTime.now()
+		);
+		return new ResponseEntity<>(error, HttpStatus.CONFLICT);
+	}
+
 	@ExceptionHandler(BusinessException.class)
 	public ResponseEntity<ErrorResponse> handleBusinessException(BusinessException ex) {
 		ErrorResponse error = new ErrorResponse(
@@ -83,6 +111,32 @@ public class GlobalExceptionHandler {
 		return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
 	}
 
+	/**
+	 * No database connection within spring.datasource.hikari.connection-timeout: the pool is saturated
+	 * (or the database is down), so tell the client to retry instead of reporting a server bug.
+	 */
+	@ExceptionHandler({CannotCreateTransactionException.class, CannotGetJdbcConnectionException.class})
+	public ResponseEntity<ErrorResponse> handleConnectionUnavailable(Exception ex) {
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.SERVICE_UNAVAILABLE.value(),
+			"Database is busy, please retry",
+			LocalDateTime.now()
+		);
+		return new ResponseEntity<>(error, HttpStatus.SERVICE_UNAVAILABLE);
+	}
+
+	@ExceptionHandler(ServiceBusyException.class)
+	public ResponseEntity<ErrorResponse> handleServiceBusyException(ServiceBusyException ex) {
+		ErrorResponse error = new ErrorResponse(
+			HttpStatus.SERVICE_UNAVAILABLE.value(),
+			ex.getMessage(),
+			LocalDateTime.now()
+		);
+		return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+			.header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+			.body(error);
+	}
+
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorResponse> handleGenericException(Exception ex) {
 		ErrorResponse error = new ErrorResponse(
@@ -0,0 +1,11 @@
+package com.example.demo.exception;
+
+/**
+ * The client's If-Match names a version the resource no longer has. Answered with 412.
+ */
+public class PreconditionFailedException extends RuntimeException {
+
+	public PreconditionFailedException(String message) {
+		super(message);
+	}
+}
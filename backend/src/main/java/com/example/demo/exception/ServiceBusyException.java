@@ -0,0 +1,19 @@
+package com.example.demo.exception;
+
+/**
+ * A bounded resource refused the work right away instead of letting requests pile up behind it.
+ * Answered with 503 and Retry-After so clients back off.
+ */
+public class ServiceBusyException extends RuntimeException {
+
+	private final int retryAfterSeconds;
+
+	public ServiceBusyException(String message, int retryAfterSeconds) {
+		super(message);
+		this.retryAfterSeconds = retryAfterSeconds;
+	}
+
+	public int getRetryAfterSeconds() {
+		return retryAfterSeconds;
+	}
+}
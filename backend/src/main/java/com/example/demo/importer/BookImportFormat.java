@@ -0,0 +1,35 @@
+package com.example.demo.importer;
+
+import com.example.demo.exception.BusinessException;
+import org.springframework.http.MediaType;
+
+/**
+ * Upload formats accepted by the bulk book import, keyed by request Content-Type.
+ */
+public enum BookImportFormat {
+
+	CSV("text/csv"),
+	NDJSON("application/x-ndjson");
+
+	private final String mediaType;
+
+	BookImportFormat(String mediaType) {
+		this.mediaType = mediaType;
+	}
+
+	public String mediaType() {
+		return mediaType;
+	}
+
+	public static BookImportFormat fromContentType(String contentType) {
+		if (contentType != null) {
+			MediaType type = MediaType.parseMediaType(contentType);
+			for (BookImportFormat format : values()) {
+				if (MediaType.parseMediaType(format.mediaType).isCompatibleWith(type)) {
+					return format;
+				}
+			}
+		}
+		throw new BusinessException("Unsupported import content type: " + contentType);
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.demo.importer;
+
+import com.example.demo.dto.book.BookImportRowDTO;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Streams the rows of an uploaded catalog one at a time, so an import never holds the whole file.
+ * A row that cannot be parsed is returned with an error instead of failing the import.
+ */
+public interface BookImportReader extends Closeable {
+
+	/**
+	 * @return Next row, or null at the end of the input
+	 */
+	ParsedRow next() throws IOException;
+
+	static BookImportReader open(InputStream input, BookImportFormat format, JsonMapper jsonMapper) throws IOException {
+		BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+		return switch (format) {
+			case CSV -> new CsvBookImportReader(reader);
+			case NDJSON -> new NdjsonBookImportReader(reader, jsonMapper);
+		};
+	}
+
+	/**
+	 * @param line  - Line of the input where the row starts
+	 * @param row   - Parsed row, null if it could not be parsed
+	 * @param error - Why the row could not be parsed, null otherwise
+	 */
+	record ParsedRow(int line, BookImportRowDTO row, String error) {
+
+		static ParsedRow ok(int line, BookImportRowDTO row) {
+			return new ParsedRow(line, row, null);
+		}
+
+		static ParsedRow failed(int line, String error) {
+			return new ParsedRow(line, null, error);
+		}
+	}
+}
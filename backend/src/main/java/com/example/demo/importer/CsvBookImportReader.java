@@ -0,0 +1,174 @@
+package com.example.demo.importer;
+
+import com.example.demo.dto.book.BookImportRowDTO;
+import com.example.demo.exception.BusinessException;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * RFC 4180 CSV with a header row naming the columns (any order, case and underscores ignored):
+ * title, isbn, publicationYear, publisher, authors, categories, description, coverImageUrl, filePath.
+ * Authors and categories hold several names separated by '|'. Quoted fields may contain commas, quotes ("")
+ * and line breaks. Blank lines are skipped.
+ */
+class CsvBookImportReader implements BookImportReader {
+
+	private static final String LIST_SEPARATOR = "\\|";
+
+	private final BufferedReader reader;
+	private final Map<String, Integer> columns = new HashMap<>();
+	private int lineNumber;
+
+	CsvBookImportReader(BufferedReader reader) throws IOException {
+		this.reader = reader;
+		List<String> header = readRecord();
+		if (header == null) {
+			throw new BusinessException("CSV header is missing");
+		}
+		for (int i = 0; i < header.size(); i++) {
+			String name = header.get(i);
+			if (i == 0 && name.startsWith("\uFEFF")) {
+				name = name.substring(1);
+			}
+			columns.put(columnKey(name), i);
+		}
+		if (!columns.containsKey("title") || !columns.containsKey("isbn")) {
+			throw new BusinessException("CSV header must contain the title and isbn columns");
+		}
+	}
+
+	@Override
+	public ParsedRow next() throws IOException {
+		List<String> fields;
+		int recordLine;
+		do {
+			recordLine = lineNumber + 1;
+			try {
+				fields = readRecord();
+			} catch (MalformedRecordException e) {
+				return ParsedRow.failed(recordLine, e.getMessage());
+			}
+			if (fields == null) {
+				return null;
+			}
+		} while (fields.size() == 1 && fields.get(0).isBlank());
+
+		if (fields.size() != columns.size()) {
+			return ParsedRow.failed(recordLine,
+					"Expected " + columns.size() + " columns but found " + fields.size());
+		}
+
+		BookImportRowDTO row = new BookImportRowDTO();
+		row.setTitle(field(fields, "title"));
+		row.setIsbn(field(fields, "isbn"));
+		row.setDescription(field(fields, "description"));
+		row.setCoverImageUrl(field(fields, "coverimageurl"));
+		row.setFilePath(field(fields, "filepath"));
+		row.setPublisher(field(fields, "publisher"));
+		row.setAuthors(names(field(fields, "authors")));
+		row.setCategories(names(field(fields, "categories")));
+		String year = field(fields, "publicationyear");
+		if (year != null) {
+			try {
+				row.setPublicationYear(Integer.valueOf(year.trim()));
+			} catch (NumberFormatException e) {
+				return ParsedRow.failed(recordLine, "Invalid publication year: " + year);
+			}
+		}
+		return ParsedRow.ok(recordLine, row);
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+
+	/**
+	 * Read one record, following quoted fields across line breaks.
+	 *
+	 * @return Fields of the record, or null at the end of the input
+	 */
+	private List<String> readRecord() throws IOException {
+		String line = reader.readLine();
+		if (line == null) {
+			return null;
+		}
+		lineNumber++;
+
+		List<String> fields = new ArrayList<>();
+		StringBuilder field = new StringBuilder();
+		boolean quoted = false;
+		int i = 0;
+		while (true) {
+			if (i == line.length()) {
+				if (!quoted) {
+					fields.add(field.toString());
+					return fields;
+				}
+				line = reader.readLine();
+				if (line == null) {
+					throw new MalformedRecordException("Unterminated quoted field");
+				}
+				lineNumber++;
+				field.append('\n');
+				i = 0;
+				continue;
+			}
+			char c = line.charAt(i++);
+			if (quoted) {
+				if (c != '"') {
+					field.append(c);
+				} else if (i < line.length() && line.charAt(i) == '"') {
+					field.append('"');
+					i++;
+				} else {
+					quoted = false;
+				}
+			} else if (c == '"' && field.isEmpty()) {
+				quoted = true;
+			} else if (c == ',') {
+				fields.add(field.toString());
+				field.setLength(0);
+			} else {
+				field.append(c);
+			}
+		}
+	}
+
+	private String field(List<String> fields, String column) {
+		Integer index = columns.get(column);
+		if (index == null) {
+			return null;
+		}
+		String value = fields.get(index);
+		return value.isBlank() ? null : value;
+	}
+
+	private static List<String> names(String value) {
+		if (value == null) {
+			return new ArrayList<>();
+		}
+		return Arrays.stream(value.split(LIST_SEPARATOR))
+				.map(String::trim)
+				.filter(name -> !name.isEmpty())
+				.toList();
+	}
+
+	private static String columnKey(String name) {
+		return name.trim().replace("_", "").replace(" ", "").toLowerCase(Locale.ROOT);
+	}
+
+	private static final class MalformedRecordException extends IOException {
+
+		private MalformedRecordException(String message) {
+			super(message);
+		}
+	}
+}
@@ -0,0 +1,47 @@
+package com.example.demo.importer;
+
+import com.example.demo.dto.book.BookImportRowDTO;
+import tools.jackson.core.JacksonException;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+
+/**
+ * One JSON object per line with the fields of {@link BookImportRowDTO}; authors and categories are arrays of names.
+ * Blank lines are skipped.
+ */
+class NdjsonBookImportReader implements BookImportReader {
+
+	private final BufferedReader reader;
+	private final JsonMapper jsonMapper;
+	private int lineNumber;
+
+	NdjsonBookImportReader(BufferedReader reader, JsonMapper jsonMapper) {
+		this.reader = reader;
+		this.jsonMapper = jsonMapper;
+	}
+
+	@Override
+	public ParsedRow next() throws IOException {
+		String line;
+		do {
+			line = reader.readLine();
+			if (line == null) {
+				return null;
+			}
+			lineNumber++;
+		} while (line.isBlank());
+
+		try {
+			return ParsedRow.ok(lineNumber, jsonMapper.readValue(line, BookImportRowDTO.class));
+		} catch (JacksonException e) {
+			return ParsedRow.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+		}
+	}
+
+	@Override
+	public void close() throws IOException {
+		reader.close();
+	}
+}
@@ -53,6 +53,7 @@ public class AuthorMapper {
 
 		AuthorDetailDTO dto = new AuthorDetailDTO();
 		dto.setId(author.getId());
+		dto.setVersion(author.getVersion());
 		dto.setFullName(author.getFullName());
 		dto.setBio(author.getBio());
 		dto.setCreatedAt(author.getCreatedAt());
@@ -77,6 +77,7 @@ public class BookMapper {
 
 		BookDetailDTO dto = new BookDetailDTO();
 		dto.setId(book.getId());
+		dto.setVersion(book.getVersion());
 		dto.setTitle(book.getTitle());
 		dto.setIsbn(book.getIsbn());
 		dto.setPublicationYear(book.getPublicationYear());
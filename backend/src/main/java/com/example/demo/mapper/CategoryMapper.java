@@ -53,6 +53,7 @@ public class CategoryMapper {
 
 		CategoryDetailDTO dto = new CategoryDetailDTO();
 		dto.setId(category.getId());
+		dto.setVersion(category.getVersion());
 		dto.setName(category.getName());
 		dto.setDescription(category.getDescription());
 		dto.setBooks(category.getBooks().stream()
@@ -54,6 +54,7 @@ public class PublisherMapper {
 
 		PublisherDetailDTO dto = new PublisherDetailDTO();
 		dto.setId(publisher.getId());
+		dto.setVersion(publisher.getVersion());
 		dto.setName(publisher.getName());
 		dto.setWebsite(publisher.getWebsite());
 		dto.setAddress(publisher.getAddress());
@@ -1,21 +1,93 @@
 package com.example.demo.repository;
 
 import com.example.demo.entity.Book;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface BookRepository extends JpaRepository<Book, Long> {
 
 	Optional<Book> findByIsbn(String isbn);
 
+	@Override
+	@EntityGraph(attributePaths = "publisher")
+	Page<Book> findAll(Pageable pageable);
+
+	/**
+	 * Keyset scan over all books in id order, one chunk at a time (used to build the in-memory catalog index).
+	 */
+	@EntityGraph(attributePaths = "publisher")
+	List<Book> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+
+	/**
+	 * Keyset page ordered by (title, id): seeks past the cursor on idx_books_title_id instead of OFFSET.
+	 */
+	@EntityGraph(attributePaths = "publisher")
+	@Query("SELECT b FROM Book b WHERE (b.title, b.id) > (:title, :id) ORDER BY b.title, b.id")
+	List<Book> findPageAfter(@Param("title") String title, @Param("id") Long id, Limit limit);
+
+	@Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.authors WHERE b.id IN :ids")
+	List<Book> findAllWithAuthorsByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT DISTINCT b FROM Book b LEFT JOIN FETCH b.categories WHERE b.id IN :ids")
+	List<Book> findAllWithCategoriesByIdIn(@Param("ids") Collection<Long> ids);
+
+	@Query("SELECT b.id FROM Book b JOIN b.authors a WHERE a.id = :authorId")
+	List<Long> findIdsByAuthorId(@Param("authorId") Long authorId);
+
+	@Query("SELECT b.id FROM Book b JOIN b.categories c WHERE c.id = :categoryId")
+	List<Long> findIdsByCategoryId(@Param("categoryId") Long categoryId);
+
+	@Query("SELECT b.id FROM Book b WHERE b.publisher.id = :publisherId")
+	List<Long> findIdsByPublisherId(@Param("publisherId") Long publisherId);
+
+	@Query("SELECT b FROM Book b LEFT JOIN FETCH b.publisher WHERE b.id IN :ids")
+	List<Book> findAllWithPublisherByIdIn(@Param("ids") Collection<Long> ids);
+
+	/**
+	 * Initialize the publisher of already-loaded books with one query, for queries that cannot fetch it
+	 * themselves (native queries such as {@link #fullTextSearch}).
+	 *
+	 * @param books - Managed books (e.g. the content of a page)
+	 */
+	default void fetchPublishers(List<Book> books) {
+		if (books.isEmpty()) {
+			return;
+		}
+		findAllWithPublisherByIdIn(books.stream().map(Book::getId).toList());
+	}
+
+	/**
+	 * Initialize authors and categories of already-loaded books with one query per collection,
+	 * so mapping a page to BookDTO does not lazy-load them row by row.
+	 * Authors and categories are fetched separately to avoid a cartesian product of the two bags.
+	 *
+	 * @param books - Managed books (e.g. the content of a page)
+	 */
+	default void fetchAuthorsAndCategories(List<Book> books) {
+		if (books.isEmpty()) {
+			return;
+		}
+		List<Long> ids = books.stream().map(Book::getId).toList();
+		findAllWithAuthorsByIdIn(ids);
+		findAllWithCategoriesByIdIn(ids);
+	}
+
+	@EntityGraph(attributePaths = "publisher")
 	@Query("SELECT DISTINCT b FROM Book b " +
 			"LEFT JOIN b.authors a " +
 			"LEFT JOIN b.categories c " +
@@ -38,15 +110,51 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 			Pageable pageable
 	);
 
-	@Query("SELECT DISTINCT b FROM Book b " +
+	/**
+	 * Full-text search over books.search_document (title, authors, categories, publisher, description),
+	 * kept in sync by triggers and served by a GIN index. Results are ordered by ts_rank_cd, best first.
+	 * The pageable must be unsorted: ordering is defined by the rank.
+	 * Publishers are not fetched (native query): load them with {@link #fetchPublishers}.
+	 */
+	@Query(value = "SELECT b.* FROM books b, websearch_to_tsquery('simple', unaccent(:query)) q " +
+			"WHERE b.search_document @@ q " +
+			"ORDER BY ts_rank_cd(b.search_document, q) DESC, b.id",
+			countQuery = "SELECT COUNT(*) FROM books b " +
+					"WHERE b.search_document @@ websearch_to_tsquery('simple', unaccent(:query))",
+			nativeQuery = true)
+	Page<Book> fullTextSearch(@Param("query") String query, Pageable pageable);
+
+	String ADVANCED_SEARCH = "SELECT DISTINCT b FROM Book b " +
 			"LEFT JOIN b.authors a " +
 			"LEFT JOIN b.categories c " +
 			"LEFT JOIN b.loans l " +
 			"WHERE (:categoryName IS NULL OR LOWER(c.name) LIKE LOWER(CONCAT('%', :categoryName, '%'))) " +
 			"AND (:authorName IS NULL OR LOWER(a.fullName) LIKE LOWER(CONCAT('%', :authorName, '%'))) " +
-			"AND (:userId IS NULL OR (l.user.id = :userId AND l.status = 'BORROWED')) " +
-			"AND (:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%')))")
+			"AND (:userId IS NULL OR (l.user.id = :userId AND l.status IN ('BORROWED', 'OVERDUE'))) " +
+			"AND (:title IS NULL OR LOWER(b.title) LIKE LOWER(CONCAT('%', :title, '%'))) " +
+			"ORDER BY b.id";
+
+	@EntityGraph(attributePaths = "publisher")
+	@Query(ADVANCED_SEARCH)
 	List<Book> advancedSearch(
+			@Param("categoryName") String categoryName,
+			@Param("authorName") String authorName,
+			@Param("userId") Long userId,
+			@Param("title") String title,
+			Limit limit
+	);
+
+	/**
+	 * Every match of {@link #advancedSearch}, read through a JDBC cursor. Authors and categories are not
+	 * fetched: the caller loads them per chunk with {@link #fetchAuthorsAndCategories}.
+	 */
+	@EntityGraph(attributePaths = "publisher")
+	@Query(ADVANCED_SEARCH)
+	@QueryHints({
+			@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE),
+			@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+	})
+	Stream<Book> streamAdvancedSearch(
 			@Param("categoryName") String categoryName,
 			@Param("authorName") String authorName,
 			@Param("userId") Long userId,
@@ -59,12 +167,11 @@ public interface BookRepository extends JpaRepository<Book, Long> {
 			"ORDER BY loanCount DESC")
 	List<Object[]> findMostBorrowedBooks(Pageable pageable);
 
-	@Query("SELECT b FROM Book b " +
-			"WHERE b.id IN (" +
-			"  SELECT r.book.id FROM Review r " +
-			"  GROUP BY r.book.id " +
-			"  HAVING AVG(r.rating) >= :minRating" +
-			") " +
-			"ORDER BY (SELECT AVG(r2.rating) FROM Review r2 WHERE r2.book.id = b.id) DESC")
+	/**
+	 * Highest rated books, read from the book_stats aggregates (idx_book_stats_average_rating).
+	 */
+	@Query("SELECT s.book FROM BookStats s " +
+			"WHERE s.averageRating >= :minRating " +
+			"ORDER BY s.averageRating DESC, s.bookId")
 	List<Book> findTopRatedBooks(@Param("minRating") Double minRating, Pageable pageable);
 }
@@ -0,0 +1,38 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.BookStats;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface BookStatsRepository extends JpaRepository<BookStats, Long> {
+
+	/**
+	 * Add (sign = 1) or remove (sign = -1) one rating in a single upsert, creating the row for a book's first
+	 * review. Concurrent reviews of the same book serialize on the row instead of losing updates.
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "book_stats"))
+	@Query(value = "INSERT INTO book_stats (book_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5) " +
+			"VALUES (:bookId, :sign, :sign * :rating, " +
+			"CASE WHEN :rating = 1 THEN :sign ELSE 0 END, " +
+			"CASE WHEN :rating = 2 THEN :sign ELSE 0 END, " +
+			"CASE WHEN :rating = 3 THEN :sign ELSE 0 END, " +
+			"CASE WHEN :rating = 4 THEN :sign ELSE 0 END, " +
+			"CASE WHEN :rating = 5 THEN :sign ELSE 0 END) " +
+			"ON CONFLICT (book_id) DO UPDATE SET " +
+			"review_count = book_stats.review_count + EXCLUDED.review_count, " +
+			"rating_sum = book_stats.rating_sum + EXCLUDED.rating_sum, " +
+			"rating_1 = book_stats.rating_1 + EXCLUDED.rating_1, " +
+			"rating_2 = book_stats.rating_2 + EXCLUDED.rating_2, " +
+			"rating_3 = book_stats.rating_3 + EXCLUDED.rating_3, " +
+			"rating_4 = book_stats.rating_4 + EXCLUDED.rating_4, " +
+			"rating_5 = book_stats.rating_5 + EXCLUDED.rating_5", nativeQuery = true)
+	int addRating(@Param("bookId") Long bookId, @Param("rating") int rating, @Param("sign") int sign);
+}
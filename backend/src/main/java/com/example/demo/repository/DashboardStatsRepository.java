@@ -0,0 +1,62 @@
+package com.example.demo.repository;
+
+import com.example.demo.entity.DashboardStats;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public interface DashboardStatsRepository extends JpaRepository<DashboardStats, Short> {
+
+	/**
+	 * Add deltas to the counters in one statement, so concurrent writers never lose an update.
+	 * Each connection adds to its own stripe (pg_backend_pid() picks it, and it stays the same for the whole
+	 * transaction), so concurrent transactions rarely wait on each other's row lock and a transaction never
+	 * holds more than one stripe. The native-spaces hint on both updates tells Hibernate which table they touch;
+	 * without it every native update would evict the whole second-level cache.
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dashboard_stats"))
+	@Query(value = "UPDATE dashboard_stats SET " +
+			"total_books = total_books + :books, " +
+			"total_users = total_users + :users, " +
+			"active_loans = active_loans + :activeLoans, " +
+			"overdue_loans = overdue_loans + :overdueLoans " +
+			"WHERE id = 1 + pg_backend_pid() % " + DashboardStats.STRIPES, nativeQuery = true)
+	int applyDelta(
+			@Param("books") long books,
+			@Param("users") long users,
+			@Param("activeLoans") long activeLoans,
+			@Param("overdueLoans") long overdueLoans);
+
+	/**
+	 * Lock every stripe, always in id order.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT s FROM DashboardStats s ORDER BY s.id")
+	List<DashboardStats> findAllForUpdate();
+
+	/**
+	 * Overwrite the counters with fresh counts from the source tables: the counts go to the first stripe,
+	 * the other stripes start again from zero.
+	 * Call after {@link #findAllForUpdate} in the same transaction (see DashboardStatsReconciler).
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "dashboard_stats"))
+	@Query(value = "UPDATE dashboard_stats SET " +
+			"total_books = CASE WHEN id = 1 THEN (SELECT COUNT(*) FROM books) ELSE 0 END, " +
+			"total_users = CASE WHEN id = 1 THEN (SELECT COUNT(*) FROM users) ELSE 0 END, " +
+			"active_loans = CASE WHEN id = 1 THEN (SELECT COUNT(*) FROM loans WHERE status = 'BORROWED') ELSE 0 END, " +
+			"overdue_loans = CASE WHEN id = 1 THEN (SELECT COUNT(*) FROM loans WHERE status = 'OVERDUE') ELSE 0 END, " +
+			"reconciled_at = CURRENT_TIMESTAMP", nativeQuery = true)
+	int recount();
+}
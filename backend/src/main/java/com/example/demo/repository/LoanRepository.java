@@ -1,67 +1,184 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.loan.LoanDTO;
+import com.example.demo.dto.loan.LoanDayCountDTO;
 import com.example.demo.entity.Loan;
 import com.example.demo.enums.LoanStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface LoanRepository extends JpaRepository<Loan, Long> {
 
-	Page<Loan> findByStatus(LoanStatus status, Pageable pageable);
-
-	@Query("SELECT l FROM Loan l WHERE l.user.id = :userId")
-	Page<Loan> findByUserId(@Param("userId") Long userId, Pageable pageable);
-
-	@Query("SELECT l FROM Loan l WHERE l.book.id = :bookId")
-	Page<Loan> findByBookId(@Param("bookId") Long bookId, Pageable pageable);
-
-	@Query("SELECT l FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
-	Page<Loan> findByUserIdAndStatus(@Param("userId") Long userId, @Param("status") LoanStatus status, Pageable pageable);
-
-	@Query("SELECT l FROM Loan l WHERE l.user.id = :userId")
-	List<Loan> findListByUserId(@Param("userId") Long userId);
-
-	@Query("SELECT l FROM Loan l WHERE l.book.id = :bookId")
-	List<Loan> findListByBookId(@Param("bookId") Long bookId);
-
-	@Query("SELECT l FROM Loan l WHERE l.book.id = :bookId AND l.status = :status")
-	List<Loan> findListByBookIdAndStatus(@Param("bookId") Long bookId, @Param("status") LoanStatus status);
-
-	@Query("SELECT l FROM Loan l WHERE l.status = :status AND l.dueDate < :currentDate")
-	List<Loan> findOverdueLoans(@Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status);
-
-	@Query("SELECT l FROM Loan l WHERE l.user.id = :userId AND l.status = :status AND l.dueDate < :currentDate")
-	List<Loan> findOverdueLoansByUserId(@Param("userId") Long userId, @Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status);
-
-	@Query("SELECT COUNT(l) FROM Loan l WHERE l.book.id = :bookId AND l.status = :status")
-	Long countActiveLoansByBookId(@Param("bookId") Long bookId, @Param("status") LoanStatus status);
-
-	@Query("SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
-	Long countActiveLoansByUserId(@Param("userId") Long userId, @Param("status") LoanStatus status);
+	/**
+	 * Constructor expression selecting LoanDTO columns straight from loans, users and books,
+	 * so list endpoints never hydrate Loan/User/Book entities.
+	 */
+	String LOAN_DTO_SELECT = "SELECT new com.example.demo.dto.loan.LoanDTO(" +
+			"l.id, u.id, u.fullName, b.id, b.title, l.borrowDate, l.dueDate, l.returnDate, l.status) " +
+			"FROM Loan l JOIN l.user u JOIN l.book b ";
+
+	@Query(value = LOAN_DTO_SELECT,
+			countQuery = "SELECT COUNT(l) FROM Loan l")
+	Page<LoanDTO> findAllLoanDTOs(Pageable pageable);
+
+	@Query(value = LOAN_DTO_SELECT + "WHERE l.status = :status",
+			countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.status = :status")
+	Page<LoanDTO> findLoanDTOsByStatus(@Param("status") LoanStatus status, Pageable pageable);
+
+	@Query(value = LOAN_DTO_SELECT + "WHERE l.user.id = :userId",
+			countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId")
+	Page<LoanDTO> findLoanDTOsByUserId(@Param("userId") Long userId, Pageable pageable);
+
+	@Query(value = LOAN_DTO_SELECT + "WHERE l.book.id = :bookId",
+			countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.book.id = :bookId")
+	Page<LoanDTO> findLoanDTOsByBookId(@Param("bookId") Long bookId, Pageable pageable);
+
+	@Query(value = LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND l.status = :status",
+			countQuery = "SELECT COUNT(l) FROM Loan l WHERE l.user.id = :userId AND l.status = :status")
+	Page<LoanDTO> findLoanDTOsByUserIdAndStatus(@Param("userId") Long userId, @Param("status") LoanStatus status, Pageable pageable);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId ORDER BY l.borrowDate DESC, l.id DESC")
+	List<LoanDTO> findLoanDTOListByUserId(@Param("userId") Long userId, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId ORDER BY l.borrowDate DESC, l.id DESC")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+	Stream<LoanDTO> streamLoanDTOsByUserId(@Param("userId") Long userId);
+
+	/**
+	 * Loans of a user that are still out: BORROWED, or OVERDUE once LoanOverdueSweeper flipped them.
+	 */
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND l.status IN (" +
+			"com.example.demo.enums.LoanStatus.BORROWED, com.example.demo.enums.LoanStatus.OVERDUE)")
+	List<LoanDTO> findActiveLoanDTOListByUserId(@Param("userId") Long userId);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.status = :status AND l.dueDate < :currentDate ORDER BY l.dueDate, l.id")
+	List<LoanDTO> findOverdueLoanDTOs(@Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.status = :status AND l.dueDate < :currentDate ORDER BY l.dueDate, l.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+	Stream<LoanDTO> streamOverdueLoanDTOs(@Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND l.status = :status AND l.dueDate < :currentDate ORDER BY l.dueDate, l.id")
+	List<LoanDTO> findOverdueLoanDTOsByUserId(@Param("userId") Long userId, @Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND l.status = :status AND l.dueDate < :currentDate ORDER BY l.dueDate, l.id")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+	Stream<LoanDTO> streamOverdueLoanDTOsByUserId(@Param("userId") Long userId, @Param("currentDate") LocalDateTime currentDate, @Param("status") LoanStatus status);
+
+	/**
+	 * Keyset pages, newest first: seek below the (borrowDate, id) of the previous page's last row.
+	 * Start with KeysetCursor.LATEST / Long.MAX_VALUE for the first page.
+	 */
+	String LOAN_KEYSET_ORDER = "ORDER BY l.borrowDate DESC, l.id DESC";
+
+	@Query(LOAN_DTO_SELECT + "WHERE (l.borrowDate, l.id) < (:borrowDate, :id) " + LOAN_KEYSET_ORDER)
+	List<LoanDTO> findLoanDTOsBefore(
+			@Param("borrowDate") LocalDateTime borrowDate, @Param("id") Long id, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.status = :status AND (l.borrowDate, l.id) < (:borrowDate, :id) " + LOAN_KEYSET_ORDER)
+	List<LoanDTO> findLoanDTOsByStatusBefore(@Param("status") LoanStatus status,
+			@Param("borrowDate") LocalDateTime borrowDate, @Param("id") Long id, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND (l.borrowDate, l.id) < (:borrowDate, :id) " + LOAN_KEYSET_ORDER)
+	List<LoanDTO> findLoanDTOsByUserIdBefore(@Param("userId") Long userId,
+			@Param("borrowDate") LocalDateTime borrowDate, @Param("id") Long id, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.book.id = :bookId AND (l.borrowDate, l.id) < (:borrowDate, :id) " + LOAN_KEYSET_ORDER)
+	List<LoanDTO> findLoanDTOsByBookIdBefore(@Param("bookId") Long bookId,
+			@Param("borrowDate") LocalDateTime borrowDate, @Param("id") Long id, Limit limit);
+
+	@Query(LOAN_DTO_SELECT + "WHERE l.user.id = :userId AND l.status = :status " +
+			"AND (l.borrowDate, l.id) < (:borrowDate, :id) " + LOAN_KEYSET_ORDER)
+	List<LoanDTO> findLoanDTOsByUserIdAndStatusBefore(@Param("userId") Long userId, @Param("status") LoanStatus status,
+			@Param("borrowDate") LocalDateTime borrowDate, @Param("id") Long id, Limit limit);
+
+	/**
+	 * Load a loan and lock its row until the transaction ends, so a status change cannot race
+	 * {@link #markOverdue}: the sweep skips the locked row, or the lock waits for the sweep to commit.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT l FROM Loan l WHERE l.id = :id")
+	Optional<Loan> findByIdForUpdate(@Param("id") Long id);
+
+	/**
+	 * Flip up to :limit BORROWED loans that are past due to OVERDUE in one statement.
+	 * FOR UPDATE SKIP LOCKED lets several nodes sweep at the same time: each claims rows nobody else holds,
+	 * and loans being returned or renewed right now are left for the next sweep.
+	 * The status is a literal here, so the (status, due_date) index serves the inner select.
+	 *
+	 * @return number of loans flipped
+	 */
+	@Modifying
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = "loans"))
+	@Query(value = "UPDATE loans SET status = 'OVERDUE' WHERE id IN (" +
+			"SELECT id FROM loans WHERE status = 'BORROWED' AND due_date < :now " +
+			"ORDER BY due_date LIMIT :limit FOR UPDATE SKIP LOCKED)", nativeQuery = true)
+	int markOverdue(@Param("now") LocalDateTime now, @Param("limit") int limit);
+
+	/**
+	 * Whether the book is still out (BORROWED or OVERDUE). Same predicate as uq_loans_active_book, so this is
+	 * a single probe of that partial index, which holds at most one row per book.
+	 */
+	@Query("SELECT CASE WHEN COUNT(l) > 0 THEN true ELSE false END FROM Loan l WHERE l.book.id = :bookId " +
+			"AND l.status IN (com.example.demo.enums.LoanStatus.BORROWED, com.example.demo.enums.LoanStatus.OVERDUE)")
+	boolean existsActiveLoanByBookId(@Param("bookId") Long bookId);
+
+	@Query("SELECT COUNT(l) FROM Loan l WHERE l.book.id = :bookId")
+	long countLoansByBookId(@Param("bookId") Long bookId);
 
 	@Query("SELECT COUNT(l) FROM Loan l WHERE l.status = :status")
 	Long countByStatus(@Param("status") LoanStatus status);
 
-	@Query("SELECT l FROM Loan l WHERE " +
-			"(:startDate IS NULL OR l.borrowDate >= :startDate) AND " +
-			"(:endDate IS NULL OR l.borrowDate <= :endDate)")
-	List<Loan> findLoansByDateRange(
+	/**
+	 * Loans borrowed in the range, per borrow day, with the day's BORROWED and RETURNED counts.
+	 * One row per day instead of one per loan; ordered by day.
+	 */
+	@Query("SELECT new com.example.demo.dto.loan.LoanDayCountDTO(CAST(l.borrowDate AS LocalDate), COUNT(l), " +
+			"SUM(CASE WHEN l.status = com.example.demo.enums.LoanStatus.BORROWED THEN 1L ELSE 0L END), " +
+			"SUM(CASE WHEN l.status = com.example.demo.enums.LoanStatus.RETURNED THEN 1L ELSE 0L END)) " +
+			"FROM Loan l WHERE l.borrowDate >= :startDate AND l.borrowDate <= :endDate " +
+			"GROUP BY CAST(l.borrowDate AS LocalDate) ORDER BY CAST(l.borrowDate AS LocalDate)")
+	List<LoanDayCountDTO> countLoansByBorrowDay(
+			@Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate
+	);
+
+	/**
+	 * Loans borrowed in the range that have been returned, per return day; ordered by day.
+	 */
+	@Query("SELECT new com.example.demo.dto.loan.LoanDayCountDTO(CAST(l.returnDate AS LocalDate), COUNT(l)) " +
+			"FROM Loan l WHERE l.borrowDate >= :startDate AND l.borrowDate <= :endDate AND l.returnDate IS NOT NULL " +
+			"GROUP BY CAST(l.returnDate AS LocalDate) ORDER BY CAST(l.returnDate AS LocalDate)")
+	List<LoanDayCountDTO> countReturnsByReturnDay(
+			@Param("startDate") LocalDateTime startDate,
+			@Param("endDate") LocalDateTime endDate
+	);
+
+	@Query("SELECT COUNT(l) FROM Loan l WHERE l.borrowDate >= :startDate AND l.borrowDate <= :endDate")
+	Long countLoansByDateRange(
 			@Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate
 	);
 
 	@Query("SELECT COUNT(l) FROM Loan l WHERE " +
-			"(:startDate IS NULL OR l.borrowDate >= :startDate) AND " +
-			"(:endDate IS NULL OR l.borrowDate <= :endDate) AND " +
-			"l.status = :status")
+			"l.status = :status AND l.borrowDate >= :startDate AND l.borrowDate <= :endDate")
 	Long countLoansByDateRangeAndStatus(
 			@Param("startDate") LocalDateTime startDate,
 			@Param("endDate") LocalDateTime endDate,
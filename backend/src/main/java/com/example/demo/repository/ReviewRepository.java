@@ -1,27 +1,68 @@
 package com.example.demo.repository;
 
+import com.example.demo.dto.review.ReviewDTO;
 import com.example.demo.entity.Review;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ReviewRepository extends JpaRepository<Review, Long> {
 
+	/**
+	 * Load a review and lock its row until the transaction ends. The rating read here is the one subtracted
+	 * from book_stats, so two concurrent updates or deletes of the same review must not both start from it.
+	 */
+	@Lock(LockModeType.PESSIMISTIC_WRITE)
+	@Query("SELECT r FROM Review r WHERE r.id = :id")
+	Optional<Review> findByIdForUpdate(@Param("id") Long id);
+
 	@Query("SELECT r FROM Review r WHERE r.book.id = :bookId")
 	Page<Review> findByBookId(@Param("bookId") Long bookId, Pageable pageable);
 
+	/**
+	 * Keyset page of a book's reviews, newest first. User and book are fetched for ReviewMapper.
+	 */
+	@Query("SELECT r FROM Review r JOIN FETCH r.user JOIN FETCH r.book " +
+			"WHERE r.book.id = :bookId AND (r.createdAt, r.id) < (:createdAt, :id) " +
+			"ORDER BY r.createdAt DESC, r.id DESC")
+	List<Review> findPageByBookIdBefore(
+			@Param("bookId") Long bookId,
+			@Param("createdAt") LocalDateTime createdAt,
+			@Param("id") Long id,
+			Limit limit);
+
 	@Query("SELECT r FROM Review r WHERE r.book.id = :bookId")
 	List<Review> findListByBookId(@Param("bookId") Long bookId);
 
-	@Query("SELECT r FROM Review r WHERE r.user.id = :userId")
-	List<Review> findByUserId(@Param("userId") Long userId);
+	/**
+	 * Constructor expression selecting ReviewDTO columns straight from reviews, users and books,
+	 * so per-user lists never hydrate Review/User/Book entities.
+	 */
+	String REVIEW_DTO_SELECT = "SELECT new com.example.demo.dto.review.ReviewDTO(" +
+			"r.id, u.id, u.fullName, b.id, b.title, r.rating, r.comment, r.createdAt) " +
+			"FROM Review r JOIN r.user u JOIN r.book b ";
+
+	@Query(REVIEW_DTO_SELECT + "WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+	List<ReviewDTO> findReviewDTOsByUserId(@Param("userId") Long userId, Limit limit);
+
+	@Query(REVIEW_DTO_SELECT + "WHERE r.user.id = :userId ORDER BY r.createdAt DESC, r.id DESC")
+	@QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = StreamingQueries.FETCH_SIZE))
+	Stream<ReviewDTO> streamReviewDTOsByUserId(@Param("userId") Long userId);
 
 	@Query("SELECT r FROM Review r WHERE r.user.id = :userId AND r.book.id = :bookId")
 	Optional<Review> findByUserIdAndBookId(@Param("userId") Long userId, @Param("bookId") Long bookId);
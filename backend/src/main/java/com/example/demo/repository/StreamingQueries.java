@@ -0,0 +1,17 @@
+package com.example.demo.repository;
+
+/**
+ * Settings shared by the repository methods that return a {@link java.util.stream.Stream}.
+ * Those methods must be called inside a transaction and their stream closed by the caller.
+ */
+public final class StreamingQueries {
+
+	/**
+	 * Rows per JDBC round trip. The PostgreSQL driver only reads through a cursor (instead of loading the
+	 * whole result) when a fetch size is set and autocommit is off, i.e. inside a transaction.
+	 */
+	public static final String FETCH_SIZE = "500";
+
+	private StreamingQueries() {
+	}
+}
@@ -3,6 +3,7 @@ package com.example.demo.repository;
 import com.example.demo.entity.User;
 import com.example.demo.enums.UserRole;
 import com.example.demo.enums.UserStatus;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
@@ -10,6 +11,7 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -28,4 +30,20 @@ public interface UserRepository extends JpaRepository<User, Long> {
 		@Param("role") UserRole role,
 		Pageable pageable
 	);
+
+	/**
+	 * Keyset page, newest first: seeks below (createdAt, id) of the previous page's last row.
+	 */
+	@Query("SELECT u FROM User u WHERE " +
+		"(:status IS NULL OR u.status = :status) " +
+		"AND (:role IS NULL OR u.role = :role) " +
+		"AND (u.createdAt, u.id) < (:createdAt, :id) " +
+		"ORDER BY u.createdAt DESC, u.id DESC")
+	List<User> findPageBefore(
+		@Param("status") UserStatus status,
+		@Param("role") UserRole role,
+		@Param("createdAt") LocalDateTime createdAt,
+		@Param("id") Long id,
+		Limit limit
+	);
 }
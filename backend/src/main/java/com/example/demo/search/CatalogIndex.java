@@ -0,0 +1,269 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.author.AuthorDTO;
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.category.CategoryDTO;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-memory inverted index over books, their authors, categories and publisher.
+ * Each book is a document with an int ordinal; a term's postings are parallel int arrays of
+ * (ordinal, field weight) kept in ordinal order. Updates append a new document and tombstone the old one,
+ * and the index compacts itself once tombstones outnumber live documents.
+ * Thread-safe: searches share a read lock, writes take the write lock.
+ */
+public class CatalogIndex {
+
+	static final int TITLE_WEIGHT = 8;
+	static final int AUTHOR_WEIGHT = 4;
+	static final int CATEGORY_WEIGHT = 2;
+	static final int PUBLISHER_WEIGHT = 2;
+	static final int DESCRIPTION_WEIGHT = 1;
+
+	/** Shortest last query token that is expanded as a prefix ("search-as-you-type"). */
+	private static final int MIN_PREFIX_LENGTH = 2;
+	private static final int MIN_TOMBSTONES_BEFORE_COMPACT = 1_000;
+
+	private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private NavigableMap<String, Postings> terms = new TreeMap<>();
+	private List<BookDTO> documents = new ArrayList<>();
+	private Map<Long, Integer> ordinalByBookId = new HashMap<>();
+	private BitSet deleted = new BitSet();
+	private int deletedCount;
+
+	/**
+	 * Add or replace a book.
+	 *
+	 * @param book - Book with publisher, authors and categories populated
+	 */
+	public void put(BookDTO book) {
+		lock.writeLock().lock();
+		try {
+			tombstone(book.getId());
+			append(book);
+			compactIfMostlyDeleted();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Bulk-load books in one lock acquisition (used when building a fresh index).
+	 *
+	 * @param books - Books with publisher, authors and categories populated
+	 */
+	public void putAll(Collection<BookDTO> books) {
+		lock.writeLock().lock();
+		try {
+			for (BookDTO book : books) {
+				tombstone(book.getId());
+				append(book);
+			}
+			compactIfMostlyDeleted();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(Long bookId) {
+		lock.writeLock().lock();
+		try {
+			tombstone(bookId);
+			compactIfMostlyDeleted();
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	/** Number of live (non-deleted) books. */
+	public int size() {
+		lock.readLock().lock();
+		try {
+			return ordinalByBookId.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/** Number of document slots, live or tombstoned (shrinks back to {@link #size()} when compacted). */
+	int slots() {
+		lock.readLock().lock();
+		try {
+			return documents.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * All query tokens must match (AND); the last one also matches as a prefix.
+	 * Hits are ordered by summed field weight, then by indexing order.
+	 *
+	 * @param query - Free text, diacritics optional
+	 * @param page  - Zero-based page number
+	 * @param size  - Page size
+	 * @return Hits - Requested page and total number of matches
+	 */
+	public Hits search(String query, int page, int size) {
+		List<String> tokens = TextNormalizer.tokenize(query);
+		if (tokens.isEmpty()) {
+			return new Hits(List.of(), 0);
+		}
+		lock.readLock().lock();
+		try {
+			int docCount = documents.size();
+			int[] scores = new int[docCount];
+			int[] matchedGroups = new int[docCount];
+			for (int group = 0; group < tokens.size(); group++) {
+				String token = tokens.get(group);
+				boolean prefix = group == tokens.size() - 1 && token.length() >= MIN_PREFIX_LENGTH;
+				Collection<Postings> expansions = prefix
+						? terms.subMap(token, true, token + Character.MAX_VALUE, true).values()
+						: single(terms.get(token));
+				if (expansions.isEmpty()) {
+					return new Hits(List.of(), 0);
+				}
+				for (Postings postings : expansions) {
+					for (int i = 0; i < postings.size; i++) {
+						int doc = postings.docs[i];
+						// Only docs that matched every previous group can still qualify
+						if (matchedGroups[doc] == group) {
+							matchedGroups[doc] = group + 1;
+							scores[doc] += postings.weights[i];
+						} else if (matchedGroups[doc] == group + 1) {
+							scores[doc] += postings.weights[i];
+						}
+					}
+				}
+			}
+
+			int required = tokens.size();
+			int[] hits = new int[docCount];
+			int hitCount = 0;
+			for (int doc = 0; doc < docCount; doc++) {
+				if (matchedGroups[doc] == required && !deleted.get(doc)) {
+					hits[hitCount++] = doc;
+				}
+			}
+			Integer[] ranked = new Integer[hitCount];
+			for (int i = 0; i < hitCount; i++) {
+				ranked[i] = hits[i];
+			}
+			Arrays.sort(ranked, (a, b) -> scores[a] != scores[b] ? Integer.compare(scores[b], scores[a]) : Integer.compare(a, b));
+
+			int from = (int) Math.min((long) page * size, hitCount);
+			int to = Math.min(from + size, hitCount);
+			List<BookDTO> content = new ArrayList<>(to - from);
+			for (int i = from; i < to; i++) {
+				content.add(documents.get(ranked[i]));
+			}
+			return new Hits(content, hitCount);
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private void append(BookDTO book) {
+		int doc = documents.size();
+		documents.add(book);
+		ordinalByBookId.put(book.getId(), doc);
+
+		Map<String, Integer> weights = new HashMap<>();
+		addField(weights, book.getTitle(), TITLE_WEIGHT);
+		addField(weights, book.getDescription(), DESCRIPTION_WEIGHT);
+		if (book.getPublisher() != null) {
+			addField(weights, book.getPublisher().getName(), PUBLISHER_WEIGHT);
+		}
+		if (book.getAuthors() != null) {
+			for (AuthorDTO author : book.getAuthors()) {
+				addField(weights, author.getFullName(), AUTHOR_WEIGHT);
+			}
+		}
+		if (book.getCategories() != null) {
+			for (CategoryDTO category : book.getCategories()) {
+				addField(weights, category.getName(), CATEGORY_WEIGHT);
+			}
+		}
+		weights.forEach((term, weight) -> terms.computeIfAbsent(term, t -> new Postings()).add(doc, weight));
+	}
+
+	private void tombstone(Long bookId) {
+		Integer doc = ordinalByBookId.remove(bookId);
+		if (doc != null) {
+			deleted.set(doc);
+			documents.set(doc, null);
+			deletedCount++;
+		}
+	}
+
+	private void compactIfMostlyDeleted() {
+		if (deletedCount >= MIN_TOMBSTONES_BEFORE_COMPACT && deletedCount > ordinalByBookId.size()) {
+			compact();
+		}
+	}
+
+	/** Re-index live documents into fresh structures, dropping tombstoned postings. */
+	private void compact() {
+		List<BookDTO> live = new ArrayList<>(ordinalByBookId.size());
+		for (BookDTO book : documents) {
+			if (book != null) {
+				live.add(book);
+			}
+		}
+		terms = new TreeMap<>();
+		documents = new ArrayList<>(live.size());
+		ordinalByBookId = new HashMap<>();
+		deleted = new BitSet();
+		deletedCount = 0;
+		live.forEach(this::append);
+	}
+
+	private static void addField(Map<String, Integer> weights, String text, int weight) {
+		for (String token : TextNormalizer.tokenize(text)) {
+			// Count a field once per term so long descriptions cannot outweigh the title
+			weights.merge(token, weight, (current, added) -> current | added);
+		}
+	}
+
+	private static Collection<Postings> single(Postings postings) {
+		return postings == null ? List.of() : List.of(postings);
+	}
+
+	/**
+	 * Growable postings list stored as primitive arrays.
+	 */
+	private static final class Postings {
+
+		private int[] docs = new int[4];
+		private int[] weights = new int[4];
+		private int size;
+
+		private void add(int doc, int weight) {
+			if (size == docs.length) {
+				docs = Arrays.copyOf(docs, size * 2);
+				weights = Arrays.copyOf(weights, size * 2);
+			}
+			docs[size] = doc;
+			weights[size] = weight;
+			size++;
+		}
+	}
+
+	/**
+	 * One page of search results.
+	 */
+	public record Hits(List<BookDTO> content, long total) {
+	}
+}
@@ -0,0 +1,229 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.entity.Book;
+import com.example.demo.event.BookReferenceChangedEvent;
+import com.example.demo.exception.BusinessException;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.repository.BookRepository;
+import jakarta.persistence.EntityManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Owns the optional in-memory {@link CatalogIndex}: builds it at startup from a chunked keyset scan,
+ * applies book changes after their transaction commits, and swaps in a fresh index on rebuild.
+ * Enabled with search.catalog-index.enabled=true.
+ */
+@Component
+public class CatalogIndexer implements ApplicationRunner {
+
+	private static final int SCAN_CHUNK_SIZE = 500;
+
+	private final BookRepository bookRepository;
+	private final BookMapper bookMapper;
+	private final EntityManager entityManager;
+	private final TransactionTemplate readOnlyTransaction;
+	private final TransactionTemplate primaryTransaction;
+	private final boolean enabled;
+
+	private final Object swapLock = new Object();
+	private volatile CatalogIndex index;
+	/** Changes committed while a rebuild scan is running; replayed onto the new index before it is swapped in. */
+	private List<Consumer<CatalogIndex>> pendingDuringRebuild;
+
+	public CatalogIndexer(
+			BookRepository bookRepository,
+			BookMapper bookMapper,
+			EntityManager entityManager,
+			PlatformTransactionManager transactionManager,
+			@Value("${search.catalog-index.enabled:false}") boolean enabled) {
+		this.bookRepository = bookRepository;
+		this.bookMapper = bookMapper;
+		this.entityManager = entityManager;
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setReadOnly(true);
+		// AFTER_COMMIT listeners cannot use the finished transaction. Not read-only on purpose: the books must be
+		// read with the change that just committed, so from the primary, never from a lagging replica
+		this.primaryTransaction = new TransactionTemplate(transactionManager);
+		this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.enabled = enabled;
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		if (enabled) {
+			rebuild();
+		}
+	}
+
+	public boolean isEnabled() {
+		return enabled;
+	}
+
+	/**
+	 * Build a new index from the database and swap it in. Searches keep using the old index until then.
+	 *
+	 * @return Number of indexed books
+	 */
+	public int rebuild() {
+		if (!enabled) {
+			throw new BusinessException("Catalog index is disabled");
+		}
+		synchronized (swapLock) {
+			if (pendingDuringRebuild != null) {
+				throw new BusinessException("Catalog index rebuild is already running");
+			}
+			pendingDuringRebuild = new ArrayList<>();
+		}
+		CatalogIndex fresh = new CatalogIndex();
+		try {
+			readOnlyTransaction.executeWithoutResult(status -> scanInto(fresh));
+		} catch (RuntimeException e) {
+			synchronized (swapLock) {
+				pendingDuringRebuild = null;
+			}
+			throw e;
+		}
+		synchronized (swapLock) {
+			pendingDuringRebuild.forEach(change -> change.accept(fresh));
+			pendingDuringRebuild = null;
+			index = fresh;
+		}
+		return fresh.size();
+	}
+
+	/**
+	 * Index a created/updated book once the surrounding transaction commits.
+	 *
+	 * @param book - Book as returned to the client (publisher, authors and categories populated)
+	 */
+	public void index(BookDTO book) {
+		afterCommit(current -> current.put(book));
+	}
+
+	/**
+	 * Index a batch of imported books once the surrounding transaction commits.
+	 *
+	 * @param books - Books as returned to the client
+	 */
+	public void indexAll(List<BookDTO> books) {
+		afterCommit(current -> current.putAll(books));
+	}
+
+	/**
+	 * Drop a deleted book once the surrounding transaction commits.
+	 *
+	 * @param bookId - ID sách
+	 */
+	public void remove(Long bookId) {
+		afterCommit(current -> current.remove(bookId));
+	}
+
+	/**
+	 * Re-index the books of an author, category or publisher after it was updated: indexed books hold a copy
+	 * of its name.
+	 */
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void reindexBooksOf(BookReferenceChangedEvent event) {
+		if (!enabled) {
+			return;
+		}
+		List<BookDTO> books = primaryTransaction.execute(status -> {
+			List<Long> ids = switch (event.type()) {
+				case AUTHOR -> bookRepository.findIdsByAuthorId(event.id());
+				case CATEGORY -> bookRepository.findIdsByCategoryId(event.id());
+				case PUBLISHER -> bookRepository.findIdsByPublisherId(event.id());
+			};
+			List<BookDTO> dtos = new ArrayList<>(ids.size());
+			for (int from = 0; from < ids.size(); from += SCAN_CHUNK_SIZE) {
+				List<Book> chunk = bookRepository.findAllWithPublisherByIdIn(
+						ids.subList(from, Math.min(from + SCAN_CHUNK_SIZE, ids.size())));
+				bookRepository.fetchAuthorsAndCategories(chunk);
+				chunk.forEach(book -> dtos.add(bookMapper.toDTO(book)));
+				entityManager.clear();
+			}
+			return dtos;
+		});
+		if (!books.isEmpty()) {
+			apply(current -> current.putAll(books));
+		}
+	}
+
+	/**
+	 * Search the in-memory index. Never touches the database.
+	 *
+	 * @param query    - Free text
+	 * @param pageable - Page number and size (sort is ignored, hits are ranked)
+	 * @return Page<BookDTO>
+	 */
+	public Page<BookDTO> search(String query, Pageable pageable) {
+		CatalogIndex current = index;
+		if (current == null) {
+			throw new BusinessException(enabled ? "Catalog index is still building" : "Catalog index is disabled");
+		}
+		CatalogIndex.Hits hits = current.search(query, pageable.getPageNumber(), pageable.getPageSize());
+		return new PageImpl<>(hits.content(), pageable, hits.total());
+	}
+
+	private void scanInto(CatalogIndex target) {
+		long lastId = 0L;
+		List<Book> chunk;
+		do {
+			chunk = bookRepository.findByIdGreaterThanOrderByIdAsc(lastId, Limit.of(SCAN_CHUNK_SIZE));
+			if (chunk.isEmpty()) {
+				break;
+			}
+			bookRepository.fetchAuthorsAndCategories(chunk);
+			target.putAll(chunk.stream().map(bookMapper::toDTO).toList());
+			lastId = chunk.get(chunk.size() - 1).getId();
+			// Keep the persistence context to one chunk so the scan runs in constant memory
+			entityManager.clear();
+		} while (chunk.size() == SCAN_CHUNK_SIZE);
+	}
+
+	private void afterCommit(Consumer<CatalogIndex> change) {
+		if (!enabled) {
+			return;
+		}
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(change);
+				}
+			});
+		} else {
+			apply(change);
+		}
+	}
+
+	private void apply(Consumer<CatalogIndex> change) {
+		synchronized (swapLock) {
+			if (pendingDuringRebuild != null) {
+				pendingDuringRebuild.add(change);
+			}
+			CatalogIndex current = index;
+			if (current != null) {
+				change.accept(current);
+			}
+		}
+	}
+}
@@ -0,0 +1,64 @@
+package com.example.demo.search;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Tokenizer for the in-memory catalog index: lower-cases, folds Vietnamese diacritics
+ * ("Nguyễn Đức" -> "nguyen duc") and splits on anything that is not a letter or digit.
+ */
+public final class TextNormalizer {
+
+	private TextNormalizer() {
+	}
+
+	/**
+	 * Lower-case and strip combining marks. "đ" has no decomposition in Unicode, so it is mapped explicitly.
+	 *
+	 * @param text - Raw text (may be null)
+	 * @return Folded text, empty for null
+	 */
+	public static String fold(String text) {
+		if (text == null || text.isEmpty()) {
+			return "";
+		}
+		String lower = text.toLowerCase(Locale.ROOT).replace('đ', 'd');
+		String decomposed = Normalizer.normalize(lower, Normalizer.Form.NFD);
+		StringBuilder folded = new StringBuilder(decomposed.length());
+		for (int i = 0; i < decomposed.length(); i++) {
+			char c = decomposed.charAt(i);
+			if (Character.getType(c) != Character.NON_SPACING_MARK) {
+				folded.append(c);
+			}
+		}
+		return folded.toString();
+	}
+
+	/**
+	 * Fold then split into tokens.
+	 *
+	 * @param text - Raw text (may be null)
+	 * @return Tokens in order of appearance, duplicates kept
+	 */
+	public static List<String> tokenize(String text) {
+		String folded = fold(text);
+		List<String> tokens = new ArrayList<>();
+		int start = -1;
+		for (int i = 0; i < folded.length(); i++) {
+			if (Character.isLetterOrDigit(folded.charAt(i))) {
+				if (start < 0) {
+					start = i;
+				}
+			} else if (start >= 0) {
+				tokens.add(folded.substring(start, i));
+				start = -1;
+			}
+		}
+		if (start >= 0) {
+			tokens.add(folded.substring(start));
+		}
+		return tokens;
+	}
+}
@@ -1,17 +1,22 @@
 package com.example.demo.security;
 
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
 import org.springframework.lang.NonNull;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionException;
 import org.springframework.util.StringUtils;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerExceptionResolver;
 
 import java.io.IOException;
 import java.util.Collections;
@@ -21,6 +26,11 @@ import com.example.demo.enums.UserRole;
 
 /**
  * Reads Authorization: Bearer &lt;token&gt;, validates JWT, and sets SecurityContext with UserPrincipal.
+ * The token is parsed and verified once per request via {@link JwtTokenProvider#parseAndVerify(String)}.
+ * Status and role come from {@link UserSnapshots}, not from the token, so a ban or a role change applies to
+ * tokens already handed out; a user who is not ACTIVE is left unauthenticated.
+ * Only an unusable token leaves the request anonymous: a failed snapshot load (pool exhausted, database down) is
+ * handed to GlobalExceptionHandler, so the client gets 503 instead of a misleading 401/403.
  */
 @Component
 public class JwtAuthenticationFilter extends OncePerRequestFilter {
@@ -29,9 +39,16 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 	private static final String BEARER_PREFIX = "Bearer ";
 
 	private final JwtTokenProvider jwtTokenProvider;
+	private final UserSnapshots userSnapshots;
+	private final HandlerExceptionResolver handlerExceptionResolver;
 
-	public JwtAuthenticationFilter(JwtTokenProvider jwtTokenProvider) {
+	public JwtAuthenticationFilter(
+			JwtTokenProvider jwtTokenProvider,
+			UserSnapshots userSnapshots,
+			@Qualifier("handlerExceptionResolver") HandlerExceptionResolver handlerExceptionResolver) {
 		this.jwtTokenProvider = jwtTokenProvider;
+		this.userSnapshots = userSnapshots;
+		this.handlerExceptionResolver = handlerExceptionResolver;
 	}
 
 	@Override
@@ -39,27 +56,46 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 			@NonNull HttpServletRequest request,
 			@NonNull HttpServletResponse response,
 			@NonNull FilterChain filterChain) throws ServletException, IOException {
-		try {
-			String token = extractToken(request);
-			if (StringUtils.hasText(token) && jwtTokenProvider.validateToken(token)) {
-				Long userId = jwtTokenProvider.getUserIdFromToken(token);
-				String email = jwtTokenProvider.getEmailFromToken(token);
-				var role = jwtTokenProvider.getRoleFromToken(token);
-				UserPrincipal principal = new UserPrincipal(userId, email, role);
-				List<SimpleGrantedAuthority> authorities = role != null
-						? List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))
-						: Collections.emptyList();
-				UsernamePasswordAuthenticationToken authentication =
-						new UsernamePasswordAuthenticationToken(principal, null, authorities);
-				authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
-				SecurityContextHolder.getContext().setAuthentication(authentication);
+		String token = extractToken(request);
+		JwtClaims claims = StringUtils.hasText(token) ? verify(token) : null;
+		if (claims != null && claims.userId() != null) {
+			try {
+				// Not ACTIVE (banned, deactivated) or no longer exists: leave the request unauthenticated
+				userSnapshots.get(claims.userId())
+						.filter(UserSnapshots.UserSnapshot::isActive)
+						.ifPresent(user -> authenticate(request, user));
+			} catch (DataAccessException | TransactionException e) {
+				handlerExceptionResolver.resolveException(request, response, null, e);
+				return;
 			}
-		} catch (Exception ignored) {
-			// Do not set context; downstream config will require auth where needed
 		}
 		filterChain.doFilter(request, response);
 	}
 
+	/**
+	 * @return null if the token is malformed, expired or not signed by us; downstream config will require auth
+	 *         where needed
+	 */
+	private JwtClaims verify(String token) {
+		try {
+			return jwtTokenProvider.parseAndVerify(token);
+		} catch (JwtException | IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	private void authenticate(HttpServletRequest request, UserSnapshots.UserSnapshot user) {
+		UserRole role = user.role();
+		UserPrincipal principal = new UserPrincipal(user.id(), user.email(), role);
+		List<SimpleGrantedAuthority> authorities = role != null
+				? List.of(new SimpleGrantedAuthority("ROLE_" + role.name()))
+				: Collections.emptyList();
+		UsernamePasswordAuthenticationToken authentication =
+				new UsernamePasswordAuthenticationToken(principal, null, authorities);
+		authentication.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
+		SecurityContextHolder.getContext().setAuthentication(authentication);
+	}
+
 	private String extractToken(HttpServletRequest request) {
 		String header = request.getHeader(AUTHORIZATION_HEADER);
 		if (StringUtils.hasText(header) && header.startsWith(BEARER_PREFIX)) {
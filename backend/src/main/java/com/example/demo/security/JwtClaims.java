@@ -0,0 +1,11 @@
+package com.example.demo.security;
+
+import com.example.demo.enums.UserRole;
+
+import java.time.Instant;
+
+/**
+ * Immutable view of a verified JWT. Produced once per token by {@link JwtTokenProvider#parseAndVerify(String)}.
+ */
+public record JwtClaims(Long userId, String email, UserRole role, Instant expiresAt) {
+}
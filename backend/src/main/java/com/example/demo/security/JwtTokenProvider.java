@@ -1,7 +1,11 @@
 package com.example.demo.security;
 
 import com.example.demo.enums.UserRole;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.beans.factory.annotation.Value;
@@ -9,10 +13,16 @@ import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.Instant;
 import java.util.Date;
+import java.util.HexFormat;
 
 /**
  * Generates and validates JWT access tokens. Uses HS256 with configurable secret and expiration.
+ * Verified tokens are cached by SHA-256 hash so repeat requests from the same session skip signature checks.
  */
 @Component
 public class JwtTokenProvider {
@@ -23,12 +33,21 @@ public class JwtTokenProvider {
 
 	private final SecretKey secretKey;
 	private final long expirationMs;
+	private final JwtParser parser;
+	private final Cache<String, JwtClaims> verifiedTokens;
 
 	public JwtTokenProvider(
 			@Value("${jwt.secret}") String secret,
-			@Value("${jwt.expiration-ms}") long expirationMs) {
+			@Value("${jwt.expiration-ms}") long expirationMs,
+			@Value("${jwt.cache.max-size:10000}") long cacheMaxSize,
+			@Value("${jwt.cache.ttl-ms:300000}") long cacheTtlMs) {
 		this.secretKey = Keys.hmacShaKeyFor(secret.getBytes(StandardCharsets.UTF_8));
 		this.expirationMs = expirationMs;
+		this.parser = Jwts.parser().verifyWith(secretKey).build();
+		this.verifiedTokens = Caffeine.newBuilder()
+				.maximumSize(cacheMaxSize)
+				.expireAfter(new TokenExpiry(Duration.ofMillis(cacheTtlMs).toNanos()))
+				.build();
 	}
 
 	public String generateToken(Long userId, String email, UserRole role) {
@@ -45,9 +64,28 @@ public class JwtTokenProvider {
 				.compact();
 	}
 
+	/**
+	 * Verify signature and expiry once and return the claims needed to build the principal.
+	 * Results are cached by token hash until the token expires or the cache TTL elapses, whichever is first.
+	 *
+	 * @param token - Compact JWT string
+	 * @return JwtClaims
+	 * @throws io.jsonwebtoken.JwtException if the token is malformed, expired or has an invalid signature
+	 */
+	public JwtClaims parseAndVerify(String token) {
+		String key = hash(token);
+		JwtClaims cached = verifiedTokens.getIfPresent(key);
+		if (cached != null) {
+			return cached;
+		}
+		JwtClaims claims = toClaims(parser.parseSignedClaims(token).getPayload());
+		verifiedTokens.put(key, claims);
+		return claims;
+	}
+
 	public boolean validateToken(String token) {
 		try {
-			Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token);
+			parseAndVerify(token);
 			return true;
 		} catch (Exception e) {
 			return false;
@@ -55,22 +93,66 @@ public class JwtTokenProvider {
 	}
 
 	public Long getUserIdFromToken(String token) {
-		Claims payload = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
-		Object userId = payload.get(CLAIM_USER_ID);
-		if (userId instanceof Number) {
-			return ((Number) userId).longValue();
-		}
-		return null;
+		return parseAndVerify(token).userId();
 	}
 
 	public String getEmailFromToken(String token) {
-		Claims payload = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
-		return payload.get(CLAIM_EMAIL, String.class);
+		return parseAndVerify(token).email();
 	}
 
 	public UserRole getRoleFromToken(String token) {
-		Claims payload = Jwts.parser().verifyWith(secretKey).build().parseSignedClaims(token).getPayload();
+		return parseAndVerify(token).role();
+	}
+
+	private static JwtClaims toClaims(Claims payload) {
+		Object userId = payload.get(CLAIM_USER_ID);
 		String roleStr = payload.get(CLAIM_ROLE, String.class);
-		return roleStr != null ? UserRole.valueOf(roleStr) : null;
+		Date expiration = payload.getExpiration();
+		return new JwtClaims(
+				userId instanceof Number ? ((Number) userId).longValue() : null,
+				payload.get(CLAIM_EMAIL, String.class),
+				roleStr != null ? UserRole.valueOf(roleStr) : null,
+				expiration != null ? expiration.toInstant() : null
+		);
+	}
+
+	private static String hash(String token) {
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-256");
+			return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException("SHA-256 not available", e);
+		}
+	}
+
+	/**
+	 * Expires a cached token at its own exp claim, capped by the configured TTL.
+	 */
+	private static final class TokenExpiry implements Expiry<String, JwtClaims> {
+
+		private final long ttlNanos;
+
+		private TokenExpiry(long ttlNanos) {
+			this.ttlNanos = ttlNanos;
+		}
+
+		@Override
+		public long expireAfterCreate(String key, JwtClaims value, long currentTime) {
+			if (value.expiresAt() == null) {
+				return ttlNanos;
+			}
+			long remaining = Duration.between(Instant.now(), value.expiresAt()).toNanos();
+			return Math.max(0, Math.min(ttlNanos, remaining));
+		}
+
+		@Override
+		public long expireAfterUpdate(String key, JwtClaims value, long currentTime, long currentDuration) {
+			return expireAfterCreate(key, value, currentTime);
+		}
+
+		@Override
+		public long expireAfterRead(String key, JwtClaims value, long currentTime, long currentDuration) {
+			return currentDuration;
+		}
 	}
 }
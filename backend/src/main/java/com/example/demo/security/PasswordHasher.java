@@ -0,0 +1,151 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ServiceBusyException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs the PasswordEncoder (BCrypt) on a dedicated pool instead of the request thread.
+ * BCrypt is deliberately slow CPU work: on Tomcat's threads (or the carriers of virtual threads) a login burst
+ * takes every core and stalls unrelated requests such as catalog reads. Here at most
+ * security.password-hashing.threads hashes run at once (default: one per core) and at most
+ * security.password-hashing.queue-capacity wait. When the queue is full, or a hash has not finished within
+ * security.password-hashing.max-wait-ms, the caller gets a {@link ServiceBusyException} (503) straight away.
+ *
+ * Metrics: security.password.hash (timer, tag operation=encode|matches, time spent hashing),
+ * security.password.hash.wait (timer, time queued before hashing), security.password.hash.queue (gauge, tasks
+ * waiting) and security.password.hash.rejected (counter).
+ */
+@Component
+public class PasswordHasher {
+
+	private static final int RETRY_AFTER_SECONDS = 1;
+
+	private final PasswordEncoder passwordEncoder;
+	private final ThreadPoolExecutor executor;
+	private final long maxWaitNanos;
+	private final Timer encodeDuration;
+	private final Timer matchesDuration;
+	private final Timer queueWait;
+	private final Counter rejected;
+
+	@Autowired
+	public PasswordHasher(
+			PasswordEncoder passwordEncoder,
+			MeterRegistry meterRegistry,
+			@Value("${security.password-hashing.threads:0}") int threads,
+			@Value("${security.password-hashing.queue-capacity:64}") int queueCapacity,
+			@Value("${security.password-hashing.max-wait-ms:2000}") long maxWaitMs) {
+		this(passwordEncoder, meterRegistry,
+				threads > 0 ? threads : Runtime.getRuntime().availableProcessors(),
+				queueCapacity,
+				Duration.ofMillis(maxWaitMs));
+	}
+
+	PasswordHasher(
+			PasswordEncoder passwordEncoder,
+			MeterRegistry meterRegistry,
+			int threads,
+			int queueCapacity,
+			Duration maxWait) {
+		this.passwordEncoder = passwordEncoder;
+		this.executor = new ThreadPoolExecutor(threads, threads, 0, TimeUnit.MILLISECONDS,
+				new ArrayBlockingQueue<>(queueCapacity),
+				new CustomizableThreadFactory("password-hash-"),
+				new ThreadPoolExecutor.AbortPolicy());
+		this.maxWaitNanos = maxWait.toNanos();
+		this.encodeDuration = Timer.builder("security.password.hash")
+				.description("Time spent hashing or checking a password")
+				.tag("operation", "encode")
+				.register(meterRegistry);
+		this.matchesDuration = Timer.builder("security.password.hash")
+				.description("Time spent hashing or checking a password")
+				.tag("operation", "matches")
+				.register(meterRegistry);
+		this.queueWait = Timer.builder("security.password.hash.wait")
+				.description("Time a password hash waited for a hashing thread")
+				.register(meterRegistry);
+		this.rejected = Counter.builder("security.password.hash.rejected")
+				.description("Password hashes refused because the hashing pool was saturated")
+				.register(meterRegistry);
+		Gauge.builder("security.password.hash.queue", executor, pool -> pool.getQueue().size())
+				.description("Password hashes waiting for a hashing thread")
+				.register(meterRegistry);
+	}
+
+	/**
+	 * Hash a new password.
+	 *
+	 * @throws ServiceBusyException if the hashing pool is saturated
+	 */
+	public String encode(CharSequence rawPassword) {
+		return run(encodeDuration, () -> passwordEncoder.encode(rawPassword));
+	}
+
+	/**
+	 * Check a password against a stored hash.
+	 *
+	 * @throws ServiceBusyException if the hashing pool is saturated
+	 */
+	public boolean matches(CharSequence rawPassword, String encodedPassword) {
+		return run(matchesDuration, () -> passwordEncoder.matches(rawPassword, encodedPassword));
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	private <T> T run(Timer duration, Supplier<T> hashing) {
+		long submitted = System.nanoTime();
+		Future<T> future;
+		try {
+			future = executor.submit(() -> {
+				queueWait.record(System.nanoTime() - submitted, TimeUnit.NANOSECONDS);
+				return duration.record(hashing);
+			});
+		} catch (RejectedExecutionException e) {
+			throw busy();
+		}
+		try {
+			return future.get(maxWaitNanos, TimeUnit.NANOSECONDS);
+		} catch (TimeoutException e) {
+			// Still queued: it will not run. Already running: it finishes, but nobody waits for it
+			future.cancel(false);
+			throw busy();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			future.cancel(false);
+			throw busy();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			throw new IllegalStateException(cause);
+		}
+	}
+
+	private ServiceBusyException busy() {
+		rejected.increment();
+		return new ServiceBusyException("Too many logins in progress, please retry", RETRY_AFTER_SECONDS);
+	}
+}
@@ -0,0 +1,128 @@
+package com.example.demo.security;
+
+import com.example.demo.entity.User;
+import com.example.demo.enums.UserRole;
+import com.example.demo.enums.UserStatus;
+import com.example.demo.repository.UserRepository;
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * In-process cache of the user fields every authenticated request needs (status, role, name), so
+ * JwtAuthenticationFilter can reject banned users and apply role changes without a database hit per request.
+ * UserServiceImpl calls {@link #invalidate(Long)} on every change to those fields; the entry is dropped once the
+ * change has committed, and the next request reloads it from the primary.
+ *
+ * A miss is loaded on its own virtual thread, outside Caffeine's map lock: the lookup only waits for the future,
+ * so a JDBC round trip (pool acquire included) never pins the carrier of a virtual request thread, and concurrent
+ * misses on the same user still share one load.
+ *
+ * Invalidation only reaches this instance: with several instances, a change made on another one applies here
+ * after security.user-snapshot.ttl-ms at the latest.
+ */
+@Component
+public class UserSnapshots {
+
+	private final Function<Long, Optional<UserSnapshot>> loader;
+	private final ExecutorService loadExecutor = Executors.newVirtualThreadPerTaskExecutor();
+	/** Empty for ids with no user, so tokens of deleted users do not reach the database on every request either. */
+	private final AsyncCache<Long, Optional<UserSnapshot>> snapshots;
+
+	@Autowired
+	public UserSnapshots(
+			UserRepository userRepository,
+			PlatformTransactionManager transactionManager,
+			@Value("${security.user-snapshot.max-size:10000}") long maxSize,
+			@Value("${security.user-snapshot.ttl-ms:60000}") long ttlMs) {
+		this(primaryLoader(userRepository, transactionManager), maxSize, ttlMs);
+	}
+
+	UserSnapshots(Function<Long, Optional<UserSnapshot>> loader, long maxSize, long ttlMs) {
+		this.loader = loader;
+		this.snapshots = Caffeine.newBuilder()
+				.maximumSize(maxSize)
+				.expireAfterWrite(Duration.ofMillis(ttlMs))
+				.executor(loadExecutor)
+				.buildAsync();
+	}
+
+	/**
+	 * Current snapshot of a user, loaded on a miss.
+	 *
+	 * @param userId - User id from the token
+	 * @return empty if there is no such user
+	 * @throws org.springframework.dao.DataAccessException if the load failed (not cached; the next lookup retries)
+	 */
+	public Optional<UserSnapshot> get(Long userId) {
+		// invalidate() removes a load still in progress too, so a snapshot read before a change committed is
+		// returned at most to the lookups already waiting on it and never cached past that change
+		try {
+			return snapshots.get(userId, loader).join();
+		} catch (CompletionException e) {
+			if (e.getCause() instanceof RuntimeException cause) {
+				throw cause;
+			}
+			throw e;
+		}
+	}
+
+	/**
+	 * Drop the cached snapshot once the surrounding transaction commits (immediately outside a transaction).
+	 */
+	public void invalidate(Long userId) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					snapshots.synchronous().invalidate(userId);
+				}
+			});
+		} else {
+			snapshots.synchronous().invalidate(userId);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		loadExecutor.shutdownNow();
+	}
+
+	private static Function<Long, Optional<UserSnapshot>> primaryLoader(
+			UserRepository userRepository, PlatformTransactionManager transactionManager) {
+		// Not read-only on purpose: right after a ban the entry is reloaded, and a lagging replica could still
+		// return the user as ACTIVE and cache that for another TTL
+		TransactionTemplate primaryTransaction = new TransactionTemplate(transactionManager);
+		primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		return userId -> primaryTransaction.execute(status -> userRepository.findById(userId).map(UserSnapshot::of));
+	}
+
+	/**
+	 * Fields of a user that authorization and /api/auth/me need.
+	 */
+	public record UserSnapshot(Long id, String email, String fullName, UserStatus status, UserRole role) {
+
+		static UserSnapshot of(User user) {
+			return new UserSnapshot(user.getId(), user.getEmail(), user.getFullName(), user.getStatus(), user.getRole());
+		}
+
+		public boolean isActive() {
+			return status == UserStatus.ACTIVE;
+		}
+	}
+}
@@ -0,0 +1,78 @@
+package com.example.demo.service;
+
+import com.example.demo.event.LoansMarkedOverdueEvent;
+import com.example.demo.repository.LoanRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+
+/**
+ * Flips BORROWED loans past their due date to OVERDUE every loans.overdue-sweep.interval-ms.
+ * Each chunk of at most loans.overdue-sweep.chunk-size loans is one set-based update in its own short
+ * transaction, together with its dashboard delta (LoansMarkedOverdueEvent). The update claims rows with
+ * FOR UPDATE SKIP LOCKED, so every node may run the sweeper: no loan is flipped or counted twice.
+ *
+ * Metrics: loans.overdue.sweep.duration (timer, one sample per run). The flipped loans are counted in loans.overdue
+ * by LoanMetricsListener, from the same event, once the chunk has committed.
+ */
+@Component
+public class LoanOverdueSweeper {
+
+	private final LoanRepository loanRepository;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate transaction;
+	private final int chunkSize;
+	private final Timer duration;
+
+	public LoanOverdueSweeper(
+			LoanRepository loanRepository,
+			ApplicationEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager,
+			MeterRegistry meterRegistry,
+			@Value("${loans.overdue-sweep.chunk-size:500}") int chunkSize) {
+		this.loanRepository = loanRepository;
+		this.eventPublisher = eventPublisher;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.chunkSize = chunkSize;
+		this.duration = Timer.builder("loans.overdue.sweep.duration")
+				.description("Time taken by one overdue sweep")
+				.register(meterRegistry);
+	}
+
+	@Scheduled(
+			initialDelayString = "${loans.overdue-sweep.interval-ms:60000}",
+			fixedDelayString = "${loans.overdue-sweep.interval-ms:60000}")
+	public void sweep() {
+		duration.record(this::sweepChunks);
+	}
+
+	/**
+	 * Sweep chunk after chunk until one comes back short.
+	 *
+	 * @return number of loans flipped by this run
+	 */
+	public int sweepChunks() {
+		int total = 0;
+		int count;
+		do {
+			count = transaction.execute(status -> {
+				int n = loanRepository.markOverdue(LocalDateTime.now(), chunkSize);
+				if (n > 0) {
+					eventPublisher.publishEvent(new LoansMarkedOverdueEvent(n));
+				}
+				return n;
+			});
+			total += count;
+		} while (count == chunkSize);
+		return total;
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.loan.LoanDTO;
 import com.example.demo.dto.loan.LoanDetailDTO;
 import com.example.demo.dto.loan.LoanRenewalRequestDTO;
@@ -11,6 +12,7 @@ import org.springframework.data.domain.Pageable;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Loan operations
@@ -57,6 +59,19 @@ public interface LoanService {
 	 */
 	Page<LoanDTO> getAllLoans(LoanStatus status, Long userId, Long bookId, Pageable pageable);
 
+	/**
+	 * UC-LOAN-004: Lấy danh sách mượn trả theo keyset (không COUNT, không OFFSET)
+	 * Mới nhất trước, sắp theo (borrowDate, id); cùng filter như getAllLoans
+	 * 
+	 * @param status - Filter theo status (optional)
+	 * @param userId - Filter theo userId (optional)
+	 * @param bookId - Filter theo bookId (optional)
+	 * @param after  - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size   - Số loan mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<LoanDTO> - Danh sách loan
+	 */
+	CursorSliceDTO<LoanDTO> getLoansAfter(LoanStatus status, Long userId, Long bookId, String after, int size);
+
 	/**
 	 * UC-LOAN-005: Lấy chi tiết mượn trả
 	 * Lấy thông tin chi tiết của loan
@@ -70,15 +85,26 @@ public interface LoanService {
 	 * UC-LOAN-006: Lấy lịch sử mượn của user
 	 * 
 	 * @param userId - ID của user
+	 * @param limit  - Số loan tối đa, mới nhất trước (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<LoanDTO> - Danh sách loan của user
 	 */
-	List<LoanDTO> getLoanHistoryByUserId(Long userId);
+	List<LoanDTO> getLoanHistoryByUserId(Long userId, int limit);
+
+	/**
+	 * UC-LOAN-006: Stream toàn bộ lịch sử mượn của user, mới nhất trước
+	 * Chạy trong một transaction đọc qua JDBC cursor, bộ nhớ không phụ thuộc số loan
+	 * 
+	 * @param userId - ID của user
+	 * @param sink   - Nhận từng loan theo thứ tự
+	 */
+	void streamLoanHistoryByUserId(Long userId, Consumer<? super LoanDTO> sink);
 
 	/**
 	 * UC-LOAN-007: Lấy sách đang mượn của user
+	 * Gồm cả loan OVERDUE: sách quá hạn vẫn chưa được trả
 	 * 
 	 * @param userId - ID của user
-	 * @return List<LoanDTO> - Danh sách loan đang mượn
+	 * @return List<LoanDTO> - Danh sách loan chưa trả (BORROWED hoặc OVERDUE)
 	 */
 	List<LoanDTO> getActiveLoansByUserId(Long userId);
 
@@ -86,9 +112,18 @@ public interface LoanService {
 	 * UC-LOAN-008: Lấy sách quá hạn
 	 * 
 	 * @param userId - ID của user (optional)
+	 * @param limit  - Số loan tối đa, quá hạn lâu nhất trước (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<LoanDTO> - Danh sách loan quá hạn
 	 */
-	List<LoanDTO> getOverdueLoans(Long userId);
+	List<LoanDTO> getOverdueLoans(Long userId, int limit);
+
+	/**
+	 * UC-LOAN-008: Stream toàn bộ sách quá hạn, quá hạn lâu nhất trước
+	 * 
+	 * @param userId - ID của user (optional)
+	 * @param sink   - Nhận từng loan theo thứ tự
+	 */
+	void streamOverdueLoans(Long userId, Consumer<? super LoanDTO> sink);
 
 	/**
 	 * UC-LOAN-010: Thống kê mượn trả
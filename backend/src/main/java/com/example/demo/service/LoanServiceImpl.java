@@ -1,5 +1,8 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
+import com.example.demo.dto.common.ListLimit;
 import com.example.demo.dto.loan.LoanDTO;
 import com.example.demo.dto.loan.LoanDetailDTO;
 import com.example.demo.dto.loan.LoanRenewalRequestDTO;
@@ -10,12 +13,16 @@ import com.example.demo.entity.Loan;
 import com.example.demo.entity.User;
 import com.example.demo.enums.LoanStatus;
 import com.example.demo.enums.UserStatus;
+import com.example.demo.event.LoanStatusChangedEvent;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.LoanMapper;
 import com.example.demo.repository.BookRepository;
 import com.example.demo.repository.LoanRepository;
 import com.example.demo.repository.UserRepository;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,7 +30,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for Loan operations
@@ -32,20 +40,29 @@ import java.util.stream.Collectors;
 @Transactional
 public class LoanServiceImpl implements LoanService {
 
+	private static final String ACTIVE_LOAN_CONSTRAINT = "uq_loans_active_book";
+
+	/** Stand-ins for a missing statistics bound, so the range query stays index-friendly. */
+	private static final LocalDateTime OPEN_RANGE_START = LocalDateTime.of(1970, 1, 1, 0, 0);
+	private static final LocalDateTime OPEN_RANGE_END = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+
 	private final LoanRepository loanRepository;
 	private final UserRepository userRepository;
 	private final BookRepository bookRepository;
 	private final LoanMapper loanMapper;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public LoanServiceImpl(
 			LoanRepository loanRepository,
 			UserRepository userRepository,
 			BookRepository bookRepository,
-			LoanMapper loanMapper) {
+			LoanMapper loanMapper,
+			ApplicationEventPublisher eventPublisher) {
 		this.loanRepository = loanRepository;
 		this.userRepository = userRepository;
 		this.bookRepository = bookRepository;
 		this.loanMapper = loanMapper;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -67,18 +84,24 @@ public class LoanServiceImpl implements LoanService {
 		Book book = bookRepository.findById(request.getBookId())
 				.orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + request.getBookId()));
 
-		Long activeLoanCount = loanRepository.countActiveLoansByBookId(book.getId(), LoanStatus.BORROWED);
-		if (activeLoanCount > 0) {
-			throw new BusinessException("Book is currently borrowed by another user");
-		}
-
 		Loan loan = loanMapper.toEntity(request);
 		loan.setUser(user);
 		loan.setBook(book);
 		loan.setBorrowDate(LocalDateTime.now());
 		loan.setStatus(LoanStatus.BORROWED);
 
-		Loan savedLoan = loanRepository.save(loan);
+		// Insert first: uq_loans_active_book rejects a second unreturned (BORROWED or OVERDUE) loan for the
+		// same book, so concurrent borrows cannot both succeed and no pre-count round trip is needed.
+		Loan savedLoan;
+		try {
+			savedLoan = loanRepository.saveAndFlush(loan);
+		} catch (DataIntegrityViolationException e) {
+			if (isActiveLoanConflict(e)) {
+				throw new BusinessException("Book is currently borrowed by another user");
+			}
+			throw e;
+		}
+		eventPublisher.publishEvent(new LoanStatusChangedEvent(book.getId(), null, LoanStatus.BORROWED));
 		return loanMapper.toDTO(savedLoan);
 	}
 
@@ -91,23 +114,21 @@ public class LoanServiceImpl implements LoanService {
 	 */
 	@Override
 	public LoanDTO returnBook(Long loanId) {
-		Loan loan = loanRepository.findById(loanId)
+		// Row lock: LoanOverdueSweeper may be flipping this loan to OVERDUE at the same time
+		Loan loan = loanRepository.findByIdForUpdate(loanId)
 				.orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + loanId));
 
 		if (loan.getStatus() == LoanStatus.RETURNED) {
 			throw new BusinessException("Book has already been returned");
 		}
 
-		LocalDateTime now = LocalDateTime.now();
-		loan.setReturnDate(now);
-
-		if (loan.getDueDate().isBefore(now)) {
-			loan.setStatus(LoanStatus.OVERDUE);
-		} else {
-			loan.setStatus(LoanStatus.RETURNED);
-		}
+		// BORROWED or OVERDUE (swept); a late return is still RETURNED, lateness shows in returnDate
+		LoanStatus previousStatus = loan.getStatus();
+		loan.setReturnDate(LocalDateTime.now());
+		loan.setStatus(LoanStatus.RETURNED);
 
 		Loan updatedLoan = loanRepository.save(loan);
+		eventPublisher.publishEvent(new LoanStatusChangedEvent(loan.getBook().getId(), previousStatus, loan.getStatus()));
 		return loanMapper.toDTO(updatedLoan);
 	}
 
@@ -121,7 +142,7 @@ public class LoanServiceImpl implements LoanService {
 	 */
 	@Override
 	public LoanDTO renewLoan(Long loanId, LoanRenewalRequestDTO request) {
-		Loan loan = loanRepository.findById(loanId)
+		Loan loan = loanRepository.findByIdForUpdate(loanId)
 				.orElseThrow(() -> new ResourceNotFoundException("Loan not found with id: " + loanId));
 
 		if (loan.getStatus() != LoanStatus.BORROWED) {
@@ -150,21 +171,55 @@ public class LoanServiceImpl implements LoanService {
 	@Override
 	@Transactional(readOnly = true)
 	public Page<LoanDTO> getAllLoans(LoanStatus status, Long userId, Long bookId, Pageable pageable) {
-		Page<Loan> loans;
+		if (status != null && userId != null) {
+			return loanRepository.findLoanDTOsByUserIdAndStatus(userId, status, pageable);
+		} else if (status != null) {
+			return loanRepository.findLoanDTOsByStatus(status, pageable);
+		} else if (userId != null) {
+			return loanRepository.findLoanDTOsByUserId(userId, pageable);
+		} else if (bookId != null) {
+			return loanRepository.findLoanDTOsByBookId(bookId, pageable);
+		}
+		return loanRepository.findAllLoanDTOs(pageable);
+	}
 
+	/**
+	 * UC-LOAN-004: Lấy danh sách mượn trả theo keyset (không COUNT, không OFFSET)
+	 * Mới nhất trước, sắp theo (borrowDate, id); cùng filter như getAllLoans
+	 * 
+	 * @param status - Filter theo status (optional)
+	 * @param userId - Filter theo userId (optional)
+	 * @param bookId - Filter theo bookId (optional)
+	 * @param after  - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size   - Số loan mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<LoanDTO> - Danh sách loan
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorSliceDTO<LoanDTO> getLoansAfter(LoanStatus status, Long userId, Long bookId, String after, int size) {
+		int pageSize = KeysetCursor.clampSize(size);
+		LocalDateTime borrowDate = KeysetCursor.LATEST;
+		long id = Long.MAX_VALUE;
+		if (after != null) {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			borrowDate = cursor.sortKeyAsDateTime();
+			id = cursor.id();
+		}
+		Limit limit = Limit.of(pageSize + 1);
+
+		List<LoanDTO> loans;
 		if (status != null && userId != null) {
-			loans = loanRepository.findByUserIdAndStatus(userId, status, pageable);
+			loans = loanRepository.findLoanDTOsByUserIdAndStatusBefore(userId, status, borrowDate, id, limit);
 		} else if (status != null) {
-			loans = loanRepository.findByStatus(status, pageable);
+			loans = loanRepository.findLoanDTOsByStatusBefore(status, borrowDate, id, limit);
 		} else if (userId != null) {
-			loans = loanRepository.findByUserId(userId, pageable);
+			loans = loanRepository.findLoanDTOsByUserIdBefore(userId, borrowDate, id, limit);
 		} else if (bookId != null) {
-			loans = loanRepository.findByBookId(bookId, pageable);
+			loans = loanRepository.findLoanDTOsByBookIdBefore(bookId, borrowDate, id, limit);
 		} else {
-			loans = loanRepository.findAll(pageable);
+			loans = loanRepository.findLoanDTOsBefore(borrowDate, id, limit);
 		}
-
-		return loans.map(loanMapper::toDTO);
+		return CursorSliceDTO.of(loans, pageSize, loan -> KeysetCursor.of(loan.getBorrowDate(), loan.getId()));
 	}
 
 	/**
@@ -187,54 +242,77 @@ public class LoanServiceImpl implements LoanService {
 	 * UC-LOAN-006: Lấy lịch sử mượn của user
 	 * 
 	 * @param userId - ID của user
+	 * @param limit  - Số loan tối đa, mới nhất trước (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<LoanDTO> - Danh sách loan của user
 	 */
 	@Override
 	@Transactional(readOnly = true)
-	public List<LoanDTO> getLoanHistoryByUserId(Long userId) {
-		List<Loan> loans = loanRepository.findListByUserId(userId);
-		return loans.stream()
-				.map(loanMapper::toDTO)
-				.collect(Collectors.toList());
+	public List<LoanDTO> getLoanHistoryByUserId(Long userId, int limit) {
+		return loanRepository.findLoanDTOListByUserId(userId, ListLimit.clamp(limit));
+	}
+
+	/**
+	 * UC-LOAN-006: Stream toàn bộ lịch sử mượn của user, mới nhất trước
+	 *
+	 * @param userId - ID của user
+	 * @param sink   - Nhận từng loan theo thứ tự
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void streamLoanHistoryByUserId(Long userId, Consumer<? super LoanDTO> sink) {
+		try (Stream<LoanDTO> loans = loanRepository.streamLoanDTOsByUserId(userId)) {
+			loans.forEach(sink);
+		}
 	}
 
 	/**
 	 * UC-LOAN-007: Lấy sách đang mượn của user
+	 * Gồm cả loan OVERDUE: sách quá hạn vẫn chưa được trả
 	 * 
 	 * @param userId - ID của user
-	 * @return List<LoanDTO> - Danh sách loan đang mượn
+	 * @return List<LoanDTO> - Danh sách loan chưa trả (BORROWED hoặc OVERDUE)
 	 */
 	@Override
 	@Transactional(readOnly = true)
 	public List<LoanDTO> getActiveLoansByUserId(Long userId) {
-		List<Loan> loans = loanRepository.findListByUserId(userId);
-		return loans.stream()
-				.filter(loan -> loan.getStatus() == LoanStatus.BORROWED)
-				.map(loanMapper::toDTO)
-				.collect(Collectors.toList());
+		return loanRepository.findActiveLoanDTOListByUserId(userId);
 	}
 
 	/**
 	 * UC-LOAN-008: Lấy sách quá hạn
+	 * Loan OVERDUE do LoanOverdueSweeper đánh dấu (trễ tối đa loans.overdue-sweep.interval-ms)
 	 * 
 	 * @param userId - ID của user (optional)
+	 * @param limit  - Số loan tối đa, quá hạn lâu nhất trước (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<LoanDTO> - Danh sách loan quá hạn
 	 */
 	@Override
 	@Transactional(readOnly = true)
-	public List<LoanDTO> getOverdueLoans(Long userId) {
+	public List<LoanDTO> getOverdueLoans(Long userId, int limit) {
 		LocalDateTime now = LocalDateTime.now();
-		List<Loan> loans;
 
 		if (userId != null) {
-			loans = loanRepository.findOverdueLoansByUserId(userId, now, LoanStatus.BORROWED);
-		} else {
-			loans = loanRepository.findOverdueLoans(now, LoanStatus.BORROWED);
+			return loanRepository.findOverdueLoanDTOsByUserId(userId, now, LoanStatus.OVERDUE, ListLimit.clamp(limit));
 		}
+		return loanRepository.findOverdueLoanDTOs(now, LoanStatus.OVERDUE, ListLimit.clamp(limit));
+	}
 
-		return loans.stream()
-				.map(loanMapper::toDTO)
-				.collect(Collectors.toList());
+	/**
+	 * UC-LOAN-008: Stream toàn bộ sách quá hạn, quá hạn lâu nhất trước
+	 *
+	 * @param userId - ID của user (optional)
+	 * @param sink   - Nhận từng loan theo thứ tự
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public void streamOverdueLoans(Long userId, Consumer<? super LoanDTO> sink) {
+		LocalDateTime now = LocalDateTime.now();
+
+		try (Stream<LoanDTO> loans = userId != null
+				? loanRepository.streamOverdueLoanDTOsByUserId(userId, now, LoanStatus.OVERDUE)
+				: loanRepository.streamOverdueLoanDTOs(now, LoanStatus.OVERDUE)) {
+			loans.forEach(sink);
+		}
 	}
 
 	/**
@@ -257,12 +335,13 @@ public class LoanServiceImpl implements LoanService {
 			totalReturned = loanRepository.countByStatus(LoanStatus.RETURNED);
 			totalOverdue = loanRepository.countByStatus(LoanStatus.OVERDUE);
 		} else {
-			List<Loan> loans = loanRepository.findLoansByDateRange(startDate, endDate);
-			totalBorrowed = (long) loans.size();
+			LocalDateTime from = startDate != null ? startDate : OPEN_RANGE_START;
+			LocalDateTime to = endDate != null ? endDate : OPEN_RANGE_END;
+			totalBorrowed = loanRepository.countLoansByDateRange(from, to);
 			totalReturned = loanRepository.countLoansByDateRangeAndStatus(
-					startDate, endDate, LoanStatus.RETURNED);
+					from, to, LoanStatus.RETURNED);
 			totalOverdue = loanRepository.countLoansByDateRangeAndStatus(
-					startDate, endDate, LoanStatus.OVERDUE);
+					from, to, LoanStatus.OVERDUE);
 		}
 
 		LoanStatisticsDTO statistics = new LoanStatisticsDTO();
@@ -272,4 +351,9 @@ public class LoanServiceImpl implements LoanService {
 
 		return statistics;
 	}
+
+	private static boolean isActiveLoanConflict(DataIntegrityViolationException e) {
+		String message = e.getMostSpecificCause().getMessage();
+		return message != null && message.contains(ACTIVE_LOAN_CONSTRAINT);
+	}
 }
@@ -0,0 +1,160 @@
+package com.example.demo.service;
+
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Runs independent report queries at the same time, each in its own read-only transaction (so on its own pooled
+ * connection), and waits for each at most reports.query-timeout-ms counted from submission.
+ * Each transaction sets statement_timeout to what is left of that deadline when it starts, so the database cancels
+ * a statement that misses it and the connection goes back to the pool; a query still queued at the deadline is not
+ * run. The caller gets an empty result for it and returns the rest flagged as degraded.
+ *
+ * Platform threads: a bounded pool (reports.query-executor.threads, queue reports.query-executor.queue-capacity);
+ * when both are full the query is rejected and also comes back empty, rather than running on the request thread
+ * with no deadline. Virtual threads (spring.threads.virtual.enabled): one virtual thread per query, the connection
+ * pool is the bound.
+ */
+@Component
+public class ParallelReadQueries {
+
+	private final ExecutorService executor;
+	private final TransactionTemplate readOnlyTransaction;
+	private final JdbcTemplate jdbcTemplate;
+	private final long timeoutNanos;
+
+	@Autowired
+	public ParallelReadQueries(
+			PlatformTransactionManager transactionManager,
+			JdbcTemplate jdbcTemplate,
+			@Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+			@Value("${reports.query-executor.threads:8}") int threads,
+			@Value("${reports.query-executor.queue-capacity:64}") int queueCapacity,
+			@Value("${reports.query-timeout-ms:5000}") long timeoutMs) {
+		this(virtualThreads
+						? Executors.newVirtualThreadPerTaskExecutor()
+						: new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS,
+								new ArrayBlockingQueue<>(queueCapacity),
+								new CustomizableThreadFactory("report-query-"),
+								new ThreadPoolExecutor.AbortPolicy()),
+				transactionManager,
+				jdbcTemplate,
+				Duration.ofMillis(timeoutMs));
+	}
+
+	public ParallelReadQueries(ExecutorService executor, PlatformTransactionManager transactionManager,
+			JdbcTemplate jdbcTemplate, Duration timeout) {
+		this.executor = executor;
+		this.jdbcTemplate = jdbcTemplate;
+		this.timeoutNanos = timeout.toNanos();
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	/**
+	 * Start a query now; collect it with {@link Pending#await()}.
+	 */
+	public <T> Pending<T> submit(Supplier<T> query) {
+		long deadline = System.nanoTime() + timeoutNanos;
+		CompletableFuture<T> future;
+		try {
+			future = CompletableFuture.supplyAsync(() -> run(query, deadline), executor);
+		} catch (RejectedExecutionException e) {
+			future = CompletableFuture.failedFuture(e);
+		}
+		return new Pending<>(future, deadline);
+	}
+
+	private <T> T run(Supplier<T> query, long deadline) {
+		// Checked before the transaction takes a connection: nobody waits for the result any more
+		if (remainingMillis(deadline) <= 0) {
+			throw new QueryTimeoutException("Report query was still queued at its deadline");
+		}
+		return readOnlyTransaction.execute(status -> {
+			long remainingMs = remainingMillis(deadline);
+			if (remainingMs <= 0) {
+				throw new QueryTimeoutException("Report query got a connection after its deadline");
+			}
+			// LOCAL: reset at the end of the transaction, before the connection goes back to the pool
+			jdbcTemplate.execute("SET LOCAL statement_timeout = " + remainingMs);
+			return query.get();
+		});
+	}
+
+	private static long remainingMillis(long deadline) {
+		return TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		executor.shutdownNow();
+	}
+
+	/**
+	 * A submitted query.
+	 */
+	public static final class Pending<T> {
+
+		private final CompletableFuture<T> future;
+		private final long deadline;
+
+		private Pending(CompletableFuture<T> future, long deadline) {
+			this.future = future;
+			this.deadline = deadline;
+		}
+
+		/**
+		 * Wait until the query's deadline.
+		 *
+		 * @return the result, or empty if the query timed out, got no connection in time or was rejected
+		 */
+		public Optional<T> await() {
+			try {
+				return Optional.ofNullable(future.get(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS));
+			} catch (TimeoutException e) {
+				future.cancel(true);
+				return Optional.empty();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				future.cancel(true);
+				return Optional.empty();
+			} catch (ExecutionException e) {
+				Throwable cause = e.getCause();
+				if (cause instanceof QueryTimeoutException
+						|| cause instanceof TransactionTimedOutException
+						|| cause instanceof CannotCreateTransactionException
+						|| cause instanceof RejectedExecutionException) {
+					return Optional.empty();
+				}
+				if (cause instanceof RuntimeException runtimeException) {
+					throw runtimeException;
+				}
+				throw new IllegalStateException(cause);
+			}
+		}
+	}
+}
@@ -1,10 +1,12 @@
 package com.example.demo.service;
 
 import com.example.demo.dto.loan.LoanReportDTO;
+import com.example.demo.dto.report.CacheRegionStatsDTO;
 import com.example.demo.dto.report.DashboardStatisticsDTO;
 import com.example.demo.dto.review.ReviewReportDTO;
 
 import java.time.LocalDate;
+import java.util.List;
 
 /**
  * Service interface for Report operations
@@ -34,4 +36,11 @@ public interface ReportService {
 	 * @return ReviewReportDTO - Báo cáo đánh giá
 	 */
 	ReviewReportDTO getReviewReport(Long bookId);
+
+	/**
+	 * UC-REPORT-004: Thống kê second-level cache cho dữ liệu tham chiếu (Admin)
+	 * 
+	 * @return List<CacheRegionStatsDTO> - Hit/miss/put theo từng region (entity và query cache)
+	 */
+	List<CacheRegionStatsDTO> getCacheStatistics();
 }
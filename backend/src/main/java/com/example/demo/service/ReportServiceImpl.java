@@ -1,33 +1,44 @@
 package com.example.demo.service;
 
+import com.example.demo.config.CacheRegions;
 import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.loan.LoanDayCountDTO;
 import com.example.demo.dto.loan.LoanReportDTO;
+import com.example.demo.dto.report.CacheRegionStatsDTO;
 import com.example.demo.dto.report.DashboardStatisticsDTO;
 import com.example.demo.dto.review.ReviewReportDTO;
 import com.example.demo.entity.Book;
-import com.example.demo.entity.Loan;
-import com.example.demo.entity.Review;
-import com.example.demo.enums.LoanStatus;
+import com.example.demo.entity.BookStats;
+import com.example.demo.entity.DashboardStats;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
+import com.example.demo.repository.DashboardStatsRepository;
 import com.example.demo.repository.LoanRepository;
-import com.example.demo.repository.ReviewRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.stats.MostBorrowedBooks;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
 import java.util.stream.Collectors;
 
 /**
- * Service implementation for Report operations (UC-REPORT-001 ~ UC-REPORT-003)
+ * Service implementation for Report operations (UC-REPORT-001 ~ UC-REPORT-004)
  */
 @Service
 @Transactional(readOnly = true)
@@ -37,71 +48,97 @@ public class ReportServiceImpl implements ReportService {
 	private static final double MIN_RATING_TOP_BOOKS = 4.0;
 
 	private final BookRepository bookRepository;
-	private final UserRepository userRepository;
 	private final LoanRepository loanRepository;
-	private final ReviewRepository reviewRepository;
+	private final BookStatsRepository bookStatsRepository;
+	private final DashboardStatsRepository dashboardStatsRepository;
+	private final MostBorrowedBooks mostBorrowedBooks;
 	private final BookMapper bookMapper;
+	private final EntityManagerFactory entityManagerFactory;
+	private final ParallelReadQueries parallelReadQueries;
 
 	public ReportServiceImpl(
 			BookRepository bookRepository,
-			UserRepository userRepository,
 			LoanRepository loanRepository,
-			ReviewRepository reviewRepository,
-			BookMapper bookMapper) {
+			BookStatsRepository bookStatsRepository,
+			DashboardStatsRepository dashboardStatsRepository,
+			MostBorrowedBooks mostBorrowedBooks,
+			BookMapper bookMapper,
+			EntityManagerFactory entityManagerFactory,
+			ParallelReadQueries parallelReadQueries) {
 		this.bookRepository = bookRepository;
-		this.userRepository = userRepository;
 		this.loanRepository = loanRepository;
-		this.reviewRepository = reviewRepository;
+		this.bookStatsRepository = bookStatsRepository;
+		this.dashboardStatsRepository = dashboardStatsRepository;
+		this.mostBorrowedBooks = mostBorrowedBooks;
 		this.bookMapper = bookMapper;
+		this.entityManagerFactory = entityManagerFactory;
+		this.parallelReadQueries = parallelReadQueries;
 	}
 
 	@Override
 	public DashboardStatisticsDTO getDashboardStatistics() {
-		Long totalBooks = bookRepository.count();
-		Long totalUsers = userRepository.count();
-		Long activeLoans = loanRepository.countByStatus(LoanStatus.BORROWED);
-		Long overdueLoans = loanRepository.countByStatus(LoanStatus.OVERDUE);
-
-		Pageable pageable = PageRequest.of(0, TOP_BOOKS_SIZE);
-		List<Object[]> mostBorrowedRaw = bookRepository.findMostBorrowedBooks(pageable);
-		List<BookDTO> mostBorrowedBooks = mostBorrowedRaw.stream()
-				.map(row -> (Book) row[0])
-				.map(bookMapper::toDTO)
-				.collect(Collectors.toList());
+		List<DashboardStats> stripes = dashboardStatsRepository.findAll();
+		if (stripes.isEmpty()) {
+			throw new ResourceNotFoundException("Dashboard statistics have not been initialized");
+		}
 
 		DashboardStatisticsDTO dto = new DashboardStatisticsDTO();
-		dto.setTotalBooks(totalBooks);
-		dto.setTotalUsers(totalUsers);
-		dto.setActiveLoans(activeLoans);
-		dto.setOverdueLoans(overdueLoans);
-		dto.setMostBorrowedBooks(mostBorrowedBooks);
+		dto.setTotalBooks(stripes.stream().mapToLong(DashboardStats::getTotalBooks).sum());
+		dto.setTotalUsers(stripes.stream().mapToLong(DashboardStats::getTotalUsers).sum());
+		dto.setActiveLoans(stripes.stream().mapToLong(DashboardStats::getActiveLoans).sum());
+		dto.setOverdueLoans(stripes.stream().mapToLong(DashboardStats::getOverdueLoans).sum());
+		dto.setMostBorrowedBooks(mostBorrowedBooks.top());
 		dto.setTopAuthors(Collections.emptyList());
 		return dto;
 	}
 
+	/**
+	 * The two per-day aggregates are independent scans of the range, so they run at the same time
+	 * (see ParallelReadQueries). No transaction here: the caller would hold a connection while it waits.
+	 * A query that misses reports.query-timeout-ms, or that a saturated pool rejects, leaves its part null and the
+	 * report flagged degraded.
+	 */
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public LoanReportDTO getLoanReport(LocalDate startDate, LocalDate endDate) {
 		LocalDateTime startDateTime = startDate.atStartOfDay();
 		LocalDateTime endDateTime = endDate.atTime(23, 59, 59, 999_999_999);
 
-		List<Loan> loans = loanRepository.findLoansByDateRange(startDateTime, endDateTime);
-		Long totalBorrows = loanRepository.countLoansByDateRangeAndStatus(startDateTime, endDateTime, LoanStatus.BORROWED);
-		Long totalReturns = loanRepository.countLoansByDateRangeAndStatus(startDateTime, endDateTime, LoanStatus.RETURNED);
-
-		Map<LocalDate, Long> borrowsByDate = loans.stream()
-				.filter(l -> l.getStatus() == LoanStatus.BORROWED || l.getBorrowDate() != null)
-				.collect(Collectors.groupingBy(l -> l.getBorrowDate().toLocalDate(), Collectors.counting()));
-		Map<LocalDate, Long> returnsByDate = loans.stream()
-				.filter(l -> l.getReturnDate() != null)
-				.collect(Collectors.groupingBy(l -> l.getReturnDate().toLocalDate(), Collectors.counting()));
+		// Aggregated per day in the database: memory depends on the number of days, not of loans
+		ParallelReadQueries.Pending<List<LoanDayCountDTO>> borrowDays = parallelReadQueries.submit(
+				() -> loanRepository.countLoansByBorrowDay(startDateTime, endDateTime));
+		ParallelReadQueries.Pending<List<LoanDayCountDTO>> returnDays = parallelReadQueries.submit(
+				() -> loanRepository.countReturnsByReturnDay(startDateTime, endDateTime));
 
 		LoanReportDTO dto = new LoanReportDTO();
 		dto.setStartDate(startDate);
 		dto.setEndDate(endDate);
-		dto.setBorrowsByDate(borrowsByDate);
-		dto.setReturnsByDate(returnsByDate);
-		dto.setTotalBorrows(totalBorrows != null ? totalBorrows : 0L);
-		dto.setTotalReturns(totalReturns != null ? totalReturns : 0L);
+
+		Optional<List<LoanDayCountDTO>> borrows = borrowDays.await();
+		borrows.ifPresent(days -> {
+			Map<LocalDate, Long> borrowsByDate = new LinkedHashMap<>();
+			long totalBorrows = 0;
+			long totalReturns = 0;
+			for (LoanDayCountDTO day : days) {
+				borrowsByDate.put(day.getDay(), day.getCount());
+				totalBorrows += day.getBorrowedCount();
+				totalReturns += day.getReturnedCount();
+			}
+			dto.setBorrowsByDate(borrowsByDate);
+			dto.setTotalBorrows(totalBorrows);
+			dto.setTotalReturns(totalReturns);
+		});
+
+		Optional<List<LoanDayCountDTO>> returns = returnDays.await();
+		returns.ifPresent(days -> {
+			Map<LocalDate, Long> returnsByDate = new LinkedHashMap<>();
+			for (LoanDayCountDTO day : days) {
+				returnsByDate.put(day.getDay(), day.getCount());
+			}
+			dto.setReturnsByDate(returnsByDate);
+		});
+
+		dto.setDegraded(borrows.isEmpty() || returns.isEmpty());
 		return dto;
 	}
 
@@ -110,19 +147,15 @@ public class ReportServiceImpl implements ReportService {
 		if (bookId != null) {
 			Book book = bookRepository.findById(bookId)
 					.orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
-			List<Review> reviews = reviewRepository.findListByBookId(bookId);
-			Double averageRating = reviewRepository.getAverageRatingByBookId(bookId);
-			Long totalReviews = reviewRepository.countReviewsByBookId(bookId);
-
-			Map<Integer, Long> ratingDistribution = reviews.stream()
-					.collect(Collectors.groupingBy(Review::getRating, Collectors.counting()));
+			BookStats stats = bookStatsRepository.findById(bookId).orElse(null);
+			Double averageRating = stats != null ? stats.getAverageRating() : null;
 
 			ReviewReportDTO dto = new ReviewReportDTO();
 			dto.setBookId(bookId);
 			dto.setBookTitle(book.getTitle());
-			dto.setRatingDistribution(ratingDistribution);
+			dto.setRatingDistribution(stats != null ? stats.ratingDistribution() : Collections.emptyMap());
 			dto.setAverageRating(averageRating != null ? averageRating : 0.0);
-			dto.setTotalReviews(totalReviews != null ? totalReviews : 0L);
+			dto.setTotalReviews(stats != null ? (long) stats.getReviewCount() : 0L);
 			dto.setTopRatedBooks(Collections.emptyList());
 			return dto;
 		}
@@ -140,4 +173,25 @@ public class ReportServiceImpl implements ReportService {
 		dto.setTopRatedBooks(topRatedDTOs);
 		return dto;
 	}
+
+	@Override
+	public List<CacheRegionStatsDTO> getCacheStatistics() {
+		Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+		List<CacheRegionStatsDTO> regions = new ArrayList<>();
+		for (String region : CacheRegions.ENTITY_REGIONS) {
+			regions.add(toCacheRegionStats(region, statistics.getDomainDataRegionStatistics(region)));
+		}
+		// Null until the first cacheable query has run
+		regions.add(toCacheRegionStats(CacheRegions.REFERENCE_QUERIES,
+				statistics.getQueryRegionStatistics(CacheRegions.REFERENCE_QUERIES)));
+		return regions;
+	}
+
+	private static CacheRegionStatsDTO toCacheRegionStats(String region, CacheRegionStatistics stats) {
+		long hits = stats != null ? stats.getHitCount() : 0L;
+		long misses = stats != null ? stats.getMissCount() : 0L;
+		long puts = stats != null ? stats.getPutCount() : 0L;
+		double hitRatio = hits + misses > 0 ? (double) hits / (hits + misses) : 0.0;
+		return new CacheRegionStatsDTO(region, hits, misses, puts, hitRatio);
+	}
 }
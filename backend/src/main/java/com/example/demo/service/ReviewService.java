@@ -1,5 +1,6 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.review.AverageRatingDTO;
 import com.example.demo.dto.review.ReviewDTO;
 import com.example.demo.dto.review.ReviewRequestDTO;
@@ -8,6 +9,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Review operations
@@ -54,14 +56,34 @@ public interface ReviewService {
 	 */
 	Page<ReviewDTO> getReviewsByBookId(Long bookId, Pageable pageable);
 
+	/**
+	 * UC-REVIEW-004: Lấy danh sách đánh giá của sách theo keyset (không COUNT, không OFFSET)
+	 * Mới nhất trước
+	 * 
+	 * @param bookId - ID của sách
+	 * @param after  - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size   - Số review mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<ReviewDTO> - Danh sách review
+	 */
+	CursorSliceDTO<ReviewDTO> getReviewsByBookIdAfter(Long bookId, String after, int size);
+
 	/**
 	 * UC-REVIEW-005: Lấy đánh giá của user
 	 * Lấy danh sách review của một user
 	 * 
 	 * @param userId - ID của user
+	 * @param limit  - Số review tối đa, mới nhất trước (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<ReviewDTO> - Danh sách review
 	 */
-	List<ReviewDTO> getReviewsByUserId(Long userId);
+	List<ReviewDTO> getReviewsByUserId(Long userId, int limit);
+
+	/**
+	 * UC-REVIEW-005: Stream toàn bộ đánh giá của user, mới nhất trước
+	 * 
+	 * @param userId - ID của user
+	 * @param sink   - Nhận từng review theo thứ tự
+	 */
+	void streamReviewsByUserId(Long userId, Consumer<? super ReviewDTO> sink);
 
 	/**
 	 * UC-REVIEW-006: Lấy điểm đánh giá trung bình của sách
@@ -1,10 +1,15 @@
 package com.example.demo.service;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
+import com.example.demo.dto.common.ListLimit;
 import com.example.demo.dto.review.AverageRatingDTO;
 import com.example.demo.dto.review.ReviewDTO;
 import com.example.demo.dto.review.ReviewRequestDTO;
 import com.example.demo.dto.review.ReviewUpdateDTO;
 import com.example.demo.entity.Book;
+import com.example.demo.entity.BookStats;
 import com.example.demo.entity.Review;
 import com.example.demo.entity.User;
 import com.example.demo.exception.BusinessException;
@@ -12,15 +17,19 @@ import com.example.demo.exception.DuplicateResourceException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.ReviewMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
 import com.example.demo.repository.ReviewRepository;
 import com.example.demo.repository.UserRepository;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * Service implementation for Review operations (UC-REVIEW-001 ~ UC-REVIEW-006)
@@ -32,17 +41,23 @@ public class ReviewServiceImpl implements ReviewService {
 	private final ReviewRepository reviewRepository;
 	private final UserRepository userRepository;
 	private final BookRepository bookRepository;
+	private final BookStatsRepository bookStatsRepository;
 	private final ReviewMapper reviewMapper;
+	private final CatalogVersion catalogVersion;
 
 	public ReviewServiceImpl(
 			ReviewRepository reviewRepository,
 			UserRepository userRepository,
 			BookRepository bookRepository,
-			ReviewMapper reviewMapper) {
+			BookStatsRepository bookStatsRepository,
+			ReviewMapper reviewMapper,
+			CatalogVersion catalogVersion) {
 		this.reviewRepository = reviewRepository;
 		this.userRepository = userRepository;
 		this.bookRepository = bookRepository;
+		this.bookStatsRepository = bookStatsRepository;
 		this.reviewMapper = reviewMapper;
+		this.catalogVersion = catalogVersion;
 	}
 
 	@Override
@@ -60,12 +75,15 @@ public class ReviewServiceImpl implements ReviewService {
 		review.setUser(user);
 		review.setBook(book);
 		Review savedReview = reviewRepository.save(review);
+		bookStatsRepository.addRating(book.getId(), savedReview.getRating(), 1);
+		// The review summary is part of the book detail
+		catalogVersion.changed();
 		return reviewMapper.toDTO(savedReview);
 	}
 
 	@Override
 	public ReviewDTO updateReview(Long reviewId, ReviewUpdateDTO request, Long userId, boolean isAdmin) {
-		Review review = reviewRepository.findById(reviewId)
+		Review review = reviewRepository.findByIdForUpdate(reviewId)
 				.orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
 
 		boolean isOwner = review.getUser().getId().equals(userId);
@@ -73,14 +91,21 @@ public class ReviewServiceImpl implements ReviewService {
 			throw new BusinessException("User is not the owner of this review");
 		}
 
+		int oldRating = review.getRating();
 		reviewMapper.updateEntityFromDTO(review, request);
 		Review updatedReview = reviewRepository.save(review);
+		if (updatedReview.getRating() != oldRating) {
+			Long bookId = updatedReview.getBook().getId();
+			bookStatsRepository.addRating(bookId, oldRating, -1);
+			bookStatsRepository.addRating(bookId, updatedReview.getRating(), 1);
+			catalogVersion.changed();
+		}
 		return reviewMapper.toDTO(updatedReview);
 	}
 
 	@Override
 	public void deleteReview(Long reviewId, Long userId, boolean isAdmin) {
-		Review review = reviewRepository.findById(reviewId)
+		Review review = reviewRepository.findByIdForUpdate(reviewId)
 				.orElseThrow(() -> new ResourceNotFoundException("Review not found with id: " + reviewId));
 
 		boolean isOwner = review.getUser().getId().equals(userId);
@@ -89,6 +114,8 @@ public class ReviewServiceImpl implements ReviewService {
 		}
 
 		reviewRepository.delete(review);
+		bookStatsRepository.addRating(review.getBook().getId(), review.getRating(), -1);
+		catalogVersion.changed();
 	}
 
 	@Override
@@ -99,10 +126,32 @@ public class ReviewServiceImpl implements ReviewService {
 
 	@Override
 	@Transactional(readOnly = true)
-	public List<ReviewDTO> getReviewsByUserId(Long userId) {
-		return reviewRepository.findByUserId(userId).stream()
-				.map(reviewMapper::toDTO)
-				.collect(Collectors.toList());
+	public CursorSliceDTO<ReviewDTO> getReviewsByBookIdAfter(Long bookId, String after, int size) {
+		int pageSize = KeysetCursor.clampSize(size);
+		LocalDateTime createdAt = KeysetCursor.LATEST;
+		long id = Long.MAX_VALUE;
+		if (after != null) {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			createdAt = cursor.sortKeyAsDateTime();
+			id = cursor.id();
+		}
+		List<Review> reviews = reviewRepository.findPageByBookIdBefore(bookId, createdAt, id, Limit.of(pageSize + 1));
+		return CursorSliceDTO.of(reviews, pageSize, review -> KeysetCursor.of(review.getCreatedAt(), review.getId()))
+				.map(reviewMapper::toDTO);
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public List<ReviewDTO> getReviewsByUserId(Long userId, int limit) {
+		return reviewRepository.findReviewDTOsByUserId(userId, ListLimit.clamp(limit));
+	}
+
+	@Override
+	@Transactional(readOnly = true)
+	public void streamReviewsByUserId(Long userId, Consumer<? super ReviewDTO> sink) {
+		try (Stream<ReviewDTO> reviews = reviewRepository.streamReviewDTOsByUserId(userId)) {
+			reviews.forEach(sink);
+		}
 	}
 
 	@Override
@@ -111,14 +160,14 @@ public class ReviewServiceImpl implements ReviewService {
 		Book book = bookRepository.findById(bookId)
 				.orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
 
-		Double averageRating = reviewRepository.getAverageRatingByBookId(bookId);
-		Long totalReviews = reviewRepository.countReviewsByBookId(bookId);
+		BookStats stats = bookStatsRepository.findById(bookId).orElse(null);
+		Double averageRating = stats != null ? stats.getAverageRating() : null;
 
 		AverageRatingDTO dto = new AverageRatingDTO();
 		dto.setBookId(bookId);
 		dto.setBookTitle(book.getTitle());
 		dto.setAverageRating(averageRating != null ? averageRating : 0.0);
-		dto.setTotalReviews(totalReviews != null ? totalReviews : 0L);
+		dto.setTotalReviews(stats != null ? (long) stats.getReviewCount() : 0L);
 		return dto;
 	}
 }
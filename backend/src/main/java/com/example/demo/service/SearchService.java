@@ -6,6 +6,7 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
 import java.util.List;
+import java.util.function.Consumer;
 
 /**
  * Service interface for Search operations
@@ -20,9 +21,22 @@ public interface SearchService {
 	 * @param authorName   - Tên tác giả (optional, partial match)
 	 * @param userId       - ID user (optional - sách đang được mượn bởi user)
 	 * @param title        - Tiêu đề sách (optional, partial match)
+	 * @param limit        - Số sách tối đa, theo thứ tự ID (giới hạn trong [1, ListLimit.MAX])
 	 * @return List<BookDTO> - Danh sách sách tìm được
 	 */
-	List<BookDTO> advancedSearch(String categoryName, String authorName, Long userId, String title);
+	List<BookDTO> advancedSearch(String categoryName, String authorName, Long userId, String title, int limit);
+
+	/**
+	 * UC-SEARCH-001: Stream toàn bộ kết quả tìm kiếm nâng cao, theo thứ tự ID
+	 * Sách được đọc qua JDBC cursor và map theo từng chunk, bộ nhớ không phụ thuộc số kết quả
+	 * 
+	 * @param categoryName - Tên danh mục (optional)
+	 * @param authorName   - Tên tác giả (optional, partial match)
+	 * @param userId       - ID user (optional - sách đang được mượn bởi user)
+	 * @param title        - Tiêu đề sách (optional, partial match)
+	 * @param sink         - Nhận từng sách theo thứ tự
+	 */
+	void streamAdvancedSearch(String categoryName, String authorName, Long userId, String title, Consumer<? super BookDTO> sink);
 
 	/**
 	 * UC-SEARCH-002: Tìm kiếm sách theo nhiều tiêu chí
@@ -32,4 +46,31 @@ public interface SearchService {
 	 * @return Page<BookDTO> - Danh sách sách với pagination
 	 */
 	Page<BookDTO> searchBooks(BookSearchCriteriaDTO criteria, Pageable pageable);
+
+	/**
+	 * UC-SEARCH-003: Tìm kiếm toàn văn (full-text), xếp hạng theo độ liên quan
+	 * Tìm trên tiêu đề, mô tả, tên tác giả, danh mục và nhà xuất bản (không phân biệt dấu)
+	 * 
+	 * @param query    - Từ khóa (hỗ trợ "cụm từ", OR, -loại trừ)
+	 * @param pageable - Pagination info (sort bị bỏ qua, kết quả sắp theo độ liên quan)
+	 * @return Page<BookDTO> - Danh sách sách, liên quan nhất trước
+	 */
+	Page<BookDTO> fullTextSearch(String query, Pageable pageable);
+
+	/**
+	 * UC-SEARCH-004: Tìm kiếm trên index trong bộ nhớ (không truy vấn database)
+	 * Chỉ dùng được khi bật search.catalog-index.enabled
+	 * 
+	 * @param query    - Từ khóa (không phân biệt dấu, từ cuối khớp theo tiền tố)
+	 * @param pageable - Pagination info (sort bị bỏ qua, kết quả sắp theo độ liên quan)
+	 * @return Page<BookDTO> - Danh sách sách, liên quan nhất trước
+	 */
+	Page<BookDTO> indexedSearch(String query, Pageable pageable);
+
+	/**
+	 * UC-SEARCH-005: Xây dựng lại index trong bộ nhớ từ database (Admin)
+	 * 
+	 * @return int - Số sách đã index
+	 */
+	int rebuildIndex();
 }
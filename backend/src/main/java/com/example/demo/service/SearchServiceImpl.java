@@ -2,41 +2,74 @@ package com.example.demo.service;
 
 import com.example.demo.dto.book.BookDTO;
 import com.example.demo.dto.book.BookSearchCriteriaDTO;
+import com.example.demo.dto.common.ListLimit;
 import com.example.demo.entity.Book;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.search.CatalogIndexer;
+import jakarta.persistence.EntityManager;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
- * Service implementation for Search operations (UC-SEARCH-001, UC-SEARCH-002)
+ * Service implementation for Search operations (UC-SEARCH-001 ~ 005)
  */
 @Service
 @Transactional(readOnly = true)
 public class SearchServiceImpl implements SearchService {
 
+	private static final int STREAM_CHUNK_SIZE = 500;
+
 	private final BookRepository bookRepository;
 	private final BookMapper bookMapper;
+	private final CatalogIndexer catalogIndexer;
+	private final EntityManager entityManager;
 
-	public SearchServiceImpl(BookRepository bookRepository, BookMapper bookMapper) {
+	public SearchServiceImpl(
+			BookRepository bookRepository,
+			BookMapper bookMapper,
+			CatalogIndexer catalogIndexer,
+			EntityManager entityManager) {
 		this.bookRepository = bookRepository;
 		this.bookMapper = bookMapper;
+		this.catalogIndexer = catalogIndexer;
+		this.entityManager = entityManager;
 	}
 
 	@Override
-	public List<BookDTO> advancedSearch(String categoryName, String authorName, Long userId, String title) {
-		List<Book> books = bookRepository.advancedSearch(categoryName, authorName, userId, title);
+	public List<BookDTO> advancedSearch(String categoryName, String authorName, Long userId, String title, int limit) {
+		List<Book> books = bookRepository.advancedSearch(categoryName, authorName, userId, title, ListLimit.clamp(limit));
+		bookRepository.fetchAuthorsAndCategories(books);
 		return books.stream().map(bookMapper::toDTO).collect(Collectors.toList());
 	}
 
+	@Override
+	public void streamAdvancedSearch(String categoryName, String authorName, Long userId, String title, Consumer<? super BookDTO> sink) {
+		List<Book> chunk = new ArrayList<>(STREAM_CHUNK_SIZE);
+		try (Stream<Book> books = bookRepository.streamAdvancedSearch(categoryName, authorName, userId, title)) {
+			books.forEach(book -> {
+				chunk.add(book);
+				if (chunk.size() == STREAM_CHUNK_SIZE) {
+					emit(chunk, sink);
+				}
+			});
+		}
+		emit(chunk, sink);
+	}
+
 	@Override
 	public Page<BookDTO> searchBooks(BookSearchCriteriaDTO criteria, Pageable pageable) {
-		return bookRepository.searchBooks(
+		Page<Book> books = bookRepository.searchBooks(
 				criteria.getTitle(),
 				criteria.getAuthor(),
 				criteria.getCategory(),
@@ -45,6 +78,46 @@ public class SearchServiceImpl implements SearchService {
 				criteria.getMinYear(),
 				criteria.getMaxYear(),
 				pageable
-		).map(bookMapper::toDTO);
+		);
+		bookRepository.fetchAuthorsAndCategories(books.getContent());
+		return books.map(bookMapper::toDTO);
+	}
+
+	@Override
+	public Page<BookDTO> fullTextSearch(String query, Pageable pageable) {
+		if (query == null || query.isBlank()) {
+			return Page.empty(pageable);
+		}
+		Page<Book> books = bookRepository.fullTextSearch(
+				query.trim(),
+				PageRequest.of(pageable.getPageNumber(), pageable.getPageSize())
+		);
+		bookRepository.fetchPublishers(books.getContent());
+		bookRepository.fetchAuthorsAndCategories(books.getContent());
+		return books.map(bookMapper::toDTO);
+	}
+
+	/**
+	 * Served entirely from memory; NOT_SUPPORTED keeps the call from opening a transaction
+	 * (and borrowing a pooled connection) it would never use.
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public Page<BookDTO> indexedSearch(String query, Pageable pageable) {
+		return catalogIndexer.search(query, pageable);
+	}
+
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public int rebuildIndex() {
+		return catalogIndexer.rebuild();
+	}
+
+	private void emit(List<Book> chunk, Consumer<? super BookDTO> sink) {
+		bookRepository.fetchAuthorsAndCategories(chunk);
+		chunk.stream().map(bookMapper::toDTO).forEach(sink);
+		chunk.clear();
+		// Keep the persistence context to one chunk so the stream runs in constant memory
+		entityManager.clear();
 	}
 }
@@ -40,16 +40,18 @@ public interface AuthorService {
 	/**
 	 * Cập nhật thông tin tác giả
 	 * 
-	 * @param authorId  - ID tác giả
-	 * @param updateDTO - Thông tin cập nhật
+	 * @param authorId        - ID tác giả
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return AuthorDTO
 	 */
-	AuthorDTO updateAuthor(Long authorId, AuthorUpdateDTO updateDTO);
+	AuthorDTO updateAuthor(Long authorId, AuthorUpdateDTO updateDTO, Long expectedVersion);
 
 	/**
 	 * Xóa tác giả
 	 * 
-	 * @param authorId - ID tác giả
+	 * @param authorId        - ID tác giả
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
-	void deleteAuthor(Long authorId);
+	void deleteAuthor(Long authorId, Long expectedVersion);
 }
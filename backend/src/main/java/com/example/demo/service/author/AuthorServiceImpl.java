@@ -1,14 +1,18 @@
 package com.example.demo.service.author;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.author.AuthorDTO;
 import com.example.demo.dto.author.AuthorDetailDTO;
 import com.example.demo.dto.author.AuthorRequestDTO;
 import com.example.demo.dto.author.AuthorUpdateDTO;
 import com.example.demo.entity.Author;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.AuthorMapper;
 import com.example.demo.repository.AuthorRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,10 +27,18 @@ public class AuthorServiceImpl implements AuthorService {
 
 	private final AuthorRepository authorRepository;
 	private final AuthorMapper authorMapper;
+	private final CatalogVersion catalogVersion;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public AuthorServiceImpl(AuthorRepository authorRepository, AuthorMapper authorMapper) {
+	public AuthorServiceImpl(
+			AuthorRepository authorRepository,
+			AuthorMapper authorMapper,
+			CatalogVersion catalogVersion,
+			ApplicationEventPublisher eventPublisher) {
 		this.authorRepository = authorRepository;
 		this.authorMapper = authorMapper;
+		this.catalogVersion = catalogVersion;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -39,6 +51,7 @@ public class AuthorServiceImpl implements AuthorService {
 	public AuthorDTO createAuthor(AuthorRequestDTO requestDTO) {
 		Author author = authorMapper.toEntity(requestDTO);
 		Author savedAuthor = authorRepository.save(author);
+		catalogVersion.changed();
 		return authorMapper.toDTO(savedAuthor);
 	}
 
@@ -77,30 +90,36 @@ public class AuthorServiceImpl implements AuthorService {
 	/**
 	 * Cập nhật thông tin tác giả
 	 * 
-	 * @param authorId - ID tác giả
-	 * @param updateDTO - Thông tin cập nhật
+	 * @param authorId        - ID tác giả
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return AuthorDTO
 	 */
 	@Override
-	public AuthorDTO updateAuthor(Long authorId, AuthorUpdateDTO updateDTO) {
+	public AuthorDTO updateAuthor(Long authorId, AuthorUpdateDTO updateDTO, Long expectedVersion) {
 		Author author = authorRepository.findById(authorId)
 				.orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + authorId));
+		EntityVersions.check("Author", authorId, expectedVersion, author.getVersion());
 
 		authorMapper.updateEntityFromDTO(author, updateDTO);
 
 		Author updatedAuthor = authorRepository.save(author);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.AUTHOR, authorId));
 		return authorMapper.toDTO(updatedAuthor);
 	}
 
 	/**
 	 * Xóa tác giả
 	 * 
-	 * @param authorId - ID tác giả
+	 * @param authorId        - ID tác giả
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
 	@Override
-	public void deleteAuthor(Long authorId) {
+	public void deleteAuthor(Long authorId, Long expectedVersion) {
 		Author author = authorRepository.findById(authorId)
 				.orElseThrow(() -> new ResourceNotFoundException("Author not found with id: " + authorId));
+		EntityVersions.check("Author", authorId, expectedVersion, author.getVersion());
 
 		if (!author.getBooks().isEmpty()) {
 			throw new BusinessRuleException(
@@ -108,5 +127,6 @@ public class AuthorServiceImpl implements AuthorService {
 		}
 
 		authorRepository.delete(author);
+		catalogVersion.changed();
 	}
 }
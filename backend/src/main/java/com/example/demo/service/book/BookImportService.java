@@ -0,0 +1,21 @@
+package com.example.demo.service.book;
+
+import com.example.demo.dto.book.BookImportResultDTO;
+import com.example.demo.importer.BookImportFormat;
+
+import java.io.InputStream;
+
+/**
+ * Service interface for bulk Book import
+ */
+public interface BookImportService {
+
+	/**
+	 * Nhập hàng loạt sách từ file CSV/NDJSON (đọc dạng stream, ghi theo từng chunk)
+	 * 
+	 * @param input  - Nội dung file
+	 * @param format - Định dạng file
+	 * @return BookImportResultDTO - Số dòng nhập thành công/thất bại và lỗi theo từng dòng
+	 */
+	BookImportResultDTO importBooks(InputStream input, BookImportFormat format);
+}
@@ -0,0 +1,333 @@
+package com.example.demo.service.book;
+
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.book.BookImportErrorDTO;
+import com.example.demo.dto.book.BookImportResultDTO;
+import com.example.demo.dto.book.BookImportRowDTO;
+import com.example.demo.entity.Author;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Category;
+import com.example.demo.entity.Publisher;
+import com.example.demo.event.BooksImportedEvent;
+import com.example.demo.importer.BookImportFormat;
+import com.example.demo.importer.BookImportReader;
+import com.example.demo.importer.BookImportWriter;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.repository.AuthorRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.PublisherRepository;
+import com.example.demo.search.CatalogIndexer;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Service implementation for bulk Book import.
+ * Rows are read as a stream and written in chunks of CHUNK_SIZE, each chunk in its own transaction, so a bad chunk
+ * does not undo the ones before it and memory stays flat whatever the file size. Publishers, categories and authors
+ * are loaded once into maps keyed by name; unknown authors are created, unknown publishers/categories fail the row.
+ */
+@Service
+@Transactional
+public class BookImportServiceImpl implements BookImportService {
+
+	static final int CHUNK_SIZE = 1000;
+	static final int MAX_REPORTED_ERRORS = 1000;
+
+	private final PublisherRepository publisherRepository;
+	private final CategoryRepository categoryRepository;
+	private final AuthorRepository authorRepository;
+	private final BookImportWriter bookImportWriter;
+	private final BookMapper bookMapper;
+	private final CatalogIndexer catalogIndexer;
+	private final CatalogVersion catalogVersion;
+	private final Validator validator;
+	private final JsonMapper jsonMapper;
+	private final ApplicationEventPublisher eventPublisher;
+	private final TransactionTemplate chunkTransaction;
+
+	public BookImportServiceImpl(
+			PublisherRepository publisherRepository,
+			CategoryRepository categoryRepository,
+			AuthorRepository authorRepository,
+			BookImportWriter bookImportWriter,
+			BookMapper bookMapper,
+			CatalogIndexer catalogIndexer,
+			CatalogVersion catalogVersion,
+			Validator validator,
+			JsonMapper jsonMapper,
+			ApplicationEventPublisher eventPublisher,
+			PlatformTransactionManager transactionManager) {
+		this.publisherRepository = publisherRepository;
+		this.categoryRepository = categoryRepository;
+		this.authorRepository = authorRepository;
+		this.bookImportWriter = bookImportWriter;
+		this.bookMapper = bookMapper;
+		this.catalogIndexer = catalogIndexer;
+		this.catalogVersion = catalogVersion;
+		this.validator = validator;
+		this.jsonMapper = jsonMapper;
+		this.eventPublisher = eventPublisher;
+		this.chunkTransaction = new TransactionTemplate(transactionManager);
+	}
+
+	/**
+	 * Nhập hàng loạt sách từ file CSV/NDJSON
+	 * 
+	 * @param input  - Nội dung file
+	 * @param format - Định dạng file
+	 * @return BookImportResultDTO
+	 */
+	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
+	public BookImportResultDTO importBooks(InputStream input, BookImportFormat format) {
+		ReferenceData references = loadReferenceData();
+		ImportProgress progress = new ImportProgress();
+		Set<String> seenIsbns = new HashSet<>();
+
+		try (BookImportReader reader = BookImportReader.open(input, format, jsonMapper)) {
+			List<BookImportReader.ParsedRow> chunk = new ArrayList<>(CHUNK_SIZE);
+			BookImportReader.ParsedRow row;
+			while ((row = reader.next()) != null) {
+				chunk.add(row);
+				if (chunk.size() == CHUNK_SIZE) {
+					importChunk(chunk, references, seenIsbns, progress);
+					chunk.clear();
+				}
+			}
+			if (!chunk.isEmpty()) {
+				importChunk(chunk, references, seenIsbns, progress);
+			}
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return progress.toDTO();
+	}
+
+	private void importChunk(List<BookImportReader.ParsedRow> chunk, ReferenceData references,
+			Set<String> seenIsbns, ImportProgress progress) {
+		List<BookImportReader.ParsedRow> valid = new ArrayList<>(chunk.size());
+		for (BookImportReader.ParsedRow parsed : chunk) {
+			progress.totalRows++;
+			String error = parsed.error() != null ? parsed.error() : validate(parsed.row(), references, seenIsbns);
+			if (error != null) {
+				progress.fail(parsed.line(), parsed.row() != null ? parsed.row().getIsbn() : null, error);
+			} else {
+				valid.add(parsed);
+			}
+		}
+		if (valid.isEmpty()) {
+			return;
+		}
+
+		ChunkResult result;
+		try {
+			result = chunkTransaction.execute(status -> writeChunk(valid, references));
+		} catch (DataAccessException | TransactionException e) {
+			String message = "Chunk rolled back: " + e.getMostSpecificCause().getMessage();
+			valid.forEach(parsed -> progress.fail(parsed.line(), parsed.row().getIsbn(), message));
+			return;
+		}
+
+		// Only now that the chunk committed may later chunks link to the authors it created
+		references.authors.putAll(result.createdAuthors());
+		progress.createdAuthors += result.createdAuthors().size();
+		progress.importedCount += result.ids().size();
+		for (BookImportReader.ParsedRow parsed : valid) {
+			if (!result.ids().containsKey(parsed.row().getIsbn())) {
+				progress.fail(parsed.line(), parsed.row().getIsbn(),
+						"Book with ISBN '" + parsed.row().getIsbn() + "' already exists");
+			}
+		}
+	}
+
+	/**
+	 * @return Why the row cannot be imported, or null if it can
+	 */
+	private String validate(BookImportRowDTO row, ReferenceData references, Set<String> seenIsbns) {
+		Set<ConstraintViolation<BookImportRowDTO>> violations = validator.validate(row);
+		if (!violations.isEmpty()) {
+			return violations.stream()
+					.map(ConstraintViolation::getMessage)
+					.sorted()
+					.collect(Collectors.joining("; "));
+		}
+		row.setIsbn(row.getIsbn().trim());
+		if (references.publishers.get(key(row.getPublisher())) == null) {
+			return "Publisher not found: " + row.getPublisher();
+		}
+		for (String category : names(row.getCategories())) {
+			if (references.categories.get(key(category)) == null) {
+				return "Category not found: " + category;
+			}
+		}
+		if (!seenIsbns.add(row.getIsbn())) {
+			return "Duplicate ISBN in file: " + row.getIsbn();
+		}
+		return null;
+	}
+
+	private ChunkResult writeChunk(List<BookImportReader.ParsedRow> rows, ReferenceData references) {
+		Map<String, Author> createdAuthors = createMissingAuthors(rows, references);
+
+		List<BookImportWriter.NewBook> newBooks = new ArrayList<>(rows.size());
+		for (BookImportReader.ParsedRow parsed : rows) {
+			BookImportRowDTO row = parsed.row();
+			newBooks.add(new BookImportWriter.NewBook(
+					row.getTitle().trim(),
+					row.getIsbn(),
+					row.getPublicationYear(),
+					row.getDescription(),
+					row.getCoverImageUrl(),
+					row.getFilePath(),
+					references.publishers.get(key(row.getPublisher())).getId(),
+					authorsOf(row, references, createdAuthors).stream().map(Author::getId).toList(),
+					categoriesOf(row, references).stream().map(Category::getId).toList()));
+		}
+
+		Map<String, Long> ids = bookImportWriter.insert(newBooks);
+		if (!ids.isEmpty()) {
+			eventPublisher.publishEvent(new BooksImportedEvent(ids.size()));
+			catalogVersion.changed();
+			if (catalogIndexer.isEnabled()) {
+				catalogIndexer.indexAll(toDTOs(rows, ids, references, createdAuthors));
+			}
+		}
+		return new ChunkResult(ids, createdAuthors);
+	}
+
+	/**
+	 * Create the authors of the chunk that do not exist yet, once per name. Flushed right away: the links are
+	 * written through JDBC, which does not flush the batched author INSERTs, and fk_ba_author is not deferrable.
+	 */
+	private Map<String, Author> createMissingAuthors(List<BookImportReader.ParsedRow> rows, ReferenceData references) {
+		Map<String, Author> missing = new LinkedHashMap<>();
+		for (BookImportReader.ParsedRow parsed : rows) {
+			for (String name : names(parsed.row().getAuthors())) {
+				String key = key(name);
+				if (!references.authors.containsKey(key) && !missing.containsKey(key)) {
+					missing.put(key, Author.builder().fullName(name.trim()).build());
+				}
+			}
+		}
+		if (!missing.isEmpty()) {
+			authorRepository.saveAllAndFlush(missing.values());
+		}
+		return missing;
+	}
+
+	private List<BookDTO> toDTOs(List<BookImportReader.ParsedRow> rows, Map<String, Long> ids,
+			ReferenceData references, Map<String, Author> createdAuthors) {
+		List<BookDTO> books = new ArrayList<>(ids.size());
+		for (BookImportReader.ParsedRow parsed : rows) {
+			BookImportRowDTO row = parsed.row();
+			Long id = ids.get(row.getIsbn());
+			if (id != null) {
+				books.add(bookMapper.toDTO(Book.builder()
+						.id(id)
+						.title(row.getTitle().trim())
+						.isbn(row.getIsbn())
+						.publicationYear(row.getPublicationYear())
+						.description(row.getDescription())
+						.coverImageUrl(row.getCoverImageUrl())
+						.filePath(row.getFilePath())
+						.publisher(references.publishers.get(key(row.getPublisher())))
+						.authors(authorsOf(row, references, createdAuthors))
+						.categories(categoriesOf(row, references))
+						.build()));
+			}
+		}
+		return books;
+	}
+
+	private static List<Author> authorsOf(BookImportRowDTO row, ReferenceData references,
+			Map<String, Author> createdAuthors) {
+		return names(row.getAuthors()).stream()
+				.map(BookImportServiceImpl::key)
+				.distinct()
+				.map(key -> references.authors.getOrDefault(key, createdAuthors.get(key)))
+				.toList();
+	}
+
+	private static List<Category> categoriesOf(BookImportRowDTO row, ReferenceData references) {
+		return names(row.getCategories()).stream()
+				.map(BookImportServiceImpl::key)
+				.distinct()
+				.map(references.categories::get)
+				.toList();
+	}
+
+	private ReferenceData loadReferenceData() {
+		ReferenceData references = new ReferenceData();
+		publisherRepository.findAll().forEach(p -> references.publishers.put(key(p.getName()), p));
+		categoryRepository.findAll().forEach(c -> references.categories.put(key(c.getName()), c));
+		// Author names are not unique: the oldest author with a name wins
+		authorRepository.findAll(Sort.by("id")).forEach(a -> references.authors.putIfAbsent(key(a.getFullName()), a));
+		return references;
+	}
+
+	private static List<String> names(List<String> names) {
+		if (names == null) {
+			return List.of();
+		}
+		return names.stream().filter(name -> name != null && !name.isBlank()).toList();
+	}
+
+	private static String key(String name) {
+		return name.trim().toLowerCase(Locale.ROOT);
+	}
+
+	private static final class ReferenceData {
+
+		private final Map<String, Publisher> publishers = new HashMap<>();
+		private final Map<String, Category> categories = new HashMap<>();
+		private final Map<String, Author> authors = new HashMap<>();
+	}
+
+	private record ChunkResult(Map<String, Long> ids, Map<String, Author> createdAuthors) {
+	}
+
+	private static final class ImportProgress {
+
+		private int totalRows;
+		private int importedCount;
+		private int failedCount;
+		private int createdAuthors;
+		private final List<BookImportErrorDTO> errors = new ArrayList<>();
+
+		private void fail(int line, String isbn, String message) {
+			failedCount++;
+			if (errors.size() < MAX_REPORTED_ERRORS) {
+				errors.add(new BookImportErrorDTO(line, isbn, message));
+			}
+		}
+
+		private BookImportResultDTO toDTO() {
+			errors.sort((a, b) -> Integer.compare(a.getLine(), b.getLine()));
+			return new BookImportResultDTO(totalRows, importedCount, failedCount, createdAuthors, errors);
+		}
+	}
+}
@@ -1,5 +1,6 @@
 package com.example.demo.service.book;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.book.BookDTO;
 import com.example.demo.dto.book.BookDetailDTO;
 import com.example.demo.dto.book.BookRequestDTO;
@@ -28,6 +29,15 @@ public interface BookService {
 	 */
 	Page<BookDTO> getAllBooks(Pageable pageable);
 
+	/**
+	 * Lấy danh sách sách theo keyset (không COUNT, không OFFSET), sắp theo tiêu đề
+	 * 
+	 * @param after - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size  - Số sách mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<BookDTO>
+	 */
+	CursorSliceDTO<BookDTO> getBooksAfter(String after, int size);
+
 	/**
 	 * Lấy chi tiết sách theo ID
 	 * 
@@ -39,16 +49,18 @@ public interface BookService {
 	/**
 	 * Cập nhật thông tin sách
 	 * 
-	 * @param bookId    - ID sách
-	 * @param updateDTO - Thông tin cập nhật
+	 * @param bookId          - ID sách
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return BookDTO
 	 */
-	BookDTO updateBook(Long bookId, BookUpdateDTO updateDTO);
+	BookDTO updateBook(Long bookId, BookUpdateDTO updateDTO, Long expectedVersion);
 
 	/**
 	 * Xóa sách
 	 * 
-	 * @param bookId - ID sách
+	 * @param bookId          - ID sách
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
-	void deleteBook(Long bookId);
+	void deleteBook(Long bookId, Long expectedVersion);
 }
@@ -1,5 +1,9 @@
 package com.example.demo.service.book;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
 import com.example.demo.dto.book.BookDTO;
 import com.example.demo.dto.book.BookDetailDTO;
 import com.example.demo.dto.book.BookRequestDTO;
@@ -9,17 +13,21 @@ import com.example.demo.entity.Author;
 import com.example.demo.entity.Book;
 import com.example.demo.entity.Category;
 import com.example.demo.entity.Publisher;
-import com.example.demo.enums.LoanStatus;
+import com.example.demo.event.BookChangedEvent;
+import com.example.demo.event.BookDeletedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.DuplicateResourceException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.AuthorRepository;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.LoanRepository;
 import com.example.demo.repository.PublisherRepository;
-import com.example.demo.repository.ReviewRepository;
+import com.example.demo.search.CatalogIndexer;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -40,8 +48,11 @@ public class BookServiceImpl implements BookService {
 	private final AuthorRepository authorRepository;
 	private final CategoryRepository categoryRepository;
 	private final LoanRepository loanRepository;
-	private final ReviewRepository reviewRepository;
+	private final BookStatsRepository bookStatsRepository;
 	private final BookMapper bookMapper;
+	private final CatalogIndexer catalogIndexer;
+	private final CatalogVersion catalogVersion;
+	private final ApplicationEventPublisher eventPublisher;
 
 	public BookServiceImpl(
 			BookRepository bookRepository,
@@ -49,15 +60,21 @@ public class BookServiceImpl implements BookService {
 			AuthorRepository authorRepository,
 			CategoryRepository categoryRepository,
 			LoanRepository loanRepository,
-			ReviewRepository reviewRepository,
-			BookMapper bookMapper) {
+			BookStatsRepository bookStatsRepository,
+			BookMapper bookMapper,
+			CatalogIndexer catalogIndexer,
+			CatalogVersion catalogVersion,
+			ApplicationEventPublisher eventPublisher) {
 		this.bookRepository = bookRepository;
 		this.publisherRepository = publisherRepository;
 		this.authorRepository = authorRepository;
 		this.categoryRepository = categoryRepository;
 		this.loanRepository = loanRepository;
-		this.reviewRepository = reviewRepository;
+		this.bookStatsRepository = bookStatsRepository;
 		this.bookMapper = bookMapper;
+		this.catalogIndexer = catalogIndexer;
+		this.catalogVersion = catalogVersion;
+		this.eventPublisher = eventPublisher;
 	}
 
 	/**
@@ -96,7 +113,11 @@ public class BookServiceImpl implements BookService {
 		}
 
 		Book savedBook = bookRepository.save(book);
-		return bookMapper.toDTO(savedBook);
+		BookDTO dto = bookMapper.toDTO(savedBook);
+		catalogIndexer.index(dto);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookChangedEvent(dto, true));
+		return dto;
 	}
 
 	/**
@@ -108,7 +129,26 @@ public class BookServiceImpl implements BookService {
 	@Override
 	@Transactional(readOnly = true)
 	public Page<BookDTO> getAllBooks(Pageable pageable) {
-		return bookRepository.findAll(pageable)
+		Page<Book> books = bookRepository.findAll(pageable);
+		bookRepository.fetchAuthorsAndCategories(books.getContent());
+		return books.map(bookMapper::toDTO);
+	}
+
+	/**
+	 * Lấy danh sách sách theo keyset (không COUNT, không OFFSET), sắp theo tiêu đề
+	 * 
+	 * @param after - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size  - Số sách mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<BookDTO>
+	 */
+	@Override
+	@Transactional(readOnly = true)
+	public CursorSliceDTO<BookDTO> getBooksAfter(String after, int size) {
+		int pageSize = KeysetCursor.clampSize(size);
+		KeysetCursor cursor = after != null ? KeysetCursor.decode(after) : KeysetCursor.of("", 0L);
+		List<Book> books = bookRepository.findPageAfter(cursor.sortKey(), cursor.id(), Limit.of(pageSize + 1));
+		bookRepository.fetchAuthorsAndCategories(books);
+		return CursorSliceDTO.of(books, pageSize, book -> KeysetCursor.of(book.getTitle(), book.getId()))
 				.map(bookMapper::toDTO);
 	}
 
@@ -126,17 +166,14 @@ public class BookServiceImpl implements BookService {
 
 		BookDetailDTO dto = bookMapper.toDetailDTO(book);
 
-		List<com.example.demo.entity.Review> reviews = reviewRepository.findListByBookId(bookId);
-		if (!reviews.isEmpty()) {
-			double averageRating = reviews.stream()
-					.mapToInt(com.example.demo.entity.Review::getRating)
-					.average()
-					.orElse(0.0);
-			ReviewSummaryDTO reviewSummary = new ReviewSummaryDTO();
-			reviewSummary.setAverageRating(averageRating);
-			reviewSummary.setTotalReviews((long) reviews.size());
-			dto.setReviewSummary(reviewSummary);
-		}
+		bookStatsRepository.findById(bookId)
+				.filter(stats -> stats.getReviewCount() > 0)
+				.ifPresent(stats -> {
+					ReviewSummaryDTO reviewSummary = new ReviewSummaryDTO();
+					reviewSummary.setAverageRating(stats.getAverageRating());
+					reviewSummary.setTotalReviews((long) stats.getReviewCount());
+					dto.setReviewSummary(reviewSummary);
+				});
 
 		return dto;
 	}
@@ -144,14 +181,16 @@ public class BookServiceImpl implements BookService {
 	/**
 	 * Cập nhật thông tin sách
 	 * 
-	 * @param bookId    - ID sách
-	 * @param updateDTO - Thông tin cập nhật
+	 * @param bookId          - ID sách
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return BookDTO
 	 */
 	@Override
-	public BookDTO updateBook(Long bookId, BookUpdateDTO updateDTO) {
+	public BookDTO updateBook(Long bookId, BookUpdateDTO updateDTO, Long expectedVersion) {
 		Book book = bookRepository.findById(bookId)
 				.orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
+		EntityVersions.check("Book", bookId, expectedVersion, book.getVersion());
 
 		if (updateDTO.getIsbn() != null && !updateDTO.getIsbn().equals(book.getIsbn())) {
 			if (bookRepository.findByIsbn(updateDTO.getIsbn()).isPresent()) {
@@ -191,25 +230,34 @@ public class BookServiceImpl implements BookService {
 		}
 
 		Book updatedBook = bookRepository.save(book);
-		return bookMapper.toDTO(updatedBook);
+		BookDTO dto = bookMapper.toDTO(updatedBook);
+		catalogIndexer.index(dto);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookChangedEvent(dto, false));
+		return dto;
 	}
 
 	/**
 	 * Xóa sách
 	 * 
-	 * @param bookId - ID sách
+	 * @param bookId          - ID sách
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
 	@Override
-	public void deleteBook(Long bookId) {
+	public void deleteBook(Long bookId, Long expectedVersion) {
 		Book book = bookRepository.findById(bookId)
 				.orElseThrow(() -> new ResourceNotFoundException("Book not found with id: " + bookId));
+		EntityVersions.check("Book", bookId, expectedVersion, book.getVersion());
 
-		List<com.example.demo.entity.Loan> activeLoans = loanRepository.findListByBookIdAndStatus(bookId,
-				LoanStatus.BORROWED);
-		if (!activeLoans.isEmpty()) {
+		// BORROWED or OVERDUE: an overdue book has not been returned either
+		if (loanRepository.existsActiveLoanByBookId(bookId)) {
 			throw new BusinessRuleException("Cannot delete book with id: " + bookId + " because it has active loans");
 		}
 
+		// Only RETURNED loans are left; they are deleted with the book (cascade)
 		bookRepository.delete(book);
+		catalogIndexer.remove(bookId);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookDeletedEvent(bookId));
 	}
 }
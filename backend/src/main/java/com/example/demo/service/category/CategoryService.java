@@ -39,16 +39,18 @@ public interface CategoryService {
 	/**
 	 * Cập nhật thông tin danh mục
 	 * 
-	 * @param categoryId - ID danh mục
-	 * @param updateDTO  - Thông tin cập nhật
+	 * @param categoryId      - ID danh mục
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return CategoryDTO
 	 */
-	CategoryDTO updateCategory(Long categoryId, CategoryUpdateDTO updateDTO);
+	CategoryDTO updateCategory(Long categoryId, CategoryUpdateDTO updateDTO, Long expectedVersion);
 
 	/**
 	 * Xóa danh mục
 	 * 
-	 * @param categoryId - ID danh mục
+	 * @param categoryId      - ID danh mục
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
-	void deleteCategory(Long categoryId);
+	void deleteCategory(Long categoryId, Long expectedVersion);
 }
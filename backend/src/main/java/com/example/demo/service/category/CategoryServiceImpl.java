@@ -1,14 +1,18 @@
 package com.example.demo.service.category;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.category.CategoryDTO;
 import com.example.demo.dto.category.CategoryDetailDTO;
 import com.example.demo.dto.category.CategoryRequestDTO;
 import com.example.demo.dto.category.CategoryUpdateDTO;
 import com.example.demo.entity.Category;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.CategoryMapper;
 import com.example.demo.repository.CategoryRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,16 +27,25 @@ public class CategoryServiceImpl implements CategoryService {
 
 	private final CategoryRepository categoryRepository;
 	private final CategoryMapper categoryMapper;
+	private final CatalogVersion catalogVersion;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public CategoryServiceImpl(CategoryRepository categoryRepository, CategoryMapper categoryMapper) {
+	public CategoryServiceImpl(
+			CategoryRepository categoryRepository,
+			CategoryMapper categoryMapper,
+			CatalogVersion catalogVersion,
+			ApplicationEventPublisher eventPublisher) {
 		this.categoryRepository = categoryRepository;
 		this.categoryMapper = categoryMapper;
+		this.catalogVersion = catalogVersion;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Override
 	public CategoryDTO createCategory(CategoryRequestDTO requestDTO) {
 		Category category = categoryMapper.toEntity(requestDTO);
 		Category savedCategory = categoryRepository.save(category);
+		catalogVersion.changed();
 		return categoryMapper.toDTO(savedCategory);
 	}
 
@@ -51,23 +64,28 @@ public class CategoryServiceImpl implements CategoryService {
 	}
 
 	@Override
-	public CategoryDTO updateCategory(Long categoryId, CategoryUpdateDTO updateDTO) {
+	public CategoryDTO updateCategory(Long categoryId, CategoryUpdateDTO updateDTO, Long expectedVersion) {
 		Category category = categoryRepository.findById(categoryId)
 				.orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
+		EntityVersions.check("Category", categoryId, expectedVersion, category.getVersion());
 		categoryMapper.updateEntityFromDTO(category, updateDTO);
 		Category updatedCategory = categoryRepository.save(category);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.CATEGORY, categoryId));
 		return categoryMapper.toDTO(updatedCategory);
 	}
 
 	@Override
-	public void deleteCategory(Long categoryId) {
+	public void deleteCategory(Long categoryId, Long expectedVersion) {
 		Category category = categoryRepository.findById(categoryId)
 				.orElseThrow(() -> new ResourceNotFoundException("Category not found with id: " + categoryId));
+		EntityVersions.check("Category", categoryId, expectedVersion, category.getVersion());
 
 		if (!category.getBooks().isEmpty()) {
 			throw new BusinessRuleException("Cannot delete category with id: " + categoryId + " because it has associated books");
 		}
 
 		categoryRepository.delete(category);
+		catalogVersion.changed();
 	}
 }
@@ -39,16 +39,18 @@ public interface PublisherService {
 	/**
 	 * Cập nhật thông tin nhà xuất bản
 	 * 
-	 * @param publisherId - ID nhà xuất bản
-	 * @param updateDTO   - Thông tin cập nhật
+	 * @param publisherId     - ID nhà xuất bản
+	 * @param updateDTO       - Thông tin cập nhật
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 * @return PublisherDTO
 	 */
-	PublisherDTO updatePublisher(Long publisherId, PublisherUpdateDTO updateDTO);
+	PublisherDTO updatePublisher(Long publisherId, PublisherUpdateDTO updateDTO, Long expectedVersion);
 
 	/**
 	 * Xóa nhà xuất bản
 	 * 
-	 * @param publisherId - ID nhà xuất bản
+	 * @param publisherId     - ID nhà xuất bản
+	 * @param expectedVersion - Phiên bản trong If-Match, null nếu không kiểm tra
 	 */
-	void deletePublisher(Long publisherId);
+	void deletePublisher(Long publisherId, Long expectedVersion);
 }
@@ -1,14 +1,18 @@
 package com.example.demo.service.publisher;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.catalog.EntityVersions;
 import com.example.demo.dto.publisher.PublisherDTO;
 import com.example.demo.dto.publisher.PublisherDetailDTO;
 import com.example.demo.dto.publisher.PublisherRequestDTO;
 import com.example.demo.dto.publisher.PublisherUpdateDTO;
 import com.example.demo.entity.Publisher;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.PublisherMapper;
 import com.example.demo.repository.PublisherRepository;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
@@ -23,16 +27,25 @@ public class PublisherServiceImpl implements PublisherService {
 
 	private final PublisherRepository publisherRepository;
 	private final PublisherMapper publisherMapper;
+	private final CatalogVersion catalogVersion;
+	private final ApplicationEventPublisher eventPublisher;
 
-	public PublisherServiceImpl(PublisherRepository publisherRepository, PublisherMapper publisherMapper) {
+	public PublisherServiceImpl(
+			PublisherRepository publisherRepository,
+			PublisherMapper publisherMapper,
+			CatalogVersion catalogVersion,
+			ApplicationEventPublisher eventPublisher) {
 		this.publisherRepository = publisherRepository;
 		this.publisherMapper = publisherMapper;
+		this.catalogVersion = catalogVersion;
+		this.eventPublisher = eventPublisher;
 	}
 
 	@Override
 	public PublisherDTO createPublisher(PublisherRequestDTO requestDTO) {
 		Publisher publisher = publisherMapper.toEntity(requestDTO);
 		Publisher savedPublisher = publisherRepository.save(publisher);
+		catalogVersion.changed();
 		return publisherMapper.toDTO(savedPublisher);
 	}
 
@@ -51,23 +64,28 @@ public class PublisherServiceImpl implements PublisherService {
 	}
 
 	@Override
-	public PublisherDTO updatePublisher(Long publisherId, PublisherUpdateDTO updateDTO) {
+	public PublisherDTO updatePublisher(Long publisherId, PublisherUpdateDTO updateDTO, Long expectedVersion) {
 		Publisher publisher = publisherRepository.findById(publisherId)
 				.orElseThrow(() -> new ResourceNotFoundException("Publisher not found with id: " + publisherId));
+		EntityVersions.check("Publisher", publisherId, expectedVersion, publisher.getVersion());
 		publisherMapper.updateEntityFromDTO(publisher, updateDTO);
 		Publisher updatedPublisher = publisherRepository.save(publisher);
+		catalogVersion.changed();
+		eventPublisher.publishEvent(new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.PUBLISHER, publisherId));
 		return publisherMapper.toDTO(updatedPublisher);
 	}
 
 	@Override
-	public void deletePublisher(Long publisherId) {
+	public void deletePublisher(Long publisherId, Long expectedVersion) {
 		Publisher publisher = publisherRepository.findById(publisherId)
 				.orElseThrow(() -> new ResourceNotFoundException("Publisher not found with id: " + publisherId));
+		EntityVersions.check("Publisher", publisherId, expectedVersion, publisher.getVersion());
 
 		if (!publisher.getBooks().isEmpty()) {
 			throw new BusinessRuleException("Cannot delete publisher with id: " + publisherId + " because it has associated books");
 		}
 
 		publisherRepository.delete(publisher);
+		catalogVersion.changed();
 	}
 }
@@ -1,5 +1,6 @@
 package com.example.demo.service.user;
 
+import com.example.demo.dto.common.CursorSliceDTO;
 import com.example.demo.dto.user.ChangePasswordDTO;
 import com.example.demo.entity.User;
 import com.example.demo.dto.user.UpdateUserRoleDTO;
@@ -35,6 +36,17 @@ public interface UserService {
 	 */
 	Page<UserDTO> getAllUsers(Pageable pageable, UserStatus status, UserRole role);
 
+	/**
+	 * Lấy danh sách người dùng theo keyset (không COUNT, không OFFSET), mới tạo trước
+	 * 
+	 * @param status - Lọc theo trạng thái (optional)
+	 * @param role   - Lọc theo role (optional)
+	 * @param after  - Cursor trả về ở trang trước (null cho trang đầu)
+	 * @param size   - Số người dùng mỗi trang (tối đa 100)
+	 * @return CursorSliceDTO<UserDTO>
+	 */
+	CursorSliceDTO<UserDTO> getUsersAfter(UserStatus status, UserRole role, String after, int size);
+
 	/**
 	 * Lấy thông tin người dùng
 	 * 
@@ -1,5 +1,7 @@
 package com.example.demo.service.user;
 
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
 import com.example.demo.dto.user.ChangePasswordDTO;
 import com.example.demo.dto.user.UpdateUserRoleDTO;
 import com.example.demo.dto.user.UpdateUserStatusDTO;
@@ -9,16 +11,26 @@ import com.example.demo.dto.user.UserUpdateDTO;
 import com.example.demo.entity.User;
 import com.example.demo.enums.UserRole;
 import com.example.demo.enums.UserStatus;
+import com.example.demo.event.UserRegisteredEvent;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.DuplicateResourceException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.UserMapper;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.security.UserSnapshots;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
 
 /**
  * Service implementation for User operations (UC-USER-001 ~ UC-USER-007)
@@ -29,27 +41,45 @@ public class UserServiceImpl implements UserService {
 
 	private final UserRepository userRepository;
 	private final UserMapper userMapper;
-	private final PasswordEncoder passwordEncoder;
+	private final PasswordHasher passwordHasher;
+	private final ApplicationEventPublisher eventPublisher;
+	private final UserSnapshots userSnapshots;
+	private final TransactionTemplate transaction;
 
 	public UserServiceImpl(
 			UserRepository userRepository,
 			UserMapper userMapper,
-			PasswordEncoder passwordEncoder) {
+			PasswordHasher passwordHasher,
+			ApplicationEventPublisher eventPublisher,
+			UserSnapshots userSnapshots,
+			PlatformTransactionManager transactionManager) {
 		this.userRepository = userRepository;
 		this.userMapper = userMapper;
-		this.passwordEncoder = passwordEncoder;
+		this.passwordHasher = passwordHasher;
+		this.eventPublisher = eventPublisher;
+		this.userSnapshots = userSnapshots;
+		this.transaction = new TransactionTemplate(transactionManager);
 	}
 
+	/**
+	 * Password hashing runs outside any transaction (NOT_SUPPORTED): a caller queued in PasswordHasher must not
+	 * hold a pooled connection, or a login burst would starve every other request of connections too.
+	 */
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public UserDTO registerUser(UserRequestDTO requestDTO) {
 		if (userRepository.findByEmail(requestDTO.getEmail()).isPresent()) {
 			throw new DuplicateResourceException("Email already exists: " + requestDTO.getEmail());
 		}
 
-		User user = userMapper.toEntity(requestDTO);
-		user.setPasswordHash(passwordEncoder.encode(requestDTO.getPassword()));
-		User savedUser = userRepository.save(user);
-		return userMapper.toDTO(savedUser);
+		String passwordHash = passwordHasher.encode(requestDTO.getPassword());
+		return transaction.execute(status -> {
+			User user = userMapper.toEntity(requestDTO);
+			user.setPasswordHash(passwordHash);
+			User savedUser = userRepository.save(user);
+			eventPublisher.publishEvent(new UserRegisteredEvent(savedUser.getId()));
+			return userMapper.toDTO(savedUser);
+		});
 	}
 
 	@Override
@@ -58,6 +88,22 @@ public class UserServiceImpl implements UserService {
 		return userRepository.findAllWithFilters(status, role, pageable).map(userMapper::toDTO);
 	}
 
+	@Override
+	@Transactional(readOnly = true)
+	public CursorSliceDTO<UserDTO> getUsersAfter(UserStatus status, UserRole role, String after, int size) {
+		int pageSize = KeysetCursor.clampSize(size);
+		LocalDateTime createdAt = KeysetCursor.LATEST;
+		long id = Long.MAX_VALUE;
+		if (after != null) {
+			KeysetCursor cursor = KeysetCursor.decode(after);
+			createdAt = cursor.sortKeyAsDateTime();
+			id = cursor.id();
+		}
+		List<User> users = userRepository.findPageBefore(status, role, createdAt, id, Limit.of(pageSize + 1));
+		return CursorSliceDTO.of(users, pageSize, user -> KeysetCursor.of(user.getCreatedAt(), user.getId()))
+				.map(userMapper::toDTO);
+	}
+
 	@Override
 	@Transactional(readOnly = true)
 	public UserDTO getUserById(Long userId) {
@@ -72,20 +118,28 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 		userMapper.updateEntityFromDTO(user, updateDTO);
 		User updatedUser = userRepository.save(user);
+		userSnapshots.invalidate(userId);
 		return userMapper.toDTO(updatedUser);
 	}
 
 	@Override
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public void changePassword(Long userId, ChangePasswordDTO changePasswordDTO) {
 		User user = userRepository.findById(userId)
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 
-		if (!passwordEncoder.matches(changePasswordDTO.getOldPassword(), user.getPasswordHash())) {
+		if (!passwordHasher.matches(changePasswordDTO.getOldPassword(), user.getPasswordHash())) {
 			throw new BusinessException("Old password is incorrect");
 		}
 
-		user.setPasswordHash(passwordEncoder.encode(changePasswordDTO.getNewPassword()));
-		userRepository.save(user);
+		String passwordHash = passwordHasher.encode(changePasswordDTO.getNewPassword());
+		transaction.executeWithoutResult(status -> {
+			// Reload: only the hash changes, whatever else (status, role) was updated meanwhile is kept
+			User current = userRepository.findById(userId)
+					.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
+			current.setPasswordHash(passwordHash);
+			userRepository.save(current);
+		});
 	}
 
 	@Override
@@ -94,6 +148,7 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 		user.setStatus(updateStatusDTO.getStatus());
 		User updatedUser = userRepository.save(user);
+		userSnapshots.invalidate(userId);
 		return userMapper.toDTO(updatedUser);
 	}
 
@@ -103,18 +158,19 @@ public class UserServiceImpl implements UserService {
 				.orElseThrow(() -> new ResourceNotFoundException("User not found with id: " + userId));
 		user.setRole(updateRoleDTO.getRole());
 		User updatedUser = userRepository.save(user);
+		userSnapshots.invalidate(userId);
 		return userMapper.toDTO(updatedUser);
 	}
 
 	@Override
-	@Transactional(readOnly = true)
+	@Transactional(propagation = Propagation.NOT_SUPPORTED)
 	public User authenticate(String email, String password) {
 		User user = userRepository.findByEmail(email)
 				.orElseThrow(() -> new BusinessException("Invalid email or password"));
 		if (user.getStatus() != UserStatus.ACTIVE) {
 			throw new BusinessException("Account is not active");
 		}
-		if (!passwordEncoder.matches(password, user.getPasswordHash())) {
+		if (!passwordHasher.matches(password, user.getPasswordHash())) {
 			throw new BusinessException("Invalid email or password");
 		}
 		return user;
@@ -0,0 +1,130 @@
+package com.example.demo.stats;
+
+import com.example.demo.enums.LoanStatus;
+import com.example.demo.event.BookChangedEvent;
+import com.example.demo.event.BookDeletedEvent;
+import com.example.demo.event.BooksImportedEvent;
+import com.example.demo.event.LoanStatusChangedEvent;
+import com.example.demo.event.LoansMarkedOverdueEvent;
+import com.example.demo.event.UserRegisteredEvent;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.DashboardStatsRepository;
+import com.example.demo.repository.LoanRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Keeps the dashboard summary in step with the source tables.
+ * Counter deltas run BEFORE_COMMIT, inside the transaction that made the change, so a rollback never
+ * leaves them behind. The in-memory most-borrowed heap is only touched AFTER_COMMIT.
+ */
+@Component
+public class DashboardStatsListener {
+
+	private final DashboardStatsRepository dashboardStatsRepository;
+	private final LoanRepository loanRepository;
+	private final BookRepository bookRepository;
+	private final BookMapper bookMapper;
+	private final MostBorrowedBooks mostBorrowedBooks;
+	private final DashboardStatsReconciler reconciler;
+	private final TransactionTemplate primaryTransaction;
+
+	public DashboardStatsListener(
+			DashboardStatsRepository dashboardStatsRepository,
+			LoanRepository loanRepository,
+			BookRepository bookRepository,
+			BookMapper bookMapper,
+			MostBorrowedBooks mostBorrowedBooks,
+			DashboardStatsReconciler reconciler,
+			PlatformTransactionManager transactionManager) {
+		this.dashboardStatsRepository = dashboardStatsRepository;
+		this.loanRepository = loanRepository;
+		this.bookRepository = bookRepository;
+		this.bookMapper = bookMapper;
+		this.mostBorrowedBooks = mostBorrowedBooks;
+		this.reconciler = reconciler;
+		// AFTER_COMMIT listeners cannot use the finished transaction. Not read-only on purpose: the count must
+		// include the loan that just committed, so it is read from the primary, never from a lagging replica
+		this.primaryTransaction = new TransactionTemplate(transactionManager);
+		this.primaryTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countBook(BookChangedEvent event) {
+		if (event.created()) {
+			dashboardStatsRepository.applyDelta(1, 0, 0, 0);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countImportedBooks(BooksImportedEvent event) {
+		dashboardStatsRepository.applyDelta(event.count(), 0, 0, 0);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countBookDeletion(BookDeletedEvent event) {
+		dashboardStatsRepository.applyDelta(-1, 0, 0, 0);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countUser(UserRegisteredEvent event) {
+		dashboardStatsRepository.applyDelta(0, 1, 0, 0);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countLoan(LoanStatusChangedEvent event) {
+		long active = delta(event, LoanStatus.BORROWED);
+		long overdue = delta(event, LoanStatus.OVERDUE);
+		if (active != 0 || overdue != 0) {
+			dashboardStatsRepository.applyDelta(0, 0, active, overdue);
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+	public void countOverdueSweep(LoansMarkedOverdueEvent event) {
+		dashboardStatsRepository.applyDelta(0, 0, -event.count(), event.count());
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void rankBorrow(LoanStatusChangedEvent event) {
+		if (!event.isNewLoan() || mostBorrowedBooks.increment(event.bookId())) {
+			return;
+		}
+		primaryTransaction.executeWithoutResult(status -> {
+			// Not in the heap: one indexed count decides whether the book now belongs there
+			long loanCount = loanRepository.countLoansByBookId(event.bookId());
+			if (!mostBorrowedBooks.admits(loanCount)) {
+				return;
+			}
+			bookRepository.findById(event.bookId()).ifPresent(book -> {
+				bookRepository.fetchAuthorsAndCategories(List.of(book));
+				mostBorrowedBooks.offer(bookMapper.toDTO(book), loanCount);
+			});
+		});
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void refreshRankedBook(BookChangedEvent event) {
+		if (!event.created()) {
+			mostBorrowedBooks.refresh(event.book());
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void unrankBook(BookDeletedEvent event) {
+		if (mostBorrowedBooks.remove(event.bookId())) {
+			reconciler.reloadMostBorrowed();
+		}
+	}
+
+	private static long delta(LoanStatusChangedEvent event, LoanStatus status) {
+		return (event.to() == status ? 1 : 0) - (event.from() == status ? 1 : 0);
+	}
+}
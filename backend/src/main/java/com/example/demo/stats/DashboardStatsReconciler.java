@@ -0,0 +1,84 @@
+package com.example.demo.stats;
+
+import com.example.demo.entity.Book;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.DashboardStatsRepository;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Corrects drift in the dashboard summary (e.g. rows changed outside the application).
+ * Recounts the counters from the source tables and reloads the most-borrowed heap, at startup and then every
+ * reports.dashboard-stats.reconcile-interval-ms.
+ */
+@Component
+public class DashboardStatsReconciler implements ApplicationRunner {
+
+	private final DashboardStatsRepository dashboardStatsRepository;
+	private final BookRepository bookRepository;
+	private final BookMapper bookMapper;
+	private final MostBorrowedBooks mostBorrowedBooks;
+	private final TransactionTemplate transaction;
+	private final TransactionTemplate readOnlyTransaction;
+
+	public DashboardStatsReconciler(
+			DashboardStatsRepository dashboardStatsRepository,
+			BookRepository bookRepository,
+			BookMapper bookMapper,
+			MostBorrowedBooks mostBorrowedBooks,
+			PlatformTransactionManager transactionManager) {
+		this.dashboardStatsRepository = dashboardStatsRepository;
+		this.bookRepository = bookRepository;
+		this.bookMapper = bookMapper;
+		this.mostBorrowedBooks = mostBorrowedBooks;
+		this.transaction = new TransactionTemplate(transactionManager);
+		this.transaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction = new TransactionTemplate(transactionManager);
+		this.readOnlyTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+		this.readOnlyTransaction.setReadOnly(true);
+	}
+
+	@Override
+	public void run(ApplicationArguments args) {
+		reloadMostBorrowed();
+	}
+
+	@Scheduled(
+			initialDelayString = "${reports.dashboard-stats.reconcile-interval-ms:900000}",
+			fixedDelayString = "${reports.dashboard-stats.reconcile-interval-ms:900000}")
+	public void reconcile() {
+		transaction.executeWithoutResult(status -> {
+			// Writers update their stripe before they commit, so once we hold every stripe's lock every committed
+			// change is visible to the recount and every uncommitted one will add its delta after us
+			dashboardStatsRepository.findAllForUpdate();
+			dashboardStatsRepository.recount();
+		});
+		reloadMostBorrowed();
+	}
+
+	/**
+	 * Reload the most-borrowed heap with one grouped query over loans.
+	 */
+	public void reloadMostBorrowed() {
+		List<MostBorrowedBooks.Ranked> ranked = readOnlyTransaction.execute(status -> {
+			List<Object[]> rows = bookRepository.findMostBorrowedBooks(PageRequest.of(0, mostBorrowedBooks.capacity()));
+			List<Book> books = new ArrayList<>(rows.size());
+			rows.forEach(row -> books.add((Book) row[0]));
+			bookRepository.fetchAuthorsAndCategories(books);
+			return rows.stream()
+					.map(row -> new MostBorrowedBooks.Ranked(bookMapper.toDTO((Book) row[0]), (Long) row[1]))
+					.toList();
+		});
+		mostBorrowedBooks.load(ranked);
+	}
+}
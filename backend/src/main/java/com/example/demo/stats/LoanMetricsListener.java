@@ -0,0 +1,52 @@
+package com.example.demo.stats;
+
+import com.example.demo.enums.LoanStatus;
+import com.example.demo.event.LoanStatusChangedEvent;
+import com.example.demo.event.LoansMarkedOverdueEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Business counters for loans, fed by the same events as the dashboard summary.
+ * Counted AFTER_COMMIT, so a rolled-back borrow or return never shows up.
+ *
+ * Metrics: loans.borrowed, loans.returned and loans.overdue (loans that became OVERDUE, by the sweeper or otherwise).
+ */
+@Component
+public class LoanMetricsListener {
+
+	private final Counter borrowed;
+	private final Counter returned;
+	private final Counter overdue;
+
+	public LoanMetricsListener(MeterRegistry meterRegistry) {
+		this.borrowed = Counter.builder("loans.borrowed")
+				.description("Loans created")
+				.register(meterRegistry);
+		this.returned = Counter.builder("loans.returned")
+				.description("Loans returned, on time or late")
+				.register(meterRegistry);
+		this.overdue = Counter.builder("loans.overdue")
+				.description("Loans that became OVERDUE")
+				.register(meterRegistry);
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void countLoan(LoanStatusChangedEvent event) {
+		if (event.isNewLoan()) {
+			borrowed.increment();
+		} else if (event.to() == LoanStatus.RETURNED) {
+			returned.increment();
+		} else if (event.to() == LoanStatus.OVERDUE) {
+			overdue.increment();
+		}
+	}
+
+	@TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+	public void countOverdueSweep(LoansMarkedOverdueEvent event) {
+		overdue.increment(event.count());
+	}
+}
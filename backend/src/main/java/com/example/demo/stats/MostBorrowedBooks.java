@@ -0,0 +1,181 @@
+package com.example.demo.stats;
+
+import com.example.demo.dto.book.BookDTO;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Most-borrowed books for the dashboard, kept as a bounded min-heap of (book, loan count).
+ * The heap holds the exact top {@code capacity} books: a book outside it only gains one loan at a time,
+ * so it can only enter by beating the current minimum. Only the top {@code visible} entries are served;
+ * the slack absorbs deleted books until the next reload from the database.
+ * Thread-safe: changes are synchronized, reads return an immutable snapshot.
+ */
+@Component
+public class MostBorrowedBooks {
+
+	static final int VISIBLE = 5;
+	static final int CAPACITY = 20;
+
+	/** Lowest count first; among equal counts the newest book is evicted first. */
+	private static final Comparator<Entry> HEAP_ORDER = Comparator
+			.comparingLong((Entry e) -> e.loanCount)
+			.thenComparing(e -> e.book.getId(), Comparator.reverseOrder());
+
+	private final int visible;
+	private final int capacity;
+
+	private final PriorityQueue<Entry> heap = new PriorityQueue<>(HEAP_ORDER);
+	private final Map<Long, Entry> byBookId = new HashMap<>();
+	/** True while the heap holds every book there is, so any book may enter it. */
+	private boolean complete;
+	private volatile List<BookDTO> top = List.of();
+
+	public MostBorrowedBooks() {
+		this(VISIBLE, CAPACITY);
+	}
+
+	MostBorrowedBooks(int visible, int capacity) {
+		this.visible = visible;
+		this.capacity = capacity;
+	}
+
+	public int capacity() {
+		return capacity;
+	}
+
+	/**
+	 * Replace the heap with a ranking read from the database.
+	 *
+	 * @param ranked - Up to capacity books, most borrowed first
+	 */
+	public synchronized void load(List<Ranked> ranked) {
+		heap.clear();
+		byBookId.clear();
+		for (Ranked r : ranked.subList(0, Math.min(ranked.size(), capacity))) {
+			push(new Entry(r.book(), r.loanCount()));
+		}
+		complete = ranked.size() < capacity;
+		publish();
+	}
+
+	public synchronized boolean contains(Long bookId) {
+		return byBookId.containsKey(bookId);
+	}
+
+	/**
+	 * Count one new loan for a book already in the heap.
+	 *
+	 * @return false if the book is not in the heap (use {@link #admits} / {@link #offer} instead)
+	 */
+	public synchronized boolean increment(Long bookId) {
+		Entry entry = byBookId.get(bookId);
+		if (entry == null) {
+			return false;
+		}
+		heap.remove(entry);
+		entry.loanCount++;
+		heap.add(entry);
+		publish();
+		return true;
+	}
+
+	/**
+	 * Whether a book outside the heap with this many loans belongs in it.
+	 */
+	public synchronized boolean admits(long loanCount) {
+		if (heap.size() < capacity) {
+			return complete;
+		}
+		return loanCount > heap.peek().loanCount;
+	}
+
+	/**
+	 * Add a book with its current loan count, evicting the minimum if the heap is full.
+	 *
+	 * @param book      - Book to show on the dashboard
+	 * @param loanCount - Total loans of the book, read after its latest loan committed
+	 */
+	public synchronized void offer(BookDTO book, long loanCount) {
+		Entry existing = byBookId.get(book.getId());
+		if (existing != null) {
+			// Another borrow of the same book got here first; keep the higher count
+			heap.remove(existing);
+			existing.loanCount = Math.max(existing.loanCount, loanCount);
+			heap.add(existing);
+		} else if (admits(loanCount)) {
+			if (heap.size() >= capacity) {
+				byBookId.remove(heap.poll().book.getId());
+				complete = false;
+			}
+			push(new Entry(book, loanCount));
+		}
+		publish();
+	}
+
+	/**
+	 * Replace the cached details of a book after it was updated.
+	 */
+	public synchronized void refresh(BookDTO book) {
+		Entry entry = byBookId.get(book.getId());
+		if (entry != null) {
+			entry.book = book;
+			publish();
+		}
+	}
+
+	/**
+	 * Drop a deleted book.
+	 *
+	 * @return true if fewer than the visible number of books are left and the heap should be reloaded
+	 */
+	public synchronized boolean remove(Long bookId) {
+		Entry entry = byBookId.remove(bookId);
+		if (entry != null) {
+			heap.remove(entry);
+			publish();
+		}
+		return !complete && heap.size() < visible;
+	}
+
+	/**
+	 * Most borrowed books first, at most the visible number.
+	 */
+	public List<BookDTO> top() {
+		return top;
+	}
+
+	private void push(Entry entry) {
+		heap.add(entry);
+		byBookId.put(entry.book.getId(), entry);
+	}
+
+	private void publish() {
+		List<Entry> ranked = new ArrayList<>(heap);
+		ranked.sort(HEAP_ORDER.reversed());
+		top = ranked.stream().limit(visible).map(e -> e.book).toList();
+	}
+
+	/**
+	 * One row of a ranking read from the database.
+	 */
+	public record Ranked(BookDTO book, long loanCount) {
+	}
+
+	private static final class Entry {
+
+		private BookDTO book;
+		private long loanCount;
+
+		private Entry(BookDTO book, long loanCount) {
+			this.book = book;
+			this.loanCount = loanCount;
+		}
+	}
+}
@@ -0,0 +1,77 @@
+-- Giảm số lần tính lại books.search_document (V3).
+
+-- books: Hibernate UPDATE luôn ghi mọi cột, nên "UPDATE OF title, description, publisher_id" chạy ở mọi lần save.
+-- Chỉ tính lại khi giá trị thực sự đổi, như các trigger của authors / categories / publishers.
+DROP TRIGGER books_search_document ON books;
+
+CREATE TRIGGER books_search_document_insert
+    BEFORE INSERT ON books
+    FOR EACH ROW EXECUTE FUNCTION trg_books_search_document();
+
+CREATE TRIGGER books_search_document_update
+    BEFORE UPDATE OF title, description, publisher_id ON books
+    FOR EACH ROW
+    WHEN (OLD.title IS DISTINCT FROM NEW.title
+        OR OLD.description IS DISTINCT FROM NEW.description
+        OR OLD.publisher_id IS DISTINCT FROM NEW.publisher_id)
+    EXECUTE FUNCTION trg_books_search_document();
+
+-- book_authors / book_categories: trigger FOR EACH ROW ghi lại sách một lần cho mỗi liên kết.
+-- Trigger FOR EACH STATEMENT với transition table ghi lại mỗi sách một lần cho mỗi câu lệnh
+-- (insert nhiều dòng của import, batch của Hibernate đã được reWriteBatchedInserts gộp lại).
+-- Transition table chỉ dùng được với trigger một event, nên mỗi bảng có ba trigger dùng chung một function;
+-- PL/pgSQL chỉ chuẩn bị câu lệnh của nhánh được chạy, nên nhánh không có transition table tương ứng không lỗi.
+DROP TRIGGER book_authors_search_document ON book_authors;
+DROP TRIGGER book_categories_search_document ON book_categories;
+DROP FUNCTION trg_book_link_search_document();
+
+CREATE FUNCTION trg_book_links_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP = 'INSERT' THEN
+        UPDATE books b
+        SET search_document = book_search_document(b.id, b.title, b.description, b.publisher_id)
+        WHERE b.id IN (SELECT book_id FROM new_links);
+    ELSIF TG_OP = 'DELETE' THEN
+        UPDATE books b
+        SET search_document = book_search_document(b.id, b.title, b.description, b.publisher_id)
+        WHERE b.id IN (SELECT book_id FROM old_links);
+    ELSE
+        UPDATE books b
+        SET search_document = book_search_document(b.id, b.title, b.description, b.publisher_id)
+        WHERE b.id IN (SELECT book_id FROM new_links UNION SELECT book_id FROM old_links);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER book_authors_search_document_insert
+    AFTER INSERT ON book_authors
+    REFERENCING NEW TABLE AS new_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
+
+CREATE TRIGGER book_authors_search_document_update
+    AFTER UPDATE ON book_authors
+    REFERENCING OLD TABLE AS old_links NEW TABLE AS new_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
+
+CREATE TRIGGER book_authors_search_document_delete
+    AFTER DELETE ON book_authors
+    REFERENCING OLD TABLE AS old_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
+
+CREATE TRIGGER book_categories_search_document_insert
+    AFTER INSERT ON book_categories
+    REFERENCING NEW TABLE AS new_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
+
+CREATE TRIGGER book_categories_search_document_update
+    AFTER UPDATE ON book_categories
+    REFERENCING OLD TABLE AS old_links NEW TABLE AS new_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
+
+CREATE TRIGGER book_categories_search_document_delete
+    AFTER DELETE ON book_categories
+    REFERENCING OLD TABLE AS old_links
+    FOR EACH STATEMENT EXECUTE FUNCTION trg_book_links_search_document();
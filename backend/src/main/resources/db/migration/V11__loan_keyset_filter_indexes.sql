@@ -0,0 +1,11 @@
+-- Index cho các trang cursor của loan có filter (V4 chỉ có bản không filter và theo status, V9 bản theo user):
+-- filter rồi đọc ngược theo (borrow_date, id), nên trang tiếp theo là một lần seek, không sort.
+-- Xem LoanRepositoryExplainTest.keysetQueries.
+
+-- LoanRepository.findLoanDTOsByBookIdBefore: book_id = ? ORDER BY borrow_date DESC, id DESC
+CREATE INDEX idx_loans_book_borrow_date_id ON loans (book_id, borrow_date, id);
+
+-- LoanRepository.findLoanDTOsByUserIdAndStatusBefore: user_id = ? AND status = ? ORDER BY borrow_date DESC, id DESC
+CREATE INDEX idx_loans_user_status_borrow_date_id ON loans (user_id, status, borrow_date, id);
+
+ANALYZE loans;
@@ -0,0 +1,11 @@
+-- dashboard_stats (V5) là một dòng duy nhất: mọi giao dịch mượn/trả, đăng ký, thêm sách và mỗi chunk của
+-- LoanOverdueSweeper đều UPDATE dòng đó trước khi commit, nên tất cả xếp hàng chờ cùng một row lock.
+-- Chia thành 16 dòng (stripe): mỗi transaction cộng delta vào stripe của connection đang dùng
+-- (pg_backend_pid() % 16, cố định trong suốt transaction), dashboard đọc tổng của 16 dòng.
+-- DashboardStatsReconciler khóa cả 16 dòng, ghi số đếm lại vào dòng 1 và đưa các dòng còn lại về 0.
+ALTER TABLE dashboard_stats DROP CONSTRAINT dashboard_stats_id_check;
+ALTER TABLE dashboard_stats ADD CONSTRAINT dashboard_stats_id_check CHECK (id BETWEEN 1 AND 16);
+
+INSERT INTO dashboard_stats (id, total_books, total_users, active_loans, overdue_loans)
+SELECT stripe, 0, 0, 0, 0
+FROM generate_series(2, 16) AS stripe;
@@ -0,0 +1,18 @@
+-- ETag của các GET công khai trong catalog: trước đây là bộ đếm trong bộ nhớ của từng instance, nên instance
+-- không nhận thay đổi vẫn trả 304 với dữ liệu cũ. Một dòng chung cho mọi instance, tăng ngay trước commit
+-- trong cùng transaction với thay đổi (CatalogVersion) và được đọc một lần cho mỗi request.
+CREATE TABLE catalog_version (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    version BIGINT NOT NULL DEFAULT 0,
+    changed_at TIMESTAMPTZ NOT NULL DEFAULT clock_timestamp()
+);
+
+INSERT INTO catalog_version (id) VALUES (1);
+
+-- If-Match của PUT/DELETE so với phiên bản của chính bản ghi (@Version), không với phiên bản cả catalog:
+-- một đánh giá hay một cuốn sách khác thay đổi không còn làm mọi request đang chờ nhận 412.
+-- Thêm cột có DEFAULT hằng số không ghi lại bảng (PostgreSQL 11+).
+ALTER TABLE books ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE authors ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE categories ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
+ALTER TABLE publishers ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
@@ -0,0 +1,19 @@
+-- Một cuốn sách chỉ có tối đa 1 loan đang BORROWED.
+-- The partial unique index is the single source of truth for this rule; LoanServiceImpl.borrowBook
+-- inserts first and maps the violation to BusinessException instead of counting beforehand.
+
+-- Seed data can contain several BORROWED loans for the same book: keep the most recent one active
+-- and close the older ones so the index can be built.
+UPDATE loans l
+SET status = 'RETURNED',
+    return_date = CURRENT_TIMESTAMP
+WHERE l.status = 'BORROWED'
+  AND EXISTS (
+      SELECT 1
+      FROM loans newer
+      WHERE newer.book_id = l.book_id
+        AND newer.status = 'BORROWED'
+        AND (newer.borrow_date, newer.id) > (l.borrow_date, l.id)
+  );
+
+CREATE UNIQUE INDEX uq_loans_active_book ON loans (book_id) WHERE status = 'BORROWED';
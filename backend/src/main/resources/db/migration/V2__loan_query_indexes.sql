@@ -0,0 +1,24 @@
+-- Index cho các query của LoanRepository (xem LoanRepositoryExplainTest).
+-- Status luôn được bind dưới dạng tham số nên dùng index composite đầy đủ thay vì partial index:
+-- generic plan của PostgreSQL không match được "status = $1" với điều kiện WHERE của partial index.
+
+-- findLoanDTOsByStatus, countByStatus, findOverdueLoanDTOs (status = ? AND due_date < ?)
+CREATE INDEX idx_loans_status_due_date ON loans (status, due_date);
+
+-- idx_loans_status là prefix của idx_loans_status_due_date
+DROP INDEX IF EXISTS idx_loans_status;
+
+-- findLoanDTOsByUserId, findLoanDTOsByUserIdAndStatus, countActiveLoansByUserId, findOverdueLoanDTOsByUserId
+CREATE INDEX idx_loans_user_status_due_date ON loans (user_id, status, due_date);
+
+-- findLoanDTOsByBookId, findListByBookIdAndStatus, countActiveLoansByBookId
+-- (uq_loans_active_book chỉ chứa loan BORROWED nên không dùng được cho lịch sử của sách)
+CREATE INDEX idx_loans_book_status ON loans (book_id, status);
+
+-- findLoansByDateRange, countLoansByDateRange
+CREATE INDEX idx_loans_borrow_date ON loans (borrow_date);
+
+-- countLoansByDateRangeAndStatus
+CREATE INDEX idx_loans_status_borrow_date ON loans (status, borrow_date);
+
+ANALYZE loans;
@@ -0,0 +1,133 @@
+-- Full-text search cho sách (UC-SEARCH-003) + trigram index cho các query LIKE '%term%' còn lại.
+-- pg_trgm và unaccent là trusted extension (PostgreSQL 13+), owner của database tạo được.
+CREATE EXTENSION IF NOT EXISTS pg_trgm;
+CREATE EXTENSION IF NOT EXISTS unaccent;
+
+-- 1. Trigram index: LOWER(col) LIKE LOWER('%term%') của AuthorRepository / BookRepository.searchBooks
+CREATE INDEX idx_authors_full_name_trgm ON authors USING GIN (LOWER(full_name) gin_trgm_ops);
+CREATE INDEX idx_books_title_trgm ON books USING GIN (LOWER(title) gin_trgm_ops);
+CREATE INDEX idx_categories_name_trgm ON categories USING GIN (LOWER(name) gin_trgm_ops);
+CREATE INDEX idx_publishers_name_trgm ON publishers USING GIN (LOWER(name) gin_trgm_ops);
+
+-- 2. Search document: title (A), tác giả (B), danh mục + NXB (C), mô tả (D).
+-- Dùng config 'simple' + unaccent vì nội dung có tiếng Việt (không có stemmer tiếng Việt).
+ALTER TABLE books ADD COLUMN search_document tsvector;
+
+CREATE FUNCTION book_search_document(p_book_id BIGINT, p_title TEXT, p_description TEXT, p_publisher_id BIGINT)
+RETURNS tsvector
+LANGUAGE sql STABLE
+AS $$
+    SELECT setweight(to_tsvector('simple', unaccent(COALESCE(p_title, ''))), 'A')
+        || setweight(to_tsvector('simple', unaccent(COALESCE((
+               SELECT string_agg(a.full_name, ' ')
+               FROM book_authors ba JOIN authors a ON a.id = ba.author_id
+               WHERE ba.book_id = p_book_id), ''))), 'B')
+        || setweight(to_tsvector('simple', unaccent(COALESCE((
+               SELECT string_agg(c.name, ' ')
+               FROM book_categories bc JOIN categories c ON c.id = bc.category_id
+               WHERE bc.book_id = p_book_id), ''))), 'C')
+        || setweight(to_tsvector('simple', unaccent(COALESCE((
+               SELECT p.name FROM publishers p WHERE p.id = p_publisher_id), ''))), 'C')
+        || setweight(to_tsvector('simple', unaccent(COALESCE(p_description, ''))), 'D')
+$$;
+
+CREATE FUNCTION refresh_book_search_document(p_book_id BIGINT)
+RETURNS void
+LANGUAGE sql
+AS $$
+    UPDATE books b
+    SET search_document = book_search_document(b.id, b.title, b.description, b.publisher_id)
+    WHERE b.id = p_book_id
+$$;
+
+-- 3. Triggers giữ search_document đồng bộ
+-- books: tính lại khi đổi title / description / publisher (UPDATE của refresh chỉ set search_document nên không lặp)
+CREATE FUNCTION trg_books_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    NEW.search_document := book_search_document(NEW.id, NEW.title, NEW.description, NEW.publisher_id);
+    RETURN NEW;
+END;
+$$;
+
+CREATE TRIGGER books_search_document
+    BEFORE INSERT OR UPDATE OF title, description, publisher_id ON books
+    FOR EACH ROW EXECUTE FUNCTION trg_books_search_document();
+
+-- book_authors / book_categories: thêm hoặc bỏ liên kết
+CREATE FUNCTION trg_book_link_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    IF TG_OP IN ('INSERT', 'UPDATE') THEN
+        PERFORM refresh_book_search_document(NEW.book_id);
+    END IF;
+    IF TG_OP IN ('DELETE', 'UPDATE') THEN
+        PERFORM refresh_book_search_document(OLD.book_id);
+    END IF;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER book_authors_search_document
+    AFTER INSERT OR UPDATE OR DELETE ON book_authors
+    FOR EACH ROW EXECUTE FUNCTION trg_book_link_search_document();
+
+CREATE TRIGGER book_categories_search_document
+    AFTER INSERT OR UPDATE OR DELETE ON book_categories
+    FOR EACH ROW EXECUTE FUNCTION trg_book_link_search_document();
+
+-- authors / categories / publishers: đổi tên thì tính lại các sách liên quan
+CREATE FUNCTION trg_author_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM refresh_book_search_document(ba.book_id) FROM book_authors ba WHERE ba.author_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER authors_search_document
+    AFTER UPDATE OF full_name ON authors
+    FOR EACH ROW WHEN (OLD.full_name IS DISTINCT FROM NEW.full_name)
+    EXECUTE FUNCTION trg_author_search_document();
+
+CREATE FUNCTION trg_category_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM refresh_book_search_document(bc.book_id) FROM book_categories bc WHERE bc.category_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER categories_search_document
+    AFTER UPDATE OF name ON categories
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION trg_category_search_document();
+
+CREATE FUNCTION trg_publisher_search_document() RETURNS trigger
+LANGUAGE plpgsql
+AS $$
+BEGIN
+    PERFORM refresh_book_search_document(b.id) FROM books b WHERE b.publisher_id = NEW.id;
+    RETURN NULL;
+END;
+$$;
+
+CREATE TRIGGER publishers_search_document
+    AFTER UPDATE OF name ON publishers
+    FOR EACH ROW WHEN (OLD.name IS DISTINCT FROM NEW.name)
+    EXECUTE FUNCTION trg_publisher_search_document();
+
+-- 4. Backfill + GIN index
+UPDATE books b
+SET search_document = book_search_document(b.id, b.title, b.description, b.publisher_id);
+
+CREATE INDEX idx_books_search_document ON books USING GIN (search_document);
+
+ANALYZE books;
+ANALYZE authors;
+ANALYZE categories;
+ANALYZE publishers;
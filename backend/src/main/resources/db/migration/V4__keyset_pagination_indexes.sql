@@ -0,0 +1,25 @@
+-- Index cho keyset pagination (các endpoint /cursor): mỗi index khớp đúng (filter, sortKey, id)
+-- để trang tiếp theo là một lần seek + đọc size + 1 dòng, không OFFSET, không COUNT.
+
+-- BookRepository.findPageAfter: ORDER BY title, id
+CREATE INDEX idx_books_title_id ON books (title, id);
+DROP INDEX IF EXISTS idx_books_title;
+
+-- LoanRepository.findLoanDTOsBefore: ORDER BY borrow_date DESC, id DESC (quét ngược)
+CREATE INDEX idx_loans_borrow_date_id ON loans (borrow_date, id);
+DROP INDEX IF EXISTS idx_loans_borrow_date;
+
+-- LoanRepository.findLoanDTOsByStatusBefore (cũng phục vụ countLoansByDateRangeAndStatus)
+CREATE INDEX idx_loans_status_borrow_date_id ON loans (status, borrow_date, id);
+DROP INDEX IF EXISTS idx_loans_status_borrow_date;
+
+-- UserRepository.findPageBefore: ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_users_created_at_id ON users (created_at, id);
+
+-- ReviewRepository.findPageByBookIdBefore: book_id = ? ORDER BY created_at DESC, id DESC
+CREATE INDEX idx_reviews_book_created_at_id ON reviews (book_id, created_at, id);
+
+ANALYZE books;
+ANALYZE loans;
+ANALYZE users;
+ANALYZE reviews;
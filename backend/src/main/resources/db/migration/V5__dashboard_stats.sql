@@ -0,0 +1,18 @@
+-- Bảng tổng hợp một dòng cho dashboard (UC-REPORT-001).
+-- Các counter được cập nhật tăng dần trong cùng transaction với thay đổi gốc (DashboardStatsListener)
+-- và được DashboardStatsReconciler đếm lại định kỳ từ các bảng gốc để sửa sai lệch.
+CREATE TABLE dashboard_stats (
+    id SMALLINT PRIMARY KEY CHECK (id = 1),
+    total_books BIGINT NOT NULL,
+    total_users BIGINT NOT NULL,
+    active_loans BIGINT NOT NULL,
+    overdue_loans BIGINT NOT NULL,
+    reconciled_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO dashboard_stats (id, total_books, total_users, active_loans, overdue_loans)
+SELECT 1,
+       (SELECT COUNT(*) FROM books),
+       (SELECT COUNT(*) FROM users),
+       (SELECT COUNT(*) FROM loans WHERE status = 'BORROWED'),
+       (SELECT COUNT(*) FROM loans WHERE status = 'OVERDUE');
@@ -0,0 +1,34 @@
+-- Tổng hợp đánh giá theo sách: số review, tổng điểm và histogram theo số sao.
+-- ReviewServiceImpl cập nhật bằng upsert cộng dồn (BookStatsRepository.addRating) trong cùng transaction
+-- với review; mọi lượt đọc điểm đánh giá đều lấy từ bảng này thay vì AVG/COUNT trên reviews.
+CREATE TABLE book_stats (
+    book_id BIGINT PRIMARY KEY REFERENCES books(id) ON DELETE CASCADE,
+    review_count INT NOT NULL DEFAULT 0,
+    rating_sum INT NOT NULL DEFAULT 0,
+    rating_1 INT NOT NULL DEFAULT 0,
+    rating_2 INT NOT NULL DEFAULT 0,
+    rating_3 INT NOT NULL DEFAULT 0,
+    rating_4 INT NOT NULL DEFAULT 0,
+    rating_5 INT NOT NULL DEFAULT 0,
+    average_rating DOUBLE PRECISION GENERATED ALWAYS AS (
+        CASE WHEN review_count > 0 THEN rating_sum::DOUBLE PRECISION / review_count END
+    ) STORED
+);
+
+INSERT INTO book_stats (book_id, review_count, rating_sum, rating_1, rating_2, rating_3, rating_4, rating_5)
+SELECT r.book_id,
+       COUNT(*),
+       SUM(r.rating),
+       COUNT(*) FILTER (WHERE r.rating = 1),
+       COUNT(*) FILTER (WHERE r.rating = 2),
+       COUNT(*) FILTER (WHERE r.rating = 3),
+       COUNT(*) FILTER (WHERE r.rating = 4),
+       COUNT(*) FILTER (WHERE r.rating = 5)
+FROM reviews r
+WHERE r.rating IS NOT NULL
+GROUP BY r.book_id;
+
+-- findTopRatedBooks: WHERE average_rating >= ? ORDER BY average_rating DESC, book_id LIMIT n
+CREATE INDEX idx_book_stats_average_rating ON book_stats (average_rating DESC, book_id);
+
+ANALYZE book_stats;
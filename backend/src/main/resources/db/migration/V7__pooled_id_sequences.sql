@@ -0,0 +1,41 @@
+-- Chuyển khóa chính từ IDENTITY sang sequence bước 50 cho optimizer pooled-lo của Hibernate
+-- (hibernate.id.optimizer.pooled.preferred=pooled-lo, allocationSize = IdSequences.ALLOCATION_SIZE).
+-- Mỗi nextval cấp một khối 50 id [v, v + 49], nên insert không cần một vòng DB để lấy id và Hibernate
+-- gộp được batch (hibernate.jdbc.batch_size); IDENTITY buộc mỗi insert chạy riêng để đọc id sinh ra.
+-- Insert bằng SQL thuần vẫn dùng DEFAULT nextval: nó chỉ lấy id đầu khối nên không trùng khối của Hibernate.
+-- INCREMENT BY phải bằng allocationSize, nếu không Hibernate từ chối khởi động.
+
+ALTER TABLE publishers ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE publishers_id_seq INCREMENT BY 50 OWNED BY publishers.id;
+SELECT setval('publishers_id_seq', COALESCE((SELECT MAX(id) FROM publishers), 0) + 1, false);
+ALTER TABLE publishers ALTER COLUMN id SET DEFAULT nextval('publishers_id_seq');
+
+ALTER TABLE authors ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE authors_id_seq INCREMENT BY 50 OWNED BY authors.id;
+SELECT setval('authors_id_seq', COALESCE((SELECT MAX(id) FROM authors), 0) + 1, false);
+ALTER TABLE authors ALTER COLUMN id SET DEFAULT nextval('authors_id_seq');
+
+ALTER TABLE categories ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE categories_id_seq INCREMENT BY 50 OWNED BY categories.id;
+SELECT setval('categories_id_seq', COALESCE((SELECT MAX(id) FROM categories), 0) + 1, false);
+ALTER TABLE categories ALTER COLUMN id SET DEFAULT nextval('categories_id_seq');
+
+ALTER TABLE books ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE books_id_seq INCREMENT BY 50 OWNED BY books.id;
+SELECT setval('books_id_seq', COALESCE((SELECT MAX(id) FROM books), 0) + 1, false);
+ALTER TABLE books ALTER COLUMN id SET DEFAULT nextval('books_id_seq');
+
+ALTER TABLE users ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE users_id_seq INCREMENT BY 50 OWNED BY users.id;
+SELECT setval('users_id_seq', COALESCE((SELECT MAX(id) FROM users), 0) + 1, false);
+ALTER TABLE users ALTER COLUMN id SET DEFAULT nextval('users_id_seq');
+
+ALTER TABLE loans ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE loans_id_seq INCREMENT BY 50 OWNED BY loans.id;
+SELECT setval('loans_id_seq', COALESCE((SELECT MAX(id) FROM loans), 0) + 1, false);
+ALTER TABLE loans ALTER COLUMN id SET DEFAULT nextval('loans_id_seq');
+
+ALTER TABLE reviews ALTER COLUMN id DROP IDENTITY;
+CREATE SEQUENCE reviews_id_seq INCREMENT BY 50 OWNED BY reviews.id;
+SELECT setval('reviews_id_seq', COALESCE((SELECT MAX(id) FROM reviews), 0) + 1, false);
+ALTER TABLE reviews ALTER COLUMN id SET DEFAULT nextval('reviews_id_seq');
@@ -0,0 +1,34 @@
+-- OVERDUE nghĩa là sách chưa trả và đã quá hạn: LoanOverdueSweeper chuyển BORROWED -> OVERDUE định kỳ,
+-- trả sách (kể cả trả muộn) luôn kết thúc ở RETURNED. Đây cũng là ý nghĩa của OVERDUE trong seed data.
+
+-- Loan trả muộn trước đây bị đánh dấu OVERDUE kèm return_date
+UPDATE loans
+SET status = 'RETURNED'
+WHERE status = 'OVERDUE'
+  AND return_date IS NOT NULL;
+
+-- Sách đang OVERDUE vẫn chưa được trả, nên uq_loans_active_book phải chặn cả loan OVERDUE.
+-- Seed data có thể có nhiều loan chưa trả cho cùng một cuốn sách: giữ loan mới nhất như V1.
+UPDATE loans l
+SET status = 'RETURNED',
+    return_date = CURRENT_TIMESTAMP
+WHERE l.status IN ('BORROWED', 'OVERDUE')
+  AND EXISTS (
+      SELECT 1
+      FROM loans newer
+      WHERE newer.book_id = l.book_id
+        AND newer.status IN ('BORROWED', 'OVERDUE')
+        AND (newer.borrow_date, newer.id) > (l.borrow_date, l.id)
+  );
+
+-- Giữ nguyên tên index: LoanServiceImpl.borrowBook nhận diện vi phạm theo tên này
+DROP INDEX uq_loans_active_book;
+CREATE UNIQUE INDEX uq_loans_active_book ON loans (book_id) WHERE status IN ('BORROWED', 'OVERDUE');
+
+UPDATE dashboard_stats SET
+    active_loans = (SELECT COUNT(*) FROM loans WHERE status = 'BORROWED'),
+    overdue_loans = (SELECT COUNT(*) FROM loans WHERE status = 'OVERDUE'),
+    reconciled_at = CURRENT_TIMESTAMP
+WHERE id = 1;
+
+ANALYZE loans;
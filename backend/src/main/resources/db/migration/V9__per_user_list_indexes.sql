@@ -0,0 +1,12 @@
+-- Index cho các danh sách theo user (có giới hạn và bản stream NDJSON): filter user_id rồi đọc theo đúng
+-- thứ tự ORDER BY, nên lấy N dòng đầu là một lần seek, không sort toàn bộ lịch sử của user.
+
+-- LoanRepository.findLoanDTOListByUserId / streamLoanDTOsByUserId: ORDER BY borrow_date DESC, id DESC
+CREATE INDEX idx_loans_user_borrow_date_id ON loans (user_id, borrow_date, id);
+
+-- ReviewRepository.findReviewDTOsByUserId / streamReviewDTOsByUserId: ORDER BY created_at DESC, id DESC
+-- (trước đây reviews không có index nào trên user_id)
+CREATE INDEX idx_reviews_user_created_at_id ON reviews (user_id, created_at, id);
+
+ANALYZE loans;
+ANALYZE reviews;
@@ -0,0 +1,88 @@
+package com.example.demo;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that the key meters reach the Prometheus scrape endpoint on the management port, and only there.
+ * Runs against the seeded local database (same as DemoApplicationTests); tests turn metrics export off by default,
+ * so the Prometheus registry is switched back on here.
+ */
+@SpringBootTest(
+    webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+    properties = "management.prometheus.metrics.export.enabled=true")
+@DisplayName("Metrics endpoint Tests")
+class MetricsEndpointTest {
+
+  private final HttpClient client = HttpClient.newHttpClient();
+
+  @Value("${local.server.port}")
+  private int port;
+
+  @Value("${local.management.port}")
+  private int managementPort;
+
+  private String scrape;
+
+  @BeforeEach
+  void setUp() throws Exception {
+    // One catalog request, so the per-endpoint and per-repository timers have a sample
+    assertEquals(200, get(port, "/api/books?page=0&size=5").statusCode());
+    HttpResponse<String> response = get(managementPort, "/actuator/prometheus");
+    assertEquals(200, response.statusCode());
+    scrape = response.body();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {
+      "http_server_requests_seconds_bucket{",
+      "uri=\"/api/books\"",
+      "spring_data_repository_invocations_seconds_count{",
+      "repository=\"BookRepository\"",
+      "hikaricp_connections_active{",
+      "hikaricp_connections_idle{",
+      "hikaricp_connections_pending{",
+      "hibernate_statements_total{",
+      "hibernate_entities_loads_total{",
+      "hibernate_second_level_cache_requests_total{",
+      "jvm_memory_used_bytes{",
+      "jvm_gc_max_data_size_bytes{",
+      "loans_borrowed_total{",
+      "loans_returned_total{",
+      "loans_overdue_total{"
+  })
+  @DisplayName("Should expose the key meters at /actuator/prometheus")
+  void shouldExposeMeter(String sample) {
+    assertTrue(scrape.contains(sample), () -> "Missing from /actuator/prometheus: " + sample);
+  }
+
+  @Test
+  @DisplayName("Should not serve the scrape endpoint on the application port")
+  void shouldNotExposeMeters_OnApplicationPort() throws Exception {
+    // Act
+    HttpResponse<String> response = get(port, "/actuator/prometheus");
+
+    // Assert
+    assertNotEquals(port, managementPort);
+    assertNotEquals(200, response.statusCode());
+  }
+
+  private HttpResponse<String> get(int serverPort, String path) throws Exception {
+    HttpRequest request = HttpRequest.newBuilder(URI.create("http://localhost:" + serverPort + path)).GET().build();
+    return client.send(request, HttpResponse.BodyHandlers.ofString());
+  }
+}
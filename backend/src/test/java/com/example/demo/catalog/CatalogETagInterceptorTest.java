@@ -0,0 +1,179 @@
+package com.example.demo.catalog;
+
+import com.example.demo.exception.PreconditionFailedException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for CatalogETagInterceptor and EntityVersions
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("CatalogETagInterceptor Tests")
+class CatalogETagInterceptorTest {
+
+  private static final String CURRENT = "\"catalog-7\"";
+
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  private CatalogETagInterceptor interceptor;
+
+  @BeforeEach
+  void setUp() {
+    interceptor = new CatalogETagInterceptor(catalogVersion);
+  }
+
+  @Test
+  @DisplayName("Should tag a catalog GET and let it through")
+  void shouldTagGet_WhenNoConditionalHeader() {
+    // Arrange
+    when(catalogVersion.cacheableETag()).thenReturn(CURRENT);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Act
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Assert
+    assertTrue(proceed);
+    assertEquals(CURRENT, response.getHeader(HttpHeaders.ETAG));
+    assertEquals("no-cache", response.getHeader(HttpHeaders.CACHE_CONTROL));
+  }
+
+  @Test
+  @DisplayName("Should answer 304 without reaching the controller when If-None-Match is current")
+  void shouldReturnNotModified_WhenIfNoneMatchIsCurrent() {
+    // Arrange
+    when(catalogVersion.cacheableETag()).thenReturn(CURRENT);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/books/cursor");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, CURRENT);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Act
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Assert
+    assertFalse(proceed);
+    assertEquals(304, response.getStatus());
+    assertEquals(CURRENT, response.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  @DisplayName("Should serve a fresh body after the catalog changed")
+  void shouldProceed_WhenCatalogChangedSinceETag() {
+    // Arrange
+    when(catalogVersion.cacheableETag()).thenReturn(CURRENT);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/authors");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, "\"catalog-6\"");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Act
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Assert
+    assertTrue(proceed);
+    assertEquals(200, response.getStatus());
+    assertEquals(CURRENT, response.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  @DisplayName("Should leave a single record and writes to the controller, which use the record version")
+  void shouldNotTag_WhenSingleRecordOrWrite() {
+    // Arrange
+    MockHttpServletRequest get = new MockHttpServletRequest("GET", "/api/books/1");
+    MockHttpServletRequest put = new MockHttpServletRequest("PUT", "/api/authors/1");
+    put.addHeader(HttpHeaders.IF_MATCH, "\"catalog-6\"");
+    MockHttpServletResponse getResponse = new MockHttpServletResponse();
+    MockHttpServletResponse putResponse = new MockHttpServletResponse();
+
+    // Act
+    boolean getProceeds = interceptor.preHandle(get, getResponse, new Object());
+    boolean putProceeds = interceptor.preHandle(put, putResponse, new Object());
+
+    // Assert
+    assertTrue(getProceeds);
+    assertTrue(putProceeds);
+    assertNull(getResponse.getHeader(HttpHeaders.ETAG));
+    assertEquals(200, putResponse.getStatus());
+    verifyNoInteractions(catalogVersion);
+  }
+
+  @Test
+  @DisplayName("Should not tag advanced search by borrower, which depends on loans")
+  void shouldNotTag_WhenSearchingByBorrower() {
+    // Arrange
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/search/advanced");
+    request.setParameter("userId", "1");
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Act
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Assert
+    assertTrue(proceed);
+    assertNull(response.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  @DisplayName("Should not tag while a replica may still lag the change")
+  void shouldNotTag_WhileReplicaMayLag() {
+    // Arrange
+    when(catalogVersion.cacheableETag()).thenReturn(null);
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/categories");
+    request.addHeader(HttpHeaders.IF_NONE_MATCH, CURRENT);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+
+    // Act
+    boolean proceed = interceptor.preHandle(request, response, new Object());
+
+    // Assert
+    assertTrue(proceed);
+    assertNull(response.getHeader(HttpHeaders.ETAG));
+  }
+
+  @Test
+  @DisplayName("Should change the detail ETag when the catalog changes and leave it out while a replica may lag")
+  void shouldTagDetail_WithRecordAndCatalogVersion() {
+    // Act
+    ResponseEntity<String> tagged = EntityVersions.withETag(ResponseEntity.ok(), 3L, CURRENT).body("book");
+    ResponseEntity<String> afterReview = EntityVersions.withETag(ResponseEntity.ok(), 3L, "\"catalog-8\"").body("book");
+    ResponseEntity<String> lagging = EntityVersions.withETag(ResponseEntity.ok(), 3L, null).body("book");
+
+    // Assert
+    assertEquals("\"3.catalog-7\"", tagged.getHeaders().getETag());
+    assertNotEquals(tagged.getHeaders().getETag(), afterReview.getHeaders().getETag());
+    assertNull(lagging.getHeaders().getETag());
+  }
+
+  @Test
+  @DisplayName("Should read the expected record version from If-Match")
+  void shouldParseIfMatch() {
+    // Act & Assert
+    assertNull(EntityVersions.expectedVersion(null));
+    assertNull(EntityVersions.expectedVersion("*"));
+    assertEquals(3L, EntityVersions.expectedVersion(EntityVersions.eTag(3L, CURRENT)));
+    assertEquals(3L, EntityVersions.expectedVersion("\"3\""));
+    assertThrows(PreconditionFailedException.class, () -> EntityVersions.expectedVersion("W/\"3\""));
+    assertThrows(PreconditionFailedException.class, () -> EntityVersions.expectedVersion("\"catalog-7\""));
+    assertThrows(PreconditionFailedException.class, () -> EntityVersions.check("Book", 1L, 3L, 4L));
+    assertDoesNotThrow(() -> EntityVersions.check("Book", 1L, null, 4L));
+  }
+}
@@ -0,0 +1,78 @@
+package com.example.demo.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Checks that the catalog version lives in the database: a second CatalogVersion stands in for another instance.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("CatalogVersion Tests")
+class CatalogVersionTest {
+
+  @Autowired
+  private CatalogVersion catalogVersion;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Test
+  @DisplayName("Should show a change made through one instance on every instance")
+  void shouldShareVersion_AcrossInstances() {
+    // Arrange
+    CatalogVersion otherInstance = new CatalogVersion(jdbcTemplate, "", 2000);
+    String before = otherInstance.cacheableETag();
+
+    // Act
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> catalogVersion.changed());
+
+    // Assert
+    assertNotEquals(before, otherInstance.cacheableETag());
+    assertEquals(catalogVersion.cacheableETag(), otherInstance.cacheableETag());
+  }
+
+  @Test
+  @DisplayName("Should not move the version when the write rolls back")
+  void shouldKeepVersion_WhenTransactionRollsBack() {
+    // Arrange
+    String before = catalogVersion.cacheableETag();
+
+    // Act
+    new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+      catalogVersion.changed();
+      status.setRollbackOnly();
+    });
+
+    // Assert
+    assertEquals(before, catalogVersion.cacheableETag());
+  }
+
+  @Test
+  @DisplayName("Should not hand out a cacheable tag while a replica may still lag the change")
+  void shouldNotTag_WhileReplicaMayLag() {
+    // Arrange
+    CatalogVersion replicated = new CatalogVersion(jdbcTemplate, "jdbc:postgresql://localhost:5434/demo_db", 60_000);
+    CatalogVersion primaryOnly = new CatalogVersion(jdbcTemplate, "", 60_000);
+
+    // Act
+    replicated.changed();
+
+    // Assert
+    assertNull(replicated.cacheableETag());
+    assertNotNull(primaryOnly.cacheableETag());
+  }
+}
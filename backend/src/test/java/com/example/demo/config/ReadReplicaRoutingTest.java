@@ -0,0 +1,80 @@
+package com.example.demo.config;
+
+import com.example.demo.enums.UserRole;
+import com.example.demo.security.UserPrincipal;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+/**
+ * Replica routing against the seeded local database: the "replica" is the same database reached through a
+ * second pool whose connections carry their own application_name, so every test can tell which pool served it.
+ */
+@SpringBootTest(properties = {
+    "datasource.replica.url=jdbc:postgresql://localhost:5433/demo_db?ApplicationName=" + ReadReplicaRoutingTest.REPLICA,
+    "datasource.replica.lag-guard-ms=60000"
+})
+@DisplayName("Read replica routing Tests")
+class ReadReplicaRoutingTest {
+
+  static final String REPLICA = "demo-replica";
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Should send read-only transactions to the replica and the rest to the primary")
+  void shouldRouteByTransactionReadOnlyFlag() {
+    assertEquals(REPLICA, applicationName(true));
+    assertNotEquals(REPLICA, applicationName(false));
+  }
+
+  @Test
+  @DisplayName("Should keep a user's reads on the primary right after their write")
+  void shouldReadFromPrimary_WhenUserJustWrote() {
+    // Arrange
+    signIn(901L);
+    assertEquals(REPLICA, applicationName(true));
+
+    // Act: a committed read-write transaction opens the guard window for this user only
+    applicationName(false);
+
+    // Assert
+    assertNotEquals(REPLICA, applicationName(true));
+    signIn(902L);
+    assertEquals(REPLICA, applicationName(true));
+  }
+
+  private String applicationName(boolean readOnly) {
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+    transaction.setReadOnly(readOnly);
+    return transaction.execute(status ->
+        jdbcTemplate.queryForObject("SELECT current_setting('application_name')", String.class));
+  }
+
+  private static void signIn(Long userId) {
+    UserPrincipal principal = new UserPrincipal(userId, "replica-test-" + userId + "@example.com", UserRole.MEMBER);
+    SecurityContextHolder.getContext().setAuthentication(
+        new UsernamePasswordAuthenticationToken(principal, null, List.of()));
+  }
+}
@@ -0,0 +1,128 @@
+package com.example.demo.importer;
+
+import com.example.demo.dto.book.BookImportRowDTO;
+import com.example.demo.exception.BusinessException;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Test class for the streaming CSV/NDJSON import readers
+ */
+@DisplayName("BookImportReader Tests")
+class BookImportReaderTest {
+
+  private final JsonMapper jsonMapper = JsonMapper.builder().build();
+
+  @Test
+  @DisplayName("Should read CSV columns by header name, in any order")
+  void shouldReadCsvByHeaderName() throws IOException {
+    // Arrange
+    String csv = "ISBN,title,publication_year,publisher,authors,categories\n"
+        + "978-1,Lập trình Java,2020,NXB Trẻ,Nguyễn Văn A | Trần B,Công nghệ\n";
+
+    // Act
+    List<BookImportReader.ParsedRow> rows = readAll(csv, BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(1, rows.size());
+    BookImportRowDTO row = rows.get(0).row();
+    assertEquals(2, rows.get(0).line());
+    assertEquals("978-1", row.getIsbn());
+    assertEquals("Lập trình Java", row.getTitle());
+    assertEquals(2020, row.getPublicationYear());
+    assertEquals("NXB Trẻ", row.getPublisher());
+    assertEquals(List.of("Nguyễn Văn A", "Trần B"), row.getAuthors());
+    assertEquals(List.of("Công nghệ"), row.getCategories());
+    assertNull(row.getDescription());
+  }
+
+  @Test
+  @DisplayName("Should handle quoted commas, escaped quotes and line breaks")
+  void shouldHandleQuotedFields() throws IOException {
+    // Arrange
+    String csv = "title,isbn,description\r\n"
+        + "\"Java, nâng cao\",978-2,\"Dòng 1 \"\"trích dẫn\"\"\nDòng 2\"\r\n"
+        + "\r\n"
+        + "Python,978-3,\n";
+
+    // Act
+    List<BookImportReader.ParsedRow> rows = readAll(csv, BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(2, rows.size());
+    assertEquals("Java, nâng cao", rows.get(0).row().getTitle());
+    assertEquals("Dòng 1 \"trích dẫn\"\nDòng 2", rows.get(0).row().getDescription());
+    assertEquals(5, rows.get(1).line());
+    assertEquals("Python", rows.get(1).row().getTitle());
+  }
+
+  @Test
+  @DisplayName("Should report malformed CSV rows and keep reading")
+  void shouldReportMalformedCsvRows() throws IOException {
+    // Arrange
+    String csv = "title,isbn,publicationYear\n"
+        + "A,978-4\n"
+        + "B,978-5,năm 2020\n"
+        + "C,978-6,2021\n";
+
+    // Act
+    List<BookImportReader.ParsedRow> rows = readAll(csv, BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(3, rows.size());
+    assertEquals("Expected 3 columns but found 2", rows.get(0).error());
+    assertEquals("Invalid publication year: năm 2020", rows.get(1).error());
+    assertEquals(2021, rows.get(2).row().getPublicationYear());
+  }
+
+  @Test
+  @DisplayName("Should reject CSV without title and isbn columns")
+  void shouldRejectCsvWithoutRequiredColumns() {
+    assertThrows(BusinessException.class, () -> readAll("name,code\nA,1\n", BookImportFormat.CSV));
+    assertThrows(BusinessException.class, () -> readAll("", BookImportFormat.CSV));
+  }
+
+  @Test
+  @DisplayName("Should read NDJSON lines and report invalid JSON per line")
+  void shouldReadNdjsonLines() throws IOException {
+    // Arrange
+    String ndjson = "{\"title\":\"Java\",\"isbn\":\"978-7\",\"publicationYear\":2019,\"authors\":[\"A\",\"B\"]}\n"
+        + "\n"
+        + "{\"title\": \"broken\"\n"
+        + "{\"title\":\"Go\",\"isbn\":\"978-8\"}\n";
+
+    // Act
+    List<BookImportReader.ParsedRow> rows = readAll(ndjson, BookImportFormat.NDJSON);
+
+    // Assert
+    assertEquals(3, rows.size());
+    assertEquals(List.of("A", "B"), rows.get(0).row().getAuthors());
+    assertEquals(3, rows.get(1).line());
+    assertNull(rows.get(1).row());
+    assertEquals(4, rows.get(2).line());
+    assertEquals("978-8", rows.get(2).row().getIsbn());
+  }
+
+  private List<BookImportReader.ParsedRow> readAll(String content, BookImportFormat format) throws IOException {
+    List<BookImportReader.ParsedRow> rows = new ArrayList<>();
+    try (BookImportReader reader = BookImportReader.open(
+        new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8)), format, jsonMapper)) {
+      BookImportReader.ParsedRow row;
+      while ((row = reader.next()) != null) {
+        rows.add(row);
+      }
+    }
+    return rows;
+  }
+}
@@ -0,0 +1,98 @@
+package com.example.demo.repository;
+
+import com.example.demo.config.IdSequences;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Loan;
+import com.example.demo.entity.User;
+import com.example.demo.enums.LoanStatus;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that inserts are batched now that ids come from pooled-lo sequences: saving many loans runs a few
+ * statements per block of ids instead of one per row. The inserts are rolled back.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Insert batching Tests")
+class InsertBatchingTest {
+
+  private static final int ROWS = 120;
+
+  @Autowired
+  private LoanRepository loanRepository;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  @Autowired
+  private PlatformTransactionManager transactionManager;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+  }
+
+  @Test
+  @DisplayName("Should batch loan inserts and take ids a block at a time")
+  void shouldBatchInserts_WhenSavingManyLoans() {
+    // Arrange
+    TransactionTemplate transaction = new TransactionTemplate(transactionManager);
+
+    // Act
+    List<Long> ids = transaction.execute(status -> {
+      status.setRollbackOnly();
+      User user = userRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+      Book book = bookRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+      statistics.clear();
+
+      LocalDateTime now = LocalDateTime.now();
+      List<Loan> loans = new ArrayList<>();
+      for (int i = 0; i < ROWS; i++) {
+        loans.add(Loan.builder()
+            .user(user)
+            .book(book)
+            .dueDate(now.plusDays(14))
+            .returnDate(now)
+            .status(LoanStatus.RETURNED)
+            .build());
+      }
+      loanRepository.saveAll(loans);
+      loanRepository.flush();
+      return loans.stream().map(Loan::getId).toList();
+    });
+
+    // Assert
+    // One nextval and one insert batch per block of ids (batch_size = allocationSize), instead of ROWS inserts
+    long blocks = (ROWS + IdSequences.ALLOCATION_SIZE - 1) / IdSequences.ALLOCATION_SIZE;
+    assertTrue(statistics.getPrepareStatementCount() <= 2 * blocks,
+        "prepared statements: " + statistics.getPrepareStatementCount());
+    assertEquals(ROWS, ids.stream().distinct().count());
+    assertEquals(IdSequences.ALLOCATION_SIZE - 1, ids.get(IdSequences.ALLOCATION_SIZE - 1) - ids.get(0));
+  }
+}
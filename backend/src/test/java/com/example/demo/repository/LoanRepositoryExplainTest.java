@@ -0,0 +1,206 @@
+package com.example.demo.repository;
+
+import com.example.demo.enums.LoanStatus;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.proxy.ParameterSetOperation;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.TestInstance;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.Arguments;
+import org.junit.jupiter.params.provider.MethodSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Runs each LoanRepository query against the seeded local database, captures the SQL and bind values
+ * Hibernate actually sends, and fails if PostgreSQL plans any of them as a sequential scan over loans.
+ * Parameters are chosen to be selective (a single user/book, BORROWED, a one-month window); a seq scan
+ * for a filter matching most of the table is the planner's correct choice and is not what this guards.
+ */
+@SpringBootTest
+@TestInstance(TestInstance.Lifecycle.PER_CLASS)
+@DisplayName("LoanRepository EXPLAIN Tests")
+class LoanRepositoryExplainTest {
+
+  private static final List<QueryInfo> CAPTURED = new CopyOnWriteArrayList<>();
+  private static final Pageable PAGE = PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "id"));
+  private static final Limit KEYSET_LIMIT = Limit.of(21);
+  private static final Limit LIST_LIMIT = Limit.of(100);
+  /** A Sort or Incremental Sort node (not a "Sort Key:" detail line). */
+  private static final Pattern SORT_NODE = Pattern.compile("\\bSort\\s+\\(");
+
+  private static long userId;
+  private static long bookId;
+
+  @Autowired
+  private LoanRepository loanRepository;
+
+  @Autowired
+  private DataSource dataSource;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  @TestConfiguration
+  static class CaptureConfig {
+
+    @Bean
+    static BeanPostProcessor captureQueries() {
+      return new BeanPostProcessor() {
+        @Override
+        public Object postProcessAfterInitialization(Object bean, String beanName) {
+          if (bean instanceof DataSource ds && "dataSource".equals(beanName)) {
+            return ProxyDataSourceBuilder.create(ds)
+                .afterQuery((execInfo, queries) -> CAPTURED.addAll(queries))
+                .build();
+          }
+          return bean;
+        }
+      };
+    }
+  }
+
+  @BeforeAll
+  void pickSeedRows() {
+    userId = jdbcTemplate.queryForObject("SELECT user_id FROM loans ORDER BY id LIMIT 1", Long.class);
+    bookId = jdbcTemplate.queryForObject("SELECT book_id FROM loans ORDER BY id LIMIT 1", Long.class);
+  }
+
+  static Stream<Arguments> loanQueries() {
+    return Stream.concat(filterQueries(), keysetQueries());
+  }
+
+  static Stream<Arguments> filterQueries() {
+    LocalDateTime now = LocalDateTime.now();
+    LocalDateTime monthAgo = now.minusDays(30);
+    return Stream.of(
+        query("findLoanDTOsByStatus", r -> r.findLoanDTOsByStatus(LoanStatus.BORROWED, PAGE)),
+        query("findLoanDTOsByUserId", r -> r.findLoanDTOsByUserId(userId, PAGE)),
+        query("findLoanDTOsByBookId", r -> r.findLoanDTOsByBookId(bookId, PAGE)),
+        query("findLoanDTOsByUserIdAndStatus",
+            r -> r.findLoanDTOsByUserIdAndStatus(userId, LoanStatus.BORROWED, PAGE)),
+        query("findLoanDTOListByUserId", r -> r.findLoanDTOListByUserId(userId, LIST_LIMIT)),
+        query("findActiveLoanDTOListByUserId", r -> r.findActiveLoanDTOListByUserId(userId)),
+        query("findOverdueLoanDTOs", r -> r.findOverdueLoanDTOs(now, LoanStatus.BORROWED, LIST_LIMIT)),
+        query("findOverdueLoanDTOsByUserId",
+            r -> r.findOverdueLoanDTOsByUserId(userId, now, LoanStatus.BORROWED, LIST_LIMIT)),
+        query("countLoansByBookId", r -> r.countLoansByBookId(bookId)),
+        query("existsActiveLoanByBookId", r -> r.existsActiveLoanByBookId(bookId)),
+        query("countByStatus", r -> r.countByStatus(LoanStatus.BORROWED)),
+        query("countLoansByDateRange", r -> r.countLoansByDateRange(monthAgo, now)),
+        query("countLoansByBorrowDay", r -> r.countLoansByBorrowDay(monthAgo, now)),
+        query("countReturnsByReturnDay", r -> r.countReturnsByReturnDay(monthAgo, now)),
+        query("countLoansByDateRangeAndStatus",
+            r -> r.countLoansByDateRangeAndStatus(monthAgo, now, LoanStatus.RETURNED))
+    );
+  }
+
+  /**
+   * Cursor pages: each must read its matching (filter, borrow_date, id) index in order, without sorting loans.
+   */
+  static Stream<Arguments> keysetQueries() {
+    LocalDateTime now = LocalDateTime.now();
+    return Stream.of(
+        query("findLoanDTOsBefore", r -> r.findLoanDTOsBefore(now, Long.MAX_VALUE, KEYSET_LIMIT)),
+        query("findLoanDTOsByStatusBefore",
+            r -> r.findLoanDTOsByStatusBefore(LoanStatus.BORROWED, now, Long.MAX_VALUE, KEYSET_LIMIT)),
+        query("findLoanDTOsByUserIdBefore",
+            r -> r.findLoanDTOsByUserIdBefore(userId, now, Long.MAX_VALUE, KEYSET_LIMIT)),
+        query("findLoanDTOsByBookIdBefore",
+            r -> r.findLoanDTOsByBookIdBefore(bookId, now, Long.MAX_VALUE, KEYSET_LIMIT)),
+        query("findLoanDTOsByUserIdAndStatusBefore",
+            r -> r.findLoanDTOsByUserIdAndStatusBefore(userId, LoanStatus.BORROWED, now, Long.MAX_VALUE, KEYSET_LIMIT))
+    );
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("loanQueries")
+  @DisplayName("LoanRepository query does not seq scan loans")
+  void shouldUseIndex_WhenRunningLoanQuery(String name, Consumer<LoanRepository> invocation) throws Exception {
+    // Arrange
+    CAPTURED.clear();
+
+    // Act
+    invocation.accept(loanRepository);
+    List<QueryInfo> statements = new ArrayList<>(CAPTURED);
+
+    // Assert
+    assertFalse(statements.isEmpty(), "No SQL captured for " + name);
+    for (QueryInfo statement : statements) {
+      String plan = explain(statement);
+      if (plan.contains("Seq Scan on loans")) {
+        fail(name + " plans a sequential scan on loans:\n" + statement.getQuery() + "\n" + plan);
+      }
+    }
+  }
+
+  @ParameterizedTest(name = "{0}")
+  @MethodSource("keysetQueries")
+  @DisplayName("LoanRepository cursor page reads loans in index order")
+  void shouldNotSort_WhenPagingByCursor(String name, Consumer<LoanRepository> invocation) throws Exception {
+    // Arrange
+    CAPTURED.clear();
+
+    // Act
+    invocation.accept(loanRepository);
+    List<QueryInfo> statements = new ArrayList<>(CAPTURED);
+
+    // Assert
+    assertFalse(statements.isEmpty(), "No SQL captured for " + name);
+    for (QueryInfo statement : statements) {
+      String plan = explain(statement);
+      if (SORT_NODE.matcher(plan).find()) {
+        fail(name + " sorts instead of reading a (filter, borrow_date, id) index:\n" + statement.getQuery() + "\n" + plan);
+      }
+    }
+  }
+
+  private String explain(QueryInfo statement) throws Exception {
+    StringBuilder plan = new StringBuilder();
+    try (Connection connection = dataSource.getConnection();
+         PreparedStatement ps = connection.prepareStatement("EXPLAIN " + statement.getQuery())) {
+      if (!statement.getParametersList().isEmpty()) {
+        for (ParameterSetOperation operation : statement.getParametersList().get(0)) {
+          if (!"clearParameters".equals(operation.getMethod().getName())) {
+            operation.getMethod().invoke(ps, operation.getArgs());
+          }
+        }
+      }
+      try (ResultSet rs = ps.executeQuery()) {
+        while (rs.next()) {
+          plan.append(rs.getString(1)).append('\n');
+        }
+      }
+    }
+    return plan.toString();
+  }
+
+  private static Arguments query(String name, Consumer<LoanRepository> invocation) {
+    return Arguments.of(name, invocation);
+  }
+}
@@ -0,0 +1,137 @@
+package com.example.demo.search;
+
+import com.example.demo.dto.author.AuthorDTO;
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.category.CategoryDTO;
+import com.example.demo.dto.publisher.PublisherDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the in-memory CatalogIndex
+ */
+@DisplayName("CatalogIndex Tests")
+class CatalogIndexTest {
+
+  private CatalogIndex index;
+
+  @BeforeEach
+  void setUp() {
+    index = new CatalogIndex();
+    index.putAll(List.of(
+        book(1L, "Lập trình Java", "Nguyễn Văn Đức", "Công nghệ", "NXB Trẻ", "Sách nhập môn"),
+        book(2L, "Đắc nhân tâm", "Dale Carnegie", "Kỹ năng sống", "NXB Tổng hợp", "Nói về Java một chút"),
+        book(3L, "Java nâng cao", "Trần Minh", "Công nghệ", "NXB Trẻ", null)
+    ));
+  }
+
+  @Test
+  @DisplayName("Should match regardless of Vietnamese diacritics")
+  void shouldMatch_WhenQueryHasNoDiacritics() {
+    // Act
+    CatalogIndex.Hits hits = index.search("dac nhan tam", 0, 10);
+
+    // Assert
+    assertEquals(1, hits.total());
+    assertEquals(2L, hits.content().get(0).getId());
+  }
+
+  @Test
+  @DisplayName("Should rank title matches above description matches")
+  void shouldRankTitleAboveDescription() {
+    // Act
+    CatalogIndex.Hits hits = index.search("java", 0, 10);
+
+    // Assert
+    assertEquals(3, hits.total());
+    assertEquals(List.of(1L, 3L, 2L), hits.content().stream().map(BookDTO::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should require every token and prefix-match the last one")
+  void shouldIntersectTokens_AndPrefixMatchLast() {
+    // Act
+    CatalogIndex.Hits hits = index.search("java cong ngh", 0, 10);
+
+    // Assert
+    assertEquals(2, hits.total());
+    assertEquals(List.of(1L, 3L), hits.content().stream().map(BookDTO::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should match author, category and publisher names")
+  void shouldMatchRelatedEntityNames() {
+    assertEquals(1, index.search("duc", 0, 10).total());
+    assertEquals(1, index.search("ky nang", 0, 10).total());
+    assertEquals(2, index.search("nxb tre", 0, 10).total());
+  }
+
+  @Test
+  @DisplayName("Should reflect updates and deletes")
+  void shouldReflectUpdatesAndDeletes() {
+    // Act
+    index.put(book(3L, "Python cơ bản", "Trần Minh", "Công nghệ", "NXB Trẻ", null));
+    index.remove(1L);
+
+    // Assert
+    assertEquals(2, index.size());
+    assertEquals(List.of(2L), index.search("java", 0, 10).content().stream().map(BookDTO::getId).toList());
+    assertEquals(1, index.search("python", 0, 10).total());
+  }
+
+  @Test
+  @DisplayName("Should compact once deletes leave mostly tombstones")
+  void shouldCompact_WhenMostlyDeleted() {
+    // Arrange
+    for (long id = 100; id < 1600; id++) {
+      index.put(book(id, "Sách " + id, "Tác giả", "Công nghệ", "NXB Trẻ", null));
+    }
+
+    // Act: 1000 tombstones against 503 live books
+    for (long id = 100; id < 1100; id++) {
+      index.remove(id);
+    }
+
+    // Assert
+    assertEquals(503, index.size());
+    assertEquals(503, index.slots());
+    assertEquals(1, index.search("java nang cao", 0, 10).total());
+  }
+
+  @Test
+  @DisplayName("Should page through ranked hits")
+  void shouldPageHits() {
+    // Act
+    CatalogIndex.Hits hits = index.search("java", 1, 2);
+
+    // Assert
+    assertEquals(3, hits.total());
+    assertEquals(1, hits.content().size());
+    assertTrue(index.search("khong ton tai", 0, 10).content().isEmpty());
+  }
+
+  private static BookDTO book(Long id, String title, String author, String category, String publisher,
+      String description) {
+    AuthorDTO authorDTO = new AuthorDTO();
+    authorDTO.setFullName(author);
+    CategoryDTO categoryDTO = new CategoryDTO();
+    categoryDTO.setName(category);
+    PublisherDTO publisherDTO = new PublisherDTO();
+    publisherDTO.setName(publisher);
+
+    BookDTO dto = new BookDTO();
+    dto.setId(id);
+    dto.setTitle(title);
+    dto.setDescription(description);
+    dto.setPublisher(publisherDTO);
+    dto.setAuthors(List.of(authorDTO));
+    dto.setCategories(List.of(categoryDTO));
+    return dto;
+  }
+}
@@ -0,0 +1,119 @@
+package com.example.demo.security;
+
+import com.example.demo.enums.UserRole;
+import com.example.demo.enums.UserStatus;
+import io.jsonwebtoken.MalformedJwtException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.web.servlet.HandlerExceptionResolver;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for JwtAuthenticationFilter
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("JwtAuthenticationFilter Tests")
+class JwtAuthenticationFilterTest {
+
+  private static final String TOKEN = "header.payload.signature";
+
+  @Mock
+  private JwtTokenProvider jwtTokenProvider;
+
+  @Mock
+  private UserSnapshots userSnapshots;
+
+  @Mock
+  private HandlerExceptionResolver handlerExceptionResolver;
+
+  private JwtAuthenticationFilter filter;
+  private MockHttpServletRequest request;
+  private MockHttpServletResponse response;
+  private MockFilterChain chain;
+
+  @BeforeEach
+  void setUp() {
+    filter = new JwtAuthenticationFilter(jwtTokenProvider, userSnapshots, handlerExceptionResolver);
+    request = new MockHttpServletRequest("GET", "/api/loans");
+    request.addHeader("Authorization", "Bearer " + TOKEN);
+    response = new MockHttpServletResponse();
+    chain = new MockFilterChain();
+  }
+
+  @AfterEach
+  void tearDown() {
+    SecurityContextHolder.clearContext();
+  }
+
+  @Test
+  @DisplayName("Should authenticate an active user")
+  void shouldAuthenticate_WhenUserActive() throws Exception {
+    // Arrange
+    when(jwtTokenProvider.parseAndVerify(TOKEN)).thenReturn(claims());
+    when(userSnapshots.get(7L)).thenReturn(Optional.of(
+        new UserSnapshots.UserSnapshot(7L, "user7@example.com", "User 7", UserStatus.ACTIVE, UserRole.MEMBER)));
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertNotNull(SecurityContextHolder.getContext().getAuthentication());
+    assertNotNull(chain.getRequest());
+  }
+
+  @Test
+  @DisplayName("Should continue anonymously when the token is malformed")
+  void shouldContinueAnonymously_WhenTokenInvalid() throws Exception {
+    // Arrange
+    when(jwtTokenProvider.parseAndVerify(TOKEN)).thenThrow(new MalformedJwtException("bad token"));
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    assertNotNull(chain.getRequest());
+    verifyNoInteractions(userSnapshots, handlerExceptionResolver);
+  }
+
+  @Test
+  @DisplayName("Should hand a failed user load to the exception handler instead of continuing anonymously")
+  void shouldResolveError_WhenSnapshotLoadFails() throws Exception {
+    // Arrange
+    CannotCreateTransactionException failure = new CannotCreateTransactionException("Connection is not available");
+    when(jwtTokenProvider.parseAndVerify(TOKEN)).thenReturn(claims());
+    when(userSnapshots.get(7L)).thenThrow(failure);
+
+    // Act
+    filter.doFilter(request, response, chain);
+
+    // Assert
+    verify(handlerExceptionResolver).resolveException(eq(request), eq(response), any(), eq(failure));
+    assertNull(SecurityContextHolder.getContext().getAuthentication());
+    assertNull(chain.getRequest());
+  }
+
+  private static JwtClaims claims() {
+    return new JwtClaims(7L, "user7@example.com", UserRole.MEMBER, Instant.now().plusSeconds(3600));
+  }
+}
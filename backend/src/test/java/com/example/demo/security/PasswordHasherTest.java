@@ -0,0 +1,122 @@
+package com.example.demo.security;
+
+import com.example.demo.exception.ServiceBusyException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for PasswordHasher
+ */
+@DisplayName("PasswordHasher Tests")
+class PasswordHasherTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private PasswordHasher hasher;
+
+  @AfterEach
+  void tearDown() {
+    hasher.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should hash and check passwords on the pool and time each operation")
+  void shouldHashAndMatch_AndRecordTimers() {
+    // Arrange
+    hasher = new PasswordHasher(new BCryptPasswordEncoder(4), meterRegistry, 2, 4, Duration.ofSeconds(5));
+
+    // Act
+    String hash = hasher.encode("password123");
+
+    // Assert
+    assertTrue(hasher.matches("password123", hash));
+    assertFalse(hasher.matches("wrong", hash));
+    assertEquals(1, meterRegistry.get("security.password.hash").tag("operation", "encode").timer().count());
+    assertEquals(2, meterRegistry.get("security.password.hash").tag("operation", "matches").timer().count());
+    assertEquals(3, meterRegistry.get("security.password.hash.wait").timer().count());
+    assertEquals(0.0, meterRegistry.get("security.password.hash.rejected").counter().count());
+  }
+
+  @Test
+  @DisplayName("Should refuse at once when every thread is busy and the queue is full")
+  void shouldRejectImmediately_WhenQueueFull() throws Exception {
+    // Arrange: one thread, one queue slot
+    BlockingEncoder encoder = new BlockingEncoder();
+    hasher = new PasswordHasher(encoder, meterRegistry, 1, 1, Duration.ofSeconds(30));
+    CompletableFuture<String> running = CompletableFuture.supplyAsync(() -> hasher.encode("a"));
+    assertTrue(encoder.started.await(5, TimeUnit.SECONDS));
+    CompletableFuture<String> queued = CompletableFuture.supplyAsync(() -> hasher.encode("b"));
+    awaitQueueDepth(1);
+
+    // Act & Assert
+    long start = System.nanoTime();
+    assertThrows(ServiceBusyException.class, () -> hasher.encode("c"));
+    assertTrue(System.nanoTime() - start < TimeUnit.SECONDS.toNanos(1));
+    assertEquals(1.0, meterRegistry.get("security.password.hash.rejected").counter().count());
+
+    encoder.release.countDown();
+    assertEquals("hashed-a", running.get(5, TimeUnit.SECONDS));
+    assertEquals("hashed-b", queued.get(5, TimeUnit.SECONDS));
+  }
+
+  @Test
+  @DisplayName("Should give up after max-wait when the hash has not finished")
+  void shouldGiveUp_WhenMaxWaitExceeded() throws Exception {
+    // Arrange
+    BlockingEncoder encoder = new BlockingEncoder();
+    hasher = new PasswordHasher(encoder, meterRegistry, 1, 1, Duration.ofMillis(50));
+
+    // Act & Assert
+    assertThrows(ServiceBusyException.class, () -> hasher.encode("a"));
+    assertEquals(1.0, meterRegistry.get("security.password.hash.rejected").counter().count());
+    encoder.release.countDown();
+  }
+
+  private void awaitQueueDepth(int depth) throws InterruptedException {
+    long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+    while (meterRegistry.get("security.password.hash.queue").gauge().value() < depth) {
+      if (System.nanoTime() > deadline) {
+        throw new AssertionError("Queue never reached " + depth);
+      }
+      Thread.sleep(5);
+    }
+  }
+
+  /**
+   * Encoder whose hashes block until released, standing in for slow BCrypt work.
+   */
+  private static final class BlockingEncoder implements PasswordEncoder {
+
+    private final CountDownLatch started = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      started.countDown();
+      try {
+        release.await(10, TimeUnit.SECONDS);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return "hashed-" + rawPassword;
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      return encode(rawPassword).equals(encodedPassword);
+    }
+  }
+}
@@ -0,0 +1,161 @@
+package com.example.demo.security;
+
+import com.example.demo.enums.UserRole;
+import com.example.demo.enums.UserStatus;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for UserSnapshots
+ */
+@DisplayName("UserSnapshots Tests")
+class UserSnapshotsTest {
+
+  private final Map<Long, UserSnapshots.UserSnapshot> users = new ConcurrentHashMap<>();
+  private final AtomicInteger loads = new AtomicInteger();
+  private final UserSnapshots userSnapshots = new UserSnapshots(userId -> {
+    loads.incrementAndGet();
+    return Optional.ofNullable(users.get(userId));
+  }, 100, 60_000);
+
+  @AfterEach
+  void tearDown() {
+    if (TransactionSynchronizationManager.isSynchronizationActive()) {
+      TransactionSynchronizationManager.clearSynchronization();
+    }
+    userSnapshots.shutdown();
+  }
+
+  @Test
+  @DisplayName("Should load a user once and serve repeat lookups from the cache")
+  void shouldLoadOnce_WhenLookedUpRepeatedly() {
+    // Arrange
+    users.put(1L, snapshot(1L, UserStatus.ACTIVE));
+
+    // Act
+    userSnapshots.get(1L);
+    Optional<UserSnapshots.UserSnapshot> result = userSnapshots.get(1L);
+
+    // Assert
+    assertTrue(result.isPresent());
+    assertTrue(result.get().isActive());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should cache a missing user as empty")
+  void shouldCacheEmpty_WhenUserMissing() {
+    // Act
+    userSnapshots.get(99L);
+    Optional<UserSnapshots.UserSnapshot> result = userSnapshots.get(99L);
+
+    // Assert
+    assertFalse(result.isPresent());
+    assertEquals(1, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should reload a banned user only after the transaction that banned them commits")
+  void shouldInvalidateAfterCommit_WhenInTransaction() {
+    // Arrange
+    users.put(1L, snapshot(1L, UserStatus.ACTIVE));
+    userSnapshots.get(1L);
+    TransactionSynchronizationManager.initSynchronization();
+
+    // Act
+    users.put(1L, snapshot(1L, UserStatus.BANNED));
+    userSnapshots.invalidate(1L);
+
+    // Assert
+    assertTrue(userSnapshots.get(1L).orElseThrow().isActive());
+    TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+    assertFalse(userSnapshots.get(1L).orElseThrow().isActive());
+    assertEquals(2, loads.get());
+  }
+
+  @Test
+  @DisplayName("Should rethrow a failed load and retry it on the next lookup")
+  void shouldNotCacheFailure_WhenLoadFails() {
+    // Arrange
+    AtomicInteger attempts = new AtomicInteger();
+    UserSnapshots flaky = new UserSnapshots(userId -> {
+      if (attempts.incrementAndGet() == 1) {
+        throw new CannotCreateTransactionException("Connection is not available");
+      }
+      return Optional.of(snapshot(userId, UserStatus.ACTIVE));
+    }, 100, 60_000);
+
+    try {
+      // Act & Assert
+      assertThrows(CannotCreateTransactionException.class, () -> flaky.get(1L));
+      assertTrue(flaky.get(1L).isPresent());
+      assertEquals(2, attempts.get());
+    } finally {
+      flaky.shutdown();
+    }
+  }
+
+  @Test
+  @DisplayName("Should not keep a snapshot whose load was in progress when the user changed")
+  void shouldDropInFlightLoad_WhenInvalidated() throws Exception {
+    // Arrange
+    CountDownLatch loading = new CountDownLatch(1);
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicInteger attempts = new AtomicInteger();
+    UserSnapshots slow = new UserSnapshots(userId -> {
+      UserSnapshots.UserSnapshot current = users.get(userId);
+      if (attempts.incrementAndGet() == 1) {
+        loading.countDown();
+        awaitQuietly(release);
+      }
+      return Optional.ofNullable(current);
+    }, 100, 60_000);
+    users.put(1L, snapshot(1L, UserStatus.ACTIVE));
+
+    try {
+      // Act
+      CompletableFuture<Optional<UserSnapshots.UserSnapshot>> inFlight =
+          CompletableFuture.supplyAsync(() -> slow.get(1L));
+      assertTrue(loading.await(5, TimeUnit.SECONDS));
+      users.put(1L, snapshot(1L, UserStatus.BANNED));
+      slow.invalidate(1L);
+      release.countDown();
+
+      // Assert
+      assertTrue(inFlight.get(5, TimeUnit.SECONDS).orElseThrow().isActive());
+      assertFalse(slow.get(1L).orElseThrow().isActive());
+      assertEquals(2, attempts.get());
+    } finally {
+      slow.shutdown();
+    }
+  }
+
+  private static void awaitQuietly(CountDownLatch latch) {
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+  }
+
+  private static UserSnapshots.UserSnapshot snapshot(Long id, UserStatus status) {
+    return new UserSnapshots.UserSnapshot(id, "user" + id + "@example.com", "User " + id, status, UserRole.MEMBER);
+  }
+}
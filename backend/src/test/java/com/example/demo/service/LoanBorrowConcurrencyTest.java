@@ -0,0 +1,119 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.loan.LoanRequestDTO;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.User;
+import com.example.demo.enums.UserStatus;
+import com.example.demo.exception.BusinessException;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Races many borrowBook calls for the same book and checks that the database lets exactly one through.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("Loan borrow concurrency Tests")
+class LoanBorrowConcurrencyTest {
+
+  private static final int THREADS = 64;
+
+  @Autowired
+  private LoanService loanService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long userId;
+  private Long bookId;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = Long.toString(System.nanoTime(), 36);
+    User user = userRepository.save(User.builder()
+        .email("race-" + suffix + "@example.com")
+        .passwordHash("not-a-real-hash")
+        .fullName("Concurrency Test User")
+        .status(UserStatus.ACTIVE)
+        .build());
+    Book book = bookRepository.save(Book.builder()
+        .title("Concurrency Test Book")
+        .isbn("RACE-" + suffix)
+        .build());
+    userId = user.getId();
+    bookId = book.getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM loans WHERE book_id = ?", bookId);
+    bookRepository.deleteById(bookId);
+    userRepository.deleteById(userId);
+  }
+
+  @Test
+  @DisplayName("UC-LOAN-001: only one of many concurrent borrows of the same book succeeds")
+  void shouldAllowSingleActiveLoan_WhenBorrowedConcurrently() throws Exception {
+    // Arrange
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<Boolean>> results = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      results.add(executor.submit(() -> {
+        start.await();
+        try {
+          loanService.borrowBook(new LoanRequestDTO(userId, bookId, LocalDateTime.now().plusDays(14)));
+          return true;
+        } catch (BusinessException e) {
+          return false;
+        }
+      }));
+    }
+
+    // Act
+    start.countDown();
+    int succeeded = 0;
+    int rejected = 0;
+    for (Future<Boolean> result : results) {
+      if (result.get(30, TimeUnit.SECONDS)) {
+        succeeded++;
+      } else {
+        rejected++;
+      }
+    }
+    executor.shutdown();
+
+    // Assert
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    assertEquals(1, succeeded);
+    assertEquals(THREADS - 1, rejected);
+    Integer activeLoans = jdbcTemplate.queryForObject(
+        "SELECT COUNT(*) FROM loans WHERE book_id = ? AND status = 'BORROWED'", Integer.class, bookId);
+    assertEquals(1, activeLoans);
+  }
+}
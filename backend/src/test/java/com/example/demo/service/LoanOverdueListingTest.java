@@ -0,0 +1,116 @@
+package com.example.demo.service;
+
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.loan.LoanDTO;
+import com.example.demo.dto.loan.LoanRequestDTO;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.User;
+import com.example.demo.enums.LoanStatus;
+import com.example.demo.enums.UserStatus;
+import com.example.demo.exception.BusinessRuleException;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.book.BookService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks that a loan flipped to OVERDUE by LoanOverdueSweeper still counts as out: the book has not been returned.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("Overdue loan listing Tests")
+class LoanOverdueListingTest {
+
+  @Autowired
+  private LoanService loanService;
+
+  @Autowired
+  private SearchService searchService;
+
+  @Autowired
+  private BookService bookService;
+
+  @Autowired
+  private LoanOverdueSweeper loanOverdueSweeper;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long userId;
+  private Long bookId;
+  private Long loanId;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = Long.toString(System.nanoTime(), 36);
+    User user = userRepository.save(User.builder()
+        .email("overdue-" + suffix + "@example.com")
+        .passwordHash("not-a-real-hash")
+        .fullName("Overdue Test User")
+        .status(UserStatus.ACTIVE)
+        .build());
+    Book book = bookRepository.save(Book.builder()
+        .title("Overdue Test Book")
+        .isbn("OVERDUE-" + suffix)
+        .build());
+    userId = user.getId();
+    bookId = book.getId();
+    loanId = loanService.borrowBook(new LoanRequestDTO(userId, bookId, LocalDateTime.now().plusDays(14))).getId();
+    jdbcTemplate.update("UPDATE loans SET due_date = ? WHERE id = ?", LocalDateTime.now().minusDays(1), loanId);
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM loans WHERE book_id = ?", bookId);
+    bookRepository.deleteById(bookId);
+    userRepository.deleteById(userId);
+  }
+
+  @Test
+  @DisplayName("UC-LOAN-007: shouldListOverdueLoan_AsActive_AfterSweep")
+  void shouldListOverdueLoan_AsActive_AfterSweep() {
+    // Arrange
+    loanOverdueSweeper.sweepChunks();
+
+    // Act
+    List<LoanDTO> activeLoans = loanService.getActiveLoansByUserId(userId);
+    List<BookDTO> borrowedBooks = searchService.advancedSearch(null, null, userId, null, 100);
+
+    // Assert
+    assertEquals(1, activeLoans.size());
+    assertEquals(loanId, activeLoans.get(0).getId());
+    assertEquals(LoanStatus.OVERDUE, activeLoans.get(0).getStatus());
+    assertEquals(1, borrowedBooks.size());
+    assertEquals(bookId, borrowedBooks.get(0).getId());
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-005: shouldRejectDelete_WhenLoanIsOverdue")
+  void shouldRejectDelete_WhenLoanIsOverdue() {
+    // Arrange
+    loanOverdueSweeper.sweepChunks();
+
+    // Act & Assert
+    assertThrows(BusinessRuleException.class, () -> bookService.deleteBook(bookId, null));
+    assertTrue(bookRepository.existsById(bookId));
+  }
+}
@@ -0,0 +1,84 @@
+package com.example.demo.service;
+
+import com.example.demo.event.LoansMarkedOverdueEvent;
+import com.example.demo.repository.LoanRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for LoanOverdueSweeper
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("LoanOverdueSweeper Tests")
+class LoanOverdueSweeperTest {
+
+  private static final int CHUNK_SIZE = 3;
+
+  @Mock
+  private LoanRepository loanRepository;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private LoanOverdueSweeper sweeper;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    sweeper = new LoanOverdueSweeper(loanRepository, eventPublisher, transactionManager, meterRegistry, CHUNK_SIZE);
+  }
+
+  @Test
+  @DisplayName("Should sweep chunk after chunk until one comes back short")
+  void shouldSweepChunks_UntilShortChunk() {
+    // Arrange
+    when(loanRepository.markOverdue(any(LocalDateTime.class), eq(CHUNK_SIZE))).thenReturn(3, 3, 1);
+
+    // Act
+    sweeper.sweep();
+
+    // Assert
+    verify(loanRepository, times(3)).markOverdue(any(LocalDateTime.class), eq(CHUNK_SIZE));
+    verify(transactionManager, times(3)).commit(any());
+    verify(eventPublisher, times(2)).publishEvent(new LoansMarkedOverdueEvent(3));
+    verify(eventPublisher, times(1)).publishEvent(new LoansMarkedOverdueEvent(1));
+    assertEquals(1, meterRegistry.get("loans.overdue.sweep.duration").timer().count());
+  }
+
+  @Test
+  @DisplayName("Should not publish a dashboard delta when nothing is overdue")
+  void shouldNotPublishEvent_WhenNothingOverdue() {
+    // Arrange
+    when(loanRepository.markOverdue(any(LocalDateTime.class), eq(CHUNK_SIZE))).thenReturn(0);
+
+    // Act
+    int flipped = sweeper.sweepChunks();
+
+    // Assert
+    assertEquals(0, flipped);
+    verify(loanRepository, times(1)).markOverdue(any(LocalDateTime.class), eq(CHUNK_SIZE));
+    verify(eventPublisher, never()).publishEvent(any(LoansMarkedOverdueEvent.class));
+  }
+}
@@ -1,5 +1,7 @@
 package com.example.demo.service;
 
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
 import com.example.demo.dto.loan.LoanDTO;
 import com.example.demo.dto.loan.LoanDetailDTO;
 import com.example.demo.dto.loan.LoanRenewalRequestDTO;
@@ -10,6 +12,7 @@ import com.example.demo.entity.Loan;
 import com.example.demo.entity.User;
 import com.example.demo.enums.LoanStatus;
 import com.example.demo.enums.UserStatus;
+import com.example.demo.event.LoanStatusChangedEvent;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.LoanMapper;
@@ -24,19 +27,30 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
@@ -62,6 +76,9 @@ class LoanServiceImplTest {
   @Mock
   private LoanMapper loanMapper;
 
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private LoanServiceImpl loanService;
 
@@ -106,9 +123,8 @@ class LoanServiceImplTest {
 
     when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
     when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
-    when(loanRepository.countActiveLoansByBookId(testBookId, LoanStatus.BORROWED)).thenReturn(0L);
     when(loanMapper.toEntity(testLoanRequestDTO)).thenReturn(newLoan);
-    when(loanRepository.save(any(Loan.class))).thenReturn(testLoan);
+    when(loanRepository.saveAndFlush(any(Loan.class))).thenReturn(testLoan);
     when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
 
     // Act
@@ -118,9 +134,11 @@ class LoanServiceImplTest {
     assertNotNull(result);
     verify(userRepository, times(1)).findById(testUserId);
     verify(bookRepository, times(1)).findById(testBookId);
-    verify(loanRepository, times(1)).countActiveLoansByBookId(testBookId, LoanStatus.BORROWED);
-    verify(loanRepository, times(1)).save(any(Loan.class));
+    verify(loanRepository, never()).existsActiveLoanByBookId(any());
+    verify(loanRepository, times(1)).saveAndFlush(any(Loan.class));
     verify(loanMapper, times(1)).toDTO(testLoan);
+    verify(eventPublisher, times(1))
+        .publishEvent(new LoanStatusChangedEvent(testBookId, null, LoanStatus.BORROWED));
   }
 
   /**
@@ -141,7 +159,7 @@ class LoanServiceImplTest {
 
     verify(userRepository, times(1)).findById(testUserId);
     verify(bookRepository, never()).findById(any());
-    verify(loanRepository, never()).save(any());
+    verify(loanRepository, never()).saveAndFlush(any());
   }
 
   /**
@@ -154,15 +172,39 @@ class LoanServiceImplTest {
     // Arrange
     when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
     when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
-    when(loanRepository.countActiveLoansByBookId(testBookId, LoanStatus.BORROWED)).thenReturn(1L);
+    when(loanMapper.toEntity(testLoanRequestDTO)).thenReturn(TestDataBuilder.createLoan());
+    when(loanRepository.saveAndFlush(any(Loan.class))).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement",
+        new SQLException("duplicate key value violates unique constraint \"uq_loans_active_book\"")));
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> {
       loanService.borrowBook(testLoanRequestDTO);
     });
 
-    verify(loanRepository, times(1)).countActiveLoansByBookId(testBookId, LoanStatus.BORROWED);
-    verify(loanRepository, never()).save(any());
+    verify(loanRepository, times(1)).saveAndFlush(any(Loan.class));
+    verify(loanMapper, never()).toDTO(any());
+  }
+
+  /**
+   * UC-LOAN-001: borrowBook
+   * Test: shouldRethrow_WhenOtherIntegrityViolation
+   */
+  @Test
+  @DisplayName("Should rethrow when another integrity constraint is violated")
+  void shouldRethrow_WhenOtherIntegrityViolation() {
+    // Arrange
+    when(userRepository.findById(testUserId)).thenReturn(Optional.of(testUser));
+    when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
+    when(loanMapper.toEntity(testLoanRequestDTO)).thenReturn(TestDataBuilder.createLoan());
+    when(loanRepository.saveAndFlush(any(Loan.class))).thenThrow(new DataIntegrityViolationException(
+        "could not execute statement",
+        new SQLException("insert or update on table \"loans\" violates foreign key constraint \"fk_loan_book\"")));
+
+    // Act & Assert
+    assertThrows(DataIntegrityViolationException.class, () -> {
+      loanService.borrowBook(testLoanRequestDTO);
+    });
   }
 
   /**
@@ -177,7 +219,7 @@ class LoanServiceImplTest {
     testLoan.setDueDate(now.plusDays(1));
     testLoan.setStatus(LoanStatus.BORROWED);
 
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
     when(loanRepository.save(testLoan)).thenReturn(testLoan);
     when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
 
@@ -188,24 +230,24 @@ class LoanServiceImplTest {
     assertNotNull(result);
     assertEquals(LoanStatus.RETURNED, testLoan.getStatus());
     assertNotNull(testLoan.getReturnDate());
-    verify(loanRepository, times(1)).findById(testLoanId);
+    verify(loanRepository, times(1)).findByIdForUpdate(testLoanId);
     verify(loanRepository, times(1)).save(testLoan);
     verify(loanMapper, times(1)).toDTO(testLoan);
   }
 
   /**
    * UC-LOAN-002: returnBook
-   * Test: shouldReturnBook_WhenOverdue
+   * Test: shouldReturnBook_WhenLateButNotYetSwept
    */
   @Test
-  @DisplayName("Should return book when overdue")
-  void shouldReturnBook_WhenOverdue() {
+  @DisplayName("Should mark a late return RETURNED before the sweeper flipped the loan")
+  void shouldReturnBook_WhenLateButNotYetSwept() {
     // Arrange
     LocalDateTime now = LocalDateTime.now();
     testLoan.setDueDate(now.minusDays(1));
     testLoan.setStatus(LoanStatus.BORROWED);
 
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
     when(loanRepository.save(testLoan)).thenReturn(testLoan);
     when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
 
@@ -214,9 +256,37 @@ class LoanServiceImplTest {
 
     // Assert
     assertNotNull(result);
-    assertEquals(LoanStatus.OVERDUE, testLoan.getStatus());
+    assertEquals(LoanStatus.RETURNED, testLoan.getStatus());
     assertNotNull(testLoan.getReturnDate());
     verify(loanRepository, times(1)).save(testLoan);
+    verify(eventPublisher, times(1))
+        .publishEvent(new LoanStatusChangedEvent(testBookId, LoanStatus.BORROWED, LoanStatus.RETURNED));
+  }
+
+  /**
+   * UC-LOAN-002: returnBook
+   * Test: shouldReturnBook_WhenOverdue
+   */
+  @Test
+  @DisplayName("Should return book when the sweeper marked it overdue")
+  void shouldReturnBook_WhenOverdue() {
+    // Arrange
+    testLoan.setDueDate(LocalDateTime.now().minusDays(3));
+    testLoan.setStatus(LoanStatus.OVERDUE);
+
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.save(testLoan)).thenReturn(testLoan);
+    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+
+    // Act
+    LoanDTO result = loanService.returnBook(testLoanId);
+
+    // Assert
+    assertNotNull(result);
+    assertEquals(LoanStatus.RETURNED, testLoan.getStatus());
+    assertNotNull(testLoan.getReturnDate());
+    verify(eventPublisher, times(1))
+        .publishEvent(new LoanStatusChangedEvent(testBookId, LoanStatus.OVERDUE, LoanStatus.RETURNED));
   }
 
   /**
@@ -228,14 +298,14 @@ class LoanServiceImplTest {
   void shouldThrowException_WhenAlreadyReturned() {
     // Arrange
     testLoan.setStatus(LoanStatus.RETURNED);
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> {
       loanService.returnBook(testLoanId);
     });
 
-    verify(loanRepository, times(1)).findById(testLoanId);
+    verify(loanRepository, times(1)).findByIdForUpdate(testLoanId);
     verify(loanRepository, never()).save(any());
   }
 
@@ -253,7 +323,7 @@ class LoanServiceImplTest {
     testLoan.setStatus(LoanStatus.BORROWED);
     testLoanRenewalRequestDTO.setNewDueDate(newDueDate);
 
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
     when(loanRepository.save(testLoan)).thenReturn(testLoan);
     when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
 
@@ -263,7 +333,7 @@ class LoanServiceImplTest {
     // Assert
     assertNotNull(result);
     assertEquals(newDueDate, testLoan.getDueDate());
-    verify(loanRepository, times(1)).findById(testLoanId);
+    verify(loanRepository, times(1)).findByIdForUpdate(testLoanId);
     verify(loanRepository, times(1)).save(testLoan);
     verify(loanMapper, times(1)).toDTO(testLoan);
   }
@@ -277,14 +347,14 @@ class LoanServiceImplTest {
   void shouldThrowException_WhenNotBorrowed() {
     // Arrange
     testLoan.setStatus(LoanStatus.RETURNED);
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> {
       loanService.renewLoan(testLoanId, testLoanRenewalRequestDTO);
     });
 
-    verify(loanRepository, times(1)).findById(testLoanId);
+    verify(loanRepository, times(1)).findByIdForUpdate(testLoanId);
     verify(loanRepository, never()).save(any());
   }
 
@@ -302,14 +372,14 @@ class LoanServiceImplTest {
     testLoan.setStatus(LoanStatus.BORROWED);
     testLoanRenewalRequestDTO.setNewDueDate(newDueDate);
 
-    when(loanRepository.findById(testLoanId)).thenReturn(Optional.of(testLoan));
+    when(loanRepository.findByIdForUpdate(testLoanId)).thenReturn(Optional.of(testLoan));
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> {
       loanService.renewLoan(testLoanId, testLoanRenewalRequestDTO);
     });
 
-    verify(loanRepository, times(1)).findById(testLoanId);
+    verify(loanRepository, times(1)).findByIdForUpdate(testLoanId);
     verify(loanRepository, never()).save(any());
   }
 
@@ -322,12 +392,10 @@ class LoanServiceImplTest {
   void shouldGetAllLoans_WithFilters() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<Loan> loans = List.of(testLoan);
-    Page<Loan> loanPage = new PageImpl<>(loans, pageable, 1);
+    Page<LoanDTO> loanPage = new PageImpl<>(List.of(testLoanDTO), pageable, 1);
 
-    when(loanRepository.findByUserIdAndStatus(testUserId, LoanStatus.BORROWED, pageable))
+    when(loanRepository.findLoanDTOsByUserIdAndStatus(testUserId, LoanStatus.BORROWED, pageable))
         .thenReturn(loanPage);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
 
     // Act
     Page<LoanDTO> result = loanService.getAllLoans(LoanStatus.BORROWED, testUserId, null, pageable);
@@ -335,8 +403,8 @@ class LoanServiceImplTest {
     // Assert
     assertNotNull(result);
     assertEquals(1, result.getTotalElements());
-    verify(loanRepository, times(1)).findByUserIdAndStatus(testUserId, LoanStatus.BORROWED, pageable);
-    verify(loanMapper, times(1)).toDTO(testLoan);
+    verify(loanRepository, times(1)).findLoanDTOsByUserIdAndStatus(testUserId, LoanStatus.BORROWED, pageable);
+    verify(loanMapper, never()).toDTO(any());
   }
 
   /**
@@ -348,18 +416,16 @@ class LoanServiceImplTest {
   void shouldGetAllLoans_WithStatusOnly() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<Loan> loans = List.of(testLoan);
-    Page<Loan> loanPage = new PageImpl<>(loans, pageable, 1);
+    Page<LoanDTO> loanPage = new PageImpl<>(List.of(testLoanDTO), pageable, 1);
 
-    when(loanRepository.findByStatus(LoanStatus.BORROWED, pageable)).thenReturn(loanPage);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findLoanDTOsByStatus(LoanStatus.BORROWED, pageable)).thenReturn(loanPage);
 
     // Act
     Page<LoanDTO> result = loanService.getAllLoans(LoanStatus.BORROWED, null, null, pageable);
 
     // Assert
     assertNotNull(result);
-    verify(loanRepository, times(1)).findByStatus(LoanStatus.BORROWED, pageable);
+    verify(loanRepository, times(1)).findLoanDTOsByStatus(LoanStatus.BORROWED, pageable);
   }
 
   /**
@@ -371,18 +437,16 @@ class LoanServiceImplTest {
   void shouldGetAllLoans_WithUserIdOnly() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<Loan> loans = List.of(testLoan);
-    Page<Loan> loanPage = new PageImpl<>(loans, pageable, 1);
+    Page<LoanDTO> loanPage = new PageImpl<>(List.of(testLoanDTO), pageable, 1);
 
-    when(loanRepository.findByUserId(testUserId, pageable)).thenReturn(loanPage);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findLoanDTOsByUserId(testUserId, pageable)).thenReturn(loanPage);
 
     // Act
     Page<LoanDTO> result = loanService.getAllLoans(null, testUserId, null, pageable);
 
     // Assert
     assertNotNull(result);
-    verify(loanRepository, times(1)).findByUserId(testUserId, pageable);
+    verify(loanRepository, times(1)).findLoanDTOsByUserId(testUserId, pageable);
   }
 
   /**
@@ -394,18 +458,16 @@ class LoanServiceImplTest {
   void shouldGetAllLoans_WithBookIdOnly() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<Loan> loans = List.of(testLoan);
-    Page<Loan> loanPage = new PageImpl<>(loans, pageable, 1);
+    Page<LoanDTO> loanPage = new PageImpl<>(List.of(testLoanDTO), pageable, 1);
 
-    when(loanRepository.findByBookId(testBookId, pageable)).thenReturn(loanPage);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findLoanDTOsByBookId(testBookId, pageable)).thenReturn(loanPage);
 
     // Act
     Page<LoanDTO> result = loanService.getAllLoans(null, null, testBookId, pageable);
 
     // Assert
     assertNotNull(result);
-    verify(loanRepository, times(1)).findByBookId(testBookId, pageable);
+    verify(loanRepository, times(1)).findLoanDTOsByBookId(testBookId, pageable);
   }
 
   /**
@@ -417,18 +479,16 @@ class LoanServiceImplTest {
   void shouldGetAllLoans_WithNoFilters() {
     // Arrange
     Pageable pageable = PageRequest.of(0, 10);
-    List<Loan> loans = List.of(testLoan);
-    Page<Loan> loanPage = new PageImpl<>(loans, pageable, 1);
+    Page<LoanDTO> loanPage = new PageImpl<>(List.of(testLoanDTO), pageable, 1);
 
-    when(loanRepository.findAll(pageable)).thenReturn(loanPage);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findAllLoanDTOs(pageable)).thenReturn(loanPage);
 
     // Act
     Page<LoanDTO> result = loanService.getAllLoans(null, null, null, pageable);
 
     // Assert
     assertNotNull(result);
-    verify(loanRepository, times(1)).findAll(pageable);
+    verify(loanRepository, times(1)).findAllLoanDTOs(pageable);
   }
 
   /**
@@ -479,18 +539,37 @@ class LoanServiceImplTest {
   @DisplayName("Should get loan history when user exists")
   void shouldGetLoanHistory_WhenUserExists() {
     // Arrange
-    List<Loan> loans = List.of(testLoan);
-    when(loanRepository.findListByUserId(testUserId)).thenReturn(loans);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findLoanDTOListByUserId(testUserId, Limit.of(100))).thenReturn(List.of(testLoanDTO));
 
     // Act
-    List<LoanDTO> result = loanService.getLoanHistoryByUserId(testUserId);
+    List<LoanDTO> result = loanService.getLoanHistoryByUserId(testUserId, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(loanRepository, times(1)).findListByUserId(testUserId);
-    verify(loanMapper, times(1)).toDTO(testLoan);
+    verify(loanRepository, times(1)).findLoanDTOListByUserId(testUserId, Limit.of(100));
+    verify(loanMapper, never()).toDTO(any());
+  }
+
+  /**
+   * UC-LOAN-006: streamLoanHistoryByUserId
+   * Test: shouldStreamLoanHistory_AndCloseCursor
+   */
+  @Test
+  @DisplayName("Should stream loan history and close the cursor")
+  void shouldStreamLoanHistory_AndCloseCursor() {
+    // Arrange
+    AtomicBoolean closed = new AtomicBoolean();
+    when(loanRepository.streamLoanDTOsByUserId(testUserId))
+        .thenReturn(Stream.of(testLoanDTO).onClose(() -> closed.set(true)));
+    List<LoanDTO> received = new ArrayList<>();
+
+    // Act
+    loanService.streamLoanHistoryByUserId(testUserId, received::add);
+
+    // Assert
+    assertEquals(List.of(testLoanDTO), received);
+    assertTrue(closed.get());
   }
 
   /**
@@ -501,12 +580,7 @@ class LoanServiceImplTest {
   @DisplayName("Should get active loans when user exists")
   void shouldGetActiveLoans_WhenUserExists() {
     // Arrange
-    Loan borrowedLoan = TestDataBuilder.createLoan(testLoanId, LoanStatus.BORROWED);
-    Loan returnedLoan = TestDataBuilder.createLoan(2L, LoanStatus.RETURNED);
-    List<Loan> loans = List.of(borrowedLoan, returnedLoan);
-
-    when(loanRepository.findListByUserId(testUserId)).thenReturn(loans);
-    when(loanMapper.toDTO(borrowedLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findActiveLoanDTOListByUserId(testUserId)).thenReturn(List.of(testLoanDTO));
 
     // Act
     List<LoanDTO> result = loanService.getActiveLoansByUserId(testUserId);
@@ -514,8 +588,7 @@ class LoanServiceImplTest {
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(loanRepository, times(1)).findListByUserId(testUserId);
-    verify(loanMapper, times(1)).toDTO(borrowedLoan);
+    verify(loanRepository, times(1)).findActiveLoanDTOListByUserId(testUserId);
   }
 
   /**
@@ -526,20 +599,18 @@ class LoanServiceImplTest {
   @DisplayName("Should get overdue loans when user id provided")
   void shouldGetOverdueLoans_WhenUserIdProvided() {
     // Arrange
-    List<Loan> loans = List.of(testLoan);
-
-    when(loanRepository.findOverdueLoansByUserId(eq(testUserId), any(LocalDateTime.class), eq(LoanStatus.BORROWED)))
-        .thenReturn(loans);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findOverdueLoanDTOsByUserId(
+        eq(testUserId), any(LocalDateTime.class), eq(LoanStatus.OVERDUE), eq(Limit.of(100))))
+        .thenReturn(List.of(testLoanDTO));
 
     // Act
-    List<LoanDTO> result = loanService.getOverdueLoans(testUserId);
+    List<LoanDTO> result = loanService.getOverdueLoans(testUserId, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(loanRepository, times(1)).findOverdueLoansByUserId(eq(testUserId), any(LocalDateTime.class), eq(LoanStatus.BORROWED));
-    verify(loanMapper, times(1)).toDTO(testLoan);
+    verify(loanRepository, times(1)).findOverdueLoanDTOsByUserId(
+        eq(testUserId), any(LocalDateTime.class), eq(LoanStatus.OVERDUE), eq(Limit.of(100)));
   }
 
   /**
@@ -550,20 +621,17 @@ class LoanServiceImplTest {
   @DisplayName("Should get overdue loans when no user id")
   void shouldGetOverdueLoans_WhenNoUserId() {
     // Arrange
-    List<Loan> loans = List.of(testLoan);
-
-    when(loanRepository.findOverdueLoans(any(LocalDateTime.class), eq(LoanStatus.BORROWED)))
-        .thenReturn(loans);
-    when(loanMapper.toDTO(testLoan)).thenReturn(testLoanDTO);
+    when(loanRepository.findOverdueLoanDTOs(any(LocalDateTime.class), eq(LoanStatus.OVERDUE), eq(Limit.of(100))))
+        .thenReturn(List.of(testLoanDTO));
 
     // Act
-    List<LoanDTO> result = loanService.getOverdueLoans(null);
+    List<LoanDTO> result = loanService.getOverdueLoans(null, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(loanRepository, times(1)).findOverdueLoans(any(LocalDateTime.class), eq(LoanStatus.BORROWED));
-    verify(loanMapper, times(1)).toDTO(testLoan);
+    verify(loanRepository, times(1)).findOverdueLoanDTOs(any(LocalDateTime.class), eq(LoanStatus.OVERDUE), eq(Limit.of(100)));
+    verify(loanMapper, never()).toDTO(any());
   }
 
   /**
@@ -576,9 +644,8 @@ class LoanServiceImplTest {
     // Arrange
     LocalDateTime startDate = LocalDateTime.now().minusDays(30);
     LocalDateTime endDate = LocalDateTime.now();
-    List<Loan> loans = List.of(testLoan);
 
-    when(loanRepository.findLoansByDateRange(startDate, endDate)).thenReturn(loans);
+    when(loanRepository.countLoansByDateRange(startDate, endDate)).thenReturn(1L);
     when(loanRepository.countLoansByDateRangeAndStatus(startDate, endDate, LoanStatus.RETURNED))
         .thenReturn(5L);
     when(loanRepository.countLoansByDateRangeAndStatus(startDate, endDate, LoanStatus.OVERDUE))
@@ -592,8 +659,72 @@ class LoanServiceImplTest {
     assertEquals(1L, result.getTotalBorrowed());
     assertEquals(5L, result.getTotalReturned());
     assertEquals(2L, result.getTotalOverdue());
-    verify(loanRepository, times(1)).findLoansByDateRange(startDate, endDate);
+    verify(loanRepository, times(1)).countLoansByDateRange(startDate, endDate);
+    verify(loanRepository, never()).findLoansByDateRange(any(), any());
     verify(loanRepository, times(1)).countLoansByDateRangeAndStatus(startDate, endDate, LoanStatus.RETURNED);
     verify(loanRepository, times(1)).countLoansByDateRangeAndStatus(startDate, endDate, LoanStatus.OVERDUE);
   }
+
+  /**
+   * UC-LOAN-004: getLoansAfter
+   * Test: shouldGetFirstKeysetPage_WhenNoCursor
+   */
+  @Test
+  @DisplayName("Should get first keyset page and next cursor when more loans exist")
+  void shouldGetFirstKeysetPage_WhenNoCursor() {
+    // Arrange
+    LoanDTO second = TestDataBuilder.createLoanDTO();
+    second.setId(2L);
+    second.setBorrowDate(testLoanDTO.getBorrowDate().minusDays(1));
+    LoanDTO extra = TestDataBuilder.createLoanDTO();
+    extra.setId(3L);
+    when(loanRepository.findLoanDTOsByStatusBefore(
+        LoanStatus.BORROWED, KeysetCursor.LATEST, Long.MAX_VALUE, Limit.of(3)))
+        .thenReturn(List.of(testLoanDTO, second, extra));
+
+    // Act
+    CursorSliceDTO<LoanDTO> result = loanService.getLoansAfter(LoanStatus.BORROWED, null, null, null, 2);
+
+    // Assert
+    assertEquals(2, result.getContent().size());
+    assertTrue(result.isHasNext());
+    KeysetCursor next = KeysetCursor.decode(result.getNextCursor());
+    assertEquals(second.getBorrowDate(), next.sortKeyAsDateTime());
+    assertEquals(2L, next.id());
+  }
+
+  /**
+   * UC-LOAN-004: getLoansAfter
+   * Test: shouldSeekPastCursor_WhenCursorGiven
+   */
+  @Test
+  @DisplayName("Should seek past cursor and end the list on a short page")
+  void shouldSeekPastCursor_WhenCursorGiven() {
+    // Arrange
+    LocalDateTime borrowDate = LocalDateTime.of(2025, 1, 15, 10, 30);
+    String after = KeysetCursor.of(borrowDate, 42L).encode();
+    when(loanRepository.findLoanDTOsByUserIdBefore(testUserId, borrowDate, 42L, Limit.of(21)))
+        .thenReturn(List.of(testLoanDTO));
+
+    // Act
+    CursorSliceDTO<LoanDTO> result = loanService.getLoansAfter(null, testUserId, null, after, 20);
+
+    // Assert
+    assertEquals(1, result.getContent().size());
+    assertFalse(result.isHasNext());
+    assertNull(result.getNextCursor());
+  }
+
+  /**
+   * UC-LOAN-004: getLoansAfter
+   * Test: shouldThrowException_WhenCursorInvalid
+   */
+  @Test
+  @DisplayName("Should throw exception when cursor is invalid")
+  void shouldThrowException_WhenCursorInvalid() {
+    // Act & Assert
+    assertThrows(BusinessException.class,
+        () -> loanService.getLoansAfter(null, null, null, "not-a-cursor", 20));
+    verify(loanRepository, never()).findLoanDTOsBefore(any(), anyLong(), any());
+  }
 }
@@ -0,0 +1,176 @@
+package com.example.demo.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Test class for ParallelReadQueries
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ParallelReadQueries Tests")
+class ParallelReadQueriesTest {
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Mock
+  private JdbcTemplate jdbcTemplate;
+
+  private ExecutorService executor;
+
+  private ParallelReadQueries parallelReadQueries;
+
+  @BeforeEach
+  void setUp() {
+    executor = Executors.newFixedThreadPool(2);
+    parallelReadQueries = new ParallelReadQueries(executor, transactionManager, jdbcTemplate, Duration.ofMillis(200));
+  }
+
+  @AfterEach
+  void tearDown() {
+    executor.shutdownNow();
+  }
+
+  @Test
+  @DisplayName("Should run queries concurrently and return each result")
+  void shouldRunQueriesConcurrently() {
+    // Arrange: each query only finishes once both have started
+    CountDownLatch bothStarted = new CountDownLatch(2);
+
+    // Act
+    ParallelReadQueries.Pending<String> first = parallelReadQueries.submit(() -> awaitOther(bothStarted, "a"));
+    ParallelReadQueries.Pending<String> second = parallelReadQueries.submit(() -> awaitOther(bothStarted, "b"));
+
+    // Assert
+    assertEquals(Optional.of("a"), first.await());
+    assertEquals(Optional.of("b"), second.await());
+  }
+
+  @Test
+  @DisplayName("Should return empty when a query misses its deadline")
+  void shouldReturnEmpty_WhenQueryMissesDeadline() {
+    // Arrange: nobody else counts down, so the query blocks until tearDown interrupts it
+    CountDownLatch neverReleased = new CountDownLatch(2);
+
+    // Act
+    ParallelReadQueries.Pending<String> slow = parallelReadQueries.submit(() -> awaitOther(neverReleased, "late"));
+    ParallelReadQueries.Pending<String> fast = parallelReadQueries.submit(() -> "on time");
+
+    // Assert
+    assertTrue(slow.await().isEmpty());
+    assertEquals(Optional.of("on time"), fast.await());
+  }
+
+  @Test
+  @DisplayName("Should rethrow failures other than timeouts")
+  void shouldRethrow_WhenQueryFails() {
+    // Act
+    ParallelReadQueries.Pending<String> failing = parallelReadQueries.submit(() -> {
+      throw new IllegalArgumentException("bad query");
+    });
+
+    // Assert
+    assertThrows(IllegalArgumentException.class, failing::await);
+  }
+
+  @Test
+  @DisplayName("Should bound each statement by what is left of the deadline")
+  void shouldSetStatementTimeout_FromRemainingDeadline() {
+    // Act
+    Optional<String> result = parallelReadQueries.submit(() -> "done").await();
+
+    // Assert
+    assertEquals(Optional.of("done"), result);
+    ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+    verify(jdbcTemplate).execute(sql.capture());
+    long timeoutMs = Long.parseLong(sql.getValue().replace("SET LOCAL statement_timeout = ", ""));
+    assertTrue(timeoutMs > 0 && timeoutMs <= 200, sql.getValue());
+  }
+
+  @Test
+  @DisplayName("Should return empty instead of running on the caller when the pool rejects a query")
+  void shouldReturnEmpty_WhenPoolRejectsQuery() {
+    // Arrange: one worker, no queue, the worker busy
+    ThreadPoolExecutor saturated = new ThreadPoolExecutor(1, 1, 0, TimeUnit.SECONDS,
+        new SynchronousQueue<>(), new ThreadPoolExecutor.AbortPolicy());
+    ParallelReadQueries bounded = new ParallelReadQueries(
+        saturated, transactionManager, jdbcTemplate, Duration.ofMillis(200));
+    CountDownLatch release = new CountDownLatch(1);
+    try {
+      bounded.submit(() -> awaitOther(release, "busy"));
+
+      // Act
+      ParallelReadQueries.Pending<Thread> rejected = bounded.submit(Thread::currentThread);
+
+      // Assert
+      assertTrue(rejected.await().isEmpty());
+    } finally {
+      release.countDown();
+      saturated.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Should not run a query that is still queued at its deadline")
+  void shouldSkipQuery_WhenQueuedPastDeadline() throws Exception {
+    // Arrange: the only worker is busy past the deadline of the queued query
+    ExecutorService single = Executors.newSingleThreadExecutor();
+    ParallelReadQueries bounded = new ParallelReadQueries(
+        single, transactionManager, jdbcTemplate, Duration.ofMillis(50));
+    CountDownLatch release = new CountDownLatch(1);
+    AtomicBoolean ran = new AtomicBoolean();
+    try {
+      bounded.submit(() -> awaitOther(release, "busy"));
+      ParallelReadQueries.Pending<String> queued = bounded.submit(() -> {
+        ran.set(true);
+        return "late";
+      });
+
+      // Act
+      Optional<String> result = queued.await();
+      release.countDown();
+      single.shutdown();
+      single.awaitTermination(5, TimeUnit.SECONDS);
+
+      // Assert
+      assertTrue(result.isEmpty());
+      assertFalse(ran.get());
+    } finally {
+      single.shutdownNow();
+    }
+  }
+
+  private static String awaitOther(CountDownLatch latch, String result) {
+    latch.countDown();
+    try {
+      latch.await(5, TimeUnit.SECONDS);
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    }
+    return result;
+  }
+}
@@ -0,0 +1,178 @@
+package com.example.demo.service;
+
+import com.example.demo.entity.User;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.security.JwtAuthenticationFilter;
+import com.example.demo.security.JwtTokenProvider;
+import com.example.demo.security.UserSnapshots;
+import com.example.demo.service.book.BookService;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Runs the JDBC-heavy read paths on many more virtual threads than there are pooled connections and records
+ * jdk.VirtualThreadPinned with JFR: a virtual thread that blocks in our code, Hikari, the PostgreSQL driver or
+ * Caffeine while a monitor is held would hold its carrier thread and show up here. Authenticated requests go through
+ * JwtAuthenticationFilter with the user's snapshot evicted first, so every one of them loads it from the database.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("Virtual thread pinning Tests")
+class VirtualThreadPinningTest {
+
+  private static final int TASKS = 200;
+  private static final List<String> INSPECTED_PACKAGES = List.of(
+      "com.example.demo.", "com.zaxxer.hikari.", "org.postgresql.", "com.github.benmanes.caffeine.");
+  private static final List<String> JDK_PACKAGES = List.of("java.", "javax.", "jdk.", "sun.");
+
+  @Autowired
+  private BookService bookService;
+
+  @Autowired
+  private SearchService searchService;
+
+  @Autowired
+  private LoanService loanService;
+
+  @Autowired
+  private ReportService reportService;
+
+  @Autowired
+  private JwtAuthenticationFilter jwtAuthenticationFilter;
+
+  @Autowired
+  private JwtTokenProvider jwtTokenProvider;
+
+  @Autowired
+  private UserSnapshots userSnapshots;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  private final List<User> users = new ArrayList<>();
+  private final List<String> tokens = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (User user : userRepository.findAll(PageRequest.of(0, 20)).getContent()) {
+      users.add(user);
+      tokens.add(jwtTokenProvider.generateToken(user.getId(), user.getEmail(), user.getRole()));
+    }
+    assertFalse(users.isEmpty());
+  }
+
+  @Test
+  @DisplayName("Should not pin carrier threads on the JDBC read paths or when authenticating requests")
+  void shouldNotPinCarrierThreads_WhenReadPathsRunOnVirtualThreads() throws Exception {
+    // Arrange: load classes and fill caches first, class initialisation may pin legitimately
+    runOnVirtualThreads(TASKS / 10);
+
+    List<RecordedEvent> pinned;
+    try (Recording recording = new Recording()) {
+      recording.enable("jdk.VirtualThreadPinned").withThreshold(Duration.ZERO).withStackTrace();
+      recording.start();
+
+      // Act
+      runOnVirtualThreads(TASKS);
+
+      recording.stop();
+      Path file = Files.createTempFile("virtual-thread-pinning", ".jfr");
+      try {
+        recording.dump(file);
+        pinned = RecordingFile.readAllEvents(file).stream()
+            .filter(event -> event.getEventType().getName().equals("jdk.VirtualThreadPinned"))
+            .filter(VirtualThreadPinningTest::involvesInspectedCode)
+            .toList();
+      } finally {
+        Files.deleteIfExists(file);
+      }
+    }
+
+    // Assert
+    assertTrue(pinned.isEmpty(), () -> "Pinned virtual threads:\n" + pinned.stream()
+        .map(event -> event.getStackTrace().getFrames().stream()
+            .map(frame -> "  at " + frame.getMethod().getType().getName() + "." + frame.getMethod().getName())
+            .collect(Collectors.joining("\n")))
+        .collect(Collectors.joining("\n\n")));
+  }
+
+  private void runOnVirtualThreads(int tasks) throws Exception {
+    LocalDate today = LocalDate.now();
+    List<Future<?>> results = new ArrayList<>(tasks);
+    try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+      for (int i = 0; i < tasks; i++) {
+        int kind = i % 5;
+        int page = i % 10;
+        int user = i % users.size();
+        results.add(executor.submit(() -> switch (kind) {
+          case 0 -> bookService.getAllBooks(PageRequest.of(page, 20));
+          case 1 -> searchService.fullTextSearch("java", PageRequest.of(0, 20));
+          case 2 -> loanService.getAllLoans(null, null, null, PageRequest.of(page, 20));
+          case 3 -> reportService.getLoanReport(today.minusDays(30), today);
+          default -> authenticate(users.get(user), tokens.get(user));
+        }));
+      }
+      for (Future<?> result : results) {
+        result.get(60, TimeUnit.SECONDS);
+      }
+    }
+  }
+
+  private MockHttpServletResponse authenticate(User user, String token) throws Exception {
+    userSnapshots.invalidate(user.getId());
+    MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/auth/me");
+    request.addHeader("Authorization", "Bearer " + token);
+    MockHttpServletResponse response = new MockHttpServletResponse();
+    try {
+      jwtAuthenticationFilter.doFilter(request, response, new MockFilterChain());
+    } finally {
+      SecurityContextHolder.clearContext();
+    }
+    return response;
+  }
+
+  /**
+   * Whether the pinned thread blocked in one of the inspected libraries. Every stack passes through our service
+   * frames further down, so only the top is looked at: the JDK frames doing the park, then the first library
+   * frame, which is the code that blocked while a monitor was held.
+   */
+  private static boolean involvesInspectedCode(RecordedEvent event) {
+    if (event.getStackTrace() == null) {
+      return false;
+    }
+    for (RecordedFrame frame : event.getStackTrace().getFrames()) {
+      String type = frame.getMethod().getType().getName();
+      if (JDK_PACKAGES.stream().noneMatch(type::startsWith)) {
+        return INSPECTED_PACKAGES.stream().anyMatch(type::startsWith);
+      }
+    }
+    return false;
+  }
+}
@@ -1,10 +1,12 @@
 package com.example.demo.service.author;
 
+import com.example.demo.catalog.CatalogVersion;
 import com.example.demo.dto.author.AuthorDTO;
 import com.example.demo.dto.author.AuthorDetailDTO;
 import com.example.demo.dto.author.AuthorRequestDTO;
 import com.example.demo.dto.author.AuthorUpdateDTO;
 import com.example.demo.entity.Author;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.AuthorMapper;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -48,6 +51,12 @@ class AuthorServiceImplTest {
   @Mock
   private AuthorMapper authorMapper;
 
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private AuthorServiceImpl authorService;
 
@@ -89,6 +98,7 @@ class AuthorServiceImplTest {
     assertEquals(testAuthorDTO.getFullName(), result.getFullName());
     verify(authorMapper, times(1)).toEntity(testAuthorRequestDTO);
     verify(authorRepository, times(1)).save(testAuthor);
+    verify(catalogVersion, times(1)).changed();
     verify(authorMapper, times(1)).toDTO(testAuthor);
   }
 
@@ -221,14 +231,17 @@ class AuthorServiceImplTest {
     when(authorMapper.toDTO(testAuthor)).thenReturn(testAuthorDTO);
 
     // Act
-    AuthorDTO result = authorService.updateAuthor(testAuthorId, testAuthorUpdateDTO);
+    AuthorDTO result = authorService.updateAuthor(testAuthorId, testAuthorUpdateDTO, null);
 
     // Assert
     assertNotNull(result);
     verify(authorRepository, times(1)).findById(testAuthorId);
     verify(authorMapper, times(1)).updateEntityFromDTO(testAuthor, testAuthorUpdateDTO);
     verify(authorRepository, times(1)).save(testAuthor);
+    verify(catalogVersion, times(1)).changed();
     verify(authorMapper, times(1)).toDTO(testAuthor);
+    verify(eventPublisher, times(1)).publishEvent(
+        new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.AUTHOR, testAuthorId));
   }
 
   /**
@@ -243,7 +256,7 @@ class AuthorServiceImplTest {
 
     // Act & Assert
     assertThrows(ResourceNotFoundException.class, () -> {
-      authorService.updateAuthor(testAuthorId, testAuthorUpdateDTO);
+      authorService.updateAuthor(testAuthorId, testAuthorUpdateDTO, null);
     });
 
     verify(authorRepository, times(1)).findById(testAuthorId);
@@ -263,11 +276,12 @@ class AuthorServiceImplTest {
     when(authorRepository.findById(testAuthorId)).thenReturn(Optional.of(testAuthor));
 
     // Act
-    authorService.deleteAuthor(testAuthorId);
+    authorService.deleteAuthor(testAuthorId, null);
 
     // Assert
     verify(authorRepository, times(1)).findById(testAuthorId);
     verify(authorRepository, times(1)).delete(testAuthor);
+    verify(catalogVersion, times(1)).changed();
   }
 
   /**
@@ -284,10 +298,11 @@ class AuthorServiceImplTest {
 
     // Act & Assert
     assertThrows(BusinessRuleException.class, () -> {
-      authorService.deleteAuthor(testAuthorId);
+      authorService.deleteAuthor(testAuthorId, null);
     });
 
     verify(authorRepository, times(1)).findById(testAuthorId);
     verify(authorRepository, never()).delete(any());
+    verify(catalogVersion, never()).changed();
   }
 }
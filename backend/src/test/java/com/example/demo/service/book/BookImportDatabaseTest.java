@@ -0,0 +1,139 @@
+package com.example.demo.service.book;
+
+import com.example.demo.dto.book.BookImportResultDTO;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.Category;
+import com.example.demo.importer.BookImportFormat;
+import com.example.demo.repository.AuthorRepository;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.PublisherRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Runs BookImportService end to end: the unnest inserts, ON CONFLICT (isbn), the ids taken from books_id_seq
+ * a block at a time over several chunks, and authors created by the import. The imported rows are deleted afterwards.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("BookImport database Tests")
+class BookImportDatabaseTest {
+
+  private static final String HEADER = "title,isbn,publicationYear,publisher,authors,categories\n";
+
+  @Autowired
+  private BookImportService bookImportService;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private PublisherRepository publisherRepository;
+
+  @Autowired
+  private AuthorRepository authorRepository;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private String isbnPrefix;
+  private String publisher;
+  private String author;
+  private String categories;
+
+  @BeforeEach
+  void setUp() {
+    isbnPrefix = "IT-" + Long.toString(System.nanoTime() % 1_000_000_000L, 36) + "-";
+    PageRequest first = PageRequest.of(0, 2);
+    publisher = publisherRepository.findAll(first).getContent().get(0).getName();
+    author = authorRepository.findAll(first).getContent().get(0).getFullName();
+    List<Category> seeded = categoryRepository.findAll(first).getContent();
+    categories = seeded.get(0).getName() + "|" + seeded.get(seeded.size() - 1).getName();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM books WHERE isbn LIKE ?", isbnPrefix + "%");
+    jdbcTemplate.update("DELETE FROM authors WHERE full_name LIKE ?", isbnPrefix + "%");
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldInsertBooksAndLinks_AcrossChunks")
+  void shouldInsertBooksAndLinks_AcrossChunks() {
+    // Arrange
+    int rows = 2 * BookImportServiceImpl.CHUNK_SIZE + 5;
+    Book existing = bookRepository.findAll(PageRequest.of(0, 1)).getContent().get(0);
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i < rows; i++) {
+      csv.append(row("Sách nhập " + i, isbnPrefix + i, author));
+    }
+    csv.append(row("Trùng ISBN", existing.getIsbn(), author));
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(stream(csv), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(rows + 1, result.getTotalRows());
+    assertEquals(rows, result.getImportedCount());
+    assertEquals(1, result.getFailedCount());
+    assertEquals("Book with ISBN '" + existing.getIsbn() + "' already exists", result.getErrors().get(0).getMessage());
+    assertEquals(rows, count("SELECT count(*) FROM books WHERE isbn LIKE ?"));
+    assertEquals(rows, count("SELECT count(DISTINCT id) FROM books WHERE isbn LIKE ?"));
+    assertEquals(rows, count("SELECT count(*) FROM book_authors ba JOIN books b ON b.id = ba.book_id "
+        + "WHERE b.isbn LIKE ?"));
+    assertEquals(2L * rows, count("SELECT count(*) FROM book_categories bc JOIN books b ON b.id = bc.book_id "
+        + "WHERE b.isbn LIKE ?"));
+    assertEquals(0, count("SELECT count(*) FROM books WHERE isbn LIKE ? AND search_document IS NULL"));
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldLinkAuthorsCreatedByTheImport")
+  void shouldLinkAuthorsCreatedByTheImport() {
+    // Arrange
+    String newAuthor = isbnPrefix + "Tác giả mới";
+    String csv = HEADER
+        + row("Sách tác giả mới", isbnPrefix + "1", newAuthor + "|" + author)
+        + row("Sách tác giả mới 2", isbnPrefix + "2", newAuthor);
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(stream(csv), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(2, result.getImportedCount(), () -> String.valueOf(result.getErrors()));
+    assertEquals(1, result.getCreatedAuthors());
+    assertEquals(1, count("SELECT count(*) FROM authors WHERE full_name LIKE ?"));
+    assertEquals(2, count("SELECT count(*) FROM book_authors ba JOIN authors a ON a.id = ba.author_id "
+        + "WHERE a.full_name LIKE ?"));
+    assertEquals(3, count("SELECT count(*) FROM book_authors ba JOIN books b ON b.id = ba.book_id "
+        + "WHERE b.isbn LIKE ?"));
+  }
+
+  private String row(String title, String isbn, String authors) {
+    return title + "," + isbn + ",2020,\"" + publisher + "\",\"" + authors + "\",\"" + categories + "\"\n";
+  }
+
+  private long count(String sql) {
+    return jdbcTemplate.queryForObject(sql, Long.class, isbnPrefix + "%");
+  }
+
+  private static InputStream stream(CharSequence content) {
+    return new ByteArrayInputStream(content.toString().getBytes(StandardCharsets.UTF_8));
+  }
+}
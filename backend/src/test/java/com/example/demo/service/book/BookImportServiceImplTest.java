@@ -0,0 +1,235 @@
+package com.example.demo.service.book;
+
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.dto.book.BookImportErrorDTO;
+import com.example.demo.dto.book.BookImportResultDTO;
+import com.example.demo.entity.Author;
+import com.example.demo.event.BooksImportedEvent;
+import com.example.demo.importer.BookImportFormat;
+import com.example.demo.importer.BookImportWriter;
+import com.example.demo.mapper.BookMapper;
+import com.example.demo.repository.AuthorRepository;
+import com.example.demo.repository.CategoryRepository;
+import com.example.demo.repository.PublisherRepository;
+import com.example.demo.search.CatalogIndexer;
+import com.example.demo.util.TestDataBuilder;
+import jakarta.validation.Validation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Captor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+/**
+ * Test class for BookImportService implementation
+ */
+@ExtendWith(MockitoExtension.class)
+@DisplayName("BookImportService Tests")
+class BookImportServiceImplTest {
+
+  private static final String HEADER = "title,isbn,publicationYear,publisher,authors,categories\n";
+
+  @Mock
+  private PublisherRepository publisherRepository;
+
+  @Mock
+  private CategoryRepository categoryRepository;
+
+  @Mock
+  private AuthorRepository authorRepository;
+
+  @Mock
+  private BookImportWriter bookImportWriter;
+
+  @Mock
+  private BookMapper bookMapper;
+
+  @Mock
+  private CatalogIndexer catalogIndexer;
+
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
+
+  @Captor
+  private ArgumentCaptor<List<BookImportWriter.NewBook>> newBooksCaptor;
+
+  private BookImportServiceImpl bookImportService;
+
+  @BeforeEach
+  void setUp() {
+    bookImportService = new BookImportServiceImpl(
+        publisherRepository,
+        categoryRepository,
+        authorRepository,
+        bookImportWriter,
+        bookMapper,
+        catalogIndexer,
+        catalogVersion,
+        Validation.buildDefaultValidatorFactory().getValidator(),
+        JsonMapper.builder().build(),
+        eventPublisher,
+        transactionManager);
+
+    when(publisherRepository.findAll()).thenReturn(List.of(TestDataBuilder.createPublisher(1L, "NXB Trẻ")));
+    when(categoryRepository.findAll()).thenReturn(List.of(TestDataBuilder.createCategory()));
+    when(authorRepository.findAll(Sort.by("id"))).thenReturn(List.of(TestDataBuilder.createAuthor()));
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldImportValidRows_AndReportInvalidRows")
+  void shouldImportValidRows_AndReportInvalidRows() {
+    // Arrange
+    String csv = HEADER
+        + "Java,978-1,2020,nxb trẻ,Test Author,Test Category\n"
+        + "Go,978-2,2020,NXB Không Tồn Tại,,\n"
+        + ",978-3,2020,NXB Trẻ,,\n"
+        + "Java (bản sao),978-1,2020,NXB Trẻ,,\n"
+        + "Rust,978-5,2020,NXB Trẻ,,Không có\n";
+    when(bookImportWriter.insert(anyList())).thenReturn(Map.of("978-1", 10L));
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(csv(csv), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(5, result.getTotalRows());
+    assertEquals(1, result.getImportedCount());
+    assertEquals(4, result.getFailedCount());
+    assertEquals(List.of(3, 4, 5, 6), result.getErrors().stream().map(BookImportErrorDTO::getLine).toList());
+    assertEquals("Publisher not found: NXB Không Tồn Tại", result.getErrors().get(0).getMessage());
+    assertEquals("Title is required", result.getErrors().get(1).getMessage());
+    assertEquals("Duplicate ISBN in file: 978-1", result.getErrors().get(2).getMessage());
+    assertEquals("Category not found: Không có", result.getErrors().get(3).getMessage());
+
+    verify(bookImportWriter, times(1)).insert(newBooksCaptor.capture());
+    BookImportWriter.NewBook book = newBooksCaptor.getValue().get(0);
+    assertEquals(1L, book.publisherId());
+    assertEquals(List.of(1L), book.authorIds());
+    assertEquals(List.of(1L), book.categoryIds());
+    verify(eventPublisher, times(1)).publishEvent(new BooksImportedEvent(1));
+    verify(catalogVersion, times(1)).changed();
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldReportExistingIsbn_WhenWriterSkipsIt")
+  void shouldReportExistingIsbn_WhenWriterSkipsIt() {
+    // Arrange
+    when(bookImportWriter.insert(anyList())).thenReturn(Map.of());
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(
+        csv(HEADER + "Java,978-1,2020,NXB Trẻ,,\n"), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(0, result.getImportedCount());
+    assertEquals("Book with ISBN '978-1' already exists", result.getErrors().get(0).getMessage());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldCreateMissingAuthorsOnce")
+  void shouldCreateMissingAuthorsOnce() {
+    // Arrange
+    String ndjson = "{\"title\":\"A\",\"isbn\":\"978-1\",\"publicationYear\":2020,\"publisher\":\"NXB Trẻ\","
+        + "\"authors\":[\"Tác giả mới\",\"Test Author\"]}\n"
+        + "{\"title\":\"B\",\"isbn\":\"978-2\",\"publicationYear\":2021,\"publisher\":\"NXB Trẻ\","
+        + "\"authors\":[\" tác giả mới \"]}\n";
+    when(authorRepository.saveAllAndFlush(any())).thenAnswer(invocation -> {
+      List<Author> saved = new ArrayList<>();
+      Iterable<Author> authors = invocation.getArgument(0);
+      authors.forEach(author -> {
+        author.setId(99L);
+        saved.add(author);
+      });
+      return saved;
+    });
+    when(bookImportWriter.insert(anyList())).thenReturn(Map.of("978-1", 10L, "978-2", 11L));
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(csv(ndjson), BookImportFormat.NDJSON);
+
+    // Assert
+    assertEquals(2, result.getImportedCount());
+    assertEquals(1, result.getCreatedAuthors());
+    verify(authorRepository, times(1)).saveAllAndFlush(any());
+    verify(bookImportWriter).insert(newBooksCaptor.capture());
+    assertEquals(List.of(99L, 1L), newBooksCaptor.getValue().get(0).authorIds());
+    assertEquals(List.of(99L), newBooksCaptor.getValue().get(1).authorIds());
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldFailWholeChunk_WhenWriteRollsBack")
+  void shouldFailWholeChunk_WhenWriteRollsBack() {
+    // Arrange
+    when(bookImportWriter.insert(anyList())).thenThrow(new DataIntegrityViolationException("boom"));
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(
+        csv(HEADER + "Java,978-1,2020,NXB Trẻ,,\nGo,978-2,2020,NXB Trẻ,,\n"), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(0, result.getImportedCount());
+    assertEquals(2, result.getFailedCount());
+    assertEquals("Chunk rolled back: boom", result.getErrors().get(0).getMessage());
+    verifyNoInteractions(eventPublisher);
+  }
+
+  @Test
+  @DisplayName("UC-BOOK-006: shouldWriteInChunks")
+  void shouldWriteInChunks() {
+    // Arrange
+    StringBuilder csv = new StringBuilder(HEADER);
+    for (int i = 0; i <= BookImportServiceImpl.CHUNK_SIZE; i++) {
+      csv.append("Sách ").append(i).append(",isbn-").append(i).append(",2020,NXB Trẻ,,\n");
+    }
+    when(bookImportWriter.insert(anyList())).thenAnswer(invocation -> {
+      List<BookImportWriter.NewBook> books = invocation.getArgument(0);
+      Map<String, Long> ids = new HashMap<>();
+      books.forEach(book -> ids.put(book.isbn(), (long) ids.size() + 1));
+      return ids;
+    });
+
+    // Act
+    BookImportResultDTO result = bookImportService.importBooks(csv(csv.toString()), BookImportFormat.CSV);
+
+    // Assert
+    assertEquals(BookImportServiceImpl.CHUNK_SIZE + 1, result.getImportedCount());
+    assertEquals(0, result.getFailedCount());
+    verify(bookImportWriter, times(2)).insert(anyList());
+    verify(eventPublisher, times(1)).publishEvent(new BooksImportedEvent(BookImportServiceImpl.CHUNK_SIZE));
+    verify(eventPublisher, times(1)).publishEvent(new BooksImportedEvent(1));
+  }
+
+  private static InputStream csv(String content) {
+    return new ByteArrayInputStream(content.getBytes(StandardCharsets.UTF_8));
+  }
+}
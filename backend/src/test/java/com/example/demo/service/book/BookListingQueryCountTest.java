@@ -0,0 +1,90 @@
+package com.example.demo.service.book;
+
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.book.BookSearchCriteriaDTO;
+import com.example.demo.service.SearchService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * Checks that book listings run a fixed number of SQL statements per page, whatever the page size.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@DisplayName("Book listing query count Tests")
+class BookListingQueryCountTest {
+
+  /** Page query + count query + one fetch for authors + one fetch for categories. */
+  private static final long STATEMENTS_PER_PAGE = 4;
+
+  @Autowired
+  private BookService bookService;
+
+  @Autowired
+  private SearchService searchService;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    statistics.setStatisticsEnabled(true);
+    statistics.clear();
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 5, 20, 50 })
+  @DisplayName("UC-BOOK-002: getAllBooks runs a fixed number of statements per page")
+  void shouldRunFixedStatements_WhenListingBooks(int pageSize) {
+    // Act
+    Page<BookDTO> page = bookService.getAllBooks(PageRequest.of(1, pageSize));
+
+    // Assert
+    assertFalse(page.getContent().isEmpty());
+    assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 5, 20, 50 })
+  @DisplayName("UC-SEARCH-002: searchBooks runs a fixed number of statements per page")
+  void shouldRunFixedStatements_WhenSearchingBooks(int pageSize) {
+    // Arrange
+    BookSearchCriteriaDTO criteria = new BookSearchCriteriaDTO();
+    criteria.setTitle("Book Title 1");
+
+    // Act
+    Page<BookDTO> page = searchService.searchBooks(criteria, PageRequest.of(1, pageSize));
+
+    // Assert
+    assertFalse(page.getContent().isEmpty());
+    assertEquals(STATEMENTS_PER_PAGE, statistics.getPrepareStatementCount());
+  }
+
+  @ParameterizedTest
+  @ValueSource(ints = { 5, 20, 50 })
+  @DisplayName("UC-SEARCH-003: fullTextSearch runs a fixed number of statements per page")
+  void shouldRunFixedStatements_WhenFullTextSearching(int pageSize) {
+    // Act
+    Page<BookDTO> page = searchService.fullTextSearch("book", PageRequest.of(1, pageSize));
+
+    // Assert
+    assertFalse(page.getContent().isEmpty());
+    // Native page query has no fetch join, so publishers take one more batched query
+    assertEquals(STATEMENTS_PER_PAGE + 1, statistics.getPrepareStatementCount());
+  }
+}
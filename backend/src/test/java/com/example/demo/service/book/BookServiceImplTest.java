@@ -1,27 +1,31 @@
 package com.example.demo.service.book;
 
+import com.example.demo.catalog.CatalogVersion;
 import com.example.demo.dto.book.BookDTO;
 import com.example.demo.dto.book.BookDetailDTO;
 import com.example.demo.dto.book.BookRequestDTO;
 import com.example.demo.dto.book.BookUpdateDTO;
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
 import com.example.demo.dto.review.ReviewSummaryDTO;
 import com.example.demo.entity.Author;
 import com.example.demo.entity.Book;
+import com.example.demo.entity.BookStats;
 import com.example.demo.entity.Category;
-import com.example.demo.entity.Loan;
 import com.example.demo.entity.Publisher;
-import com.example.demo.entity.Review;
-import com.example.demo.enums.LoanStatus;
+import com.example.demo.event.BookDeletedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.DuplicateResourceException;
+import com.example.demo.exception.PreconditionFailedException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.AuthorRepository;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
 import com.example.demo.repository.CategoryRepository;
 import com.example.demo.repository.LoanRepository;
 import com.example.demo.repository.PublisherRepository;
-import com.example.demo.repository.ReviewRepository;
+import com.example.demo.search.CatalogIndexer;
 import com.example.demo.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -30,17 +34,19 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 
-import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.never;
@@ -71,11 +77,20 @@ class BookServiceImplTest {
   private LoanRepository loanRepository;
 
   @Mock
-  private ReviewRepository reviewRepository;
+  private BookStatsRepository bookStatsRepository;
 
   @Mock
   private BookMapper bookMapper;
 
+  @Mock
+  private CatalogIndexer catalogIndexer;
+
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private BookServiceImpl bookService;
 
@@ -137,6 +152,8 @@ class BookServiceImplTest {
     verify(categoryRepository, times(1)).findAllById(categoryIds);
     verify(bookRepository, times(1)).save(testBook);
     verify(bookMapper, times(1)).toDTO(testBook);
+    verify(catalogIndexer, times(1)).index(testBookDTO);
+    verify(catalogVersion, times(1)).changed();
   }
 
   /**
@@ -157,6 +174,8 @@ class BookServiceImplTest {
     verify(bookRepository, times(1)).findByIsbn(testBookRequestDTO.getIsbn());
     verify(publisherRepository, never()).findById(any());
     verify(bookRepository, never()).save(any());
+    verify(catalogIndexer, never()).index(any());
+    verify(catalogVersion, never()).changed();
   }
 
   /**
@@ -255,6 +274,7 @@ class BookServiceImplTest {
     assertNotNull(result);
     assertEquals(1, result.getTotalElements());
     verify(bookRepository, times(1)).findAll(pageable);
+    verify(bookRepository, times(1)).fetchAuthorsAndCategories(books);
     verify(bookMapper, times(1)).toDTO(testBook);
   }
 
@@ -266,13 +286,10 @@ class BookServiceImplTest {
   @DisplayName("Should get book by id when exists")
   void shouldGetBookById_WhenExists() {
     // Arrange
-    List<Review> reviews = List.of(TestDataBuilder.createReview());
-    ReviewSummaryDTO reviewSummary = new ReviewSummaryDTO();
-    reviewSummary.setAverageRating(5.0);
-    reviewSummary.setTotalReviews(1L);
+    BookStats stats = new BookStats(testBookId, testBook, 1, 5, 0, 0, 0, 0, 1, 5.0);
 
     when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
-    when(reviewRepository.findListByBookId(testBookId)).thenReturn(reviews);
+    when(bookStatsRepository.findById(testBookId)).thenReturn(Optional.of(stats));
     when(bookMapper.toDetailDTO(testBook)).thenReturn(testBookDetailDTO);
 
     // Act
@@ -280,8 +297,11 @@ class BookServiceImplTest {
 
     // Assert
     assertNotNull(result);
+    ReviewSummaryDTO reviewSummary = result.getReviewSummary();
+    assertEquals(5.0, reviewSummary.getAverageRating());
+    assertEquals(1L, reviewSummary.getTotalReviews());
     verify(bookRepository, times(1)).findById(testBookId);
-    verify(reviewRepository, times(1)).findListByBookId(testBookId);
+    verify(bookStatsRepository, times(1)).findById(testBookId);
     verify(bookMapper, times(1)).toDetailDTO(testBook);
   }
 
@@ -301,7 +321,7 @@ class BookServiceImplTest {
     });
 
     verify(bookRepository, times(1)).findById(testBookId);
-    verify(reviewRepository, never()).findListByBookId(any());
+    verify(bookStatsRepository, never()).findById(any());
     verify(bookMapper, never()).toDetailDTO(any());
   }
 
@@ -322,7 +342,7 @@ class BookServiceImplTest {
     when(bookMapper.toDTO(testBook)).thenReturn(testBookDTO);
 
     // Act
-    BookDTO result = bookService.updateBook(testBookId, testBookUpdateDTO);
+    BookDTO result = bookService.updateBook(testBookId, testBookUpdateDTO, null);
 
     // Assert
     assertNotNull(result);
@@ -331,6 +351,8 @@ class BookServiceImplTest {
     verify(bookMapper, times(1)).updateEntityFromDTO(testBook, testBookUpdateDTO);
     verify(bookRepository, times(1)).save(testBook);
     verify(bookMapper, times(1)).toDTO(testBook);
+    verify(catalogIndexer, times(1)).index(testBookDTO);
+    verify(catalogVersion, times(1)).changed();
   }
 
   /**
@@ -350,7 +372,7 @@ class BookServiceImplTest {
 
     // Act & Assert
     assertThrows(DuplicateResourceException.class, () -> {
-      bookService.updateBook(testBookId, testBookUpdateDTO);
+      bookService.updateBook(testBookId, testBookUpdateDTO, null);
     });
 
     verify(bookRepository, times(1)).findById(testBookId);
@@ -358,6 +380,48 @@ class BookServiceImplTest {
     verify(bookRepository, never()).save(any());
   }
 
+  /**
+   * UC-BOOK-004: updateBook
+   * Test: shouldRejectUpdate_WhenIfMatchIsStale
+   */
+  @Test
+  @DisplayName("Should reject update with 412 when If-Match names an older version of the book")
+  void shouldRejectUpdate_WhenIfMatchIsStale() {
+    // Arrange
+    testBook.setVersion(4L);
+    when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
+
+    // Act & Assert
+    assertThrows(PreconditionFailedException.class, () -> {
+      bookService.updateBook(testBookId, testBookUpdateDTO, 3L);
+    });
+
+    verify(bookMapper, never()).updateEntityFromDTO(any(), any());
+    verify(bookRepository, never()).save(any());
+    verify(catalogVersion, never()).changed();
+  }
+
+  /**
+   * UC-BOOK-004: updateBook
+   * Test: shouldUpdateBook_WhenIfMatchIsCurrent
+   */
+  @Test
+  @DisplayName("Should update book when If-Match names its current version")
+  void shouldUpdateBook_WhenIfMatchIsCurrent() {
+    // Arrange
+    testBook.setVersion(4L);
+    when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
+    when(bookRepository.save(testBook)).thenReturn(testBook);
+    when(bookMapper.toDTO(testBook)).thenReturn(testBookDTO);
+
+    // Act
+    BookDTO result = bookService.updateBook(testBookId, testBookUpdateDTO, 4L);
+
+    // Assert
+    assertNotNull(result);
+    verify(bookRepository, times(1)).save(testBook);
+  }
+
   /**
    * UC-BOOK-004: updateBook
    * Test: shouldUpdateBook_WhenPublisherIdChanged
@@ -376,7 +440,7 @@ class BookServiceImplTest {
     when(bookMapper.toDTO(testBook)).thenReturn(testBookDTO);
 
     // Act
-    BookDTO result = bookService.updateBook(testBookId, testBookUpdateDTO);
+    BookDTO result = bookService.updateBook(testBookId, testBookUpdateDTO, null);
 
     // Assert
     assertNotNull(result);
@@ -393,16 +457,18 @@ class BookServiceImplTest {
   void shouldDeleteBook_WhenNoActiveLoans() {
     // Arrange
     when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
-    when(loanRepository.findListByBookIdAndStatus(testBookId, LoanStatus.BORROWED))
-        .thenReturn(new ArrayList<>());
+    when(loanRepository.existsActiveLoanByBookId(testBookId)).thenReturn(false);
 
     // Act
-    bookService.deleteBook(testBookId);
+    bookService.deleteBook(testBookId, null);
 
     // Assert
     verify(bookRepository, times(1)).findById(testBookId);
-    verify(loanRepository, times(1)).findListByBookIdAndStatus(testBookId, LoanStatus.BORROWED);
+    verify(loanRepository, times(1)).existsActiveLoanByBookId(testBookId);
     verify(bookRepository, times(1)).delete(testBook);
+    verify(catalogIndexer, times(1)).remove(testBookId);
+    verify(catalogVersion, times(1)).changed();
+    verify(eventPublisher, times(1)).publishEvent(new BookDeletedEvent(testBookId));
   }
 
   /**
@@ -413,19 +479,40 @@ class BookServiceImplTest {
   @DisplayName("Should throw exception when has active loans")
   void shouldThrowException_WhenHasActiveLoans() {
     // Arrange
-    List<Loan> activeLoans = List.of(TestDataBuilder.createLoan());
-
     when(bookRepository.findById(testBookId)).thenReturn(Optional.of(testBook));
-    when(loanRepository.findListByBookIdAndStatus(testBookId, LoanStatus.BORROWED))
-        .thenReturn(activeLoans);
+    when(loanRepository.existsActiveLoanByBookId(testBookId)).thenReturn(true);
 
     // Act & Assert
     assertThrows(BusinessRuleException.class, () -> {
-      bookService.deleteBook(testBookId);
+      bookService.deleteBook(testBookId, null);
     });
 
     verify(bookRepository, times(1)).findById(testBookId);
-    verify(loanRepository, times(1)).findListByBookIdAndStatus(testBookId, LoanStatus.BORROWED);
+    verify(loanRepository, times(1)).existsActiveLoanByBookId(testBookId);
     verify(bookRepository, never()).delete(any());
+    verify(catalogIndexer, never()).remove(any());
+    verify(catalogVersion, never()).changed();
+  }
+
+  /**
+   * UC-BOOK-002: getBooksAfter
+   * Test: shouldGetBooksAfter_WhenCursorGiven
+   */
+  @Test
+  @DisplayName("Should seek past title cursor and load associations for the page")
+  void shouldGetBooksAfter_WhenCursorGiven() {
+    // Arrange
+    String after = KeysetCursor.of("Clean Code", 7L).encode();
+    List<Book> books = List.of(testBook);
+    when(bookRepository.findPageAfter("Clean Code", 7L, Limit.of(21))).thenReturn(books);
+    when(bookMapper.toDTO(testBook)).thenReturn(testBookDTO);
+
+    // Act
+    CursorSliceDTO<BookDTO> result = bookService.getBooksAfter(after, 20);
+
+    // Assert
+    assertEquals(List.of(testBookDTO), result.getContent());
+    assertNull(result.getNextCursor());
+    verify(bookRepository, times(1)).fetchAuthorsAndCategories(books);
   }
 }
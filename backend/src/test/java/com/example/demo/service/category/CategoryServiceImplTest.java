@@ -1,10 +1,12 @@
 package com.example.demo.service.category;
 
+import com.example.demo.catalog.CatalogVersion;
 import com.example.demo.dto.category.CategoryDTO;
 import com.example.demo.dto.category.CategoryDetailDTO;
 import com.example.demo.dto.category.CategoryRequestDTO;
 import com.example.demo.dto.category.CategoryUpdateDTO;
 import com.example.demo.entity.Category;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.CategoryMapper;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -43,6 +46,12 @@ class CategoryServiceImplTest {
   @Mock
   private CategoryMapper categoryMapper;
 
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private CategoryServiceImpl categoryService;
 
@@ -79,6 +88,7 @@ class CategoryServiceImplTest {
     assertEquals(categoryDTO.getId(), result.getId());
     verify(categoryMapper, times(1)).toEntity(categoryRequestDTO);
     verify(categoryRepository, times(1)).save(category);
+    verify(catalogVersion, times(1)).changed();
     verify(categoryMapper, times(1)).toDTO(category);
   }
 
@@ -144,14 +154,17 @@ class CategoryServiceImplTest {
     when(categoryMapper.toDTO(category)).thenReturn(categoryDTO);
 
     // Act
-    CategoryDTO result = categoryService.updateCategory(categoryId, categoryUpdateDTO);
+    CategoryDTO result = categoryService.updateCategory(categoryId, categoryUpdateDTO, null);
 
     // Assert
     assertNotNull(result);
     verify(categoryRepository, times(1)).findById(categoryId);
     verify(categoryMapper, times(1)).updateEntityFromDTO(category, categoryUpdateDTO);
     verify(categoryRepository, times(1)).save(category);
+    verify(catalogVersion, times(1)).changed();
     verify(categoryMapper, times(1)).toDTO(category);
+    verify(eventPublisher, times(1)).publishEvent(
+        new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.CATEGORY, categoryId));
   }
 
   @Test
@@ -162,7 +175,7 @@ class CategoryServiceImplTest {
 
     // Act & Assert
     assertThrows(ResourceNotFoundException.class, () -> {
-      categoryService.updateCategory(categoryId, categoryUpdateDTO);
+      categoryService.updateCategory(categoryId, categoryUpdateDTO, null);
     });
 
     verify(categoryRepository, times(1)).findById(categoryId);
@@ -178,11 +191,12 @@ class CategoryServiceImplTest {
     when(categoryRepository.findById(categoryId)).thenReturn(Optional.of(category));
 
     // Act
-    categoryService.deleteCategory(categoryId);
+    categoryService.deleteCategory(categoryId, null);
 
     // Assert
     verify(categoryRepository, times(1)).findById(categoryId);
     verify(categoryRepository, times(1)).delete(category);
+    verify(catalogVersion, times(1)).changed();
   }
 
   @Test
@@ -195,10 +209,11 @@ class CategoryServiceImplTest {
 
     // Act & Assert
     assertThrows(BusinessRuleException.class, () -> {
-      categoryService.deleteCategory(categoryId);
+      categoryService.deleteCategory(categoryId, null);
     });
 
     verify(categoryRepository, times(1)).findById(categoryId);
     verify(categoryRepository, never()).delete(any());
+    verify(catalogVersion, never()).changed();
   }
 }
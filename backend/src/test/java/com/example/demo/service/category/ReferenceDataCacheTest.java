@@ -0,0 +1,91 @@
+package com.example.demo.service.category;
+
+import com.example.demo.config.CacheRegions;
+import com.example.demo.dto.category.CategoryDTO;
+import com.example.demo.dto.category.CategoryRequestDTO;
+import com.example.demo.dto.category.CategoryUpdateDTO;
+import com.example.demo.repository.CategoryRepository;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Checks the second-level cache for reference data: repeated reads are served from the cache and
+ * writes through CategoryService are visible immediately.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("Reference data cache Tests")
+class ReferenceDataCacheTest {
+
+  @Autowired
+  private CategoryService categoryService;
+
+  @Autowired
+  private CategoryRepository categoryRepository;
+
+  @Autowired
+  private EntityManagerFactory entityManagerFactory;
+
+  private Statistics statistics;
+  private String name;
+  private Long categoryId;
+
+  @BeforeEach
+  void setUp() {
+    statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    name = "cache-test-" + UUID.randomUUID();
+    categoryId = categoryService.createCategory(new CategoryRequestDTO(name, null)).getId();
+    statistics.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    categoryService.deleteCategory(categoryId, null);
+  }
+
+  @Test
+  @DisplayName("Should serve repeated findById from the entity cache")
+  void shouldHitEntityCache_WhenReadTwice() {
+    // Arrange
+    categoryRepository.findById(categoryId);
+    statistics.clear();
+
+    // Act
+    categoryRepository.findById(categoryId);
+    categoryRepository.findById(categoryId);
+
+    // Assert
+    assertEquals(2, statistics.getDomainDataRegionStatistics(CacheRegions.CATEGORIES).getHitCount());
+    assertEquals(0, statistics.getPrepareStatementCount());
+  }
+
+  @Test
+  @DisplayName("Should serve repeated findByName from the query cache until the category changes")
+  void shouldInvalidateQueryCache_WhenCategoryUpdated() {
+    // Arrange
+    categoryRepository.findByName(name);
+    categoryRepository.findByName(name);
+    assertEquals(1, statistics.getQueryRegionStatistics(CacheRegions.REFERENCE_QUERIES).getHitCount());
+
+    // Act
+    CategoryDTO updated = categoryService.updateCategory(
+        categoryId, new CategoryUpdateDTO(name + "-renamed", "changed"), null);
+
+    // Assert
+    assertTrue(categoryRepository.findByName(name).isEmpty());
+    assertEquals("changed", categoryRepository.findByName(updated.getName()).orElseThrow().getDescription());
+    assertEquals("changed", categoryRepository.findById(categoryId).orElseThrow().getDescription());
+  }
+}
@@ -1,10 +1,12 @@
 package com.example.demo.service.publisher;
 
+import com.example.demo.catalog.CatalogVersion;
 import com.example.demo.dto.publisher.PublisherDTO;
 import com.example.demo.dto.publisher.PublisherDetailDTO;
 import com.example.demo.dto.publisher.PublisherRequestDTO;
 import com.example.demo.dto.publisher.PublisherUpdateDTO;
 import com.example.demo.entity.Publisher;
+import com.example.demo.event.BookReferenceChangedEvent;
 import com.example.demo.exception.BusinessRuleException;
 import com.example.demo.exception.ResourceNotFoundException;
 import com.example.demo.mapper.PublisherMapper;
@@ -17,6 +19,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -43,6 +46,12 @@ class PublisherServiceImplTest {
   @Mock
   private PublisherMapper publisherMapper;
 
+  @Mock
+  private CatalogVersion catalogVersion;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
   @InjectMocks
   private PublisherServiceImpl publisherService;
 
@@ -79,6 +88,7 @@ class PublisherServiceImplTest {
     assertEquals(publisherDTO.getId(), result.getId());
     verify(publisherMapper, times(1)).toEntity(publisherRequestDTO);
     verify(publisherRepository, times(1)).save(publisher);
+    verify(catalogVersion, times(1)).changed();
     verify(publisherMapper, times(1)).toDTO(publisher);
   }
 
@@ -144,14 +154,17 @@ class PublisherServiceImplTest {
     when(publisherMapper.toDTO(publisher)).thenReturn(publisherDTO);
 
     // Act
-    PublisherDTO result = publisherService.updatePublisher(publisherId, publisherUpdateDTO);
+    PublisherDTO result = publisherService.updatePublisher(publisherId, publisherUpdateDTO, null);
 
     // Assert
     assertNotNull(result);
     verify(publisherRepository, times(1)).findById(publisherId);
     verify(publisherMapper, times(1)).updateEntityFromDTO(publisher, publisherUpdateDTO);
     verify(publisherRepository, times(1)).save(publisher);
+    verify(catalogVersion, times(1)).changed();
     verify(publisherMapper, times(1)).toDTO(publisher);
+    verify(eventPublisher, times(1)).publishEvent(
+        new BookReferenceChangedEvent(BookReferenceChangedEvent.Type.PUBLISHER, publisherId));
   }
 
   @Test
@@ -162,7 +175,7 @@ class PublisherServiceImplTest {
 
     // Act & Assert
     assertThrows(ResourceNotFoundException.class, () -> {
-      publisherService.updatePublisher(publisherId, publisherUpdateDTO);
+      publisherService.updatePublisher(publisherId, publisherUpdateDTO, null);
     });
 
     verify(publisherRepository, times(1)).findById(publisherId);
@@ -178,11 +191,12 @@ class PublisherServiceImplTest {
     when(publisherRepository.findById(publisherId)).thenReturn(Optional.of(publisher));
 
     // Act
-    publisherService.deletePublisher(publisherId);
+    publisherService.deletePublisher(publisherId, null);
 
     // Assert
     verify(publisherRepository, times(1)).findById(publisherId);
     verify(publisherRepository, times(1)).delete(publisher);
+    verify(catalogVersion, times(1)).changed();
   }
 
   @Test
@@ -195,10 +209,11 @@ class PublisherServiceImplTest {
 
     // Act & Assert
     assertThrows(BusinessRuleException.class, () -> {
-      publisherService.deletePublisher(publisherId);
+      publisherService.deletePublisher(publisherId, null);
     });
 
     verify(publisherRepository, times(1)).findById(publisherId);
     verify(publisherRepository, never()).delete(any());
+    verify(catalogVersion, never()).changed();
   }
 }
@@ -1,35 +1,52 @@
 package com.example.demo.service.report;
 
+import com.example.demo.config.CacheRegions;
+import com.example.demo.dto.book.BookDTO;
+import com.example.demo.dto.loan.LoanDayCountDTO;
 import com.example.demo.dto.loan.LoanReportDTO;
+import com.example.demo.dto.report.CacheRegionStatsDTO;
 import com.example.demo.dto.report.DashboardStatisticsDTO;
 import com.example.demo.dto.review.ReviewReportDTO;
 import com.example.demo.entity.Book;
-import com.example.demo.entity.Loan;
-import com.example.demo.entity.Review;
-import com.example.demo.enums.LoanStatus;
+import com.example.demo.entity.BookStats;
+import com.example.demo.entity.DashboardStats;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
+import com.example.demo.repository.DashboardStatsRepository;
 import com.example.demo.repository.LoanRepository;
-import com.example.demo.repository.ReviewRepository;
-import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ParallelReadQueries;
 import com.example.demo.service.ReportServiceImpl;
+import com.example.demo.stats.MostBorrowedBooks;
 import com.example.demo.util.TestDataBuilder;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.Duration;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 /**
@@ -43,47 +60,57 @@ class ReportServiceImplTest {
   private BookRepository bookRepository;
 
   @Mock
-  private UserRepository userRepository;
+  private LoanRepository loanRepository;
 
   @Mock
-  private LoanRepository loanRepository;
+  private BookStatsRepository bookStatsRepository;
 
   @Mock
-  private ReviewRepository reviewRepository;
+  private DashboardStatsRepository dashboardStatsRepository;
+
+  @Mock
+  private MostBorrowedBooks mostBorrowedBooks;
 
   @Mock
   private BookMapper bookMapper;
 
+  @Mock
+  private EntityManagerFactory entityManagerFactory;
+
+  private final ExecutorService reportExecutor = Executors.newFixedThreadPool(2);
+
+  @Spy
+  private ParallelReadQueries parallelReadQueries =
+      new ParallelReadQueries(reportExecutor, mock(PlatformTransactionManager.class), mock(JdbcTemplate.class),
+          Duration.ofSeconds(5));
+
   @InjectMocks
   private ReportServiceImpl reportService;
 
   private Book book;
-  private Loan loan;
-  private Review review;
 
   @BeforeEach
   void setUp() {
     book = TestDataBuilder.createBook();
-    loan = new Loan();
-    loan.setId(1L);
-    loan.setStatus(LoanStatus.BORROWED);
-    loan.setBorrowDate(LocalDateTime.now());
-    review = TestDataBuilder.createReview();
+  }
+
+  @AfterEach
+  void tearDown() {
+    reportExecutor.shutdownNow();
   }
 
   @Test
   @DisplayName("UC-REPORT-001: shouldGetDashboardStatistics_WhenValid")
   void shouldGetDashboardStatistics_WhenValid() {
     // Arrange
-    when(bookRepository.count()).thenReturn(10L);
-    when(userRepository.count()).thenReturn(5L);
-    when(loanRepository.countByStatus(LoanStatus.BORROWED)).thenReturn(3L);
-    when(loanRepository.countByStatus(LoanStatus.OVERDUE)).thenReturn(1L);
-    Pageable pageable = PageRequest.of(0, 5);
-    List<Object[]> mostBorrowedRaw = new ArrayList<>();
-    mostBorrowedRaw.add(new Object[] { book, 5L });
-    when(bookRepository.findMostBorrowedBooks(pageable)).thenReturn(mostBorrowedRaw);
-    when(bookMapper.toDTO(book)).thenReturn(TestDataBuilder.createBookDTO());
+    // Counts from the last recount in the first stripe, deltas since then spread over the others
+    List<DashboardStats> stripes = List.of(
+        new DashboardStats((short) 1, 8L, 5L, 2L, 1L, LocalDateTime.now()),
+        new DashboardStats((short) 2, 2L, 0L, 2L, 0L, LocalDateTime.now()),
+        new DashboardStats((short) 3, 0L, 0L, -1L, 0L, LocalDateTime.now()));
+    List<BookDTO> mostBorrowed = List.of(TestDataBuilder.createBookDTO());
+    when(dashboardStatsRepository.findAll()).thenReturn(stripes);
+    when(mostBorrowedBooks.top()).thenReturn(mostBorrowed);
 
     // Act
     DashboardStatisticsDTO result = reportService.getDashboardStatistics();
@@ -94,10 +121,10 @@ class ReportServiceImplTest {
     assertEquals(5L, result.getTotalUsers());
     assertEquals(3L, result.getActiveLoans());
     assertEquals(1L, result.getOverdueLoans());
-    verify(bookRepository, times(1)).count();
-    verify(userRepository, times(1)).count();
-    verify(loanRepository, times(1)).countByStatus(LoanStatus.BORROWED);
-    verify(loanRepository, times(1)).countByStatus(LoanStatus.OVERDUE);
+    assertEquals(mostBorrowed, result.getMostBorrowedBooks());
+    verify(bookRepository, never()).count();
+    verify(loanRepository, never()).countByStatus(any());
+    verify(bookRepository, never()).findMostBorrowedBooks(any());
   }
 
   @Test
@@ -108,11 +135,12 @@ class ReportServiceImplTest {
     LocalDate endDate = LocalDate.now();
     LocalDateTime startDateTime = startDate.atStartOfDay();
     LocalDateTime endDateTime = endDate.atTime(23, 59, 59, 999_999_999);
-    List<Loan> loans = List.of(loan);
+    LocalDate day = endDate.minusDays(1);
 
-    when(loanRepository.findLoansByDateRange(startDateTime, endDateTime)).thenReturn(loans);
-    when(loanRepository.countLoansByDateRangeAndStatus(startDateTime, endDateTime, LoanStatus.BORROWED)).thenReturn(5L);
-    when(loanRepository.countLoansByDateRangeAndStatus(startDateTime, endDateTime, LoanStatus.RETURNED)).thenReturn(3L);
+    when(loanRepository.countLoansByBorrowDay(startDateTime, endDateTime))
+        .thenReturn(List.of(new LoanDayCountDTO(day, 4L, 1L, 3L), new LoanDayCountDTO(endDate, 2L, 2L, 0L)));
+    when(loanRepository.countReturnsByReturnDay(startDateTime, endDateTime))
+        .thenReturn(List.of(new LoanDayCountDTO(endDate, 3L)));
 
     // Act
     LoanReportDTO result = reportService.getLoanReport(startDate, endDate);
@@ -121,7 +149,38 @@ class ReportServiceImplTest {
     assertNotNull(result);
     assertEquals(startDate, result.getStartDate());
     assertEquals(endDate, result.getEndDate());
-    verify(loanRepository, times(1)).findLoansByDateRange(startDateTime, endDateTime);
+    assertEquals(4L, result.getBorrowsByDate().get(day));
+    assertEquals(2L, result.getBorrowsByDate().get(endDate));
+    assertEquals(3L, result.getReturnsByDate().get(endDate));
+    assertEquals(3L, result.getTotalBorrows());
+    assertEquals(3L, result.getTotalReturns());
+    assertFalse(result.isDegraded());
+    verify(loanRepository, never()).findLoansByDateRange(any(), any());
+    verify(loanRepository, never()).countLoansByDateRangeAndStatus(any(), any(), any());
+  }
+
+  @Test
+  @DisplayName("UC-REPORT-002: shouldReturnDegradedLoanReport_WhenOneQueryTimesOut")
+  void shouldReturnDegradedLoanReport_WhenOneQueryTimesOut() {
+    // Arrange
+    LocalDate startDate = LocalDate.now().minusDays(30);
+    LocalDate endDate = LocalDate.now();
+    LocalDateTime startDateTime = startDate.atStartOfDay();
+    LocalDateTime endDateTime = endDate.atTime(23, 59, 59, 999_999_999);
+
+    when(loanRepository.countLoansByBorrowDay(startDateTime, endDateTime))
+        .thenReturn(List.of(new LoanDayCountDTO(endDate, 2L, 1L, 1L)));
+    when(loanRepository.countReturnsByReturnDay(startDateTime, endDateTime))
+        .thenThrow(new QueryTimeoutException("canceling statement due to statement timeout"));
+
+    // Act
+    LoanReportDTO result = reportService.getLoanReport(startDate, endDate);
+
+    // Assert
+    assertTrue(result.isDegraded());
+    assertEquals(2L, result.getBorrowsByDate().get(endDate));
+    assertEquals(1L, result.getTotalBorrows());
+    assertNull(result.getReturnsByDate());
   }
 
   @Test
@@ -129,14 +188,12 @@ class ReportServiceImplTest {
   void shouldGetReviewReport_WhenBookIdProvided() {
     // Arrange
     Long bookId = 1L;
-    List<Review> reviews = List.of(review);
     Double averageRating = 4.5;
     Long totalReviews = 10L;
+    BookStats stats = new BookStats(bookId, book, 10, 45, 0, 0, 0, 5, 5, averageRating);
 
     when(bookRepository.findById(bookId)).thenReturn(java.util.Optional.of(book));
-    when(reviewRepository.findListByBookId(bookId)).thenReturn(reviews);
-    when(reviewRepository.getAverageRatingByBookId(bookId)).thenReturn(averageRating);
-    when(reviewRepository.countReviewsByBookId(bookId)).thenReturn(totalReviews);
+    when(bookStatsRepository.findById(bookId)).thenReturn(java.util.Optional.of(stats));
 
     // Act
     ReviewReportDTO result = reportService.getReviewReport(bookId);
@@ -146,8 +203,9 @@ class ReportServiceImplTest {
     assertEquals(bookId, result.getBookId());
     assertEquals(averageRating, result.getAverageRating());
     assertEquals(totalReviews, result.getTotalReviews());
+    assertEquals(java.util.Map.of(4, 5L, 5, 5L), result.getRatingDistribution());
     verify(bookRepository, times(1)).findById(bookId);
-    verify(reviewRepository, times(1)).findListByBookId(bookId);
+    verify(bookStatsRepository, times(1)).findById(bookId);
   }
 
   @Test
@@ -168,4 +226,34 @@ class ReportServiceImplTest {
     assertNotNull(result);
     verify(bookRepository, times(1)).findTopRatedBooks(minRating, pageable);
   }
+
+  @Test
+  @DisplayName("UC-REPORT-004: shouldGetCacheStatistics_ForEachRegion")
+  void shouldGetCacheStatistics_ForEachRegion() {
+    // Arrange
+    SessionFactory sessionFactory = mock(SessionFactory.class);
+    Statistics statistics = mock(Statistics.class);
+    CacheRegionStatistics categories = mock(CacheRegionStatistics.class);
+    CacheRegionStatistics other = mock(CacheRegionStatistics.class);
+    when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+    when(sessionFactory.getStatistics()).thenReturn(statistics);
+    when(statistics.getDomainDataRegionStatistics(CacheRegions.CATEGORIES)).thenReturn(categories);
+    when(statistics.getDomainDataRegionStatistics(CacheRegions.PUBLISHERS)).thenReturn(other);
+    when(statistics.getDomainDataRegionStatistics(CacheRegions.AUTHORS)).thenReturn(other);
+    when(statistics.getQueryRegionStatistics(CacheRegions.REFERENCE_QUERIES)).thenReturn(null);
+    when(categories.getHitCount()).thenReturn(3L);
+    when(categories.getMissCount()).thenReturn(1L);
+    when(categories.getPutCount()).thenReturn(1L);
+
+    // Act
+    List<CacheRegionStatsDTO> result = reportService.getCacheStatistics();
+
+    // Assert
+    assertEquals(4, result.size());
+    assertEquals(CacheRegions.CATEGORIES, result.get(0).getRegion());
+    assertEquals(3L, result.get(0).getHitCount());
+    assertEquals(0.75, result.get(0).getHitRatio());
+    assertEquals(CacheRegions.REFERENCE_QUERIES, result.get(3).getRegion());
+    assertEquals(0L, result.get(3).getHitCount());
+  }
 }
@@ -0,0 +1,114 @@
+package com.example.demo.service.review;
+
+import com.example.demo.dto.review.ReviewRequestDTO;
+import com.example.demo.dto.review.ReviewUpdateDTO;
+import com.example.demo.entity.Book;
+import com.example.demo.entity.User;
+import com.example.demo.enums.UserStatus;
+import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.UserRepository;
+import com.example.demo.service.ReviewService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Changes the rating of one review from many threads at once and checks that book_stats still matches the review.
+ * Runs against the seeded local database (same as DemoApplicationTests).
+ */
+@SpringBootTest
+@DisplayName("Review rating concurrency Tests")
+class ReviewRatingConcurrencyTest {
+
+  private static final int THREADS = 32;
+
+  @Autowired
+  private ReviewService reviewService;
+
+  @Autowired
+  private UserRepository userRepository;
+
+  @Autowired
+  private BookRepository bookRepository;
+
+  @Autowired
+  private JdbcTemplate jdbcTemplate;
+
+  private Long userId;
+  private Long bookId;
+  private Long reviewId;
+
+  @BeforeEach
+  void setUp() {
+    String suffix = Long.toString(System.nanoTime(), 36);
+    User user = userRepository.save(User.builder()
+        .email("rating-" + suffix + "@example.com")
+        .passwordHash("not-a-real-hash")
+        .fullName("Rating Test User")
+        .status(UserStatus.ACTIVE)
+        .build());
+    Book book = bookRepository.save(Book.builder()
+        .title("Rating Test Book")
+        .isbn("RATING-" + suffix)
+        .build());
+    userId = user.getId();
+    bookId = book.getId();
+    reviewId = reviewService.createReview(new ReviewRequestDTO(userId, bookId, 3, "First read")).getId();
+  }
+
+  @AfterEach
+  void tearDown() {
+    jdbcTemplate.update("DELETE FROM reviews WHERE book_id = ?", bookId);
+    bookRepository.deleteById(bookId);
+    userRepository.deleteById(userId);
+  }
+
+  @Test
+  @DisplayName("UC-REVIEW-003: concurrent rating changes of one review keep book_stats consistent")
+  void shouldKeepBookStatsConsistent_WhenRatingUpdatedConcurrently() throws Exception {
+    // Arrange
+    ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+    CountDownLatch start = new CountDownLatch(1);
+    List<Future<?>> results = new ArrayList<>();
+    for (int i = 0; i < THREADS; i++) {
+      int rating = 1 + i % 5;
+      results.add(executor.submit(() -> {
+        start.await();
+        return reviewService.updateReview(reviewId, new ReviewUpdateDTO(rating, "Changed my mind"), userId, false);
+      }));
+    }
+
+    // Act
+    start.countDown();
+    for (Future<?> result : results) {
+      result.get(30, TimeUnit.SECONDS);
+    }
+    executor.shutdown();
+
+    // Assert
+    assertTrue(executor.awaitTermination(10, TimeUnit.SECONDS));
+    int rating = jdbcTemplate.queryForObject("SELECT rating FROM reviews WHERE id = ?", Integer.class, reviewId);
+    Map<String, Object> stats = jdbcTemplate.queryForMap("SELECT * FROM book_stats WHERE book_id = ?", bookId);
+    assertEquals(1, ((Number) stats.get("review_count")).intValue());
+    assertEquals(rating, ((Number) stats.get("rating_sum")).intValue());
+    for (int stars = 1; stars <= 5; stars++) {
+      assertEquals(stars == rating ? 1 : 0, ((Number) stats.get("rating_" + stars)).intValue(), "rating_" + stars);
+    }
+  }
+}
@@ -1,16 +1,22 @@
 package com.example.demo.service.review;
 
+import com.example.demo.catalog.CatalogVersion;
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
+import com.example.demo.dto.common.ListLimit;
 import com.example.demo.dto.review.AverageRatingDTO;
 import com.example.demo.dto.review.ReviewDTO;
 import com.example.demo.dto.review.ReviewRequestDTO;
 import com.example.demo.dto.review.ReviewUpdateDTO;
 import com.example.demo.entity.Book;
+import com.example.demo.entity.BookStats;
 import com.example.demo.entity.Review;
 import com.example.demo.entity.User;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.DuplicateResourceException;
 import com.example.demo.mapper.ReviewMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.repository.BookStatsRepository;
 import com.example.demo.repository.ReviewRepository;
 import com.example.demo.repository.UserRepository;
 import com.example.demo.service.ReviewServiceImpl;
@@ -22,6 +28,7 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
@@ -30,6 +37,8 @@ import org.springframework.data.domain.Pageable;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -52,9 +61,15 @@ class ReviewServiceImplTest {
   @Mock
   private BookRepository bookRepository;
 
+  @Mock
+  private BookStatsRepository bookStatsRepository;
+
   @Mock
   private ReviewMapper reviewMapper;
 
+  @Mock
+  private CatalogVersion catalogVersion;
+
   @InjectMocks
   private ReviewServiceImpl reviewService;
 
@@ -95,6 +110,8 @@ class ReviewServiceImplTest {
     verify(bookRepository, times(1)).findById(reviewRequestDTO.getBookId());
     verify(reviewRepository, times(1)).findByUserIdAndBookId(reviewRequestDTO.getUserId(), reviewRequestDTO.getBookId());
     verify(reviewRepository, times(1)).save(any(Review.class));
+    verify(catalogVersion, times(1)).changed();
+    verify(bookStatsRepository, times(1)).addRating(book.getId(), review.getRating(), 1);
     verify(reviewMapper, times(1)).toDTO(review);
   }
 
@@ -110,6 +127,7 @@ class ReviewServiceImplTest {
     // Act & Assert
     assertThrows(DuplicateResourceException.class, () -> reviewService.createReview(reviewRequestDTO));
     verify(reviewRepository, never()).save(any(Review.class));
+    verifyNoInteractions(bookStatsRepository);
   }
 
   @Test
@@ -131,20 +149,48 @@ class ReviewServiceImplTest {
     updatedDTO.setRating(4);
     updatedDTO.setComment("Updated comment");
 
-    when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
     when(reviewRepository.save(any(Review.class))).thenReturn(updatedReview);
     when(reviewMapper.toDTO(updatedReview)).thenReturn(updatedDTO);
 
     // Act
-    ReviewDTO result = reviewService.updateReview(reviewId, updateDTO, userId);
+    ReviewDTO result = reviewService.updateReview(reviewId, updateDTO, userId, false);
 
     // Assert
     assertNotNull(result);
     assertEquals(4, result.getRating());
     assertEquals("Updated comment", result.getComment());
-    verify(reviewRepository, times(1)).findById(reviewId);
+    verify(reviewRepository, times(1)).findByIdForUpdate(reviewId);
     verify(reviewMapper, times(1)).updateEntityFromDTO(eq(existingReview), eq(updateDTO));
     verify(reviewRepository, times(1)).save(existingReview);
+    verify(bookStatsRepository, times(1)).addRating(existingReview.getBook().getId(), 5, -1);
+    verify(bookStatsRepository, times(1)).addRating(existingReview.getBook().getId(), 4, 1);
+    verify(catalogVersion, times(1)).changed();
+  }
+
+  @Test
+  @DisplayName("UC-REVIEW-002: shouldNotTouchBookStats_WhenRatingUnchanged")
+  void shouldNotTouchBookStats_WhenRatingUnchanged() {
+    // Arrange
+    Long reviewId = 1L;
+    Long userId = 1L;
+    ReviewUpdateDTO updateDTO = new ReviewUpdateDTO();
+    updateDTO.setRating(5);
+    updateDTO.setComment("Updated comment");
+
+    Review existingReview = TestDataBuilder.createReviewWithUserId(userId);
+
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.save(any(Review.class))).thenReturn(existingReview);
+    when(reviewMapper.toDTO(existingReview)).thenReturn(reviewDTO);
+
+    // Act
+    reviewService.updateReview(reviewId, updateDTO, userId, false);
+
+    // Assert
+    verify(reviewRepository, times(1)).save(existingReview);
+    verifyNoInteractions(bookStatsRepository);
+    verify(catalogVersion, never()).changed();
   }
 
   @Test
@@ -159,10 +205,10 @@ class ReviewServiceImplTest {
 
     Review existingReview = TestDataBuilder.createReviewWithUserId(differentUserId);
 
-    when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
 
     // Act & Assert
-    assertThrows(BusinessException.class, () -> reviewService.updateReview(reviewId, updateDTO, userId));
+    assertThrows(BusinessException.class, () -> reviewService.updateReview(reviewId, updateDTO, userId, false));
     verify(reviewRepository, never()).save(any(Review.class));
   }
 
@@ -174,14 +220,16 @@ class ReviewServiceImplTest {
     Long userId = 1L;
     Review existingReview = TestDataBuilder.createReviewWithUserId(userId);
 
-    when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
 
     // Act
     reviewService.deleteReview(reviewId, userId, false);
 
     // Assert
-    verify(reviewRepository, times(1)).findById(reviewId);
+    verify(reviewRepository, times(1)).findByIdForUpdate(reviewId);
     verify(reviewRepository, times(1)).delete(existingReview);
+    verify(catalogVersion, times(1)).changed();
+    verify(bookStatsRepository, times(1)).addRating(existingReview.getBook().getId(), existingReview.getRating(), -1);
   }
 
   @Test
@@ -193,14 +241,15 @@ class ReviewServiceImplTest {
     Long differentUserId = 2L;
     Review existingReview = TestDataBuilder.createReviewWithUserId(differentUserId);
 
-    when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
 
     // Act
     reviewService.deleteReview(reviewId, userId, true);
 
     // Assert
-    verify(reviewRepository, times(1)).findById(reviewId);
+    verify(reviewRepository, times(1)).findByIdForUpdate(reviewId);
     verify(reviewRepository, times(1)).delete(existingReview);
+    verify(catalogVersion, times(1)).changed();
   }
 
   @Test
@@ -212,7 +261,7 @@ class ReviewServiceImplTest {
     Long differentUserId = 2L;
     Review existingReview = TestDataBuilder.createReviewWithUserId(differentUserId);
 
-    when(reviewRepository.findById(reviewId)).thenReturn(Optional.of(existingReview));
+    when(reviewRepository.findByIdForUpdate(reviewId)).thenReturn(Optional.of(existingReview));
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> reviewService.deleteReview(reviewId, userId, false));
@@ -247,20 +296,51 @@ class ReviewServiceImplTest {
   void shouldGetReviewsByUserId_WhenExists() {
     // Arrange
     Long userId = 1L;
-    List<Review> reviews = new ArrayList<>();
-    reviews.add(review);
 
-    when(reviewRepository.findByUserId(userId)).thenReturn(reviews);
-    when(reviewMapper.toDTO(any(Review.class))).thenReturn(reviewDTO);
+    when(reviewRepository.findReviewDTOsByUserId(userId, Limit.of(100))).thenReturn(List.of(reviewDTO));
 
     // Act
-    List<ReviewDTO> result = reviewService.getReviewsByUserId(userId);
+    List<ReviewDTO> result = reviewService.getReviewsByUserId(userId, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(reviewRepository, times(1)).findByUserId(userId);
-    verify(reviewMapper, times(1)).toDTO(review);
+    verify(reviewRepository, times(1)).findReviewDTOsByUserId(userId, Limit.of(100));
+    verifyNoInteractions(reviewMapper);
+  }
+
+  @Test
+  @DisplayName("UC-REVIEW-005: shouldClampLimit_WhenGettingReviewsByUserId")
+  void shouldClampLimit_WhenGettingReviewsByUserId() {
+    // Arrange
+    Long userId = 1L;
+    when(reviewRepository.findReviewDTOsByUserId(eq(userId), any(Limit.class))).thenReturn(List.of());
+
+    // Act
+    reviewService.getReviewsByUserId(userId, 50_000);
+    reviewService.getReviewsByUserId(userId, 0);
+
+    // Assert
+    verify(reviewRepository).findReviewDTOsByUserId(userId, Limit.of(ListLimit.MAX));
+    verify(reviewRepository).findReviewDTOsByUserId(userId, Limit.of(1));
+  }
+
+  @Test
+  @DisplayName("UC-REVIEW-005: shouldStreamReviewsByUserId_AndCloseCursor")
+  void shouldStreamReviewsByUserId_AndCloseCursor() {
+    // Arrange
+    Long userId = 1L;
+    AtomicBoolean closed = new AtomicBoolean();
+    when(reviewRepository.streamReviewDTOsByUserId(userId))
+        .thenReturn(Stream.of(reviewDTO).onClose(() -> closed.set(true)));
+    List<ReviewDTO> received = new ArrayList<>();
+
+    // Act
+    reviewService.streamReviewsByUserId(userId, received::add);
+
+    // Assert
+    assertEquals(List.of(reviewDTO), received);
+    assertTrue(closed.get());
   }
 
   @Test
@@ -270,9 +350,9 @@ class ReviewServiceImplTest {
     Long bookId = 1L;
     Double averageRating = 4.5;
     Long totalReviews = 10L;
+    BookStats stats = new BookStats(bookId, book, 10, 45, 0, 0, 0, 5, 5, averageRating);
 
-    when(reviewRepository.getAverageRatingByBookId(bookId)).thenReturn(averageRating);
-    when(reviewRepository.countReviewsByBookId(bookId)).thenReturn(totalReviews);
+    when(bookStatsRepository.findById(bookId)).thenReturn(Optional.of(stats));
     when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
 
     // Act
@@ -282,8 +362,8 @@ class ReviewServiceImplTest {
     assertNotNull(result);
     assertEquals(averageRating, result.getAverageRating());
     assertEquals(totalReviews, result.getTotalReviews());
-    verify(reviewRepository, times(1)).getAverageRatingByBookId(bookId);
-    verify(reviewRepository, times(1)).countReviewsByBookId(bookId);
+    verify(bookStatsRepository, times(1)).findById(bookId);
+    verify(reviewRepository, never()).findListByBookId(any());
   }
 
   @Test
@@ -292,8 +372,7 @@ class ReviewServiceImplTest {
     // Arrange
     Long bookId = 1L;
 
-    when(reviewRepository.getAverageRatingByBookId(bookId)).thenReturn(null);
-    when(reviewRepository.countReviewsByBookId(bookId)).thenReturn(0L);
+    when(bookStatsRepository.findById(bookId)).thenReturn(Optional.empty());
     when(bookRepository.findById(bookId)).thenReturn(Optional.of(book));
 
     // Act
@@ -304,4 +383,22 @@ class ReviewServiceImplTest {
     assertEquals(0.0, result.getAverageRating());
     assertEquals(0L, result.getTotalReviews());
   }
+
+  @Test
+  @DisplayName("UC-REVIEW-004: shouldGetFirstReviewPage_WhenNoCursor")
+  void shouldGetFirstReviewPage_WhenNoCursor() {
+    // Arrange
+    Long bookId = 1L;
+    when(reviewRepository.findPageByBookIdBefore(bookId, KeysetCursor.LATEST, Long.MAX_VALUE, Limit.of(21)))
+        .thenReturn(List.of(review));
+    when(reviewMapper.toDTO(review)).thenReturn(reviewDTO);
+
+    // Act
+    CursorSliceDTO<ReviewDTO> result = reviewService.getReviewsByBookIdAfter(bookId, null, 20);
+
+    // Assert
+    assertEquals(List.of(reviewDTO), result.getContent());
+    assertFalse(result.isHasNext());
+    assertNull(result.getNextCursor());
+  }
 }
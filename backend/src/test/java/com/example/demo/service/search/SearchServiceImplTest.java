@@ -5,8 +5,10 @@ import com.example.demo.dto.book.BookSearchCriteriaDTO;
 import com.example.demo.entity.Book;
 import com.example.demo.mapper.BookMapper;
 import com.example.demo.repository.BookRepository;
+import com.example.demo.search.CatalogIndexer;
 import com.example.demo.service.SearchServiceImpl;
 import com.example.demo.util.TestDataBuilder;
+import jakarta.persistence.EntityManager;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -14,12 +16,17 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.Mockito.*;
@@ -37,6 +44,12 @@ class SearchServiceImplTest {
   @Mock
   private BookMapper bookMapper;
 
+  @Mock
+  private CatalogIndexer catalogIndexer;
+
+  @Mock
+  private EntityManager entityManager;
+
   @InjectMocks
   private SearchServiceImpl searchService;
 
@@ -59,16 +72,17 @@ class SearchServiceImplTest {
     String title = "Test";
 
     List<Book> books = List.of(book);
-    when(bookRepository.advancedSearch(categoryName, authorName, userId, title)).thenReturn(books);
+    when(bookRepository.advancedSearch(categoryName, authorName, userId, title, Limit.of(100))).thenReturn(books);
     when(bookMapper.toDTO(book)).thenReturn(bookDTO);
 
     // Act
-    List<BookDTO> result = searchService.advancedSearch(categoryName, authorName, userId, title);
+    List<BookDTO> result = searchService.advancedSearch(categoryName, authorName, userId, title, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(bookRepository, times(1)).advancedSearch(categoryName, authorName, userId, title);
+    verify(bookRepository, times(1)).advancedSearch(categoryName, authorName, userId, title, Limit.of(100));
+    verify(bookRepository, times(1)).fetchAuthorsAndCategories(books);
     verify(bookMapper, times(1)).toDTO(book);
   }
 
@@ -77,16 +91,40 @@ class SearchServiceImplTest {
   void shouldAdvancedSearch_WhenNoParameters() {
     // Arrange
     List<Book> books = List.of(book);
-    when(bookRepository.advancedSearch(null, null, null, null)).thenReturn(books);
+    when(bookRepository.advancedSearch(null, null, null, null, Limit.of(100))).thenReturn(books);
     when(bookMapper.toDTO(book)).thenReturn(bookDTO);
 
     // Act
-    List<BookDTO> result = searchService.advancedSearch(null, null, null, null);
+    List<BookDTO> result = searchService.advancedSearch(null, null, null, null, 100);
 
     // Assert
     assertNotNull(result);
     assertEquals(1, result.size());
-    verify(bookRepository, times(1)).advancedSearch(null, null, null, null);
+    verify(bookRepository, times(1)).advancedSearch(null, null, null, null, Limit.of(100));
+  }
+
+  @Test
+  @DisplayName("UC-SEARCH-001: shouldStreamAdvancedSearch_InChunks")
+  void shouldStreamAdvancedSearch_InChunks() {
+    // Arrange
+    List<Book> books = IntStream.rangeClosed(1, 501)
+        .mapToObj(i -> TestDataBuilder.createBook())
+        .toList();
+    AtomicBoolean closed = new AtomicBoolean();
+    when(bookRepository.streamAdvancedSearch(null, "John", null, null))
+        .thenReturn(books.stream().onClose(() -> closed.set(true)));
+    when(bookMapper.toDTO(any(Book.class))).thenReturn(bookDTO);
+    List<BookDTO> received = new ArrayList<>();
+
+    // Act
+    searchService.streamAdvancedSearch(null, "John", null, null, received::add);
+
+    // Assert
+    assertEquals(501, received.size());
+    assertTrue(closed.get());
+    // One chunk of 500, then the remaining book: authors/categories loaded and the context cleared per chunk
+    verify(bookRepository, times(2)).fetchAuthorsAndCategories(anyList());
+    verify(entityManager, times(2)).clear();
   }
 
   @Test
@@ -128,6 +166,7 @@ class SearchServiceImplTest {
         criteria.getMaxYear(),
         pageable
     );
+    verify(bookRepository, times(1)).fetchAuthorsAndCategories(books);
     verify(bookMapper, times(1)).toDTO(book);
   }
 
@@ -176,4 +215,68 @@ class SearchServiceImplTest {
         pageable
     );
   }
+
+  @Test
+  @DisplayName("UC-SEARCH-003: shouldFullTextSearch_OrderedByRank")
+  void shouldFullTextSearch_OrderedByRank() {
+    // Arrange
+    Pageable pageable = PageRequest.of(1, 10, Sort.by("title"));
+    List<Book> books = List.of(book);
+    Page<Book> bookPage = new PageImpl<>(books, PageRequest.of(1, 10), 11);
+
+    when(bookRepository.fullTextSearch("clean code", PageRequest.of(1, 10))).thenReturn(bookPage);
+    when(bookMapper.toDTO(book)).thenReturn(bookDTO);
+
+    // Act
+    Page<BookDTO> result = searchService.fullTextSearch("  clean code ", pageable);
+
+    // Assert
+    assertNotNull(result);
+    assertEquals(11, result.getTotalElements());
+    verify(bookRepository, times(1)).fullTextSearch("clean code", PageRequest.of(1, 10));
+    verify(bookRepository, times(1)).fetchPublishers(books);
+    verify(bookRepository, times(1)).fetchAuthorsAndCategories(books);
+  }
+
+  @Test
+  @DisplayName("UC-SEARCH-003: shouldReturnEmptyPage_WhenQueryBlank")
+  void shouldReturnEmptyPage_WhenQueryBlank() {
+    // Act
+    Page<BookDTO> result = searchService.fullTextSearch("   ", PageRequest.of(0, 10));
+
+    // Assert
+    assertTrue(result.isEmpty());
+    verify(bookRepository, never()).fullTextSearch(any(), any());
+  }
+
+  @Test
+  @DisplayName("UC-SEARCH-004: shouldIndexedSearch_WithoutRepository")
+  void shouldIndexedSearch_WithoutRepository() {
+    // Arrange
+    Pageable pageable = PageRequest.of(0, 10);
+    Page<BookDTO> hits = new PageImpl<>(List.of(bookDTO), pageable, 1);
+    when(catalogIndexer.search("nguyen", pageable)).thenReturn(hits);
+
+    // Act
+    Page<BookDTO> result = searchService.indexedSearch("nguyen", pageable);
+
+    // Assert
+    assertEquals(1, result.getTotalElements());
+    verify(catalogIndexer, times(1)).search("nguyen", pageable);
+    verifyNoInteractions(bookRepository, bookMapper);
+  }
+
+  @Test
+  @DisplayName("UC-SEARCH-005: shouldRebuildIndex")
+  void shouldRebuildIndex() {
+    // Arrange
+    when(catalogIndexer.rebuild()).thenReturn(10000);
+
+    // Act
+    int indexed = searchService.rebuildIndex();
+
+    // Assert
+    assertEquals(10000, indexed);
+    verify(catalogIndexer, times(1)).rebuild();
+  }
 }
@@ -1,5 +1,7 @@
 package com.example.demo.service.user;
 
+import com.example.demo.dto.common.CursorSliceDTO;
+import com.example.demo.dto.common.KeysetCursor;
 import com.example.demo.dto.user.ChangePasswordDTO;
 import com.example.demo.dto.user.UpdateUserRoleDTO;
 import com.example.demo.dto.user.UpdateUserStatusDTO;
@@ -12,8 +14,11 @@ import com.example.demo.enums.UserStatus;
 import com.example.demo.exception.BusinessException;
 import com.example.demo.exception.DuplicateResourceException;
 import com.example.demo.exception.ResourceNotFoundException;
+import com.example.demo.exception.ServiceBusyException;
 import com.example.demo.mapper.UserMapper;
 import com.example.demo.repository.UserRepository;
+import com.example.demo.security.PasswordHasher;
+import com.example.demo.security.UserSnapshots;
 import com.example.demo.util.TestDataBuilder;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -22,12 +27,15 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
-import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
 
@@ -49,7 +57,16 @@ class UserServiceImplTest {
   private UserMapper userMapper;
 
   @Mock
-  private PasswordEncoder passwordEncoder;
+  private PasswordHasher passwordHasher;
+
+  @Mock
+  private ApplicationEventPublisher eventPublisher;
+
+  @Mock
+  private UserSnapshots userSnapshots;
+
+  @Mock
+  private PlatformTransactionManager transactionManager;
 
   @InjectMocks
   private UserServiceImpl userService;
@@ -85,7 +102,7 @@ class UserServiceImplTest {
     // Arrange
     when(userRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.empty());
     when(userMapper.toEntity(userRequestDTO)).thenReturn(user);
-    when(passwordEncoder.encode(userRequestDTO.getPassword())).thenReturn("hashedPassword");
+    when(passwordHasher.encode(userRequestDTO.getPassword())).thenReturn("hashedPassword");
     when(userRepository.save(any(User.class))).thenReturn(user);
     when(userMapper.toDTO(user)).thenReturn(userDTO);
 
@@ -96,7 +113,7 @@ class UserServiceImplTest {
     assertNotNull(result);
     assertEquals(userDTO.getId(), result.getId());
     verify(userRepository, times(1)).findByEmail(userRequestDTO.getEmail());
-    verify(passwordEncoder, times(1)).encode(userRequestDTO.getPassword());
+    verify(passwordHasher, times(1)).encode(userRequestDTO.getPassword());
     verify(userRepository, times(1)).save(any(User.class));
     verify(userMapper, times(1)).toDTO(user);
   }
@@ -109,6 +126,21 @@ class UserServiceImplTest {
 
     // Act & Assert
     assertThrows(DuplicateResourceException.class, () -> userService.registerUser(userRequestDTO));
+    verify(passwordHasher, never()).encode(anyString());
+    verify(userRepository, never()).save(any(User.class));
+  }
+
+  @Test
+  @DisplayName("UC-USER-001: shouldNotOpenTransaction_WhenPasswordHashingBusy")
+  void shouldNotOpenTransaction_WhenPasswordHashingBusy() {
+    // Arrange
+    when(userRepository.findByEmail(userRequestDTO.getEmail())).thenReturn(Optional.empty());
+    when(passwordHasher.encode(userRequestDTO.getPassword()))
+        .thenThrow(new ServiceBusyException("Too many logins in progress, please retry", 1));
+
+    // Act & Assert
+    assertThrows(ServiceBusyException.class, () -> userService.registerUser(userRequestDTO));
+    verifyNoInteractions(transactionManager);
     verify(userRepository, never()).save(any(User.class));
   }
 
@@ -181,6 +213,7 @@ class UserServiceImplTest {
     verify(userMapper, times(1)).updateEntityFromDTO(user, userUpdateDTO);
     verify(userRepository, times(1)).save(user);
     verify(userMapper, times(1)).toDTO(user);
+    verify(userSnapshots, times(1)).invalidate(userId);
   }
 
   @Test
@@ -191,17 +224,18 @@ class UserServiceImplTest {
     String hashedOldPassword = "hashedOldPassword";
     user.setPasswordHash(hashedOldPassword);
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(passwordEncoder.matches(changePasswordDTO.getOldPassword(), hashedOldPassword)).thenReturn(true);
-    when(passwordEncoder.encode(changePasswordDTO.getNewPassword())).thenReturn("hashedNewPassword");
+    when(passwordHasher.matches(changePasswordDTO.getOldPassword(), hashedOldPassword)).thenReturn(true);
+    when(passwordHasher.encode(changePasswordDTO.getNewPassword())).thenReturn("hashedNewPassword");
     when(userRepository.save(user)).thenReturn(user);
 
     // Act
     userService.changePassword(userId, changePasswordDTO);
 
     // Assert
-    verify(userRepository, times(1)).findById(userId);
-    verify(passwordEncoder, times(1)).matches(changePasswordDTO.getOldPassword(), hashedOldPassword);
-    verify(passwordEncoder, times(1)).encode(changePasswordDTO.getNewPassword());
+    // Once to check the old password, once more inside the transaction that stores the new hash
+    verify(userRepository, times(2)).findById(userId);
+    verify(passwordHasher, times(1)).matches(changePasswordDTO.getOldPassword(), hashedOldPassword);
+    verify(passwordHasher, times(1)).encode(changePasswordDTO.getNewPassword());
     verify(userRepository, times(1)).save(user);
   }
 
@@ -212,11 +246,11 @@ class UserServiceImplTest {
     Long userId = 1L;
     user.setPasswordHash("hashedOldPassword");
     when(userRepository.findById(userId)).thenReturn(Optional.of(user));
-    when(passwordEncoder.matches(changePasswordDTO.getOldPassword(), user.getPasswordHash())).thenReturn(false);
+    when(passwordHasher.matches(changePasswordDTO.getOldPassword(), user.getPasswordHash())).thenReturn(false);
 
     // Act & Assert
     assertThrows(BusinessException.class, () -> userService.changePassword(userId, changePasswordDTO));
-    verify(passwordEncoder, never()).encode(anyString());
+    verify(passwordHasher, never()).encode(anyString());
     verify(userRepository, never()).save(any(User.class));
   }
 
@@ -237,6 +271,7 @@ class UserServiceImplTest {
     verify(userRepository, times(1)).findById(userId);
     verify(userRepository, times(1)).save(user);
     verify(userMapper, times(1)).toDTO(user);
+    verify(userSnapshots, times(1)).invalidate(userId);
   }
 
   @Test
@@ -256,5 +291,28 @@ class UserServiceImplTest {
     verify(userRepository, times(1)).findById(userId);
     verify(userRepository, times(1)).save(user);
     verify(userMapper, times(1)).toDTO(user);
+    verify(userSnapshots, times(1)).invalidate(userId);
+  }
+
+  @Test
+  @DisplayName("UC-USER-002: shouldGetUsersAfter_WhenCursorGiven")
+  void shouldGetUsersAfter_WhenCursorGiven() {
+    // Arrange
+    LocalDateTime createdAt = LocalDateTime.of(2025, 3, 1, 8, 0);
+    String after = KeysetCursor.of(createdAt, 10L).encode();
+    User older = TestDataBuilder.createUser();
+    older.setId(2L);
+    when(userRepository.findPageBefore(UserStatus.ACTIVE, null, createdAt, 10L, Limit.of(2)))
+        .thenReturn(List.of(user, older));
+    when(userMapper.toDTO(user)).thenReturn(userDTO);
+
+    // Act
+    CursorSliceDTO<UserDTO> result = userService.getUsersAfter(UserStatus.ACTIVE, null, after, 1);
+
+    // Assert
+    assertEquals(List.of(userDTO), result.getContent());
+    assertTrue(result.isHasNext());
+    assertEquals(KeysetCursor.of(user.getCreatedAt(), user.getId()).encode(), result.getNextCursor());
+    verify(userMapper, never()).toDTO(older);
   }
 }
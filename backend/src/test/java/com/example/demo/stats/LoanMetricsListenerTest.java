@@ -0,0 +1,43 @@
+package com.example.demo.stats;
+
+import com.example.demo.enums.LoanStatus;
+import com.example.demo.event.LoanStatusChangedEvent;
+import com.example.demo.event.LoansMarkedOverdueEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Test class for LoanMetricsListener
+ */
+@DisplayName("LoanMetricsListener Tests")
+class LoanMetricsListenerTest {
+
+  private SimpleMeterRegistry meterRegistry;
+  private LoanMetricsListener listener;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    listener = new LoanMetricsListener(meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should count borrows, returns and overdue transitions")
+  void shouldCountTransitions() {
+    // Act
+    listener.countLoan(new LoanStatusChangedEvent(1L, null, LoanStatus.BORROWED));
+    listener.countLoan(new LoanStatusChangedEvent(2L, null, LoanStatus.BORROWED));
+    listener.countLoan(new LoanStatusChangedEvent(1L, LoanStatus.BORROWED, LoanStatus.RETURNED));
+    listener.countLoan(new LoanStatusChangedEvent(2L, LoanStatus.OVERDUE, LoanStatus.RETURNED));
+    listener.countOverdueSweep(new LoansMarkedOverdueEvent(4));
+
+    // Assert
+    assertEquals(2.0, meterRegistry.get("loans.borrowed").counter().count());
+    assertEquals(2.0, meterRegistry.get("loans.returned").counter().count());
+    assertEquals(4.0, meterRegistry.get("loans.overdue").counter().count());
+  }
+}
@@ -0,0 +1,111 @@
+package com.example.demo.stats;
+
+import com.example.demo.dto.book.BookDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Test class for the bounded most-borrowed heap
+ */
+@DisplayName("MostBorrowedBooks Tests")
+class MostBorrowedBooksTest {
+
+  private MostBorrowedBooks mostBorrowed;
+
+  @BeforeEach
+  void setUp() {
+    mostBorrowed = new MostBorrowedBooks(2, 3);
+    mostBorrowed.load(List.of(
+        new MostBorrowedBooks.Ranked(book(1L, "A"), 10),
+        new MostBorrowedBooks.Ranked(book(2L, "B"), 8),
+        new MostBorrowedBooks.Ranked(book(3L, "C"), 5)
+    ));
+  }
+
+  @Test
+  @DisplayName("Should serve only the visible top entries, most borrowed first")
+  void shouldServeVisibleTop() {
+    assertEquals(List.of(1L, 2L), ids());
+  }
+
+  @Test
+  @DisplayName("Should re-rank when a book in the heap is borrowed")
+  void shouldReRank_WhenIncremented() {
+    // Act
+    mostBorrowed.increment(2L);
+    mostBorrowed.increment(2L);
+    mostBorrowed.increment(2L);
+
+    // Assert
+    assertEquals(List.of(2L, 1L), ids());
+    assertFalse(mostBorrowed.increment(99L));
+  }
+
+  @Test
+  @DisplayName("Should admit an outside book only when it beats the minimum")
+  void shouldEvictMinimum_WhenOutsiderBeatsIt() {
+    // Assert
+    assertFalse(mostBorrowed.admits(5));
+    assertTrue(mostBorrowed.admits(6));
+
+    // Act
+    mostBorrowed.offer(book(4L, "D"), 9);
+
+    // Assert
+    assertTrue(mostBorrowed.contains(4L));
+    assertFalse(mostBorrowed.contains(3L));
+    assertEquals(List.of(1L, 4L), ids());
+  }
+
+  @Test
+  @DisplayName("Should ask for a reload when deletions leave fewer than the visible entries")
+  void shouldRequestReload_WhenDepleted() {
+    // Act & Assert
+    assertFalse(mostBorrowed.remove(1L));
+    assertEquals(List.of(2L, 3L), ids());
+    assertFalse(mostBorrowed.admits(100));
+    assertTrue(mostBorrowed.remove(2L));
+  }
+
+  @Test
+  @DisplayName("Should accept any book while the heap holds every book there is")
+  void shouldAdmitAll_WhenComplete() {
+    // Arrange
+    mostBorrowed.load(List.of(new MostBorrowedBooks.Ranked(book(1L, "A"), 3)));
+
+    // Act
+    mostBorrowed.offer(book(2L, "B"), 1);
+
+    // Assert
+    assertEquals(List.of(1L, 2L), ids());
+    assertFalse(mostBorrowed.remove(1L));
+  }
+
+  @Test
+  @DisplayName("Should replace cached details after an update")
+  void shouldRefreshDetails() {
+    // Act
+    mostBorrowed.refresh(book(1L, "A2"));
+
+    // Assert
+    assertEquals("A2", mostBorrowed.top().get(0).getTitle());
+  }
+
+  private List<Long> ids() {
+    return mostBorrowed.top().stream().map(BookDTO::getId).toList();
+  }
+
+  private static BookDTO book(Long id, String title) {
+    BookDTO dto = new BookDTO();
+    dto.setId(id);
+    dto.setTitle(title);
+    return dto;
+  }
+}